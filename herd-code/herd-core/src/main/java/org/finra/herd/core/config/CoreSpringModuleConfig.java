@@ -133,6 +133,24 @@ public class CoreSpringModuleConfig implements AsyncConfigurer
         return executor;
     }
 
+    /**
+     * Returns the task executor shared by all requests to get S3 object metadata in parallel, so the number of concurrent S3 object metadata requests stays
+     * bounded no matter how many callers there are.
+     *
+     * @return the S3 object metadata task executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor s3ObjectMetadataTaskExecutor()
+    {
+        int threadsCount = Math.max(1, configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_METADATA_MAX_THREADS, Integer.class));
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(threadsCount);
+        taskExecutor.setMaxPoolSize(threadsCount);
+        taskExecutor.setThreadNamePrefix("s3-object-metadata-");
+        taskExecutor.setDaemon(true);
+        return taskExecutor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler()
     {
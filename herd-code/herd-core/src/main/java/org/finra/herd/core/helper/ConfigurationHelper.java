@@ -16,6 +16,10 @@
 package org.finra.herd.core.helper;
 
 import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -23,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.propertyeditors.CustomBooleanEditor;
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
@@ -39,6 +44,17 @@ public class ConfigurationHelper
     @Autowired
     private Environment environment;
 
+    /**
+     * The memoized typed property values by configuration value. A memoized value is only reused while the string value it was converted from stays the same,
+     * so every new snapshot of a property gets converted once.
+     */
+    private final Map<ConfigurationValue, MemoizedPropertyValue> memoizedPropertyValues = new ConcurrentHashMap<>();
+
+    /**
+     * The memoized {@link BigDecimal} required property values by configuration value.
+     */
+    private final Map<ConfigurationValue, MemoizedPropertyValue> memoizedBigDecimalRequiredPropertyValues = new ConcurrentHashMap<>();
+
     /**
      * Calls {@link #getProperty(ConfigurationValue, Class, Environment)} using String targetType.
      *
@@ -66,35 +82,9 @@ public class ConfigurationHelper
      */
     public static <T> T getProperty(ConfigurationValue configurationValue, Class<T> targetType, Environment environment)
     {
-        /*
-         * Parameter validation
-         */
-        if (configurationValue == null)
-        {
-            throw new IllegalStateException("configurationValue is required");
-        }
-
-        if (targetType == null)
-        {
-            throw new IllegalStateException("targetType is required");
-        }
+        T defaultValue = getDefaultValue(configurationValue, targetType);
 
         String key = configurationValue.getKey();
-        Object genericDefaultValue = configurationValue.getDefaultValue();
-
-        /*
-         * Assert that the targetType is of the correct type.
-         */
-        if (genericDefaultValue != null && !targetType.isAssignableFrom(genericDefaultValue.getClass()))
-        {
-            throw new IllegalStateException(
-                "targetType \"" + targetType + "\" is not assignable from the default value of type \"" + genericDefaultValue.getClass() +
-                    "\" for configuration value \"" + configurationValue + "\".");
-        }
-
-        @SuppressWarnings("unchecked")
-        T defaultValue = (T) genericDefaultValue;
-
         T value = defaultValue;
         try
         {
@@ -106,9 +96,7 @@ public class ConfigurationHelper
              * If the environment value is not convertible into the targetType, catch it and log a warning.
              * Return the default value.
              */
-            LOGGER.warn(
-                "Error converting environment property with key '" + key + "' and value '" + environment.getProperty(key) + "' into a '" + targetType + "'.",
-                conversionFailedException);
+            logConversionWarning(key, environment.getProperty(key), targetType, conversionFailedException);
         }
         return value;
     }
@@ -122,7 +110,10 @@ public class ConfigurationHelper
      */
     public BigDecimal getBigDecimalRequiredProperty(ConfigurationValue configurationValue)
     {
-        return getBigDecimalRequiredProperty(configurationValue, environment);
+        String bigDecimalStringValue = getRequiredProperty(configurationValue, environment);
+
+        return getMemoizedPropertyValue(memoizedBigDecimalRequiredPropertyValues, configurationValue, BigDecimal.class, bigDecimalStringValue,
+            stringValue -> toBigDecimal(configurationValue, stringValue));
     }
 
     /**
@@ -135,20 +126,7 @@ public class ConfigurationHelper
      */
     public BigDecimal getBigDecimalRequiredProperty(ConfigurationValue configurationValue, Environment environment)
     {
-        String bigDecimalStringValue = getRequiredProperty(configurationValue, environment);
-
-        BigDecimal bigDecimalValue = null;
-        try
-        {
-            // Converts the string value to BigDecimal
-            bigDecimalValue = new BigDecimal(bigDecimalStringValue);
-        }
-        catch (NumberFormatException numberFormatException)
-        {
-            logErrorAndThrowIllegalStateException(configurationValue, "BigDecimal", bigDecimalStringValue, numberFormatException);
-        }
-
-        return bigDecimalValue;
+        return toBigDecimal(configurationValue, getRequiredProperty(configurationValue, environment));
     }
 
     /**
@@ -246,7 +224,14 @@ public class ConfigurationHelper
      */
     public <T> T getProperty(ConfigurationValue configurationValue, Class<T> targetType)
     {
-        return getProperty(configurationValue, targetType, environment);
+        // Strings need no conversion. The conversion service is only available from a configurable environment.
+        if (configurationValue == null || targetType == null || targetType == String.class || !(environment instanceof ConfigurableEnvironment))
+        {
+            return getProperty(configurationValue, targetType, environment);
+        }
+
+        return getMemoizedPropertyValue(memoizedPropertyValues, configurationValue, targetType, environment.getProperty(configurationValue.getKey()),
+            stringValue -> convertProperty(configurationValue, targetType, stringValue));
     }
 
     /**
@@ -294,6 +279,145 @@ public class ConfigurationHelper
         return property;
     }
 
+    /**
+     * Validates the parameters and gets the default value of the configuration value. The configured default value must be of the same class, or must be a
+     * sub-class of the given targetType.
+     *
+     * @param <T> The return type
+     * @param configurationValue The {@link ConfigurationValue} with property key and default value.
+     * @param targetType The returned object's type
+     *
+     * @return The default value
+     */
+    private static <T> T getDefaultValue(ConfigurationValue configurationValue, Class<T> targetType)
+    {
+        /*
+         * Parameter validation
+         */
+        if (configurationValue == null)
+        {
+            throw new IllegalStateException("configurationValue is required");
+        }
+
+        if (targetType == null)
+        {
+            throw new IllegalStateException("targetType is required");
+        }
+
+        Object genericDefaultValue = configurationValue.getDefaultValue();
+
+        /*
+         * Assert that the targetType is of the correct type.
+         */
+        if (genericDefaultValue != null && !targetType.isAssignableFrom(genericDefaultValue.getClass()))
+        {
+            throw new IllegalStateException(
+                "targetType \"" + targetType + "\" is not assignable from the default value of type \"" + genericDefaultValue.getClass() +
+                    "\" for configuration value \"" + configurationValue + "\".");
+        }
+
+        @SuppressWarnings("unchecked")
+        T defaultValue = (T) genericDefaultValue;
+
+        return defaultValue;
+    }
+
+    /**
+     * Logs a warning about a property value that is not convertible into the target type.
+     *
+     * @param key the property key
+     * @param stringValue the property value
+     * @param targetType the target type
+     * @param conversionFailedException the conversion exception
+     */
+    private static void logConversionWarning(String key, String stringValue, Class<?> targetType, ConversionFailedException conversionFailedException)
+    {
+        LOGGER.warn("Error converting environment property with key '" + key + "' and value '" + stringValue + "' into a '" + targetType + "'.",
+            conversionFailedException);
+    }
+
+    /**
+     * Converts a property string value into the target type using the conversion service of the environment. Same as
+     * {@link #getProperty(ConfigurationValue, Class, Environment)}, the default value is returned when the property is not set or the value is not
+     * convertible.
+     *
+     * @param <T> The return type
+     * @param configurationValue The {@link ConfigurationValue} with property key and default value.
+     * @param targetType The returned object's type
+     * @param stringValue The property string value, may be null
+     *
+     * @return The property value
+     */
+    private <T> T convertProperty(ConfigurationValue configurationValue, Class<T> targetType, String stringValue)
+    {
+        T defaultValue = getDefaultValue(configurationValue, targetType);
+
+        T value = null;
+        if (stringValue != null)
+        {
+            try
+            {
+                value = ((ConfigurableEnvironment) environment).getConversionService().convert(stringValue, targetType);
+            }
+            catch (ConversionFailedException conversionFailedException)
+            {
+                logConversionWarning(configurationValue.getKey(), stringValue, targetType, conversionFailedException);
+            }
+        }
+
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Gets the memoized value converted from the specified property string value, converting and memoizing it if the string value has changed.
+     *
+     * @param <T> The return type
+     * @param memoizedPropertyValues the memoized property values
+     * @param configurationValue the configuration value
+     * @param targetType the returned object's type
+     * @param stringValue the current property string value, may be null
+     * @param converter the function that converts the string value
+     *
+     * @return the property value
+     */
+    private <T> T getMemoizedPropertyValue(Map<ConfigurationValue, MemoizedPropertyValue> memoizedPropertyValues, ConfigurationValue configurationValue,
+        Class<T> targetType, String stringValue, Function<String, T> converter)
+    {
+        MemoizedPropertyValue memoizedPropertyValue = memoizedPropertyValues.get(configurationValue);
+
+        if (memoizedPropertyValue == null || memoizedPropertyValue.targetType != targetType || !Objects.equals(memoizedPropertyValue.stringValue, stringValue))
+        {
+            memoizedPropertyValue = new MemoizedPropertyValue(targetType, stringValue, converter.apply(stringValue));
+            memoizedPropertyValues.put(configurationValue, memoizedPropertyValue);
+        }
+
+        return targetType.cast(memoizedPropertyValue.value);
+    }
+
+    /**
+     * Converts a property string value to a {@link BigDecimal}.
+     *
+     * @param configurationValue the {@link BigDecimal} configuration value
+     * @param bigDecimalStringValue the property string value
+     *
+     * @return the {@link BigDecimal} property value
+     */
+    private BigDecimal toBigDecimal(ConfigurationValue configurationValue, String bigDecimalStringValue)
+    {
+        BigDecimal bigDecimalValue = null;
+        try
+        {
+            // Converts the string value to BigDecimal
+            bigDecimalValue = new BigDecimal(bigDecimalStringValue);
+        }
+        catch (NumberFormatException numberFormatException)
+        {
+            logErrorAndThrowIllegalStateException(configurationValue, "BigDecimal", bigDecimalStringValue, numberFormatException);
+        }
+
+        return bigDecimalValue;
+    }
+
     /**
      * Logs the error message, and then throws {@link IllegalStateException}
      *
@@ -313,4 +437,23 @@ public class ConfigurationHelper
         // This will produce a 500 HTTP status code error.
         throw illegalStateException;
     }
+
+    /**
+     * A property value converted from a property string value.
+     */
+    private static final class MemoizedPropertyValue
+    {
+        private final Class<?> targetType;
+
+        private final String stringValue;
+
+        private final Object value;
+
+        private MemoizedPropertyValue(Class<?> targetType, String stringValue, Object value)
+        {
+            this.targetType = targetType;
+            this.stringValue = stringValue;
+            this.value = value;
+        }
+    }
 }
@@ -21,8 +21,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.Test;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.mock.env.MockEnvironment;
 
 import org.finra.herd.core.AbstractCoreTest;
@@ -33,6 +36,8 @@ import org.finra.herd.model.dto.ConfigurationValue;
  */
 public class ConfigurationHelperTest extends AbstractCoreTest
 {
+    private static final String OVERRIDE_PROPERTY_SOURCE_NAME = "configurationHelperTestPropertySource";
+
     @Test
     public void testGetProperty()
     {
@@ -181,6 +186,38 @@ public class ConfigurationHelperTest extends AbstractCoreTest
         assertEquals("value", configurationValue.getDefaultValue(), value);
     }
 
+    @Test
+    public void testGetPropertyInstanceConvertedValueFollowsPropertyChanges() throws Exception
+    {
+        ConfigurationValue configurationValue = ConfigurationValue.BUSINESS_OBJECT_DATA_GET_ALL_MAX_RESULT_COUNT;
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(configurationValue.getKey(), "1000");
+        getMutablePropertySources().addFirst(new MapPropertySource(OVERRIDE_PROPERTY_SOURCE_NAME, overrideMap));
+
+        try
+        {
+            // Read the converted value twice, so the second read gets the memoized value.
+            assertEquals(Integer.valueOf(1000), configurationHelper.getProperty(configurationValue, Integer.class));
+            assertEquals(Integer.valueOf(1000), configurationHelper.getProperty(configurationValue, Integer.class));
+
+            // Change the property value and confirm that the new value gets converted.
+            overrideMap.put(configurationValue.getKey(), "2000");
+            assertEquals(Integer.valueOf(2000), configurationHelper.getProperty(configurationValue, Integer.class));
+
+            // Change the property value to an invalid value and confirm that the default value is returned.
+            overrideMap.put(configurationValue.getKey(), "NOT_AN_INTEGER");
+            executeWithoutLogging(ConfigurationHelper.class,
+                () -> assertEquals(configurationValue.getDefaultValue(), configurationHelper.getProperty(configurationValue, Integer.class)));
+        }
+        finally
+        {
+            getMutablePropertySources().remove(OVERRIDE_PROPERTY_SOURCE_NAME);
+        }
+
+        // Confirm that the default value is returned once the property is removed.
+        assertEquals(configurationValue.getDefaultValue(), configurationHelper.getProperty(configurationValue, Integer.class));
+    }
+
     @Test
     public void testGetBigDecimalRequiredPropertyValue()
     {
@@ -15,6 +15,8 @@
  */
 package org.finra.herd.dao;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +24,7 @@ import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.dto.BusinessObjectDataStoragePolicyMatch;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
@@ -164,6 +167,29 @@ public interface BusinessObjectDataDao extends BaseJpaDao
         StoragePolicyPriorityLevel storagePolicyPriorityLevel, Boolean doNotTransitionLatestValid, List<String> supportedBusinessObjectDataStatuses,
         int storagePolicyTransitionMaxAllowedAttempts, int startPosition, int maxResult);
 
+    /**
+     * Retrieves a page of business object data matched to their highest priority storage policies, where the business object data status is supported by the
+     * storage policy feature and the business object data alternate key values match storage policy's filter and transition (not taking into account storage
+     * policy rules). Unlike {@link #getBusinessObjectDataEntitiesMatchingStoragePolicies}, all storage policy priority levels are evaluated in a single query
+     * and only lightweight values are returned instead of entities. Each business object data is returned at most once along with its highest priority
+     * matching storage policy. The returned list is ordered by the business object data "created on" timestamp and id, starting with the oldest business
+     * object data, and the page starts right after the specified keyset of the last business object data returned by the previous page.
+     *
+     * @param storagePolicyPriorityLevels the storage policy priority levels in order of priorities, highest priority listed first
+     * @param doNotTransitionLatestValid specifies if this storage policy should not transition latest valid business object data versions
+     * @param supportedBusinessObjectDataStatuses the list of business object data statuses that storage policies apply to (case-sensitive)
+     * @param storagePolicyTransitionMaxAllowedAttempts the maximum number of failed storage policy transition attempts before the relative storage unit gets
+     * excluded from being selected. 0 means the maximum is not set
+     * @param lastBusinessObjectDataCreatedOn the "created on" timestamp of the last business object data returned by the previous page, null for the first page
+     * @param lastBusinessObjectDataId the id of the last business object data returned by the previous page, null for the first page
+     * @param maxResult the maximum number of business object data to storage policy matching rows to read for this page
+     *
+     * @return the list of business object data to storage policy matches, an empty list when there are no more business object data to select
+     */
+    List<BusinessObjectDataStoragePolicyMatch> getBusinessObjectDataStoragePolicyMatches(List<StoragePolicyPriorityLevel> storagePolicyPriorityLevels,
+        Boolean doNotTransitionLatestValid, List<String> supportedBusinessObjectDataStatuses, int storagePolicyTransitionMaxAllowedAttempts,
+        Timestamp lastBusinessObjectDataCreatedOn, Long lastBusinessObjectDataId, int maxResult);
+
     /**
      * Retrieves a list of business object data by their partition value.
      *
@@ -173,6 +199,15 @@ public interface BusinessObjectDataDao extends BaseJpaDao
      */
     List<BusinessObjectDataEntity> getBusinessObjectDataEntitiesByPartitionValue(String partitionValue);
 
+    /**
+     * Retrieves a list of business object data by their ids using a single query.
+     *
+     * @param businessObjectDataIds the ids of the business object data
+     *
+     * @return the list of business object data entities in no particular order
+     */
+    List<BusinessObjectDataEntity> getBusinessObjectDataEntitiesByIds(Collection<Long> businessObjectDataIds);
+
     /**
      * Gets a list of keys for business object data registered under specified business object definition entity. The results are sorted by primary partition
      * value descending, sub-partition values (if present) descending, and business object data version descending.
@@ -217,4 +252,34 @@ public interface BusinessObjectDataDao extends BaseJpaDao
      * @return the list of business object data
      */
     List<BusinessObjectData> searchBusinessObjectData(BusinessObjectDataSearchKey businessObjectDataSearchKey, Integer pageNum, Integer pageSize);
+
+    /**
+     * Retrieves a list of business object data per specified business object data search key.
+     *
+     * @param businessObjectDataSearchKey the business object data search key
+     * @param pageNum if pageNum parameter is specified, results contain the appropriate page specified. Page numbers are one-based - that is the first page
+     * number is one
+     * @param pageSize if pageSize parameter is specified, results contain that number of business object data (unless it is the end of the result set)
+     * @param includeAttributes specifies whether to return the attributes that match the attribute value filters of the search key
+     *
+     * @return the list of business object data
+     */
+    List<BusinessObjectData> searchBusinessObjectData(BusinessObjectDataSearchKey businessObjectDataSearchKey, Integer pageNum, Integer pageSize,
+        boolean includeAttributes);
+
+    /**
+     * Retrieves a list of business object data per specified business object data search key that follow the specified business object data in the keyset
+     * order. The keyset order sorts business object data by business object format usage and file type, then by partition values, business object format
+     * version and business object data version in descending order and finally by business object data id, so all versions of the same business object data
+     * are adjacent with the latest version first.
+     *
+     * @param businessObjectDataSearchKey the business object data search key
+     * @param lastBusinessObjectData the business object data to continue after, or null to start from the beginning of the result set
+     * @param maxResults the maximum number of business object data to return
+     * @param includeAttributes specifies whether to return the attributes that match the attribute value filters of the search key
+     *
+     * @return the list of business object data
+     */
+    List<BusinessObjectData> searchBusinessObjectDataAfter(BusinessObjectDataSearchKey businessObjectDataSearchKey, BusinessObjectData lastBusinessObjectData,
+        Integer maxResults, boolean includeAttributes);
 }
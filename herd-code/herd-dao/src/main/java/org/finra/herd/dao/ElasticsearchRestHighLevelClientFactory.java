@@ -15,14 +15,33 @@
  */
 package org.finra.herd.dao;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.annotation.PreDestroy;
+
+import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import org.apache.http.HttpHost;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.CheckedConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,8 +50,13 @@ import vc.inreach.aws.request.AWSSigner;
 import vc.inreach.aws.request.AWSSigningRequestInterceptor;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.exception.ElasticsearchRestClientException;
 import org.finra.herd.model.dto.ConfigurationValue;
 
+/**
+ * A factory of the Elasticsearch high level REST client. A single client with a pool of kept alive connections is shared by all callers. The shared client
+ * gets replaced once any of the configuration values it was built from changes.
+ */
 @Component
 public class ElasticsearchRestHighLevelClientFactory
 {
@@ -42,11 +66,112 @@ public class ElasticsearchRestHighLevelClientFactory
     private ConfigurationHelper configurationHelper;
 
     /**
-     * Builds and returns the Elasticsearch high level REST client.
+     * The AWS credentials provider used to sign the requests. The credentials provider chain caches the credentials and refreshes them before they expire, so
+     * a single instance is kept for the lifetime of this factory.
+     */
+    private final AWSCredentialsProvider awsCredentialsProvider = new DefaultAWSCredentialsProviderChain();
+
+    /**
+     * The shared client currently handed out to the callers.
+     */
+    private volatile SharedRestHighLevelClient sharedRestHighLevelClient;
+
+    /**
+     * Gets the shared Elasticsearch high level REST client, building a new one if the client configuration has changed. Closing the returned client releases
+     * it without closing its connection pool, so callers may keep using try with resources.
      *
      * @return RestHighLevelClient The ElasticSearch high level REST client.
      */
     public RestHighLevelClient getRestHighLevelClient()
+    {
+        List<Object> settings = getSettings();
+
+        while (true)
+        {
+            SharedRestHighLevelClient restHighLevelClient = sharedRestHighLevelClient;
+
+            if (restHighLevelClient == null || !restHighLevelClient.settings.equals(settings))
+            {
+                restHighLevelClient = replaceSharedRestHighLevelClient(settings);
+            }
+
+            restHighLevelClient.activeUsersCount.incrementAndGet();
+
+            // Make sure the client did not get replaced while it was being acquired. Otherwise, try again.
+            if (sharedRestHighLevelClient == restHighLevelClient)
+            {
+                return restHighLevelClient;
+            }
+
+            restHighLevelClient.release();
+        }
+    }
+
+    /**
+     * Gets the connection pool statistics of the shared client.
+     *
+     * @return the connection pool statistics, or null if no client has been built yet
+     */
+    public PoolStats getConnectionPoolStats()
+    {
+        SharedRestHighLevelClient restHighLevelClient = sharedRestHighLevelClient;
+        return restHighLevelClient == null ? null : restHighLevelClient.connectionManager.getTotalStats();
+    }
+
+    /**
+     * Closes the shared client along with its connection pool.
+     */
+    @PreDestroy
+    public synchronized void shutdown()
+    {
+        if (sharedRestHighLevelClient != null)
+        {
+            sharedRestHighLevelClient.shutdown();
+            sharedRestHighLevelClient = null;
+        }
+    }
+
+    /**
+     * Replaces the shared client with a new one built per specified settings, unless another thread already did so. The replaced client is closed as soon as
+     * it is no longer in use.
+     *
+     * @param settings the client settings
+     *
+     * @return the shared client
+     */
+    private synchronized SharedRestHighLevelClient replaceSharedRestHighLevelClient(List<Object> settings)
+    {
+        SharedRestHighLevelClient previousRestHighLevelClient = sharedRestHighLevelClient;
+
+        if (previousRestHighLevelClient != null && previousRestHighLevelClient.settings.equals(settings))
+        {
+            return previousRestHighLevelClient;
+        }
+
+        sharedRestHighLevelClient = createSharedRestHighLevelClient(settings);
+
+        if (previousRestHighLevelClient != null)
+        {
+            LOGGER.info("Replacing Elasticsearch REST high level client after configuration change. previousConnectionPoolStats={}",
+                previousRestHighLevelClient.connectionManager.getTotalStats());
+
+            if (previousRestHighLevelClient.activeUsersCount.get() == 0)
+            {
+                previousRestHighLevelClient.shutdown();
+            }
+        }
+
+        return sharedRestHighLevelClient;
+    }
+
+    /**
+     * Builds a new shared Elasticsearch high level REST client.
+     *
+     * @param settings the client settings
+     *
+     * @return the newly built client
+     */
+    private SharedRestHighLevelClient createSharedRestHighLevelClient(List<Object> settings)
     {
         // Retrieve the configuration values needed to build a REST high level client.
         final String esRegionName = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_AWS_REGION_NAME);
@@ -55,17 +180,26 @@ public class ElasticsearchRestHighLevelClientFactory
         final String scheme = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_SCHEME);
         final int socketTimeout = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT, Integer.class);
         final int connectTimeout = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_CONNECTION_TIMEOUT, Integer.class);
+        final int maxConnectionsPerRoute =
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_PER_ROUTE, Integer.class);
+        final int maxConnectionsTotal =
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL, Integer.class);
+        final long keepAliveMillis = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_KEEP_ALIVE_MILLIS, Long.class);
 
-        // Create and setup the AWS
-        final DefaultAWSCredentialsProviderChain defaultAWSCredentialsProviderChain = new DefaultAWSCredentialsProviderChain();
-        final AWSSigner awsSigner = new AWSSigner(defaultAWSCredentialsProviderChain, esRegionName, "es", () -> LocalDateTime.now(ZoneOffset.UTC));
+        // Create and setup the AWS request signer.
+        final AWSSigner awsSigner = new AWSSigner(awsCredentialsProvider, esRegionName, "es", () -> LocalDateTime.now(ZoneOffset.UTC));
         final AWSSigningRequestInterceptor awsSigningRequestInterceptor = new AWSSigningRequestInterceptor(awsSigner);
 
+        // Create the connection pool, so its statistics can be exposed.
+        final PoolingNHttpClientConnectionManager connectionManager = createConnectionManager();
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setMaxTotal(maxConnectionsTotal);
+
         // Create a new HTTP host object using the hostname, port, and scheme of the Elasticsearch domain.
         final HttpHost httpHost = new HttpHost(hostname, port, scheme);
 
         // Create a new REST client builder.
-        final  RestClientBuilder restClientBuilder = RestClient.builder(httpHost);
+        final RestClientBuilder restClientBuilder = RestClient.builder(httpHost);
 
         // Configure and set the request config callback.
         restClientBuilder.setRequestConfigCallback(
@@ -73,11 +207,133 @@ public class ElasticsearchRestHighLevelClientFactory
 
         // Configure and set the http client config callback.
         restClientBuilder.setHttpClientConfigCallback(
-            httpClientConfigCallback -> httpClientConfigCallback.addInterceptorLast(awsSigningRequestInterceptor));
+            httpClientConfigCallback -> httpClientConfigCallback.setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> keepAliveMillis).addInterceptorLast(awsSigningRequestInterceptor));
+
+        LOGGER.info("Creating new Elasticsearch REST high level client with hostname={}, port={}, scheme={}, maxConnectionsPerRoute={}, " +
+            "maxConnectionsTotal={}, and keepAliveMillis={}.", hostname, port, scheme, maxConnectionsPerRoute, maxConnectionsTotal, keepAliveMillis);
+
+        return new SharedRestHighLevelClient(settings, restClientBuilder.build(), connectionManager);
+    }
+
+    /**
+     * Creates a connection manager that supports both plain and TLS connections, the latter using the system default SSL context.
+     *
+     * @return the connection manager
+     */
+    private PoolingNHttpClientConnectionManager createConnectionManager()
+    {
+        try
+        {
+            return new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT),
+                RegistryBuilder.<SchemeIOSessionStrategy>create().register("http", NoopIOSessionStrategy.INSTANCE)
+                    .register("https", SSLIOSessionStrategy.getSystemDefaultStrategy()).build());
+        }
+        catch (IOReactorException ioReactorException)
+        {
+            LOGGER.error("Caught IOReactorException while attempting to create the Elasticsearch REST client connection manager.", ioReactorException);
+
+            throw new ElasticsearchRestClientException("Caught IOReactorException while attempting to create the Elasticsearch REST client connection manager.",
+                ioReactorException);
+        }
+    }
+
+    /**
+     * Gets all configuration values the client is built from, so a configuration change can be detected.
+     *
+     * @return the client settings
+     */
+    private List<Object> getSettings()
+    {
+        return Arrays.asList(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_AWS_REGION_NAME),
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_HOSTNAME_V2),
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_PORT, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_SCHEME),
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_CONNECTION_TIMEOUT, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_PER_ROUTE, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_KEEP_ALIVE_MILLIS, Long.class));
+    }
+
+    /**
+     * Releases the specified client. A client that got replaced is closed once its last user releases it.
+     *
+     * @param restHighLevelClient the client
+     */
+    private void release(SharedRestHighLevelClient restHighLevelClient)
+    {
+        if (restHighLevelClient.activeUsersCount.decrementAndGet() == 0 && sharedRestHighLevelClient != restHighLevelClient)
+        {
+            restHighLevelClient.shutdown();
+        }
+    }
+
+    /**
+     * An Elasticsearch high level REST client shared between callers. Closing it releases the client without closing the underlying low level client.
+     */
+    private final class SharedRestHighLevelClient extends RestHighLevelClient
+    {
+        private final List<Object> settings;
+
+        private final PoolingNHttpClientConnectionManager connectionManager;
 
-        LOGGER.info("Creating new Elasticsearch REST high level client with hostname={}, port={}, and scheme={}.", hostname, port, scheme);
+        private final AtomicInteger activeUsersCount = new AtomicInteger();
+
+        private final AtomicBoolean isShutdown = new AtomicBoolean();
+
+        private SharedRestHighLevelClient(List<Object> settings, RestClient restClient, PoolingNHttpClientConnectionManager connectionManager)
+        {
+            this(settings, restClient, connectionManager, new ReleaseAction());
+        }
+
+        private SharedRestHighLevelClient(List<Object> settings, RestClient restClient, PoolingNHttpClientConnectionManager connectionManager,
+            ReleaseAction releaseAction)
+        {
+            super(restClient, releaseAction, Collections.emptyList());
+            releaseAction.restHighLevelClient = this;
+            this.settings = settings;
+            this.connectionManager = connectionManager;
+        }
+
+        /**
+         * Releases this client.
+         */
+        private void release()
+        {
+            ElasticsearchRestHighLevelClientFactory.this.release(this);
+        }
+
+        /**
+         * Closes the low level client along with its connection pool.
+         */
+        private void shutdown()
+        {
+            if (isShutdown.compareAndSet(false, true))
+            {
+                try
+                {
+                    getLowLevelClient().close();
+                }
+                catch (IOException ioException)
+                {
+                    LOGGER.warn("Caught IOException while attempting to close the Elasticsearch REST client.", ioException);
+                }
+            }
+        }
+    }
+
+    /**
+     * The close action of a shared client. The shared client can not be referenced while it is being constructed, so it is set right after.
+     */
+    private static final class ReleaseAction implements CheckedConsumer<RestClient, IOException>
+    {
+        private SharedRestHighLevelClient restHighLevelClient;
 
-        // Return a new REST high level client to be used to connect and make requests to the Elasticsearch domain.
-        return new RestHighLevelClient(restClientBuilder);
+        @Override
+        public void accept(RestClient restClient)
+        {
+            restHighLevelClient.release();
+        }
     }
 }
@@ -18,6 +18,7 @@ package org.finra.herd.dao;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.shard.DocsStats;
@@ -63,6 +64,18 @@ public interface IndexFunctionsDao extends BaseJpaDao
      */
     void createIndexDocuments(String indexName, Map<String, String> documentMap);
 
+    /**
+     * The bulk index documents function will take as arguments the index name, and a map of new documents, and will add the documents to the specified
+     * index in a single bulk request. Unlike the create index documents function, the index name is not resolved as an alias, so this function can be used to
+     * populate a new index before it is made available. The document map key is the document id, and the value is the document as a JSON string.
+     *
+     * @param indexName index name
+     * @param documentMap document map
+     *
+     * @return the ids of the documents that failed to be indexed, empty if all documents were indexed
+     */
+    Set<String> bulkIndexDocuments(String indexName, Map<String, String> documentMap);
+
     /**
      * The index exists predicate will take as an argument the index name and will return tree if the index exists and false otherwise.
      *
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.dao;
 
+import java.util.List;
+
 import org.finra.herd.model.jpa.NotificationMessageEntity;
 
 public interface NotificationMessageDao extends BaseJpaDao
@@ -25,4 +27,31 @@ public interface NotificationMessageDao extends BaseJpaDao
      * @return the notification message
      */
     public NotificationMessageEntity getOldestNotificationMessage();
+
+    /**
+     * Selects and locks up to the specified number of the oldest notification messages (messages with the lowest sequence generated ids) from the queue. The
+     * selected rows stay locked until the end of the current transaction. Rows that are already locked by another transaction are skipped, so several herd
+     * nodes can drain the queue concurrently without publishing the same message twice.
+     *
+     * @param maxResults the maximum number of notification messages to select
+     *
+     * @return the list of notification messages ordered by their ids
+     */
+    public List<NotificationMessageEntity> getOldestNotificationMessagesForUpdate(int maxResults);
+
+    /**
+     * Gets the number of notification messages currently stored in the queue.
+     *
+     * @return the number of notification messages in the queue
+     */
+    public long getNotificationMessageCount();
+
+    /**
+     * Deletes notification messages by their ids using a single bulk delete statement.
+     *
+     * @param notificationMessageIds the list of notification message ids
+     *
+     * @return the number of deleted notification messages
+     */
+    public int deleteNotificationMessages(List<Long> notificationMessageIds);
 }
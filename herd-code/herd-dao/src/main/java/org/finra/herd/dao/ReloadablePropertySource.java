@@ -15,22 +15,29 @@
 */
 package org.finra.herd.dao;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationConverter;
 import org.apache.commons.configuration.event.ConfigurationErrorEvent;
 import org.apache.commons.configuration.event.ConfigurationErrorListener;
 import org.apache.commons.configuration.event.EventSource;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.util.StringUtils;
 
 /**
- * A property source that will possibly re-load itself each time a property is requested. A reload will take place if the configured refresh interval has
- * elapsed. A refresh interval of 0 will cause the properties to refresh every time a property is requested.
+ * A property source that serves properties from an immutable snapshot that gets replaced once the configured refresh interval has elapsed. With a positive
+ * refresh interval, the snapshot is re-loaded from the configuration by a background thread and reading a property never blocks. A refresh interval of 0 will
+ * cause the properties to refresh every time a property is requested.
  * <p/>
  * If a property is loaded with the key org.finra.herd.dao.ReloadablePropertiesSource.refreshIntervalSecs, it will be used as a way to override the previously
  * configured refresh interval.
@@ -43,13 +50,25 @@ public class ReloadablePropertySource extends MapPropertySource
     protected Configuration configuration;
 
     // The last time the properties were refreshed.
-    protected long lastRefreshTime;
+    protected volatile long lastRefreshTime;
 
     // The interval in milliseconds to wait before refreshing the properties. Defaults to 0 (i.e. always refresh).
-    protected long refreshIntervalMillis = 0;
+    protected volatile long refreshIntervalMillis = 0;
 
     protected ConfigurationErrorEvent lastConfigurationErrorEvent;
 
+    // The current immutable snapshot of the properties.
+    private volatile Map<String, Object> properties;
+
+    // The last time the properties were successfully loaded from the configuration.
+    private volatile long lastSuccessfulRefreshTime;
+
+    // The executor that refreshes the properties in the background, created once a positive refresh interval is configured.
+    private ScheduledExecutorService refreshExecutorService;
+
+    // Whether a background refresh is currently scheduled.
+    private boolean isRefreshScheduled;
+
     // The number of milliseconds in a second.
     private static final int MILLISECONDS_IN_A_SECOND = 1000;
 
@@ -76,13 +95,14 @@ public class ReloadablePropertySource extends MapPropertySource
      * @param name the name of the property source.
      * @param source the properties.
      * @param configuration the configuration that knows how to read properties.
-     * @param refreshIntervalSecs the refresh interval in seconds to wait before refreshing the properties when a property is requested.
+     * @param refreshIntervalSecs the refresh interval in seconds to wait before refreshing the properties.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
     public ReloadablePropertySource(String name, Properties source, Configuration configuration, long refreshIntervalSecs)
     {
         super(name, (Map) source);
         this.configuration = configuration;
+        this.properties = Collections.unmodifiableMap(new HashMap<String, Object>((Map) source));
 
         /*
          * Catches any errors and records it in the lastConfigurationErrorEvent variable.
@@ -100,12 +120,17 @@ public class ReloadablePropertySource extends MapPropertySource
 
         this.refreshIntervalMillis = refreshIntervalSecs * MILLISECONDS_IN_A_SECOND;
         updateLastRefreshTime();
-        updateRefreshInterval();
+        this.lastSuccessfulRefreshTime = lastRefreshTime;
+        synchronized (this)
+        {
+            updateRefreshInterval();
+            scheduleRefreshIfNeeded();
+        }
         LOGGER.info("A refresh interval has been configured. propertiesRefreshIntervalInSeconds={}", refreshIntervalSecs);
     }
 
     /**
-     * Gets a property by name while possibly refreshing the properties if needed.
+     * Gets a property by name from the current snapshot of the properties. The properties are refreshed first only when the refresh interval is 0.
      *
      * @param name the property name.
      *
@@ -114,70 +139,160 @@ public class ReloadablePropertySource extends MapPropertySource
     @Override
     public Object getProperty(String name)
     {
-        // Refresh the properties before returning the value.
-        refreshPropertiesIfNeeded();
-        return this.source.get(name);
+        // Refresh the properties before returning the value when they must be refreshed on every read. Otherwise, they are refreshed in the background.
+        if (refreshIntervalMillis <= 0)
+        {
+            refreshPropertiesIfNeeded();
+        }
+        return properties.get(name);
+    }
+
+    @Override
+    public boolean containsProperty(String name)
+    {
+        return properties.containsKey(name);
+    }
+
+    @Override
+    public String[] getPropertyNames()
+    {
+        return StringUtils.toStringArray(properties.keySet());
+    }
+
+    /**
+     * Gets the current snapshot of the properties.
+     *
+     * @return the unmodifiable map of properties.
+     */
+    @Override
+    public Map<String, Object> getSource()
+    {
+        return properties;
+    }
+
+    /**
+     * Gets the time the properties were last successfully loaded from the configuration. The difference with the current time is how stale the properties
+     * may be.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getLastSuccessfulRefreshTime()
+    {
+        return lastSuccessfulRefreshTime;
+    }
+
+    /**
+     * Stops refreshing the properties in the background. The current snapshot of the properties remains available.
+     */
+    public synchronized void shutdown()
+    {
+        if (refreshExecutorService != null)
+        {
+            refreshExecutorService.shutdownNow();
+        }
     }
 
     /**
      * Refreshes the properties from the configuration if it's time to.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    protected void refreshPropertiesIfNeeded()
+    protected synchronized void refreshPropertiesIfNeeded()
     {
-        // Ensure we update the properties in a synchronized fashion to avoid possibly corrupting the properties.
-        synchronized (this)
-        {
-            // See if it's time to refresh the properties (i.e. the elapsed time is greater than the configured refresh interval).
-            LOGGER.debug("Checking if properties need to be refreshed. currentTime={} lastRefreshTime={} millisecondsSinceLastPropertiesRefresh={}",
-                System.currentTimeMillis(), lastRefreshTime, System.currentTimeMillis() - lastRefreshTime);
+        // See if it's time to refresh the properties (i.e. the elapsed time is greater than the configured refresh interval).
+        LOGGER.debug("Checking if properties need to be refreshed. currentTime={} lastRefreshTime={} millisecondsSinceLastPropertiesRefresh={}",
+            System.currentTimeMillis(), lastRefreshTime, System.currentTimeMillis() - lastRefreshTime);
 
-            if (System.currentTimeMillis() - lastRefreshTime >= refreshIntervalMillis)
-            {
-                // Enough time has passed so refresh the properties.
-                LOGGER.debug("Refreshing properties...");
+        if (System.currentTimeMillis() - lastRefreshTime >= refreshIntervalMillis)
+        {
+            // Enough time has passed so refresh the properties.
+            LOGGER.debug("Refreshing properties...");
+            long startTime = System.currentTimeMillis();
 
-                // Get the latest properties from the configuration.
-                Properties properties = ConfigurationConverter.getProperties(configuration);
+            // Get the latest properties from the configuration.
+            Properties properties = ConfigurationConverter.getProperties(configuration);
 
-                if (lastConfigurationErrorEvent != null)
-                {
-                    LOGGER.error("An error occurred while retrieving configurations. Previous values are retained. See cause for details.",
-                        lastConfigurationErrorEvent.getCause());
-                    lastConfigurationErrorEvent = null;
-                }
-                else
+            if (lastConfigurationErrorEvent != null)
+            {
+                LOGGER.error("An error occurred while retrieving configurations. Previous values are retained. See cause for details. " +
+                    "propertiesStalenessMillis={}", System.currentTimeMillis() - lastSuccessfulRefreshTime, lastConfigurationErrorEvent.getCause());
+                lastConfigurationErrorEvent = null;
+            }
+            else
+            {
+                // Log the properties we just retrieved from the configuration.
+                if (LOGGER.isDebugEnabled())
                 {
-                    // Log the properties we just retrieved from the configuration.
-                    if (LOGGER.isDebugEnabled())
+                    LOGGER.debug("New properties just retrieved.");
+                    for (Map.Entry<Object, Object> entry : properties.entrySet())
                     {
-                        LOGGER.debug("New properties just retrieved.");
-                        for (Map.Entry<Object, Object> entry : properties.entrySet())
-                        {
-                            LOGGER.debug("{}=\"{}\"", entry.getKey(), entry.getValue());
-                        }
+                        LOGGER.debug("{}=\"{}\"", entry.getKey(), entry.getValue());
                     }
+                }
 
-                    // Update our property sources properties with the ones just read by clearing and adding in the new ones since the "source" is final.
-                    this.source.clear();
-                    this.source.putAll((Map) properties);
+                // Replace the snapshot of the properties at once, so readers never see a partially updated set of properties.
+                this.properties = Collections.unmodifiableMap(new HashMap<String, Object>((Map) properties));
+                lastSuccessfulRefreshTime = System.currentTimeMillis();
 
-                    // Log the properties we have in our property source.
-                    if (LOGGER.isDebugEnabled())
-                    {
-                        LOGGER.debug("Updated reloadable properties.");
-                        for (Object key : source.keySet())
-                        {
-                            LOGGER.debug("{}=\"{}\"", key, properties.get(key));
-                        }
-                    }
-                }
+                LOGGER.info("Updated reloadable properties. propertiesCount={} refreshDurationMillis={}", properties.size(),
+                    lastSuccessfulRefreshTime - startTime);
+            }
 
-                // Update the last refresh time and refresh interval.
-                updateLastRefreshTime();
-                updateRefreshInterval();
+            // Update the last refresh time and refresh interval.
+            updateLastRefreshTime();
+            updateRefreshInterval();
+
+            LOGGER.debug("The properties have been refreshed from the configuration.");
+        }
+
+        scheduleRefreshIfNeeded();
+    }
+
+    /**
+     * Schedules the next background refresh of the properties if a positive refresh interval is configured and no refresh is scheduled yet. Must be called
+     * while holding the lock on this object.
+     */
+    private void scheduleRefreshIfNeeded()
+    {
+        if (refreshIntervalMillis > 0 && !isRefreshScheduled)
+        {
+            if (refreshExecutorService == null)
+            {
+                refreshExecutorService = Executors.newSingleThreadScheduledExecutor(
+                    new BasicThreadFactory.Builder().namingPattern("reloadable-property-source-%d").daemon(true).build());
+            }
+
+            if (!refreshExecutorService.isShutdown())
+            {
+                long delayMillis = Math.max(0, lastRefreshTime + refreshIntervalMillis - System.currentTimeMillis());
+                refreshExecutorService.schedule(this::refreshPropertiesInBackground, delayMillis, TimeUnit.MILLISECONDS);
+                isRefreshScheduled = true;
+            }
+        }
+    }
+
+    /**
+     * Refreshes the properties from a background thread and schedules the next refresh.
+     */
+    private void refreshPropertiesInBackground()
+    {
+        synchronized (this)
+        {
+            isRefreshScheduled = false;
+        }
+
+        try
+        {
+            refreshPropertiesIfNeeded();
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Unable to refresh properties. Previous values are retained. propertiesStalenessMillis={}",
+                System.currentTimeMillis() - lastSuccessfulRefreshTime, e);
 
-                LOGGER.debug("The properties have been refreshed from the configuration.");
+            synchronized (this)
+            {
+                updateLastRefreshTime();
+                scheduleRefreshIfNeeded();
             }
         }
     }
@@ -198,7 +313,7 @@ public class ReloadablePropertySource extends MapPropertySource
     private void updateRefreshInterval()
     {
         // Get the property based on the override key.
-        String refreshIntervalSecsString = (String) this.source.get(REFRESH_INTERVAL_SECS_OVERRIDE_KEY);
+        String refreshIntervalSecsString = (String) this.properties.get(REFRESH_INTERVAL_SECS_OVERRIDE_KEY);
 
         // If a value was found, try to update the refresh interval.
         if (StringUtils.hasText(refreshIntervalSecsString))
@@ -17,12 +17,16 @@ package org.finra.herd.dao;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.function.Consumer;
 
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.Tag;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
+import com.google.common.util.concurrent.RateLimiter;
 
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -39,6 +43,15 @@ public interface S3Dao
      */
     String SIGNER_OVERRIDE_V4 = "AWSS3V4SignerType";
 
+    /**
+     * Aborts a multipart upload.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object being
+     * uploaded.
+     * @param uploadId the ID of the multipart upload to abort
+     */
+    void abortMultipartUpload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String uploadId);
+
     /**
      * Aborts any multipart uploads that were initiated in the specified S3 storage older than threshold date.
      *
@@ -114,6 +127,22 @@ public interface S3Dao
      */
     S3FileTransferResultsDto downloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Downloads a range of bytes of an S3 file into an existing local file. The bytes are written at the same offset within the local file, so several ranges
+     * of the same S3 file can be downloaded in parallel into the same local file. All ranges downloaded with the same parameters share one S3 client. A failed
+     * range request is retried up to the configured number of attempts, continuing from the first byte not yet written.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix are for the source of the copy. The
+     * local path is the existing local file the bytes will be written into.
+     * @param firstByte the offset of the first byte of the range
+     * @param lastByte the offset of the last byte of the range, inclusive
+     * @param rateLimiter the rate limiter to acquire a permit per downloaded byte from, may be null to not limit the download bandwidth
+     *
+     * @return the results.
+     */
+    S3FileTransferResultsDto downloadFileRange(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, long firstByte, long lastByte,
+        RateLimiter rateLimiter);
+
     /**
      * Generates a GET pre-signed URL for the given object in S3 identified by its bucket name and key. Uses the proxy information and signer override specified
      * in the given {@link S3FileTransferRequestParamsDto}.
@@ -137,6 +166,18 @@ public interface S3Dao
      */
     ObjectMetadata getObjectMetadata(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto);
 
+    /**
+     * Gets the metadata for the specified Amazon S3 objects without actually fetching the objects. The metadata requests are executed in parallel using a
+     * bounded number of threads.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name identifies the bucket where the S3 objects are located,
+     * while the S3 key prefix is ignored
+     * @param s3Keys the list of S3 object keys
+     *
+     * @return the map of S3 object keys to their metadata, where S3 objects that are not found are not included
+     */
+    Map<String, ObjectMetadata> getObjectMetadata(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, List<String> s3Keys);
+
     /**
      * Gets an object from S3 and parses it as a {@link Properties}.
      *
@@ -243,6 +284,22 @@ public interface S3Dao
      */
     S3FileTransferResultsDto uploadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Uploads a local file into S3, so the upload can be resumed after a failure. Unless an earlier upload is being resumed, the specified listener gets
+     * notified with the upload state once it can be persisted, which happens once a multipart upload is initiated. When an earlier upload is being resumed, the
+     * parts already uploaded to S3 are not uploaded again.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix are for the target of the copy. The
+     * local path is the local file to be copied.
+     * @param persistableUpload the persisted state of an earlier upload of the same file to resume, may be null to start a new upload
+     * @param persistableUploadListener the listener to be notified with the persistable upload state, may be null
+     *
+     * @return the file transfer results.
+     * @throws InterruptedException if any problems were encountered.
+     */
+    S3FileTransferResultsDto uploadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, PersistableUpload persistableUpload,
+        Consumer<PersistableUpload> persistableUploadListener) throws InterruptedException;
+
     /**
      * Uploads a list of local files into S3.
      *
@@ -46,8 +46,10 @@ import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.transfer.internal.S3ProgressListener;
 
 /**
  * AWS S3 Operations Service.
@@ -58,6 +60,7 @@ public interface S3Operations
     public static final String ERROR_CODE_INTERNAL_ERROR = "InternalError";
     public static final String ERROR_CODE_NO_SUCH_BUCKET = "NoSuchBucket";
     public static final String ERROR_CODE_NO_SUCH_KEY = "NoSuchKey";
+    public static final String ERROR_CODE_NO_SUCH_UPLOAD = "NoSuchUpload";
 
     /**
      * Aborts a multipart upload.
@@ -226,6 +229,28 @@ public interface S3Operations
      */
     public Upload upload(PutObjectRequest putObjectRequest, TransferManager transferManager);
 
+    /**
+     * Schedules a new transfer to upload data to Amazon S3. The specified listener gets notified once the upload state can be persisted, so the upload can be
+     * resumed later by {@link #resumeUpload(PersistableUpload, TransferManager)}.
+     *
+     * @param putObjectRequest the request containing all the parameters for the upload
+     * @param progressListener the listener to be notified with the persistable upload state
+     * @param transferManager the transfer manager implementation to use
+     *
+     * @return the object to use to check the state of the upload, listen for progress notifications, and otherwise manage the upload
+     */
+    public Upload upload(PutObjectRequest putObjectRequest, S3ProgressListener progressListener, TransferManager transferManager);
+
+    /**
+     * Resumes an upload operation. The parts already uploaded to Amazon S3 as part of the persisted multipart upload are not uploaded again.
+     *
+     * @param persistableUpload the persisted state of the upload to resume
+     * @param transferManager the transfer manager implementation to use
+     *
+     * @return the object to use to check the state of the upload, listen for progress notifications, and otherwise manage the upload
+     */
+    public Upload resumeUpload(PersistableUpload persistableUpload, TransferManager transferManager);
+
     /**
      * Uploads all files in the directory given to the bucket named, optionally recursing for all subdirectories.
      *
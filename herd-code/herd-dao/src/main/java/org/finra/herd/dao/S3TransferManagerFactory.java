@@ -0,0 +1,293 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+
+/**
+ * A factory of S3 transfer managers that are shared between transfers with the same AWS credentials, region and client settings. Each transfer manager has
+ * its own bounded thread pool, so transfers of one transfer manager never wait for threads held by transfers of another one. The threads of an idle transfer
+ * manager time out, so cached transfer managers do not keep idle threads around.
+ */
+@Component
+public class S3TransferManagerFactory
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3TransferManagerFactory.class);
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The number of seconds an idle thread of a transfer manager thread pool is kept alive.
+     */
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    /**
+     * The shared transfer managers by the parameters they were created with.
+     */
+    private final Map<List<Object>, SharedTransferManager> sharedTransferManagers = new ConcurrentHashMap<>();
+
+    /**
+     * The number of transfer managers created so far, used to name their threads.
+     */
+    private final AtomicInteger transferManagersCount = new AtomicInteger();
+
+    /**
+     * Gets a shared transfer manager for the specified parameters, creating one if needed. The returned transfer manager must be released by closing the
+     * returned {@link SharedTransferManager} once the transfer is complete. The transfer manager must not be shut down by the caller.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param amazonS3Supplier the supplier of a new Amazon S3 client configured per specified parameters
+     *
+     * @return the shared transfer manager
+     */
+    public SharedTransferManager getSharedTransferManager(S3FileTransferRequestParamsDto params, Supplier<AmazonS3> amazonS3Supplier)
+    {
+        List<Object> key = getSharedTransferManagerKey(params);
+
+        while (true)
+        {
+            SharedTransferManager sharedTransferManager = sharedTransferManagers.get(key);
+
+            if (sharedTransferManager == null)
+            {
+                evictIdleTransferManagers();
+                sharedTransferManager = sharedTransferManagers.computeIfAbsent(key, k -> createSharedTransferManager(k, params, amazonS3Supplier));
+            }
+
+            sharedTransferManager.activeTransfersCount.incrementAndGet();
+
+            // Make sure the transfer manager did not get evicted while it was being acquired. Otherwise, try again.
+            if (sharedTransferManagers.get(key) == sharedTransferManager)
+            {
+                return sharedTransferManager;
+            }
+
+            sharedTransferManager.close();
+        }
+    }
+
+    /**
+     * Gets the number of transfers currently in progress using the shared transfer managers.
+     *
+     * @return the number of active transfers
+     */
+    public int getActiveTransfersCount()
+    {
+        int activeTransfersCount = 0;
+        for (SharedTransferManager sharedTransferManager : sharedTransferManagers.values())
+        {
+            activeTransfersCount += sharedTransferManager.activeTransfersCount.get();
+        }
+        return activeTransfersCount;
+    }
+
+    /**
+     * Shuts down all shared transfer managers along with their S3 clients and thread pools.
+     */
+    @PreDestroy
+    public void shutdown()
+    {
+        for (SharedTransferManager sharedTransferManager : sharedTransferManagers.values())
+        {
+            sharedTransferManager.shutdown();
+        }
+        sharedTransferManagers.clear();
+    }
+
+    /**
+     * Creates a new shared transfer manager.
+     *
+     * @param key the key of the shared transfer manager
+     * @param params the S3 file transfer request parameters
+     * @param amazonS3Supplier the supplier of a new Amazon S3 client
+     *
+     * @return the newly created shared transfer manager
+     */
+    private SharedTransferManager createSharedTransferManager(List<Object> key, S3FileTransferRequestParamsDto params, Supplier<AmazonS3> amazonS3Supplier)
+    {
+        // Size the thread pool per specified max threads, otherwise per the default max threads.
+        int threadsCount = params.getMaxThreads() != null ? params.getMaxThreads() :
+            configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MAX_THREADS, Integer.class);
+        String threadNamingPattern = "s3-transfer-" + transferManagersCount.incrementAndGet() + "-%d";
+
+        LOGGER.info("Creating a shared transfer manager. threadPoolSize={} sharedTransferManagersCount={}", threadsCount, sharedTransferManagers.size() + 1);
+
+        // The thread pool belongs to this transfer manager only, so the transfer manager shuts it down along with its S3 client.
+        TransferManager transferManager = TransferManagerBuilder.standard().withS3Client(amazonS3Supplier.get())
+            .withExecutorFactory(() -> createThreadPool(threadsCount, threadNamingPattern))
+            .withShutDownThreadPools(true).withMultipartUploadThreshold(
+                configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_UPLOAD_THRESHOLD_BYTES, Long.class))
+            .withMinimumUploadPartSize(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MINIMUM_UPLOAD_PART_SIZE_BYTES, Long.class))
+            .withMultipartCopyThreshold(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_COPY_THRESHOLD_BYTES, Long.class))
+            .withMultipartCopyPartSize(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_COPY_PART_SIZE_BYTES, Long.class))
+            .build();
+
+        return new SharedTransferManager(key, transferManager);
+    }
+
+    /**
+     * Creates a bounded thread pool for a transfer manager. Idle threads time out, so the thread pool of an idle transfer manager uses no threads.
+     *
+     * @param threadsCount the maximum number of threads
+     * @param threadNamingPattern the naming pattern of the threads
+     *
+     * @return the thread pool
+     */
+    private ExecutorService createThreadPool(int threadsCount, String threadNamingPattern)
+    {
+        ThreadPoolExecutor threadPoolExecutor =
+            new ThreadPoolExecutor(threadsCount, threadsCount, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder().namingPattern(threadNamingPattern).daemon(true).build());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    /**
+     * Evicts the least recently used idle transfer managers once the maximum number of shared transfer managers is reached. Transfer managers with transfers
+     * in progress are never evicted.
+     */
+    private void evictIdleTransferManagers()
+    {
+        int maxSharedTransferManagers = configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_CACHE_MAX_SIZE, Integer.class);
+
+        if (sharedTransferManagers.size() >= maxSharedTransferManagers)
+        {
+            List<SharedTransferManager> idleTransferManagers = new ArrayList<>();
+            for (SharedTransferManager sharedTransferManager : sharedTransferManagers.values())
+            {
+                if (sharedTransferManager.activeTransfersCount.get() == 0)
+                {
+                    idleTransferManagers.add(sharedTransferManager);
+                }
+            }
+            idleTransferManagers.sort(Comparator.comparingLong(sharedTransferManager -> sharedTransferManager.lastUsedTimeMillis));
+
+            for (SharedTransferManager sharedTransferManager : idleTransferManagers)
+            {
+                if (sharedTransferManagers.size() < maxSharedTransferManagers)
+                {
+                    break;
+                }
+
+                // Once removed, the transfer manager is shut down as soon as it has no transfers in progress.
+                if (sharedTransferManagers.remove(sharedTransferManager.key, sharedTransferManager) &&
+                    sharedTransferManager.activeTransfersCount.get() == 0)
+                {
+                    sharedTransferManager.shutdown();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the key of a shared transfer manager. The key consists of all parameters that are used to create an S3 client and a transfer manager. The AWS
+     * credentials are only kept as a hash, so the key does not hold the secret key or the session token in plain text.
+     *
+     * @param params the S3 file transfer request parameters
+     *
+     * @return the key
+     */
+    private List<Object> getSharedTransferManagerKey(S3FileTransferRequestParamsDto params)
+    {
+        String credentialsHash = DigestUtils.sha256Hex(
+            StringUtils.defaultString(params.getAwsAccessKeyId()) + '\n' + StringUtils.defaultString(params.getAwsSecretKey()) + '\n' +
+                StringUtils.defaultString(params.getSessionToken()));
+
+        return Arrays.asList(credentialsHash,
+            new ArrayList<>(params.getAdditionalAwsCredentialsProviders()), params.getHttpProxyHost(), params.getHttpProxyPort(), params.getSocketTimeout(),
+            params.getS3Endpoint(), params.getAwsRegionName(), params.getMaxThreads());
+    }
+
+    /**
+     * A transfer manager shared between transfers. Closing it releases the transfer manager without shutting it down.
+     */
+    public final class SharedTransferManager implements AutoCloseable
+    {
+        private final List<Object> key;
+
+        private final TransferManager transferManager;
+
+        private final AtomicInteger activeTransfersCount = new AtomicInteger();
+
+        private final AtomicBoolean isShutdown = new AtomicBoolean();
+
+        private volatile long lastUsedTimeMillis = System.currentTimeMillis();
+
+        private SharedTransferManager(List<Object> key, TransferManager transferManager)
+        {
+            this.key = key;
+            this.transferManager = transferManager;
+        }
+
+        public TransferManager getTransferManager()
+        {
+            return transferManager;
+        }
+
+        @Override
+        public void close()
+        {
+            lastUsedTimeMillis = System.currentTimeMillis();
+
+            // If this transfer manager was evicted while in use, shut it down once the last transfer is complete.
+            if (activeTransfersCount.decrementAndGet() == 0 && sharedTransferManagers.get(key) != this)
+            {
+                shutdown();
+            }
+        }
+
+        /**
+         * Shuts down the transfer manager along with its S3 client and its thread pool.
+         */
+        private void shutdown()
+        {
+            if (isShutdown.compareAndSet(false, true))
+            {
+                transferManager.shutdownNow(true);
+            }
+        }
+    }
+}
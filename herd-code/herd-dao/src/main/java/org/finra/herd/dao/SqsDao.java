@@ -17,6 +17,7 @@ package org.finra.herd.dao;
 
 import java.util.List;
 
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 import org.finra.herd.model.dto.AwsParamsDto;
@@ -38,4 +39,30 @@ public interface SqsDao
      * @return the result the send message operation returned by the service
      */
     public SendMessageResult sendMessage(AwsParamsDto awsParamsDto, String queueName, String messageText, List<MessageHeader> messageHeaders);
+
+    /**
+     * Delivers messages to the specified queue using as few batch requests as possible. The id of each batch result entry is the index of the relative message
+     * in the specified list of messages.
+     *
+     * @param awsParamsDto the AWS related parameters that contain optional proxy information
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param messageTexts the list of message texts
+     *
+     * @return the combined result of all send message batch operations returned by the service
+     */
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts);
+
+    /**
+     * Delivers messages along with their headers to the specified queue using as few batch requests as possible. The id of each batch result entry is the
+     * index of the relative message in the specified list of messages.
+     *
+     * @param awsParamsDto the AWS related parameters that contain optional proxy information
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param messageTexts the list of message texts
+     * @param messageHeaders the list of optional message headers for each message, or null when no message has headers
+     *
+     * @return the combined result of all send message batch operations returned by the service
+     */
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts,
+        List<List<MessageHeader>> messageHeaders);
 }
@@ -15,10 +15,13 @@
 */
 package org.finra.herd.dao;
 
+import java.util.List;
 import java.util.Map;
 
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 /**
@@ -37,4 +40,17 @@ public interface SqsOperations
      * @return the result the send message operation returned by the service
      */
     public SendMessageResult sendMessage(String queueName, String messageText, Map<String, MessageAttributeValue> messageAttributes, AmazonSQS amazonSQS);
+
+    /**
+     * Delivers messages to the specified queue using batch requests. The messages are sent in as many batch requests as needed to respect both the maximum
+     * number of messages and the maximum total payload size allowed per batch request by AWS SQS. When a batch request fails with an exception, only the
+     * messages of that batch request are reported as failed.
+     *
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param entries the list of message entries, each with an id that is unique within the list
+     * @param amazonSQS the client for accessing AWS SQS
+     *
+     * @return the combined result of all send message batch operations returned by the service
+     */
+    public SendMessageBatchResult sendMessageBatch(String queueName, List<SendMessageBatchRequestEntry> entries, AmazonSQS amazonSQS);
 }
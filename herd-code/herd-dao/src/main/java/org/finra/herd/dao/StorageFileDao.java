@@ -59,4 +59,13 @@ public interface StorageFileDao extends BaseJpaDao
      * @param storageFileEntities the list of storage file entities to save.
      */
     void saveStorageFiles(List<StorageFileEntity> storageFileEntities);
+
+    /**
+     * Inserts a list of storage file entities using multi-row insert statements executed in JDBC batches. Unlike {@link #saveStorageFiles(List)}, the inserts
+     * participate in the current transaction and the storage file entities never become managed by the persistence context. The storage units of the storage
+     * files must be already persisted.
+     *
+     * @param storageFileEntities the list of storage file entities to insert
+     */
+    void insertStorageFiles(List<StorageFileEntity> storageFileEntities);
 }
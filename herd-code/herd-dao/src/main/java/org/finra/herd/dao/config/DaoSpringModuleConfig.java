@@ -44,6 +44,7 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
@@ -98,6 +99,11 @@ public class DaoSpringModuleConfig implements CachingConfigurer
      */
     public static final String HERD_CACHE_NAME = "herd_cache";
 
+    /**
+     * The Hive partitions cache name.
+     */
+    public static final String HIVE_PARTITIONS_CACHE_NAME = "hive_partitions_cache";
+
     /**
      * The herd data source bean name.
      */
@@ -308,6 +314,30 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         return new PropertySourcesPlaceholderConfigurer();
     }
 
+    /**
+     * Gets the reloadable property source that the database property sources placeholder configurer added to the environment. The property source is not
+     * created as a bean, since it must be in place before any bean gets configured, so it is exposed here to have its background refresh stopped when the
+     * application context is closed.
+     *
+     * @return the reloadable property source or null if the environment does not have one
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ReloadablePropertySource reloadablePropertySource()
+    {
+        Environment environment = ApplicationContextHolder.getApplicationContext().getEnvironment();
+        if (environment instanceof ConfigurableEnvironment)
+        {
+            PropertySource<?> propertySource =
+                ((ConfigurableEnvironment) environment).getPropertySources().get(ReloadablePropertySource.class.getName());
+            if (propertySource instanceof ReloadablePropertySource)
+            {
+                return (ReloadablePropertySource) propertySource;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Gets a database configuration that can be used to read database properties.
      *
@@ -354,8 +384,17 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         cacheConfiguration.setMaxElementsInMemory(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
         cacheConfiguration.setMemoryStoreEvictionPolicy(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MEMORY_STORE_EVICTION_POLICY));
 
+        CacheConfiguration hivePartitionsCacheConfiguration = new CacheConfiguration();
+        hivePartitionsCacheConfiguration.setName(HIVE_PARTITIONS_CACHE_NAME);
+        hivePartitionsCacheConfiguration
+            .setTimeToLiveSeconds(configurationHelper.getProperty(ConfigurationValue.HIVE_PARTITIONS_CACHE_TIME_TO_LIVE_SECONDS, Long.class));
+        hivePartitionsCacheConfiguration
+            .setMaxElementsInMemory(configurationHelper.getProperty(ConfigurationValue.HIVE_PARTITIONS_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
+        hivePartitionsCacheConfiguration.setMemoryStoreEvictionPolicy("LRU");
+
         net.sf.ehcache.config.Configuration config = new net.sf.ehcache.config.Configuration();
         config.addCache(cacheConfiguration);
+        config.addCache(hivePartitionsCacheConfiguration);
 
         return net.sf.ehcache.CacheManager.create(config);
     }
@@ -50,6 +50,43 @@ public class HttpClientHelper
      */
     public CloseableHttpClient createHttpClient(Boolean trustSelfSignedCertificate, Boolean disableHostnameVerification)
         throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException
+    {
+        return createHttpClientBuilder(trustSelfSignedCertificate, disableHostnameVerification).build();
+    }
+
+    /**
+     * Creates a new HTTP client that can keep up to the specified number of connections open to the same host, so it can be shared by several threads.
+     *
+     * @param trustSelfSignedCertificate specifies whether to trust a self-signed certificate
+     * @param disableHostnameVerification specifies whether to turn off hostname verification
+     * @param maxConnections the maximum number of connections kept by the HTTP client
+     *
+     * @return the HTTP client
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    public CloseableHttpClient createHttpClient(Boolean trustSelfSignedCertificate, Boolean disableHostnameVerification, int maxConnections)
+        throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException
+    {
+        // By default, only two connections per host are kept.
+        return createHttpClientBuilder(trustSelfSignedCertificate, disableHostnameVerification).setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnections).build();
+    }
+
+    /**
+     * Creates a new HTTP client builder with the SSL connection socket factory configured.
+     *
+     * @param trustSelfSignedCertificate specifies whether to trust a self-signed certificate
+     * @param disableHostnameVerification specifies whether to turn off hostname verification
+     *
+     * @return the HTTP client builder
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    private HttpClientBuilder createHttpClientBuilder(Boolean trustSelfSignedCertificate, Boolean disableHostnameVerification)
+        throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException
     {
         // Create an HTTP client builder.
         HttpClientBuilder httpClientBuilder = HttpClients.custom();
@@ -71,7 +108,6 @@ public class HttpClientHelper
         SSLConnectionSocketFactory sslConnectionSocketFactory = new SSLConnectionSocketFactory(sslContextBuilder.build(), hostnameVerifier);
         httpClientBuilder.setSSLSocketFactory(sslConnectionSocketFactory);
 
-        // Build and return an HTTP client.
-        return httpClientBuilder.build();
+        return httpClientBuilder;
     }
 }
@@ -17,6 +17,7 @@ package org.finra.herd.dao.impl;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -26,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.persistence.Tuple;
 import javax.persistence.TypedQuery;
@@ -34,8 +36,10 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import javax.persistence.metamodel.SingularAttribute;
 
 import com.google.common.collect.Lists;
@@ -63,6 +67,7 @@ import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.PartitionValueFilter;
 import org.finra.herd.model.api.xml.PartitionValueRange;
 import org.finra.herd.model.api.xml.RegistrationDateRangeFilter;
+import org.finra.herd.model.dto.BusinessObjectDataStoragePolicyMatch;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeEntity_;
@@ -94,6 +99,12 @@ import org.finra.herd.model.jpa.StorageUnitStatusEntity_;
 @Repository
 public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements BusinessObjectDataDao
 {
+    /**
+     * The keyset value that stands for a missing sub-partition value. Please note that an empty string can not be used here, since it is treated as null by
+     * Oracle.
+     */
+    private static final String NO_SUB_PARTITION_VALUE_KEYSET_VALUE = " ";
+
     @Autowired
     private BusinessObjectDefinitionDao businessObjectDefinitionDao;
 
@@ -444,49 +455,12 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         // Create main query restrictions based on the specified parameters.
         List<Predicate> predicates = new ArrayList<>();
 
-        // Add restriction on business object definition.
-        predicates.add(storagePolicyPriorityLevel.isBusinessObjectDefinitionIsNull() ?
-            builder.isNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.businessObjectDefinitionId)) : builder
-            .equal(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.businessObjectDefinitionId),
-                storagePolicyEntityRoot.get(StoragePolicyEntity_.businessObjectDefinitionId)));
-
-        // Add restriction on business object format usage.
-        predicates.add(storagePolicyPriorityLevel.isUsageIsNull() ? builder.isNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.usage)) : builder
-            .equal(builder.upper(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.usage)),
-                builder.upper(storagePolicyEntityRoot.get(StoragePolicyEntity_.usage))));
-
-        // Add restriction on business object format file type.
-        predicates.add(storagePolicyPriorityLevel.isFileTypeIsNull() ? builder.isNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.fileType)) : builder
-            .equal(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.fileTypeCode),
-                storagePolicyEntityRoot.get(StoragePolicyEntity_.fileTypeCode)));
-
-        // Add restriction on storage policy filter storage.
-        predicates.add(builder.equal(storageUnitEntityJoin.get(StorageUnitEntity_.storageName), storagePolicyEntityRoot.get(StoragePolicyEntity_.storageName)));
-
-        // Add restriction on storage policy allowing or not to transition latest valid business object data versions.
-        predicates.add(builder.equal(storagePolicyEntityRoot.get(StoragePolicyEntity_.doNotTransitionLatestValid), doNotTransitionLatestValid));
-
-        // Add restriction on storage policy latest version flag.
-        predicates.add(builder.isTrue(storagePolicyEntityRoot.get(StoragePolicyEntity_.latestVersion)));
-
-        // Add restriction on storage policy status.
-        predicates.add(builder.equal(storagePolicyEntityRoot.get(StoragePolicyEntity_.statusCode), StoragePolicyStatusEntity.ENABLED));
-
-        // Add restriction on supported business object data statuses.
-        predicates.add(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.statusCode).in(supportedBusinessObjectDataStatuses));
-
-        // Add restrictions as per storage policy transition type.
-        predicates
-            .add(builder.equal(storagePolicyEntityRoot.get(StoragePolicyEntity_.storagePolicyTransitionTypeCode), StoragePolicyTransitionTypeEntity.GLACIER));
-        predicates.add(storageUnitEntityJoin.get(StorageUnitEntity_.statusCode)
-            .in(Lists.newArrayList(StorageUnitStatusEntity.ENABLED, StorageUnitStatusEntity.ARCHIVING)));
+        // Add restriction on storage policy filter as per storage policy priority level.
+        predicates.add(getStoragePolicyPriorityLevelPredicate(builder, storagePolicyPriorityLevel, businessObjectFormatEntityJoin, storagePolicyEntityRoot));
 
-        // If specified, add restriction on maximum allowed attempts for a storage policy transition.
-        if (storagePolicyTransitionMaxAllowedAttempts > 0)
-        {
-            predicates.add(builder.or(builder.isNull(storageUnitEntityJoin.get(StorageUnitEntity_.storagePolicyTransitionFailedAttempts)), builder
-                .lessThan(storageUnitEntityJoin.get(StorageUnitEntity_.storagePolicyTransitionFailedAttempts), storagePolicyTransitionMaxAllowedAttempts)));
-        }
+        // Add restrictions on storage policy filter storage, storage policy transition, and business object data and storage unit statuses.
+        predicates.addAll(getStoragePolicyMatchingPredicates(builder, doNotTransitionLatestValid, supportedBusinessObjectDataStatuses,
+            storagePolicyTransitionMaxAllowedAttempts, businessObjectDataEntityRoot, storageUnitEntityJoin, storagePolicyEntityRoot));
 
         // Order the results by business object data "created on" value.
         Order orderByCreatedOn = builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn));
@@ -517,6 +491,90 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         return result;
     }
 
+    @Override
+    public List<BusinessObjectDataStoragePolicyMatch> getBusinessObjectDataStoragePolicyMatches(List<StoragePolicyPriorityLevel> storagePolicyPriorityLevels,
+        Boolean doNotTransitionLatestValid, List<String> supportedBusinessObjectDataStatuses, int storagePolicyTransitionMaxAllowedAttempts,
+        Timestamp lastBusinessObjectDataCreatedOn, Long lastBusinessObjectDataId, int maxResult)
+    {
+        // Create the criteria builder and a tuple style criteria query.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = builder.createTupleQuery();
+
+        // The criteria root is the business object data along with the storage policy.
+        Root<BusinessObjectDataEntity> businessObjectDataEntityRoot = criteria.from(BusinessObjectDataEntity.class);
+        Root<StoragePolicyEntity> storagePolicyEntityRoot = criteria.from(StoragePolicyEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<BusinessObjectDataEntity, StorageUnitEntity> storageUnitEntityJoin = businessObjectDataEntityRoot.join(BusinessObjectDataEntity_.storageUnits);
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin =
+            businessObjectDataEntityRoot.join(BusinessObjectDataEntity_.businessObjectFormat);
+
+        // Get the columns.
+        Path<Long> businessObjectDataIdColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id);
+        Path<Timestamp> businessObjectDataCreatedOnColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn);
+        Path<Timestamp> businessObjectDataUpdatedOnColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.updatedOn);
+        Path<String> businessObjectDataPartitionValueColumn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.partitionValue);
+        Path<Long> storagePolicyIdColumn = storagePolicyEntityRoot.get(StoragePolicyEntity_.id);
+
+        // Build a restriction that matches storage policy filters of all priority levels along with an expression that evaluates to the priority of the
+        // matching storage policy, where 0 is the highest priority.
+        List<Predicate> storagePolicyPriorityLevelPredicates = new ArrayList<>();
+        CriteriaBuilder.Case<Integer> storagePolicyPriorityExpression = builder.selectCase();
+        for (int priority = 0; priority < storagePolicyPriorityLevels.size(); priority++)
+        {
+            Predicate storagePolicyPriorityLevelPredicate =
+                getStoragePolicyPriorityLevelPredicate(builder, storagePolicyPriorityLevels.get(priority), businessObjectFormatEntityJoin,
+                    storagePolicyEntityRoot);
+            storagePolicyPriorityLevelPredicates.add(storagePolicyPriorityLevelPredicate);
+            storagePolicyPriorityExpression = storagePolicyPriorityExpression.when(storagePolicyPriorityLevelPredicate, builder.literal(priority));
+        }
+        Expression<Integer> storagePolicyPriority = storagePolicyPriorityExpression.otherwise(builder.literal(storagePolicyPriorityLevels.size()));
+
+        // Create main query restrictions based on the specified parameters.
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.or(storagePolicyPriorityLevelPredicates.toArray(new Predicate[] {})));
+        predicates.addAll(getStoragePolicyMatchingPredicates(builder, doNotTransitionLatestValid, supportedBusinessObjectDataStatuses,
+            storagePolicyTransitionMaxAllowedAttempts, businessObjectDataEntityRoot, storageUnitEntityJoin, storagePolicyEntityRoot));
+
+        // Starting from the second page, add a restriction to select only business object data that follow the last one returned by the previous page.
+        if (lastBusinessObjectDataCreatedOn != null && lastBusinessObjectDataId != null)
+        {
+            predicates.add(builder.or(builder.greaterThan(businessObjectDataCreatedOnColumn, lastBusinessObjectDataCreatedOn), builder
+                .and(builder.equal(businessObjectDataCreatedOnColumn, lastBusinessObjectDataCreatedOn),
+                    builder.greaterThan(businessObjectDataIdColumn, lastBusinessObjectDataId))));
+        }
+
+        // Add the clauses for the query. Rows are ordered by the business object data keyset and then by storage policy priority, so the first row returned
+        // for each business object data is the one with its highest priority matching storage policy.
+        criteria.multiselect(businessObjectDataIdColumn, businessObjectDataCreatedOnColumn, businessObjectDataUpdatedOnColumn,
+            businessObjectDataPartitionValueColumn, storagePolicyIdColumn, storagePolicyPriority).where(predicates.toArray(new Predicate[] {}))
+            .orderBy(builder.asc(businessObjectDataCreatedOnColumn), builder.asc(businessObjectDataIdColumn), builder.asc(storagePolicyPriority),
+                builder.asc(storagePolicyIdColumn));
+
+        // Run the query to get a list of tuples back.
+        List<Tuple> tuples = entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+
+        // Populate the result list from the returned tuples, keeping only the first (highest priority) row for each business object data. The last business
+        // object data in this page may have more matching rows beyond the page limit, but its first row is still its highest priority match and the next page
+        // will start right after it.
+        List<BusinessObjectDataStoragePolicyMatch> result = new ArrayList<>();
+        Long previousBusinessObjectDataId = null;
+        for (Tuple tuple : tuples)
+        {
+            Long businessObjectDataId = tuple.get(businessObjectDataIdColumn);
+
+            if (!businessObjectDataId.equals(previousBusinessObjectDataId))
+            {
+                result.add(new BusinessObjectDataStoragePolicyMatch(businessObjectDataId, tuple.get(businessObjectDataCreatedOnColumn),
+                    tuple.get(businessObjectDataUpdatedOnColumn), tuple.get(businessObjectDataPartitionValueColumn), tuple.get(storagePolicyIdColumn),
+                    tuple.get(storagePolicyPriority)));
+                previousBusinessObjectDataId = businessObjectDataId;
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Retrieves partition value per specified parameters that includes the aggregate function.
      * <p>
@@ -651,6 +709,23 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         return entityManager.createQuery(query).getResultList();
     }
 
+    @Override
+    public List<BusinessObjectDataEntity> getBusinessObjectDataEntitiesByIds(Collection<Long> businessObjectDataIds)
+    {
+        if (businessObjectDataIds.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataEntity> query = criteriaBuilder.createQuery(BusinessObjectDataEntity.class);
+
+        Root<BusinessObjectDataEntity> businessObjectDataEntity = query.from(BusinessObjectDataEntity.class);
+        query.select(businessObjectDataEntity).where(businessObjectDataEntity.get(BusinessObjectDataEntity_.id).in(businessObjectDataIds));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
     /**
      * Create search restrictions per specified business object data search key.
      *
@@ -813,6 +888,13 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
 
     @Override
     public List<BusinessObjectData> searchBusinessObjectData(BusinessObjectDataSearchKey businessObjectDataSearchKey, Integer pageNum, Integer pageSize)
+    {
+        return searchBusinessObjectData(businessObjectDataSearchKey, pageNum, pageSize, true);
+    }
+
+    @Override
+    public List<BusinessObjectData> searchBusinessObjectData(BusinessObjectDataSearchKey businessObjectDataSearchKey, Integer pageNum, Integer pageSize,
+        boolean includeAttributes)
     {
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
@@ -883,7 +965,120 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
             entityManager.createQuery(criteria).setFirstResult(pageSize * (pageNum - 1)).setMaxResults(pageSize).getResultList();
 
         // Crete the result list of business object data.
-        return getQueryResultListFromEntityList(businessObjectDataEntities, businessObjectDataSearchKey.getAttributeValueFilters());
+        return getQueryResultListFromEntityList(businessObjectDataEntities, includeAttributes ? businessObjectDataSearchKey.getAttributeValueFilters() : null);
+    }
+
+    @Override
+    public List<BusinessObjectData> searchBusinessObjectDataAfter(BusinessObjectDataSearchKey businessObjectDataSearchKey,
+        BusinessObjectData lastBusinessObjectData, Integer maxResults, boolean includeAttributes)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataEntity> criteria = builder.createQuery(BusinessObjectDataEntity.class);
+
+        // The criteria root is the business object data.
+        Root<BusinessObjectDataEntity> businessObjectDataEntityRoot = criteria.from(BusinessObjectDataEntity.class);
+
+        // Namespace and business object definition are required parameters, so fetch the relative business object definition entity to optimize the main query.
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity = businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(
+            new BusinessObjectDefinitionKey(businessObjectDataSearchKey.getNamespace(), businessObjectDataSearchKey.getBusinessObjectDefinitionName()));
+
+        // If specified business object definition does not exist, then return an empty result list.
+        if (businessObjectDefinitionEntity == null)
+        {
+            return Collections.emptyList();
+        }
+
+        // If file type is specified, fetch the relative entity to optimize the main query.
+        FileTypeEntity fileTypeEntity = null;
+        if (StringUtils.isNotBlank(businessObjectDataSearchKey.getBusinessObjectFormatFileType()))
+        {
+            fileTypeEntity = fileTypeDao.getFileTypeByCode(businessObjectDataSearchKey.getBusinessObjectFormatFileType());
+
+            // If specified file type does not exist, then return an empty result list.
+            if (fileTypeEntity == null)
+            {
+                return Collections.emptyList();
+            }
+        }
+
+        // Select the matching business object data in a sub-query, so the joins required by the search filters can not return the same business object data
+        // more than once. Otherwise, a page could hold less business object data than requested while more business object data is left.
+        Subquery<Long> subquery = criteria.subquery(Long.class);
+        Root<BusinessObjectDataEntity> subqueryBusinessObjectDataEntityRoot = subquery.from(BusinessObjectDataEntity.class);
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> subqueryBusinessObjectFormatEntityJoin =
+            subqueryBusinessObjectDataEntityRoot.join(BusinessObjectDataEntity_.businessObjectFormat);
+        try
+        {
+            subquery.select(subqueryBusinessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id)).where(
+                getQueryPredicateBySearchKey(builder, subqueryBusinessObjectDataEntityRoot, subqueryBusinessObjectFormatEntityJoin, businessObjectDataSearchKey,
+                    businessObjectDefinitionEntity, fileTypeEntity));
+        }
+        catch (IllegalArgumentException ex)
+        {
+            // This exception means that there are no records found for the query, thus return an empty result list.
+            return Collections.emptyList();
+        }
+
+        // Join to the business object format table to order by its columns.
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin =
+            businessObjectDataEntityRoot.join(BusinessObjectDataEntity_.businessObjectFormat);
+
+        // Build the keyset. Missing sub-partition values are replaced with a placeholder, so the keyset comparison does not depend on how the database sorts
+        // nulls. Please note that the latest valid version filtering done by the caller relies on all versions of the same business object data being adjacent.
+        List<KeysetColumn<?>> keysetColumns = new ArrayList<>();
+        keysetColumns.add(new KeysetColumn<>(builder.upper(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.usage)), true,
+            businessObjectData -> businessObjectData.getBusinessObjectFormatUsage().toUpperCase()));
+        keysetColumns.add(new KeysetColumn<>(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.fileTypeCode), true,
+            BusinessObjectData::getBusinessObjectFormatFileType));
+        keysetColumns.add(new KeysetColumn<>(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.partitionValue), false,
+            BusinessObjectData::getPartitionValue));
+        List<SingularAttribute<BusinessObjectDataEntity, String>> subPartitionValueAttributes = Arrays
+            .asList(BusinessObjectDataEntity_.partitionValue2, BusinessObjectDataEntity_.partitionValue3, BusinessObjectDataEntity_.partitionValue4,
+                BusinessObjectDataEntity_.partitionValue5);
+        for (int i = 0; i < subPartitionValueAttributes.size(); i++)
+        {
+            final int subPartitionIndex = i;
+            keysetColumns.add(
+                new KeysetColumn<>(builder.coalesce(businessObjectDataEntityRoot.get(subPartitionValueAttributes.get(i)), NO_SUB_PARTITION_VALUE_KEYSET_VALUE),
+                    false, businessObjectData -> getSubPartitionValueKeysetValue(businessObjectData, subPartitionIndex)));
+        }
+        keysetColumns.add(new KeysetColumn<>(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.businessObjectFormatVersion), false,
+            BusinessObjectData::getBusinessObjectFormatVersion));
+        keysetColumns.add(new KeysetColumn<>(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.version), false, BusinessObjectData::getVersion));
+        keysetColumns.add(new KeysetColumn<>(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id), true, BusinessObjectData::getId));
+
+        // Build the order by clause along with the restriction that selects business object data after the last one. The restriction is a disjunction with
+        // one term per keyset column, where each term requires all preceding columns to be equal to and this column to be after the last values.
+        List<Order> orderBy = new ArrayList<>();
+        List<Predicate> keysetPredicates = new ArrayList<>();
+        List<Predicate> equalKeysetPredicates = new ArrayList<>();
+        for (KeysetColumn<?> keysetColumn : keysetColumns)
+        {
+            orderBy.add(keysetColumn.getOrder(builder));
+
+            if (lastBusinessObjectData != null)
+            {
+                List<Predicate> keysetPredicate = new ArrayList<>(equalKeysetPredicates);
+                keysetPredicate.add(keysetColumn.getAfterPredicate(builder, lastBusinessObjectData));
+                keysetPredicates.add(builder.and(keysetPredicate.toArray(new Predicate[0])));
+                equalKeysetPredicates.add(keysetColumn.getEqualPredicate(builder, lastBusinessObjectData));
+            }
+        }
+
+        // Add all clauses for the query.
+        Predicate predicate = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id).in(subquery);
+        if (lastBusinessObjectData != null)
+        {
+            predicate = builder.and(predicate, builder.or(keysetPredicates.toArray(new Predicate[0])));
+        }
+        criteria.select(businessObjectDataEntityRoot).where(predicate).orderBy(orderBy);
+
+        // Run the query to get a list of business object data entities.
+        List<BusinessObjectDataEntity> businessObjectDataEntities = entityManager.createQuery(criteria).setMaxResults(maxResults).getResultList();
+
+        // Crete the result list of business object data.
+        return getQueryResultListFromEntityList(businessObjectDataEntities, includeAttributes ? businessObjectDataSearchKey.getAttributeValueFilters() : null);
     }
 
     /**
@@ -1188,6 +1383,20 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         return businessObjectDataList;
     }
 
+    /**
+     * Gets the keyset value of a sub-partition of the business object data.
+     *
+     * @param businessObjectData the business object data
+     * @param subPartitionIndex the zero-based index of the sub-partition
+     *
+     * @return the sub-partition value or a placeholder when the business object data has no such sub-partition
+     */
+    private static String getSubPartitionValueKeysetValue(BusinessObjectData businessObjectData, int subPartitionIndex)
+    {
+        return CollectionUtils.size(businessObjectData.getSubPartitionValues()) > subPartitionIndex ?
+            businessObjectData.getSubPartitionValues().get(subPartitionIndex) : NO_SUB_PARTITION_VALUE_KEYSET_VALUE;
+    }
+
     /**
      * Checks if the attribute should be returned based on the attribute value query list if attribute name supplied, match attribute name case in sensitive if
      * attribute value supplied, match attribute value case sensitive with contain logic if both attribute name and value supplied, match both.
@@ -1392,4 +1601,128 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
 
         return subPartitionValues;
     }
+
+    /**
+     * Gets a predicate that matches storage policy filter to business object format as per specified storage policy priority level.
+     *
+     * @param builder the criteria builder
+     * @param storagePolicyPriorityLevel the storage policy priority level
+     * @param businessObjectFormatEntityJoin the business object format entity join
+     * @param storagePolicyEntityRoot the storage policy entity root
+     *
+     * @return the predicate
+     */
+    private Predicate getStoragePolicyPriorityLevelPredicate(CriteriaBuilder builder, StoragePolicyPriorityLevel storagePolicyPriorityLevel,
+        Join<BusinessObjectDataEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin, Root<StoragePolicyEntity> storagePolicyEntityRoot)
+    {
+        List<Predicate> predicates = new ArrayList<>();
+
+        // Add restriction on business object definition.
+        predicates.add(storagePolicyPriorityLevel.isBusinessObjectDefinitionIsNull() ?
+            builder.isNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.businessObjectDefinitionId)) : builder
+            .equal(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.businessObjectDefinitionId),
+                storagePolicyEntityRoot.get(StoragePolicyEntity_.businessObjectDefinitionId)));
+
+        // Add restriction on business object format usage.
+        predicates.add(storagePolicyPriorityLevel.isUsageIsNull() ? builder.isNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.usage)) : builder
+            .equal(builder.upper(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.usage)),
+                builder.upper(storagePolicyEntityRoot.get(StoragePolicyEntity_.usage))));
+
+        // Add restriction on business object format file type.
+        predicates.add(storagePolicyPriorityLevel.isFileTypeIsNull() ? builder.isNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.fileType)) : builder
+            .equal(businessObjectFormatEntityJoin.get(BusinessObjectFormatEntity_.fileTypeCode),
+                storagePolicyEntityRoot.get(StoragePolicyEntity_.fileTypeCode)));
+
+        return builder.and(predicates.toArray(new Predicate[] {}));
+    }
+
+    /**
+     * Gets predicates that match business object data to storage policies on storage policy filter storage, storage policy transition, and business object
+     * data and storage unit statuses. Storage policy filter fields that are matched as per storage policy priority level are not included.
+     *
+     * @param builder the criteria builder
+     * @param doNotTransitionLatestValid specifies if this storage policy should not transition latest valid business object data versions
+     * @param supportedBusinessObjectDataStatuses the list of business object data statuses that storage policies apply to (case-sensitive)
+     * @param storagePolicyTransitionMaxAllowedAttempts the maximum number of failed storage policy transition attempts before the relative storage unit gets
+     * excluded from being selected. 0 means the maximum is not set
+     * @param businessObjectDataEntityRoot the business object data entity root
+     * @param storageUnitEntityJoin the storage unit entity join
+     * @param storagePolicyEntityRoot the storage policy entity root
+     *
+     * @return the list of predicates
+     */
+    private List<Predicate> getStoragePolicyMatchingPredicates(CriteriaBuilder builder, Boolean doNotTransitionLatestValid,
+        List<String> supportedBusinessObjectDataStatuses, int storagePolicyTransitionMaxAllowedAttempts,
+        Root<BusinessObjectDataEntity> businessObjectDataEntityRoot, Join<BusinessObjectDataEntity, StorageUnitEntity> storageUnitEntityJoin,
+        Root<StoragePolicyEntity> storagePolicyEntityRoot)
+    {
+        List<Predicate> predicates = new ArrayList<>();
+
+        // Add restriction on storage policy filter storage.
+        predicates.add(builder.equal(storageUnitEntityJoin.get(StorageUnitEntity_.storageName), storagePolicyEntityRoot.get(StoragePolicyEntity_.storageName)));
+
+        // Add restriction on storage policy allowing or not to transition latest valid business object data versions.
+        predicates.add(builder.equal(storagePolicyEntityRoot.get(StoragePolicyEntity_.doNotTransitionLatestValid), doNotTransitionLatestValid));
+
+        // Add restriction on storage policy latest version flag.
+        predicates.add(builder.isTrue(storagePolicyEntityRoot.get(StoragePolicyEntity_.latestVersion)));
+
+        // Add restriction on storage policy status.
+        predicates.add(builder.equal(storagePolicyEntityRoot.get(StoragePolicyEntity_.statusCode), StoragePolicyStatusEntity.ENABLED));
+
+        // Add restriction on supported business object data statuses.
+        predicates.add(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.statusCode).in(supportedBusinessObjectDataStatuses));
+
+        // Add restrictions as per storage policy transition type.
+        predicates
+            .add(builder.equal(storagePolicyEntityRoot.get(StoragePolicyEntity_.storagePolicyTransitionTypeCode), StoragePolicyTransitionTypeEntity.GLACIER));
+        predicates.add(storageUnitEntityJoin.get(StorageUnitEntity_.statusCode)
+            .in(Lists.newArrayList(StorageUnitStatusEntity.ENABLED, StorageUnitStatusEntity.ARCHIVING)));
+
+        // If specified, add restriction on maximum allowed attempts for a storage policy transition.
+        if (storagePolicyTransitionMaxAllowedAttempts > 0)
+        {
+            predicates.add(builder.or(builder.isNull(storageUnitEntityJoin.get(StorageUnitEntity_.storagePolicyTransitionFailedAttempts)), builder
+                .lessThan(storageUnitEntityJoin.get(StorageUnitEntity_.storagePolicyTransitionFailedAttempts), storagePolicyTransitionMaxAllowedAttempts)));
+        }
+
+        return predicates;
+    }
+
+    /**
+     * A column of the keyset used to page through business object data search results.
+     *
+     * @param <T> the type of the column values
+     */
+    private static class KeysetColumn<T extends Comparable<? super T>>
+    {
+        private final Expression<T> expression;
+
+        private final boolean ascending;
+
+        private final Function<BusinessObjectData, T> valueGetter;
+
+        KeysetColumn(Expression<T> expression, boolean ascending, Function<BusinessObjectData, T> valueGetter)
+        {
+            this.expression = expression;
+            this.ascending = ascending;
+            this.valueGetter = valueGetter;
+        }
+
+        Order getOrder(CriteriaBuilder builder)
+        {
+            return ascending ? builder.asc(expression) : builder.desc(expression);
+        }
+
+        Predicate getAfterPredicate(CriteriaBuilder builder, BusinessObjectData lastBusinessObjectData)
+        {
+            T lastValue = valueGetter.apply(lastBusinessObjectData);
+            return ascending ? builder.greaterThan(expression, lastValue) : builder.lessThan(expression, lastValue);
+        }
+
+        Predicate getEqualPredicate(CriteriaBuilder builder, BusinessObjectData lastBusinessObjectData)
+        {
+            return builder.equal(expression, valueGetter.apply(lastBusinessObjectData));
+        }
+    }
 }
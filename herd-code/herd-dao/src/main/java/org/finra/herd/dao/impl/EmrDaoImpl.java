@@ -25,9 +25,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.amazonaws.services.elasticmapreduce.AmazonElasticMapReduceClient;
 import com.amazonaws.services.elasticmapreduce.model.ActionOnFailure;
@@ -126,6 +131,21 @@ public class EmrDaoImpl implements EmrDao
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmrDaoImpl.class);
 
+    /**
+     * The EMR cluster cache refresh locks by AWS account id. They make sure that only one thread at a time lists EMR clusters for an account.
+     */
+    private final Map<String, Lock> emrClusterCacheRefreshLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder emrClusterCacheHitCount = new LongAdder();
+
+    private final LongAdder emrClusterCacheMissCount = new LongAdder();
+
+    private final LongAdder emrClusterCacheFullReloadCount = new LongAdder();
+
+    private final LongAdder emrClusterCacheDeltaUpdateCount = new LongAdder();
+
+    private final LongAdder emrClusterCacheSharedRefreshCount = new LongAdder();
+
     @Autowired
     private AwsClientFactory awsClientFactory;
 
@@ -195,10 +215,8 @@ public class EmrDaoImpl implements EmrDao
     }
 
     @Override
-    public synchronized ClusterSummary getActiveEmrClusterByNameAndAccountId(String clusterName, String accountId, AwsParamsDto awsParams)
+    public ClusterSummary getActiveEmrClusterByNameAndAccountId(String clusterName, String accountId, AwsParamsDto awsParams)
     {
-        LOGGER.info("Entering synchronized method.");
-
         // Initialize a cluster summary to null for the case that the cluster is not found in the list.
         ClusterSummary clusterSummary = null;
 
@@ -210,136 +228,67 @@ public class EmrDaoImpl implements EmrDao
 
         if (StringUtils.isNotBlank(clusterName))
         {
+            // Remember when this lookup started, so a refresh of the EMR cluster cache that another thread starts after this point can be reused.
+            LocalDateTime lookupStartTime = LocalDateTime.now(ZoneId.systemDefault());
+
             // Build the EMR cluster cache key
             EmrClusterCacheKey emrClusterCacheKey = new EmrClusterCacheKey(clusterName.toUpperCase(), accountId);
 
             LOGGER.info("EMR cluster cache key. emrClusterCacheKey=\"{}\"", emrClusterCacheKey.toString());
 
-            // First check to see if this cluster id is stored locally in the EMR Cluster Cache.
-            // If the EMR cluster cache does contain the cluster key use the id found in the EMR cluster cache.
-            // Else the EMR cluster cache does not contain the cluster key then move on to do a list cluster.
-            if (emrClusterCache.containsKey(emrClusterCacheKey))
+            // First check to see if this cluster id is stored locally in the EMR Cluster Cache. The cache is a concurrent map, so this check does not
+            // require any locking. If the EMR cluster cache does not contain an active cluster for the cluster key, then move on to do a list cluster.
+            clusterSummary = getActiveEmrClusterFromCache(clusterName, emrClusterCacheKey, emrClusterCache, awsParams);
+            if (clusterSummary != null)
             {
-                // Get the cluster id value from the EMR cluster cache with the cluster name key.
-                String clusterId = emrClusterCache.get(emrClusterCacheKey);
-
-                // Retrieve the cluster status to validate the cluster.
-                Cluster cluster = getEmrClusterById(clusterId, awsParams);
-                ClusterStatus clusterStatus = cluster == null ? null : cluster.getStatus();
-                String status = clusterStatus == null ? null : clusterStatus.getState();
-                LOGGER.info("Found the EMR cluster name in the EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"",
-                    clusterName.toUpperCase(), clusterId, status);
-
-                // If the status is not null and the status is in one of the active EMR cluster states,
-                // then return the cluster summary with the cluster id from the EMR cluster cache.
-                // Else remove the cluster from the EMR cluster cache and then move on to do a list cluster.
-                if (status != null && Arrays.asList(getActiveEmrClusterStates()).contains(status))
-                {
-                    LOGGER.info("Exiting synchronized block.");
-                    return new ClusterSummary().withId(clusterId).withName(clusterName).withStatus(clusterStatus);
-                }
-                else
-                {
-                    LOGGER.info("Removing cluster from EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"",
-                        clusterName.toUpperCase(), clusterId, status);
-
-                    // Remove the cluster from the cache.
-                    emrClusterCache.remove(emrClusterCacheKey);
-                }
+                emrClusterCacheHitCount.increment();
+                return clusterSummary;
             }
 
+            emrClusterCacheMissCount.increment();
+
             LOGGER.info("The cluster name was not in the cluster cache. Make a list cluster request to find the cluster id. emrClusterName=\"{}\"",
                 clusterName.toUpperCase());
 
-            // Get the EMR cluster cache timeout values.
-            EmrClusterCacheTimestamps emrClusterCacheTimestamps = getEmrClusterCacheTimestampsByAccountId(accountId);
-            LocalDateTime lastFullReload = emrClusterCacheTimestamps.getLastFullReload();
-            LocalDateTime lastDeltaUpdate = emrClusterCacheTimestamps.getLastDeltaUpdate();
-
-            // New cache timeout values.
-            LocalDateTime newLastFullReload;
-            LocalDateTime newLastDeltaUpdate;
-
-            // Default the created after date to null for the full update case.
-            Date createdAfter = null;
-
-            // If the last delta update is null, or the last full reload is null, or the if the difference between the current time and the lastFullReload is
-            // greater than FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES, then do a full reload.
-            if (lastDeltaUpdate == null || lastFullReload == null ||
-                Duration.between(lastFullReload, LocalDateTime.now(ZoneId.systemDefault())).toMinutes() > FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES)
+            // Only one thread at a time refreshes the EMR cluster cache for an account. Lookups for other accounts and cache hits are not blocked.
+            Lock emrClusterCacheRefreshLock =
+                emrClusterCacheRefreshLocks.computeIfAbsent(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId,
+                    key -> new ReentrantLock());
+            emrClusterCacheRefreshLock.lock();
+            try
             {
-                // Set the new last full reload time to the current time.
-                newLastFullReload = LocalDateTime.now(ZoneId.systemDefault());
+                // Get the EMR cluster cache timeout values.
+                EmrClusterCacheTimestamps emrClusterCacheTimestamps = getEmrClusterCacheTimestampsByAccountId(accountId);
 
-                // Clear the EMR cluster cache
-                emrClusterCache.clear();
+                // If another thread started a refresh of the EMR cluster cache after this lookup started, while this thread was waiting for the lock, that
+                // refresh already listed all clusters visible to this lookup. So check the cache again instead of making another list cluster request.
+                if (emrClusterCacheTimestamps.getLastDeltaUpdate() != null && emrClusterCacheTimestamps.getLastDeltaUpdate().isAfter(lookupStartTime))
+                {
+                    emrClusterCacheSharedRefreshCount.increment();
 
-                LOGGER.info("EMR cluster cache cleared. Starting a full reload of the EMR cluster cache. " +
-                        "newLastFullReload=\"{}\" lastFullReload=\"{}\" emrClusterCache=\"{}\"", newLastFullReload, lastFullReload,
-                    System.identityHashCode(emrClusterCache));
+                    LOGGER.info("Reusing the EMR cluster cache refreshed by another thread. " +
+                            "emrClusterName=\"{}\" lastDeltaUpdate=\"{}\" lookupStartTime=\"{}\"", clusterName.toUpperCase(),
+                        emrClusterCacheTimestamps.getLastDeltaUpdate(), lookupStartTime);
+                }
+                else
+                {
+                    clusterSummary = refreshEmrClusterCache(clusterName, accountId, emrClusterCache, emrClusterCacheTimestamps, awsParams);
+                }
             }
-            else
+            finally
             {
-                // Set the created after date to the last delta update minus the delta update safety buffer time.
-                createdAfter = Date.from(lastDeltaUpdate.minusMinutes(DELTA_UPDATE_BUFFER_IN_MINUTES).atZone(ZoneId.systemDefault()).toInstant());
-
-                // Keep the last full reload the same.
-                newLastFullReload = lastFullReload;
-
-                LOGGER.info("Beginning a delta reload of the EMR cluster cache. lastFullReload=\"{}\" lastDeltaUpdate=\"{}\"", lastFullReload, lastDeltaUpdate);
+                emrClusterCacheRefreshLock.unlock();
             }
 
-            // Set the new last delta update to the current time.
-            newLastDeltaUpdate = LocalDateTime.now(ZoneId.systemDefault());
-
-            LOGGER
-                .info("The new last delta update is newLastDeltaUpdate=\"{}\" and the created after is createdAfter=\"{}\"", newLastDeltaUpdate, createdAfter);
-
-            /**
-             * Call AWSOperations for ListClusters API. Need to list all the active clusters that are in
-             * BOOTSTRAPPING/RUNNING/STARTING/WAITING states
-             */
-            ListClustersRequest listClustersRequest = new ListClustersRequest().withClusterStates(getActiveEmrClusterStates());
-
-            /**
-             * ListClusterRequest returns only 50 clusters at a time. However, this returns a marker
-             * that can be used for subsequent calls to listClusters to get all the clusters
-             */
-            String markerForListClusters = listClustersRequest.getMarker();
-
-            // Loop through all the available clusters and look for the given cluster id
-            do
+            // If the cache was refreshed by another thread, validate the cluster found in the refreshed cache.
+            if (clusterSummary == null && emrClusterCache.containsKey(emrClusterCacheKey))
             {
-                /**
-                 * Call AWSOperations for ListClusters API.
-                 * Need to include the Marker returned by the previous iteration
-                 */
-                ListClustersResult clusterResult = emrOperations
-                    .listEmrClusters(getEmrClient(awsParams), listClustersRequest.withMarker(markerForListClusters).withCreatedAfter(createdAfter));
-
-                // Loop through all the active clusters returned by AWS
-                for (ClusterSummary clusterInstance : clusterResult.getClusters())
-                {
-                    LOGGER
-                        .info("Adding EMR cluster to the EMR Cluster Cache. emrClusterName=\"{}\" emrClusterId=\"{}\"", clusterInstance.getName().toUpperCase(),
-                            clusterInstance.getId());
-
-                    // Add this cluster instance to the EMR cluster cache.
-                    emrClusterCache.put(new EmrClusterCacheKey(clusterInstance.getName().toUpperCase(), accountId), clusterInstance.getId());
-
-                    // If the cluster name matches, then set the clusterSummary to the clusterInstance
-                    if (StringUtils.isNotBlank(clusterInstance.getName()) && clusterInstance.getName().equalsIgnoreCase(clusterName))
-                    {
-                        clusterSummary = clusterInstance;
-                    }
-                }
-                markerForListClusters = clusterResult.getMarker();
+                clusterSummary = getActiveEmrClusterFromCache(clusterName, emrClusterCacheKey, emrClusterCache, awsParams);
             }
-            while (markerForListClusters != null);
 
-            // Update the cluster cache timestamps
-            emrClusterCacheTimestamps.setLastFullReload(newLastFullReload);
-            emrClusterCacheTimestamps.setLastDeltaUpdate(newLastDeltaUpdate);
+            LOGGER.info("EMR cluster cache statistics. emrClusterCacheHits={} emrClusterCacheMisses={} emrClusterCacheFullReloads={} " +
+                    "emrClusterCacheDeltaUpdates={} emrClusterCacheSharedRefreshes={}", emrClusterCacheHitCount.sum(), emrClusterCacheMissCount.sum(),
+                emrClusterCacheFullReloadCount.sum(), emrClusterCacheDeltaUpdateCount.sum(), emrClusterCacheSharedRefreshCount.sum());
         }
 
         LOGGER.info("Returning clusterSummary=\"{}\"", clusterSummary == null ? null : clusterSummary.toString());
@@ -347,8 +296,6 @@ public class EmrDaoImpl implements EmrDao
         LOGGER.debug("State of cache after calling getActiveEmrClusterByNameAndAccountId. emrClusterCache=\"{}\" emrClusterCacheContents=\"{}\"",
             System.identityHashCode(emrClusterCache), emrClusterCache.toString());
 
-        LOGGER.info("Exiting synchronized method.");
-
         return clusterSummary;
     }
 
@@ -541,6 +488,175 @@ public class EmrDaoImpl implements EmrDao
         return ebsConfiguration;
     }
 
+    /**
+     * Gets an active EMR cluster from the EMR cluster cache. The cluster found in the cache is validated by retrieving its current status. If the cluster is no
+     * longer in one of the active EMR cluster states, this method removes it from the cache.
+     *
+     * @param clusterName the cluster name
+     * @param emrClusterCacheKey the EMR cluster cache key
+     * @param emrClusterCache the EMR cluster cache
+     * @param awsParams the AWS related parameters for access/secret keys and proxy details
+     *
+     * @return the cluster summary of the active EMR cluster or null if the cache does not contain an active cluster for the cache key
+     */
+    private ClusterSummary getActiveEmrClusterFromCache(String clusterName, EmrClusterCacheKey emrClusterCacheKey,
+        Map<EmrClusterCacheKey, String> emrClusterCache, AwsParamsDto awsParams)
+    {
+        // Get the cluster id value from the EMR cluster cache with the cluster name key.
+        String clusterId = emrClusterCache.get(emrClusterCacheKey);
+        if (clusterId == null)
+        {
+            return null;
+        }
+
+        // Retrieve the cluster status to validate the cluster.
+        Cluster cluster = getEmrClusterById(clusterId, awsParams);
+        ClusterStatus clusterStatus = cluster == null ? null : cluster.getStatus();
+        String status = clusterStatus == null ? null : clusterStatus.getState();
+        LOGGER.info("Found the EMR cluster name in the EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"",
+            clusterName.toUpperCase(), clusterId, status);
+
+        // If the status is not null and the status is in one of the active EMR cluster states,
+        // then return the cluster summary with the cluster id from the EMR cluster cache.
+        // Else remove the cluster from the EMR cluster cache, unless another thread has already replaced it.
+        if (status != null && Arrays.asList(getActiveEmrClusterStates()).contains(status))
+        {
+            return new ClusterSummary().withId(clusterId).withName(clusterName).withStatus(clusterStatus);
+        }
+        else
+        {
+            LOGGER.info("Removing cluster from EMR cluster cache. emrClusterName=\"{}\" emrClusterId=\"{}\" emrClusterStatus=\"{}\"",
+                clusterName.toUpperCase(), clusterId, status);
+
+            // Remove the cluster from the cache.
+            emrClusterCache.remove(emrClusterCacheKey, clusterId);
+
+            return null;
+        }
+    }
+
+    /**
+     * Refreshes the EMR cluster cache for an account by listing the active EMR clusters. This method performs a full reload of the cache when it was never
+     * loaded or when the last full reload is older than the full reload time period. Otherwise, it only lists the clusters created since the last delta update.
+     * The caller is expected to hold the EMR cluster cache refresh lock for the account.
+     *
+     * @param clusterName the name of the cluster to look for
+     * @param accountId the account id
+     * @param emrClusterCache the EMR cluster cache for the account
+     * @param emrClusterCacheTimestamps the EMR cluster cache timestamps for the account
+     * @param awsParams the AWS related parameters for access/secret keys and proxy details
+     *
+     * @return the cluster summary of the active EMR cluster with the specified name or null if no such cluster was listed
+     */
+    private ClusterSummary refreshEmrClusterCache(String clusterName, String accountId, Map<EmrClusterCacheKey, String> emrClusterCache,
+        EmrClusterCacheTimestamps emrClusterCacheTimestamps, AwsParamsDto awsParams)
+    {
+        // Initialize a cluster summary to null for the case that the cluster is not found in the list.
+        ClusterSummary clusterSummary = null;
+
+        LocalDateTime lastFullReload = emrClusterCacheTimestamps.getLastFullReload();
+        LocalDateTime lastDeltaUpdate = emrClusterCacheTimestamps.getLastDeltaUpdate();
+
+        // New cache timeout values.
+        LocalDateTime newLastFullReload;
+        LocalDateTime newLastDeltaUpdate;
+
+        // Default the created after date to null for the full update case.
+        Date createdAfter = null;
+
+        // If the last delta update is null, or the last full reload is null, or the if the difference between the current time and the lastFullReload is
+        // greater than FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES, then do a full reload.
+        boolean fullReload = lastDeltaUpdate == null || lastFullReload == null ||
+            Duration.between(lastFullReload, LocalDateTime.now(ZoneId.systemDefault())).toMinutes() > FULL_RELOAD_CACHE_TIME_PERIOD_IN_MINUTES;
+        if (fullReload)
+        {
+            // Set the new last full reload time to the current time.
+            newLastFullReload = LocalDateTime.now(ZoneId.systemDefault());
+
+            LOGGER.info("Starting a full reload of the EMR cluster cache. newLastFullReload=\"{}\" lastFullReload=\"{}\" emrClusterCache=\"{}\"",
+                newLastFullReload, lastFullReload, System.identityHashCode(emrClusterCache));
+        }
+        else
+        {
+            // Set the created after date to the last delta update minus the delta update safety buffer time.
+            createdAfter = Date.from(lastDeltaUpdate.minusMinutes(DELTA_UPDATE_BUFFER_IN_MINUTES).atZone(ZoneId.systemDefault()).toInstant());
+
+            // Keep the last full reload the same.
+            newLastFullReload = lastFullReload;
+
+            LOGGER.info("Beginning a delta reload of the EMR cluster cache. lastFullReload=\"{}\" lastDeltaUpdate=\"{}\"", lastFullReload, lastDeltaUpdate);
+        }
+
+        // Set the new last delta update to the current time.
+        newLastDeltaUpdate = LocalDateTime.now(ZoneId.systemDefault());
+
+        LOGGER.info("The new last delta update is newLastDeltaUpdate=\"{}\" and the created after is createdAfter=\"{}\"", newLastDeltaUpdate, createdAfter);
+
+        /**
+         * Call AWSOperations for ListClusters API. Need to list all the active clusters that are in
+         * BOOTSTRAPPING/RUNNING/STARTING/WAITING states
+         */
+        ListClustersRequest listClustersRequest = new ListClustersRequest().withClusterStates(getActiveEmrClusterStates());
+
+        /**
+         * ListClusterRequest returns only 50 clusters at a time. However, this returns a marker
+         * that can be used for subsequent calls to listClusters to get all the clusters
+         */
+        String markerForListClusters = listClustersRequest.getMarker();
+
+        // Keep track of the listed clusters, so a full reload can drop the clusters that are no longer active. The cache is not cleared upfront,
+        // since other threads keep reading it while it is being reloaded.
+        Set<EmrClusterCacheKey> listedEmrClusterCacheKeys = new HashSet<>();
+
+        // Loop through all the available clusters and look for the given cluster id
+        do
+        {
+            /**
+             * Call AWSOperations for ListClusters API.
+             * Need to include the Marker returned by the previous iteration
+             */
+            ListClustersResult clusterResult = emrOperations
+                .listEmrClusters(getEmrClient(awsParams), listClustersRequest.withMarker(markerForListClusters).withCreatedAfter(createdAfter));
+
+            // Loop through all the active clusters returned by AWS
+            for (ClusterSummary clusterInstance : clusterResult.getClusters())
+            {
+                LOGGER.info("Adding EMR cluster to the EMR Cluster Cache. emrClusterName=\"{}\" emrClusterId=\"{}\"", clusterInstance.getName().toUpperCase(),
+                    clusterInstance.getId());
+
+                // Add this cluster instance to the EMR cluster cache.
+                EmrClusterCacheKey emrClusterCacheKey = new EmrClusterCacheKey(clusterInstance.getName().toUpperCase(), accountId);
+                emrClusterCache.put(emrClusterCacheKey, clusterInstance.getId());
+                listedEmrClusterCacheKeys.add(emrClusterCacheKey);
+
+                // If the cluster name matches, then set the clusterSummary to the clusterInstance
+                if (StringUtils.isNotBlank(clusterInstance.getName()) && clusterInstance.getName().equalsIgnoreCase(clusterName))
+                {
+                    clusterSummary = clusterInstance;
+                }
+            }
+            markerForListClusters = clusterResult.getMarker();
+        }
+        while (markerForListClusters != null);
+
+        // On a full reload, remove the clusters that were not listed from the cache.
+        if (fullReload)
+        {
+            emrClusterCache.keySet().retainAll(listedEmrClusterCacheKeys);
+            emrClusterCacheFullReloadCount.increment();
+        }
+        else
+        {
+            emrClusterCacheDeltaUpdateCount.increment();
+        }
+
+        // Update the cluster cache timestamps
+        emrClusterCacheTimestamps.setLastFullReload(newLastFullReload);
+        emrClusterCacheTimestamps.setLastDeltaUpdate(newLastDeltaUpdate);
+
+        return clusterSummary;
+    }
+
     /**
      * Method to get the EMR cluster cache by an account id parameter. The EMR cluster cache is retrieved from the EMR cluster cache map which stores the cache
      * by an account id key.  If the cache does not exist in the map, this method will create a new cache for this account id and add it to the map.
@@ -560,10 +676,18 @@ public class EmrDaoImpl implements EmrDao
         {
             emrClusterCache = new ConcurrentHashMap<>();
 
-            // Add the new cache to the EMR cluster cache map
-            emrClusterCacheMap.put(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCache);
+            // Add the new cache to the EMR cluster cache map, unless another thread has just added one.
+            Map<EmrClusterCacheKey, String> existingEmrClusterCache =
+                emrClusterCacheMap.putIfAbsent(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCache);
 
-            LOGGER.info("Adding a new EMR cluster cache for accountId=\"{}\"", accountId);
+            if (existingEmrClusterCache != null)
+            {
+                emrClusterCache = existingEmrClusterCache;
+            }
+            else
+            {
+                LOGGER.info("Adding a new EMR cluster cache for accountId=\"{}\"", accountId);
+            }
         }
 
         return emrClusterCache;
@@ -589,11 +713,18 @@ public class EmrDaoImpl implements EmrDao
         {
             emrClusterCacheTimestamps = new EmrClusterCacheTimestamps(null, null);
 
-            // Add the new cache timestamps dto object to the EMR cluster cache timestamps map.
-            emrClusterCacheTimestampsMap
-                .put(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCacheTimestamps);
+            // Add the new cache timestamps dto object to the EMR cluster cache timestamps map, unless another thread has just added one.
+            EmrClusterCacheTimestamps existingEmrClusterCacheTimestamps = emrClusterCacheTimestampsMap
+                .putIfAbsent(StringUtils.isBlank(accountId) ? EMR_CLUSTER_CACHE_MAP_DEFAULT_AWS_ACCOUNT_ID_KEY : accountId, emrClusterCacheTimestamps);
 
-            LOGGER.info("Adding a new EMR cluster cache timestamps dto for accountId=\"{}\"", accountId);
+            if (existingEmrClusterCacheTimestamps != null)
+            {
+                emrClusterCacheTimestamps = existingEmrClusterCacheTimestamps;
+            }
+            else
+            {
+                LOGGER.info("Adding a new EMR cluster cache timestamps dto for accountId=\"{}\"", accountId);
+            }
         }
 
         return emrClusterCacheTimestamps;
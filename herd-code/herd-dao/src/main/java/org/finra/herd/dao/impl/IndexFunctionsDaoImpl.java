@@ -17,6 +17,7 @@ package org.finra.herd.dao.impl;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +29,7 @@ import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -275,6 +277,49 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         }
     }
 
+    @Override
+    public Set<String> bulkIndexDocuments(final String indexName, final Map<String, String> documentMap)
+    {
+        LOGGER.info("Bulk indexing Elasticsearch index documents, indexName={}, documentCount={}.", indexName, documentMap.size());
+
+        Set<String> failedDocumentIds = new HashSet<>();
+
+        // Get the Elasticsearch REST high level client. The REST high level client is auto closeable, so use try with resources.
+        try (final RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        {
+            // Prepare a bulk request against the specified index.
+            BulkRequest bulkRequest = new BulkRequest();
+
+            // For each document prepare an insert request and add it to the bulk request
+            documentMap.forEach((id, jsonString) -> bulkRequest.add(new IndexRequest(indexName).id(id).source(jsonString, XContentType.JSON)));
+
+            // Make the bulk request.
+            BulkResponse bulkResponse = restHighLevelClient.bulk(bulkRequest, RequestOptions.DEFAULT);
+
+            // If there are failures log them and collect the ids of the failed documents.
+            if (bulkResponse.hasFailures())
+            {
+                LOGGER.error("Bulk response error={}.", bulkResponse.buildFailureMessage());
+
+                for (BulkItemResponse bulkItemResponse : bulkResponse.getItems())
+                {
+                    if (bulkItemResponse.isFailed())
+                    {
+                        failedDocumentIds.add(bulkItemResponse.getId());
+                    }
+                }
+            }
+        }
+        catch (final IOException ioException)
+        {
+            LOGGER.error("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+
+            throw new ElasticsearchRestClientException("Caught IOException while attempting to use the ElasticsearchRestHighLevelClient.", ioException);
+        }
+
+        return failedDocumentIds;
+    }
+
     @Override
     public final void createIndex(final String indexName, final String mapping, final String settings, final String alias)
     {
@@ -21,7 +21,9 @@ import static org.elasticsearch.index.query.MultiMatchQueryBuilder.Type.PHRASE_P
 import static org.elasticsearch.index.query.QueryBuilders.disMaxQuery;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -56,6 +58,7 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightField;
 import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -136,10 +139,21 @@ public class IndexSearchDaoImpl implements IndexSearchDao
     private static final String NAME_SOURCE = "name";
 
     /**
-     * The number of the indexSearch results to return
+     * The number of the indexSearch results to return when no page size is specified in the request
      */
     private static final int SEARCH_RESULT_SIZE = 200;
 
+    /**
+     * The search index document id field used to break ties between the index search results with the same score. Both the business object definition and
+     * the tag index mappings declare it as a long, so it is sorted on doc values rather than on the "_id" field that would need fielddata
+     */
+    private static final String ID_FIELD = "id";
+
+    /**
+     * The search index name field used to break ties between the index search results with the same score
+     */
+    private static final String INDEX_FIELD = "_index";
+
     /**
      * String that represents the schemaColumn name field
      */
@@ -283,10 +297,21 @@ public class IndexSearchDaoImpl implements IndexSearchDao
         searchSourceBuilder.fetchSource(searchSources, null);
         searchSourceBuilder.query(functionScoreQueryBuilder);
 
-        // Create a indexSearch request builder
+        // Get the number of the indexSearch results to return
+        final int pageSize = indexSearchRequest.getPageSize() != null ? indexSearchRequest.getPageSize() : SEARCH_RESULT_SIZE;
+
+        // Create a indexSearch request builder. The index name and the document id are added as tiebreakers after the score, so the results have a total
+        // order that the search after cursor can rely on.
         SearchRequestBuilder searchRequestBuilder = new SearchRequestBuilder(new ElasticsearchClientImpl(), SearchAction.INSTANCE);
         searchRequestBuilder.setIndices(bdefActiveIndex, tagActiveIndex);
-        searchRequestBuilder.setSource(searchSourceBuilder).setSize(SEARCH_RESULT_SIZE).addSort(SortBuilders.scoreSort());
+        searchRequestBuilder.setSource(searchSourceBuilder).setSize(pageSize).addSort(SortBuilders.scoreSort())
+            .addSort(SortBuilders.fieldSort(INDEX_FIELD).order(SortOrder.ASC)).addSort(SortBuilders.fieldSort(ID_FIELD).order(SortOrder.ASC));
+
+        // Continue after the last result of the previous page if a search after cursor is specified in the request
+        if (StringUtils.isNotEmpty(indexSearchRequest.getSearchAfter()))
+        {
+            searchRequestBuilder.searchAfter(decodeSearchAfter(indexSearchRequest.getSearchAfter()));
+        }
 
         // Add highlighting if specified in the request
         if (BooleanUtils.isTrue(indexSearchRequest.isEnableHitHighlighting()))
@@ -343,7 +368,57 @@ public class IndexSearchDaoImpl implements IndexSearchDao
         TotalHits totalHits = searchHits.getTotalHits();
         long totalIndexSearchResults = totalHits != null ? totalHits.value : 0L;
 
-        return new IndexSearchResponse(totalIndexSearchResults, indexSearchResults, facets);
+        // Return a cursor to the next page only when this page is full, since otherwise there are no more results to return.
+        String nextSearchAfter = null;
+        if (!indexSearchResults.isEmpty() && indexSearchResults.size() == pageSize)
+        {
+            final SearchHit[] searchHitArray = searchHits.getHits();
+            nextSearchAfter = encodeSearchAfter(searchHitArray[searchHitArray.length - 1].getSortValues());
+        }
+
+        return new IndexSearchResponse(totalIndexSearchResults, indexSearchResults, facets, nextSearchAfter);
+    }
+
+    /**
+     * Encodes the sort values of a search hit as an opaque search after cursor.
+     *
+     * @param sortValues the sort values of the last search hit on the page
+     *
+     * @return the URL safe Base64 encoded JSON array of the sort values
+     */
+    private String encodeSearchAfter(Object[] sortValues)
+    {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(jsonHelper.objectToJson(sortValues).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque search after cursor into the sort values of the search hit to continue after.
+     *
+     * @param searchAfter the search after cursor returned by a previous index search
+     *
+     * @return the sort values
+     * @throws IllegalArgumentException if the search after cursor is not valid
+     */
+    private Object[] decodeSearchAfter(String searchAfter)
+    {
+        List<?> sortValues;
+
+        try
+        {
+            sortValues = jsonHelper.unmarshallJsonToObject(List.class, new String(Base64.getUrlDecoder().decode(searchAfter), StandardCharsets.UTF_8));
+        }
+        catch (IllegalArgumentException | IOException e)
+        {
+            sortValues = null;
+        }
+
+        // The cursor must carry one value for each of the score, index name and document id sorts
+        if (sortValues == null || sortValues.size() != 3)
+        {
+            throw new IllegalArgumentException(String.format("Invalid search after cursor \"%s\".", searchAfter));
+        }
+
+        return sortValues.toArray();
     }
 
     /**
@@ -17,10 +17,13 @@ package org.finra.herd.dao.impl;
 
 import java.util.List;
 
+import javax.persistence.LockModeType;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Repository;
 
 import org.finra.herd.dao.NotificationMessageDao;
@@ -30,6 +33,16 @@ import org.finra.herd.model.jpa.NotificationMessageEntity_;
 @Repository
 public class NotificationMessageDaoImpl extends AbstractHerdDao implements NotificationMessageDao
 {
+    /**
+     * The JPA lock timeout hint name.
+     */
+    private static final String LOCK_TIMEOUT_HINT = "javax.persistence.lock.timeout";
+
+    /**
+     * The lock timeout value that instructs Hibernate to skip already locked rows (see org.hibernate.LockOptions.SKIP_LOCKED).
+     */
+    private static final int LOCK_TIMEOUT_SKIP_LOCKED = -2;
+
     @Override
     public NotificationMessageEntity getOldestNotificationMessage()
     {
@@ -52,4 +65,65 @@ public class NotificationMessageDaoImpl extends AbstractHerdDao implements Notif
         // Return the result.
         return resultList.size() > 0 ? resultList.get(0) : null;
     }
+
+    @Override
+    public List<NotificationMessageEntity> getOldestNotificationMessagesForUpdate(int maxResults)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<NotificationMessageEntity> criteria = builder.createQuery(NotificationMessageEntity.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the select clause.
+        criteria.select(notificationMessageEntity);
+
+        // Add the order by clause, since we want to return the oldest notification messages first.
+        criteria.orderBy(builder.asc(notificationMessageEntity.get(NotificationMessageEntity_.id)));
+
+        // Execute the query with a pessimistic write lock that skips rows already locked by other transactions (i.e. "FOR UPDATE SKIP LOCKED").
+        return entityManager.createQuery(criteria).setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint(LOCK_TIMEOUT_HINT, LOCK_TIMEOUT_SKIP_LOCKED).setMaxResults(maxResults).getResultList();
+    }
+
+    @Override
+    public long getNotificationMessageCount()
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the select clause.
+        criteria.select(builder.count(notificationMessageEntity));
+
+        // Execute the query.
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    @Override
+    public int deleteNotificationMessages(List<Long> notificationMessageIds)
+    {
+        // Nothing to delete when no ids are specified.
+        if (CollectionUtils.isEmpty(notificationMessageIds))
+        {
+            return 0;
+        }
+
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<NotificationMessageEntity> criteria = builder.createCriteriaDelete(NotificationMessageEntity.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the where clause.
+        criteria.where(notificationMessageEntity.get(NotificationMessageEntity_.id).in(notificationMessageIds));
+
+        // Execute the bulk delete statement.
+        return entityManager.createQuery(criteria).executeUpdate();
+    }
 }
@@ -17,15 +17,25 @@ package org.finra.herd.dao.impl;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.amazonaws.AmazonClientException;
@@ -38,9 +48,11 @@ import com.amazonaws.auth.AWSCredentialsProviderChain;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.auth.BasicSessionCredentials;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.event.ProgressEvent;
 import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
+import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
@@ -78,10 +90,14 @@ import com.amazonaws.services.s3.transfer.Copy;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.PersistableTransfer;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.Transfer;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferProgress;
+import com.amazonaws.services.s3.transfer.internal.S3ProgressListener;
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -90,17 +106,22 @@ import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
 import org.finra.herd.core.HerdDateUtils;
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.RetryPolicyFactory;
 import org.finra.herd.dao.S3Dao;
 import org.finra.herd.dao.S3Operations;
+import org.finra.herd.dao.S3TransferManagerFactory;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.AwsCredential;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -116,6 +137,8 @@ public class S3DaoImpl implements S3Dao
 {
     private static final long DEFAULT_SLEEP_INTERVAL_MILLIS = 100;
 
+    private static final int DOWNLOAD_BUFFER_SIZE_BYTES = 64 * 1024;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(S3DaoImpl.class);
 
     private static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
@@ -123,6 +146,9 @@ public class S3DaoImpl implements S3Dao
     @Autowired
     private AwsHelper awsHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private JavaPropertiesHelper javaPropertiesHelper;
 
@@ -132,8 +158,51 @@ public class S3DaoImpl implements S3Dao
     @Autowired
     private S3Operations s3Operations;
 
+    @Autowired
+    private S3TransferManagerFactory s3TransferManagerFactory;
+
+    /**
+     * The number of S3 file transfer operations completed by this JVM.
+     */
+    private final LongAdder aggregateTransfersCount = new LongAdder();
+
+    /**
+     * The number of bytes transferred by all S3 file transfer operations completed by this JVM.
+     */
+    private final LongAdder aggregateBytesTransferred = new LongAdder();
+
+    /**
+     * The task executor shared by all requests to get S3 object metadata in parallel.
+     */
+    @Autowired
+    @Qualifier("s3ObjectMetadataTaskExecutor")
+    private AsyncTaskExecutor s3ObjectMetadataTaskExecutor;
+
     private long sleepIntervalsMillis = DEFAULT_SLEEP_INTERVAL_MILLIS;
 
+    @Override
+    public void abortMultipartUpload(S3FileTransferRequestParamsDto params, String uploadId)
+    {
+        // Create an Amazon S3 client.
+        AmazonS3Client s3Client = getAmazonS3(params);
+
+        try
+        {
+            // Abort the upload.
+            s3Operations.abortMultipartUpload(
+                TransferManager.appendSingleObjectUserAgent(new AbortMultipartUploadRequest(params.getS3BucketName(), params.getS3KeyPrefix(), uploadId)),
+                s3Client);
+
+            LOGGER.info("Aborted S3 multipart upload. s3Key=\"{}\" s3BucketName=\"{}\" uploadId=\"{}\"", params.getS3KeyPrefix(), params.getS3BucketName(),
+                uploadId);
+        }
+        finally
+        {
+            // Shutdown the Amazon S3 client instance to release resources.
+            s3Client.shutdown();
+        }
+    }
+
     @Override
     public int abortMultipartUploads(S3FileTransferRequestParamsDto params, Date thresholdDate)
     {
@@ -390,6 +459,89 @@ public class S3DaoImpl implements S3Dao
         return results;
     }
 
+    @Override
+    public S3FileTransferResultsDto downloadFileRange(final S3FileTransferRequestParamsDto params, long firstByte, long lastByte, RateLimiter rateLimiter)
+    {
+        LOGGER.debug("Downloading S3 file range... s3Key=\"{}\" s3BucketName=\"{}\" localPath=\"{}\" firstByte={} lastByte={}", params.getS3KeyPrefix(),
+            params.getS3BucketName(), params.getLocalPath(), firstByte, lastByte);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        int maxAttempts = Math.max(1, configurationHelper.getProperty(ConfigurationValue.S3_DOWNLOAD_FILE_RANGE_MAX_ATTEMPTS, Integer.class));
+        long nextByte = firstByte;
+
+        // Use the S3 client of the shared transfer manager, so all ranges downloaded with the same parameters reuse the same client and its connections.
+        try (S3TransferManagerFactory.SharedTransferManager sharedTransferManager = s3TransferManagerFactory
+            .getSharedTransferManager(params, () -> getAmazonS3(params)))
+        {
+            AmazonS3 s3Client = sharedTransferManager.getTransferManager().getAmazonS3Client();
+
+            for (int attempt = 1; nextByte <= lastByte; attempt++)
+            {
+                try
+                {
+                    GetObjectRequest getObjectRequest = new GetObjectRequest(params.getS3BucketName(), params.getS3KeyPrefix()).withRange(nextByte, lastByte);
+                    S3Object s3Object = s3Operations.getS3Object(getObjectRequest, s3Client);
+
+                    // Stream the range into the local file at the same offset.
+                    try (InputStream inputStream = s3Object.getObjectContent();
+                        FileChannel fileChannel = FileChannel.open(Paths.get(params.getLocalPath()), StandardOpenOption.WRITE))
+                    {
+                        byte[] buffer = new byte[DOWNLOAD_BUFFER_SIZE_BYTES];
+                        int bytesRead;
+                        while ((bytesRead = inputStream.read(buffer)) != -1)
+                        {
+                            if (rateLimiter != null && bytesRead > 0)
+                            {
+                                rateLimiter.acquire(bytesRead);
+                            }
+
+                            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, bytesRead);
+                            while (byteBuffer.hasRemaining())
+                            {
+                                nextByte += fileChannel.write(byteBuffer, nextByte);
+                            }
+                        }
+                    }
+
+                    break;
+                }
+                catch (IOException | AmazonClientException e)
+                {
+                    // Client errors, like a missing S3 object or access denied, are not retried.
+                    boolean retryable =
+                        !(e instanceof AmazonServiceException && ((AmazonServiceException) e).getErrorType() == AmazonServiceException.ErrorType.Client);
+
+                    if (!retryable || attempt >= maxAttempts)
+                    {
+                        if (e instanceof AmazonClientException)
+                        {
+                            throw (AmazonClientException) e;
+                        }
+                        throw new IllegalStateException(String
+                            .format("Failed to download S3 file range. s3Key=\"%s\" s3BucketName=\"%s\" localPath=\"%s\" firstByte=%d lastByte=%d",
+                                params.getS3KeyPrefix(), params.getS3BucketName(), params.getLocalPath(), firstByte, lastByte), e);
+                    }
+
+                    LOGGER.warn("Failed to download S3 file range, retrying from the first byte not yet written. s3Key=\"{}\" s3BucketName=\"{}\" " +
+                        "localPath=\"{}\" firstByte={} nextByte={} lastByte={} attempt={} maxAttempts={}", params.getS3KeyPrefix(), params.getS3BucketName(),
+                        params.getLocalPath(), firstByte, nextByte, lastByte, attempt, maxAttempts, e);
+                }
+            }
+        }
+
+        long totalBytesTransferred = nextByte - firstByte;
+        stopWatch.stop();
+
+        S3FileTransferResultsDto results = new S3FileTransferResultsDto();
+        results.setDurationMillis(stopWatch.getTime());
+        results.setTotalBytesTransferred(totalBytesTransferred);
+        results.setTotalFilesTransferred(0L);
+
+        return results;
+    }
+
     @Override
     public String generateGetObjectPresignedUrl(String bucketName, String key, Date expiration, S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
     {
@@ -413,24 +565,75 @@ public class S3DaoImpl implements S3Dao
 
         try
         {
-            return s3Operations.getObjectMetadata(params.getS3BucketName(), params.getS3KeyPrefix(), s3Client);
+            return getObjectMetadata(params.getS3BucketName(), params.getS3KeyPrefix(), s3Client);
         }
-        catch (AmazonServiceException e)
+        finally
         {
-            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND)
+            // Shutdown the AmazonS3Client instance to release resources.
+            s3Client.shutdown();
+        }
+    }
+
+    @Override
+    public Map<String, ObjectMetadata> getObjectMetadata(final S3FileTransferRequestParamsDto params, final List<String> s3Keys)
+    {
+        Map<String, ObjectMetadata> objectMetadataMap = new HashMap<>();
+
+        if (s3Keys.isEmpty())
+        {
+            return objectMetadataMap;
+        }
+
+        // The S3 client is thread safe, so a single client is shared by all metadata requests. The requests run on the task executor shared by all callers.
+        AmazonS3Client s3Client = getAmazonS3(params);
+        List<Future<ObjectMetadata>> futures = new ArrayList<>();
+
+        try
+        {
+            for (String s3Key : s3Keys)
             {
-                return null;
+                futures.add(s3ObjectMetadataTaskExecutor.submit(() -> getObjectMetadata(params.getS3BucketName(), s3Key, s3Client)));
             }
 
-            throw new IllegalStateException(String
-                .format("Failed to get S3 metadata for object key \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
-                    e.getMessage()), e);
+            for (int i = 0; i < s3Keys.size(); i++)
+            {
+                ObjectMetadata objectMetadata = futures.get(i).get();
+                if (objectMetadata != null)
+                {
+                    objectMetadataMap.put(s3Keys.get(i), objectMetadata);
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                String.format("Interrupted while getting S3 metadata for objects from bucket \"%s\".", params.getS3BucketName()), e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
         }
         finally
         {
+            // Cancel the requests that are still pending after a failure, so they do not hold the shared task executor.
+            for (Future<ObjectMetadata> future : futures)
+            {
+                future.cancel(true);
+            }
+
             // Shutdown the AmazonS3Client instance to release resources.
             s3Client.shutdown();
         }
+
+        LOGGER.info("Got S3 object metadata. s3BucketName=\"{}\" s3KeyCount={} s3ObjectCount={}", params.getS3BucketName(), s3Keys.size(),
+            objectMetadataMap.size());
+
+        return objectMetadataMap;
     }
 
     @Override
@@ -799,6 +1002,63 @@ public class S3DaoImpl implements S3Dao
         return results;
     }
 
+    @Override
+    public S3FileTransferResultsDto uploadFile(final S3FileTransferRequestParamsDto params, final PersistableUpload persistableUpload,
+        final Consumer<PersistableUpload> persistableUploadListener) throws InterruptedException
+    {
+        LOGGER.info("Uploading local file to S3... localPath=\"{}\" s3Key=\"{}\" s3BucketName=\"{}\" resume={}", params.getLocalPath(), params.getS3KeyPrefix(),
+            params.getS3BucketName(), persistableUpload != null);
+
+        // Perform the transfer.
+        S3FileTransferResultsDto results = performTransfer(params, new Transferer()
+        {
+            @Override
+            public Transfer performTransfer(TransferManager transferManager)
+            {
+                // Resume the earlier upload. The transfer manager only uploads the parts that are not yet uploaded as part of the multipart upload.
+                if (persistableUpload != null)
+                {
+                    return s3Operations.resumeUpload(persistableUpload, transferManager);
+                }
+
+                // Create and prepare the metadata.
+                ObjectMetadata metadata = new ObjectMetadata();
+                prepareMetadata(params, metadata);
+
+                // Create a put request with the parameters and the metadata.
+                PutObjectRequest putObjectRequest = new PutObjectRequest(params.getS3BucketName(), params.getS3KeyPrefix(), new File(params.getLocalPath()));
+                putObjectRequest.setMetadata(metadata);
+
+                // Upload the file, passing the persistable upload state to the listener once it is available.
+                return s3Operations.upload(putObjectRequest, new S3ProgressListener()
+                {
+                    @Override
+                    public void onPersistableTransfer(PersistableTransfer persistableTransfer)
+                    {
+                        if (persistableUploadListener != null && persistableTransfer instanceof PersistableUpload)
+                        {
+                            persistableUploadListener.accept((PersistableUpload) persistableTransfer);
+                        }
+                    }
+
+                    @Override
+                    public void progressChanged(ProgressEvent progressEvent)
+                    {
+                        // Progress is logged by the transfer monitoring.
+                    }
+                }, transferManager);
+            }
+        });
+
+        LOGGER.info("Uploaded local file to the S3. localPath=\"{}\" s3Key=\"{}\" s3BucketName=\"{}\" totalBytesTransferred={} transferDuration=\"{}\"",
+            params.getLocalPath(), params.getS3KeyPrefix(), params.getS3BucketName(), results.getTotalBytesTransferred(),
+            HerdDateUtils.formatDuration(results.getDurationMillis()));
+
+        logOverallTransferRate(results);
+
+        return results;
+    }
+
     @Override
     public S3FileTransferResultsDto uploadFileList(final S3FileTransferRequestParamsDto params) throws InterruptedException
     {
@@ -902,6 +1162,33 @@ public class S3DaoImpl implements S3Dao
                 objectMetadata.getContentLength(), params.getS3BucketName(), params.getS3KeyPrefix()));
     }
 
+    /**
+     * Gets the metadata for the specified Amazon S3 object using the specified S3 client.
+     *
+     * @param bucketName the S3 bucket name
+     * @param key the S3 object key
+     * @param s3Client the S3 client
+     *
+     * @return null if object key is not found, otherwise all Amazon S3 object metadata for the specified object
+     */
+    private ObjectMetadata getObjectMetadata(String bucketName, String key, AmazonS3Client s3Client)
+    {
+        try
+        {
+            return s3Operations.getObjectMetadata(bucketName, key, s3Client);
+        }
+        catch (AmazonServiceException e)
+        {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND)
+            {
+                return null;
+            }
+
+            throw new IllegalStateException(
+                String.format("Failed to get S3 metadata for object key \"%s\" from bucket \"%s\". Reason: %s", key, bucketName, e.getMessage()), e);
+        }
+    }
+
     /**
      * Returns true is S3 key prefix is a root.
      *
@@ -1131,31 +1418,6 @@ public class S3DaoImpl implements S3Dao
         }
     }
 
-    /**
-     * Gets a transfer manager with the specified parameters including proxy host, proxy port, S3 access key, S3 secret key, and max threads.
-     *
-     * @param params the parameters.
-     *
-     * @return a newly created transfer manager.
-     */
-    private TransferManager getTransferManager(final S3FileTransferRequestParamsDto params)
-    {
-        // We are returning a new transfer manager each time it is called. Although the Javadocs of TransferManager say to share a single instance
-        // if possible, this could potentially be a problem if TransferManager.shutdown(true) is called and underlying resources are not present when needed
-        // for subsequent transfers.
-        if (params.getMaxThreads() == null)
-        {
-            // Create a transfer manager that will internally use an appropriate number of threads.
-            return new TransferManager(getAmazonS3(params));
-        }
-        else
-        {
-            // Create a transfer manager with our own executor configured with the specified total threads.
-            LOGGER.info("Creating a transfer manager. fixedThreadPoolSize={}", params.getMaxThreads());
-            return new TransferManager(getAmazonS3(params), Executors.newFixedThreadPool(params.getMaxThreads()));
-        }
-    }
-
     /**
      * Logs the given MultiObjectDeleteException.
      *
@@ -1195,6 +1457,13 @@ public class S3DaoImpl implements S3Dao
                 formatter.format(awsHelper
                     .getTransferRateInMegabitsPerSecond(s3FileTransferResultsDto.getTotalBytesTransferred(), s3FileTransferResultsDto.getDurationMillis())));
         }
+
+        // Update and log the totals of all transfers completed by this JVM along with the number of transfers still in progress.
+        aggregateTransfersCount.increment();
+        aggregateBytesTransferred.add(s3FileTransferResultsDto.getTotalBytesTransferred());
+
+        LOGGER.info("aggregateTransfersCount={} aggregateBytesTransferred={} activeTransfersCount={}", aggregateTransfersCount.sum(),
+            aggregateBytesTransferred.sum(), s3TransferManagerFactory.getActiveTransfersCount());
     }
 
     /**
@@ -1225,11 +1494,12 @@ public class S3DaoImpl implements S3Dao
      */
     private S3FileTransferResultsDto performTransfer(final S3FileTransferRequestParamsDto params, Transferer transferer) throws InterruptedException
     {
-        // Create a transfer manager.
-        TransferManager transferManager = getTransferManager(params);
-
-        try
+        // Get a shared transfer manager. It gets released, but not shut down, once the transfer is complete.
+        try (S3TransferManagerFactory.SharedTransferManager sharedTransferManager = s3TransferManagerFactory
+            .getSharedTransferManager(params, () -> getAmazonS3(params)))
         {
+            TransferManager transferManager = sharedTransferManager.getTransferManager();
+
             // Start a stop watch to keep track of how long the transfer takes.
             StopWatch stopWatch = new StopWatch();
             stopWatch.start();
@@ -1313,11 +1583,6 @@ public class S3DaoImpl implements S3Dao
             // Return the results.
             return results;
         }
-        finally
-        {
-            // Shutdown the transfer manager to release resources. If this isn't done, the JVM may delay upon exiting.
-            transferManager.shutdownNow();
-        }
     }
 
     /**
@@ -46,8 +46,10 @@ import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.transfer.internal.S3ProgressListener;
 
 import org.finra.herd.dao.S3Operations;
 
@@ -155,6 +157,18 @@ public class S3OperationsImpl implements S3Operations
         return transferManager.upload(putObjectRequest);
     }
 
+    @Override
+    public Upload upload(PutObjectRequest putObjectRequest, S3ProgressListener progressListener, TransferManager transferManager)
+    {
+        return transferManager.upload(putObjectRequest, progressListener);
+    }
+
+    @Override
+    public Upload resumeUpload(PersistableUpload persistableUpload, TransferManager transferManager)
+    {
+        return transferManager.resumeUpload(persistableUpload);
+    }
+
     @Override
     public MultipleFileUpload uploadDirectory(String s3BucketName, String virtualDirectoryKeyPrefix, File directory, boolean includeSubdirectories,
         ObjectMetadataProvider metadataProvider, TransferManager transferManager)
@@ -15,11 +15,14 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,6 +48,45 @@ public class SqsDaoImpl implements SqsDao
 
     @Override
     public SendMessageResult sendMessage(AwsParamsDto awsParamsDto, String queueName, String messageText, List<MessageHeader> messageHeaders)
+    {
+        return sqsOperations.sendMessage(queueName, messageText, getMessageAttributes(messageHeaders), awsClientFactory.getAmazonSQSClient(awsParamsDto));
+    }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts)
+    {
+        return sendMessageBatch(awsParamsDto, queueName, messageTexts, null);
+    }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts,
+        List<List<MessageHeader>> messageHeaders)
+    {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+
+        for (int i = 0; i < messageTexts.size(); i++)
+        {
+            SendMessageBatchRequestEntry entry = new SendMessageBatchRequestEntry().withId(String.valueOf(i)).withMessageBody(messageTexts.get(i));
+
+            if (messageHeaders != null)
+            {
+                entry.setMessageAttributes(getMessageAttributes(messageHeaders.get(i)));
+            }
+
+            entries.add(entry);
+        }
+
+        return sqsOperations.sendMessageBatch(queueName, entries, awsClientFactory.getAmazonSQSClient(awsParamsDto));
+    }
+
+    /**
+     * Creates the message attributes from the specified message headers.
+     *
+     * @param messageHeaders the optional list of message headers
+     *
+     * @return the message attributes, or null when no message headers are specified
+     */
+    private Map<String, MessageAttributeValue> getMessageAttributes(List<MessageHeader> messageHeaders)
     {
         Map<String, MessageAttributeValue> messageAttributes = null;
 
@@ -58,6 +100,6 @@ public class SqsDaoImpl implements SqsDao
             }
         }
 
-        return sqsOperations.sendMessage(queueName, messageText, messageAttributes, awsClientFactory.getAmazonSQSClient(awsParamsDto));
+        return messageAttributes;
     }
 }
@@ -15,18 +15,41 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
 import com.amazonaws.services.sqs.model.QueueDoesNotExistException;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
 import com.amazonaws.services.sqs.model.SendMessageResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.finra.herd.dao.SqsOperations;
 
 public class SqsOperationsImpl implements SqsOperations
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqsOperationsImpl.class);
+
+    /**
+     * The maximum number of messages allowed per send message batch request by AWS SQS.
+     */
+    public static final int MAX_BATCH_SIZE = 10;
+
+    /**
+     * The maximum total payload size in bytes of all messages in a send message batch request allowed by AWS SQS.
+     */
+    public static final int MAX_BATCH_PAYLOAD_SIZE_BYTES = 256 * 1024;
+
     @Override
     public SendMessageResult sendMessage(String queueName, String messageText, Map<String, MessageAttributeValue> messageAttributes, AmazonSQS amazonSQS)
     {
@@ -40,4 +63,148 @@ public class SqsOperationsImpl implements SqsOperations
             throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName), e);
         }
     }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(String queueName, List<SendMessageBatchRequestEntry> entries, AmazonSQS amazonSQS)
+    {
+        try
+        {
+            // Resolve the queue URL once for all batch requests.
+            String queueUrl = amazonSQS.getQueueUrl(queueName).getQueueUrl();
+
+            SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+
+            for (List<SendMessageBatchRequestEntry> batchEntries : getBatches(entries))
+            {
+                SendMessageBatchResult result;
+                try
+                {
+                    result = amazonSQS.sendMessageBatch(new SendMessageBatchRequest().withQueueUrl(queueUrl).withEntries(batchEntries));
+                }
+                catch (AmazonClientException e)
+                {
+                    // Report all messages of this batch request as failed, while the messages of the batch requests that already got accepted stay successful.
+                    LOGGER.error("Failed to send a message batch to \"{}\" AWS SQS queue. messageCount={}", queueName, batchEntries.size(), e);
+                    result = new SendMessageBatchResult();
+                    for (SendMessageBatchRequestEntry entry : batchEntries)
+                    {
+                        result.getFailed().add(getBatchResultErrorEntry(entry, e));
+                    }
+                }
+
+                sendMessageBatchResult.getSuccessful().addAll(result.getSuccessful());
+                sendMessageBatchResult.getFailed().addAll(result.getFailed());
+            }
+
+            return sendMessageBatchResult;
+        }
+        catch (QueueDoesNotExistException e)
+        {
+            throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName), e);
+        }
+    }
+
+    /**
+     * Creates a batch result error entry for a message of a send message batch request that failed with an exception.
+     *
+     * @param entry the send message batch request entry
+     * @param e the exception thrown by the send message batch request
+     *
+     * @return the batch result error entry
+     */
+    private BatchResultErrorEntry getBatchResultErrorEntry(SendMessageBatchRequestEntry entry, AmazonClientException e)
+    {
+        BatchResultErrorEntry batchResultErrorEntry = new BatchResultErrorEntry().withId(entry.getId()).withMessage(e.getMessage());
+
+        if (e instanceof AmazonServiceException)
+        {
+            AmazonServiceException amazonServiceException = (AmazonServiceException) e;
+            batchResultErrorEntry.withCode(amazonServiceException.getErrorCode())
+                .withSenderFault(amazonServiceException.getErrorType() == AmazonServiceException.ErrorType.Client);
+        }
+        else
+        {
+            batchResultErrorEntry.withCode(e.getClass().getSimpleName()).withSenderFault(false);
+        }
+
+        return batchResultErrorEntry;
+    }
+
+    /**
+     * Splits send message batch request entries into batches that stay within both the maximum number of messages and the maximum total payload size allowed
+     * per send message batch request. A message that alone exceeds the maximum payload size is sent in a batch of its own, so only that message fails.
+     *
+     * @param entries the send message batch request entries
+     *
+     * @return the list of batches
+     */
+    List<List<SendMessageBatchRequestEntry>> getBatches(List<SendMessageBatchRequestEntry> entries)
+    {
+        List<List<SendMessageBatchRequestEntry>> batches = new ArrayList<>();
+        List<SendMessageBatchRequestEntry> batch = new ArrayList<>();
+        long batchPayloadSize = 0;
+
+        for (SendMessageBatchRequestEntry entry : entries)
+        {
+            long payloadSize = getPayloadSize(entry);
+
+            if (!batch.isEmpty() && (batch.size() >= MAX_BATCH_SIZE || batchPayloadSize + payloadSize > MAX_BATCH_PAYLOAD_SIZE_BYTES))
+            {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchPayloadSize = 0;
+            }
+
+            batch.add(entry);
+            batchPayloadSize += payloadSize;
+        }
+
+        if (!batch.isEmpty())
+        {
+            batches.add(batch);
+        }
+
+        return batches;
+    }
+
+    /**
+     * Gets the payload size of a message as counted by AWS SQS, which is the size of the message body along with the names, data types and values of all
+     * message attributes.
+     *
+     * @param entry the send message batch request entry
+     *
+     * @return the payload size in bytes
+     */
+    private long getPayloadSize(SendMessageBatchRequestEntry entry)
+    {
+        long payloadSize = getUtf8Size(entry.getMessageBody());
+
+        if (entry.getMessageAttributes() != null)
+        {
+            for (Map.Entry<String, MessageAttributeValue> messageAttribute : entry.getMessageAttributes().entrySet())
+            {
+                MessageAttributeValue messageAttributeValue = messageAttribute.getValue();
+                payloadSize += getUtf8Size(messageAttribute.getKey()) + getUtf8Size(messageAttributeValue.getDataType()) +
+                    getUtf8Size(messageAttributeValue.getStringValue());
+                if (messageAttributeValue.getBinaryValue() != null)
+                {
+                    payloadSize += messageAttributeValue.getBinaryValue().remaining();
+                }
+            }
+        }
+
+        return payloadSize;
+    }
+
+    /**
+     * Gets the size of a string encoded as UTF-8.
+     *
+     * @param value the string, maybe null
+     *
+     * @return the size in bytes
+     */
+    private long getUtf8Size(String value)
+    {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
 }
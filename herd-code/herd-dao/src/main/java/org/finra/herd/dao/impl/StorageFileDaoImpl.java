@@ -42,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Repository;
 
 import org.finra.herd.dao.StorageFileDao;
@@ -156,25 +157,38 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
             // Get a sub-list for the current chunk of data.
             List<Integer> storageUnitIdsSubList = storageUnitIds.subList(i, (listSize > (i + inClauseChunkSize) ? (i + inClauseChunkSize) : listSize));
 
-            // Add the where clause for the sub list.
-            criteria.where(getPredicateForInClause(builder, storageUnitIdColumn, storageUnitIdsSubList));
+            // Create the where clause for the sub list.
+            Predicate storageUnitIdsRestriction = getPredicateForInClause(builder, storageUnitIdColumn, storageUnitIdsSubList);
 
-            // Execute the query using pagination and populate the result map.
-            int startPosition = 0;
+            // Execute the query using keyset pagination on (storage unit id, storage file path) and populate the result map. Unlike offset pagination,
+            // each page is selected using the alternate key index starting right after the last row of the previous page.
+            Integer lastStorageUnitId = null;
+            String lastStorageFilePath = null;
             while (true)
             {
+                // Add the where clause for the sub list and, starting from the second page, for the keyset of the last returned row.
+                if (lastStorageUnitId == null)
+                {
+                    criteria.where(storageUnitIdsRestriction);
+                }
+                else
+                {
+                    criteria.where(builder.and(storageUnitIdsRestriction, builder.or(builder.greaterThan(storageUnitIdColumn, lastStorageUnitId), builder
+                        .and(builder.equal(storageUnitIdColumn, lastStorageUnitId), builder.greaterThan(storageFilePathColumn, lastStorageFilePath)))));
+                }
+
                 // Run the query to get a list of tuples back.
-                List<Tuple> tuples = entityManager.createQuery(criteria).setFirstResult(startPosition).setMaxResults(paginationSize).getResultList();
+                List<Tuple> tuples = entityManager.createQuery(criteria).setMaxResults(paginationSize).getResultList();
 
                 // Populate the result map from the returned tuples (i.e. 1 tuple for each row).
                 for (Tuple tuple : tuples)
                 {
                     // Extract the tuple values.
-                    Integer storageUnitId = tuple.get(storageUnitIdColumn);
-                    String storageFilePath = tuple.get(storageFilePathColumn);
+                    lastStorageUnitId = tuple.get(storageUnitIdColumn);
+                    lastStorageFilePath = tuple.get(storageFilePathColumn);
 
                     // Update the result map.
-                    result.put(storageUnitId, storageFilePath);
+                    result.put(lastStorageUnitId, lastStorageFilePath);
                 }
 
                 // Break out of the while loop if we got less results than the pagination size.
@@ -182,9 +196,6 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
                 {
                     break;
                 }
-
-                // Increment the start position.
-                startPosition += paginationSize;
             }
         }
 
@@ -287,4 +298,108 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
             throw new PersistenceException(sqlException);
         }
     }
+
+    @Override
+    public void insertStorageFiles(final List<StorageFileEntity> storageFileEntities)
+    {
+        // Get the current user id.
+        final String currentUserId = herdDaoSecurityHelper.getCurrentUsername();
+
+        // Retrieve the number of rows per multi-row insert statement and the number of statements per JDBC batch.
+        final int rowsPerStatement =
+            Math.max(1, configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_BULK_INSERT_ROWS_PER_STATEMENT, Integer.class));
+        final int statementsPerBatch = Math.max(1, configurationHelper.getProperty(ConfigurationValue.JDBC_BATCH_SIZE, Integer.class) / rowsPerStatement);
+
+        // Split the storage files into statement sized chunks. All chunks, except for the last one, have the same size and share a prepared statement.
+        final List<List<StorageFileEntity>> storageFileEntityChunks = Lists.partition(storageFileEntities, rowsPerStatement);
+        final int fullChunksCount = storageFileEntities.size() / rowsPerStatement;
+
+        // Obtain the connection bound to the current transaction, so the inserts get committed or rolled back along with the rest of the transaction.
+        final DataSource dataSource = jdbcTemplate.getDataSource();
+        final Connection connection = DataSourceUtils.getConnection(dataSource);
+
+        try
+        {
+            if (fullChunksCount > 0)
+            {
+                executeInsertStorageFilesBatches(connection, storageFileEntityChunks.subList(0, fullChunksCount), rowsPerStatement, statementsPerBatch,
+                    currentUserId);
+            }
+
+            if (storageFileEntityChunks.size() > fullChunksCount)
+            {
+                executeInsertStorageFilesBatches(connection, storageFileEntityChunks.subList(fullChunksCount, storageFileEntityChunks.size()),
+                    storageFileEntityChunks.get(fullChunksCount).size(), statementsPerBatch, currentUserId);
+            }
+
+            LOGGER.info("Inserted storage files. storageFileCount={} rowsPerStatement={}", storageFileEntities.size(), rowsPerStatement);
+        }
+        catch (final BatchUpdateException batchUpdateException)
+        {
+            LOGGER
+                .error("Caught batch update exception. SQLState=\"{}\", Message=\"{}\", ErrorCode=\"{}\", updateCounts={}", batchUpdateException.getSQLState(),
+                    batchUpdateException.getMessage(), batchUpdateException.getErrorCode(), Arrays.toString(batchUpdateException.getUpdateCounts()));
+            throw new PersistenceException(batchUpdateException);
+        }
+        catch (final SQLException sqlException)
+        {
+            LOGGER.error("Caught SQL exception. SQLState=\"{}\", Message=\"{}\", ErrorCode=\"{}\"", sqlException.getSQLState(), sqlException.getMessage(),
+                sqlException.getErrorCode());
+            throw new PersistenceException(sqlException);
+        }
+        finally
+        {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Inserts chunks of storage files using a multi-row insert statement per chunk. The statements are executed in JDBC batches.
+     *
+     * @param connection the connection
+     * @param storageFileEntityChunks the chunks of storage file entities, where all chunks have the specified number of rows
+     * @param rowsPerStatement the number of rows in each chunk
+     * @param statementsPerBatch the maximum number of statements per JDBC batch
+     * @param currentUserId the current user id
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    private void executeInsertStorageFilesBatches(Connection connection, List<List<StorageFileEntity>> storageFileEntityChunks, int rowsPerStatement,
+        int statementsPerBatch, String currentUserId) throws SQLException
+    {
+        // Create the multi-row insert statement. The storage file ids for all rows get allocated by the database while executing the statement.
+        StringBuilder insertIntoStorageFileTableSql = new StringBuilder(
+            "INSERT INTO strge_file (strge_file_id, fully_qlfd_file_nm, file_size_in_bytes_nb, row_ct, strge_unit_id, creat_ts, creat_user_id) VALUES ");
+        for (int i = 0; i < rowsPerStatement; i++)
+        {
+            insertIntoStorageFileTableSql.append(i == 0 ? "" : ", ").append("(nextval('strge_file_seq'), ?, ?, ?, ?, current_timestamp, ?)");
+        }
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(insertIntoStorageFileTableSql.toString()))
+        {
+            int preparedStatementCount = 0;
+
+            for (final List<StorageFileEntity> storageFileEntityChunk : storageFileEntityChunks)
+            {
+                int parameterIndex = 1;
+                for (final StorageFileEntity storageFileEntity : storageFileEntityChunk)
+                {
+                    preparedStatement.setObject(parameterIndex++, storageFileEntity.getPath(), Types.VARCHAR);
+                    preparedStatement.setObject(parameterIndex++, storageFileEntity.getFileSizeBytes(), Types.BIGINT);
+                    preparedStatement.setObject(parameterIndex++, storageFileEntity.getRowCount(), Types.BIGINT);
+                    preparedStatement.setInt(parameterIndex++, storageFileEntity.getStorageUnit().getId());
+                    preparedStatement.setString(parameterIndex++, currentUserId);
+                }
+                preparedStatement.addBatch();
+                preparedStatementCount++;
+
+                // Execute the batch once it is full or once all chunks are added.
+                if (preparedStatementCount % statementsPerBatch == 0 || preparedStatementCount == storageFileEntityChunks.size())
+                {
+                    preparedStatement.executeBatch();
+                    preparedStatement.clearBatch();
+                }
+            }
+        }
+    }
 }
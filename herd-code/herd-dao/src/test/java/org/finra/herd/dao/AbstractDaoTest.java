@@ -750,6 +750,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final Timestamp NO_CREATED_ON_TIMESTAMP = null;
 
+    public static final String NO_CONTINUATION_TOKEN = null;
+
     public static final String NO_CUSTOM_DDL_NAME = null;
 
     public static final Integer NO_DATA_VERSION = null;
@@ -794,6 +796,10 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final Integer NO_HTTP_PROXY_PORT = null;
 
+    public static final Boolean NO_INCLUDE_ATTRIBUTES = null;
+
+    public static final Boolean NO_INCLUDE_TOTAL_RECORD_COUNT = null;
+
     public static final List<String> NO_INDEX_SEARCH_FACET_FIELDS = new ArrayList<>();
 
     public static final List<IndexSearchFilter> NO_INDEX_SEARCH_FILTERS = null;
@@ -832,6 +838,12 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String NO_NAMESPACE = null;
 
+    public static final String NO_NEXT_SEARCH_AFTER = null;
+
+    public static final Integer NO_PAGE_NUMBER = null;
+
+    public static final Integer NO_PAGE_SIZE = null;
+
     public static final String NO_PARENT_TAG_CODE = null;
 
     public static final List<SchemaColumn> NO_PARTITION_COLUMNS = null;
@@ -864,6 +876,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final Schema NO_SCHEMA = null;
 
+    public static final String NO_SEARCH_AFTER = null;
+
     public static final Boolean NO_SELECT_ONLY_AVAILABLE_STORAGE_UNITS = false;
 
     public static final String NO_SESSION_TOKEN = null;
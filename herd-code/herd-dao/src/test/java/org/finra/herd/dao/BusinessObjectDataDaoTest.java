@@ -53,6 +53,7 @@ import org.finra.herd.model.api.xml.PartitionValueRange;
 import org.finra.herd.model.api.xml.RegistrationDateRangeFilter;
 import org.finra.herd.model.api.xml.SchemaColumn;
 import org.finra.herd.model.api.xml.StoragePolicyKey;
+import org.finra.herd.model.dto.BusinessObjectDataStoragePolicyMatch;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
@@ -1053,6 +1054,92 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
             resultForDoNotTransitionLatestValidFalse.get(storageUnitEntity.getBusinessObjectData()));
     }
 
+    @Test
+    public void testGetBusinessObjectDataStoragePolicyMatches()
+    {
+        // Create and persist a storage unit with ENABLED status in the storage policy filter storage.
+        StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+            .createStorageUnitEntity(STORAGE_NAME, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+        BusinessObjectDataEntity businessObjectDataEntity = storageUnitEntity.getBusinessObjectData();
+
+        // Create and persist two storage policy entities matching to the business object data, where the second one has a higher priority.
+        storagePolicyDaoTestHelper.createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME),
+            StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED, BDATA_AGE_IN_DAYS, NO_BDEF_NAMESPACE, NO_BDEF_NAME, NO_FORMAT_USAGE_CODE,
+            NO_FORMAT_FILE_TYPE_CODE, STORAGE_NAME, NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicyTransitionTypeEntity.GLACIER,
+            StoragePolicyStatusEntity.ENABLED, INITIAL_VERSION, LATEST_VERSION_FLAG_SET);
+        StoragePolicyEntity storagePolicyEntity = storagePolicyDaoTestHelper
+            .createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME_2),
+                StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED, BDATA_AGE_IN_DAYS, BDEF_NAMESPACE, BDEF_NAME, NO_FORMAT_USAGE_CODE,
+                NO_FORMAT_FILE_TYPE_CODE, STORAGE_NAME, NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicyTransitionTypeEntity.GLACIER,
+                StoragePolicyStatusEntity.ENABLED, INITIAL_VERSION, LATEST_VERSION_FLAG_SET);
+
+        // Retrieve the matches using all storage policy priority levels, highest priority listed first.
+        List<StoragePolicyPriorityLevel> storagePolicyPriorityLevels = Arrays
+            .asList(new StoragePolicyPriorityLevel(false, false, false), new StoragePolicyPriorityLevel(false, true, true),
+                new StoragePolicyPriorityLevel(true, false, false), new StoragePolicyPriorityLevel(true, true, true));
+        List<BusinessObjectDataStoragePolicyMatch> result = businessObjectDataDao
+            .getBusinessObjectDataStoragePolicyMatches(storagePolicyPriorityLevels, NO_DO_NOT_TRANSITION_LATEST_VALID, Collections.singletonList(BDATA_STATUS),
+                0, null, null, MAX_RESULT);
+
+        // Validate the results. The business object data should get matched only once and to the highest priority storage policy.
+        assertEquals(1, result.size());
+        assertEquals(businessObjectDataEntity.getId(), result.get(0).getBusinessObjectDataId());
+        assertEquals(PARTITION_VALUE, result.get(0).getBusinessObjectDataPartitionValue());
+        assertEquals(storagePolicyEntity.getId(), result.get(0).getStoragePolicyId());
+        assertEquals(1, result.get(0).getStoragePolicyPriority());
+
+        // Retrieve the next page starting right after the last returned business object data.
+        result = businessObjectDataDao
+            .getBusinessObjectDataStoragePolicyMatches(storagePolicyPriorityLevels, NO_DO_NOT_TRANSITION_LATEST_VALID, Collections.singletonList(BDATA_STATUS),
+                0, result.get(0).getBusinessObjectDataCreatedOn(), result.get(0).getBusinessObjectDataId(), MAX_RESULT);
+
+        // Validate the results.
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    public void testGetBusinessObjectDataStoragePolicyMatchesKeysetPagination()
+    {
+        // Create and persist a storage policy entity.
+        StoragePolicyEntity storagePolicyEntity = storagePolicyDaoTestHelper
+            .createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME),
+                StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED, BDATA_AGE_IN_DAYS, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE,
+                STORAGE_NAME, NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicyTransitionTypeEntity.GLACIER, StoragePolicyStatusEntity.ENABLED, INITIAL_VERSION,
+                LATEST_VERSION_FLAG_SET);
+
+        // Create and persist two storage units with ENABLED status in the storage policy filter storage, where the second business object data is older.
+        StorageUnitEntity storageUnitEntity1 = storageUnitDaoTestHelper
+            .createStorageUnitEntity(STORAGE_NAME, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+        businessObjectDataDaoTestHelper.ageBusinessObjectData(storageUnitEntity1.getBusinessObjectData(), BDATA_AGE_IN_DAYS + 1);
+        StorageUnitEntity storageUnitEntity2 = storageUnitDaoTestHelper
+            .createStorageUnitEntity(STORAGE_NAME, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+        businessObjectDataDaoTestHelper.ageBusinessObjectData(storageUnitEntity2.getBusinessObjectData(), BDATA_AGE_IN_DAYS + 2);
+
+        // Retrieve the first page with max result limit set to 1.
+        List<StoragePolicyPriorityLevel> storagePolicyPriorityLevels = Collections.singletonList(new StoragePolicyPriorityLevel(false, false, false));
+        List<BusinessObjectDataStoragePolicyMatch> result = businessObjectDataDao
+            .getBusinessObjectDataStoragePolicyMatches(storagePolicyPriorityLevels, NO_DO_NOT_TRANSITION_LATEST_VALID, Collections.singletonList(BDATA_STATUS),
+                0, null, null, 1);
+
+        // Validate the results. Only the oldest business object data should get selected.
+        assertEquals(1, result.size());
+        assertEquals(storageUnitEntity2.getBusinessObjectData().getId(), result.get(0).getBusinessObjectDataId());
+        assertEquals(storagePolicyEntity.getId(), result.get(0).getStoragePolicyId());
+
+        // Retrieve the second page starting right after the last returned business object data.
+        result = businessObjectDataDao
+            .getBusinessObjectDataStoragePolicyMatches(storagePolicyPriorityLevels, NO_DO_NOT_TRANSITION_LATEST_VALID, Collections.singletonList(BDATA_STATUS),
+                0, result.get(0).getBusinessObjectDataCreatedOn(), result.get(0).getBusinessObjectDataId(), 1);
+
+        // Validate the results. Now, the second oldest business object data should get selected.
+        assertEquals(1, result.size());
+        assertEquals(storageUnitEntity1.getBusinessObjectData().getId(), result.get(0).getBusinessObjectDataId());
+        assertEquals(storagePolicyEntity.getId(), result.get(0).getStoragePolicyId());
+    }
+
     @Test
     public void testBusinessObjectDataEntitiesMatchingStoragePoliciesNoStoragePolicyLatestVersion()
     {
@@ -1205,6 +1292,21 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         assertEquals(2, businessObjectDataEntities.size());
     }
 
+    @Test
+    public void testGetBusinessObjectDataEntitiesByIds()
+    {
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, null, DATA_VERSION,
+                true, "VALID");
+        businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE_2, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, null,
+                DATA_VERSION, true, "VALID");
+
+        assertEquals(Collections.singletonList(businessObjectDataEntity),
+            businessObjectDataDao.getBusinessObjectDataEntitiesByIds(Collections.singletonList(businessObjectDataEntity.getId())));
+        assertTrue(businessObjectDataDao.getBusinessObjectDataEntitiesByIds(Collections.emptyList()).isEmpty());
+    }
+
     @Test
     public void testBusinessObjectDataSearchWithAllSearchKeyFields()
     {
@@ -1291,6 +1393,54 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         assertTrue(result.size() == 0);
     }
 
+    @Test
+    public void testBusinessObjectDataSearchAfter()
+    {
+        // Create business object data with and without sub-partition values and with multiple versions of the same partition.
+        List<Long> expectedIds = new ArrayList<>();
+        expectedIds.add(businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION, false, "VALID").getId());
+        expectedIds.add(businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, SECOND_DATA_VERSION, true, "VALID").getId());
+        expectedIds.add(businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, "VALID").getId());
+        expectedIds.add(businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, "VALID").getId());
+
+        BusinessObjectDataSearchKey businessObjectDataSearchKey = new BusinessObjectDataSearchKey();
+        businessObjectDataSearchKey.setNamespace(NAMESPACE);
+        businessObjectDataSearchKey.setBusinessObjectDefinitionName(BDEF_NAME);
+
+        // Get all business object data at once.
+        List<BusinessObjectData> result = businessObjectDataDao.searchBusinessObjectDataAfter(businessObjectDataSearchKey, null, 10, true);
+        assertEquals(4, result.size());
+
+        // Validate the keyset order, where partition values are sorted in descending order and the business object data with sub-partition values goes
+        // before the business object data without them, followed by the business object data versions in descending order.
+        assertEquals(expectedIds.get(3), result.get(0).getId());
+        assertEquals(expectedIds.get(2), result.get(1).getId());
+        assertEquals(expectedIds.get(1), result.get(2).getId());
+        assertEquals(expectedIds.get(0), result.get(3).getId());
+
+        // Go through all business object data one at a time, continuing after the business object data returned last.
+        BusinessObjectData lastBusinessObjectData = null;
+        for (BusinessObjectData expectedBusinessObjectData : result)
+        {
+            List<BusinessObjectData> page =
+                businessObjectDataDao.searchBusinessObjectDataAfter(businessObjectDataSearchKey, lastBusinessObjectData, 1, true);
+            assertEquals(1, page.size());
+            assertEquals(expectedBusinessObjectData, page.get(0));
+            lastBusinessObjectData = page.get(0);
+        }
+
+        // Validate that there are no business object data after the last one.
+        assertTrue(businessObjectDataDao.searchBusinessObjectDataAfter(businessObjectDataSearchKey, lastBusinessObjectData, 1, true).isEmpty());
+    }
+
     @Test
     public void testBusinessObjectDataSearchWithSearchWithBdefKey()
     {
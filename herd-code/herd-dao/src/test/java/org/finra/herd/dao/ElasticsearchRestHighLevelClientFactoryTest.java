@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * This class tests the functionality of Elasticsearch REST high level client factory.
+ */
+public class ElasticsearchRestHighLevelClientFactoryTest
+{
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @InjectMocks
+    private ElasticsearchRestHighLevelClientFactory elasticsearchRestHighLevelClientFactory;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_AWS_REGION_NAME)).thenReturn("us-east-1");
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_HOSTNAME_V2)).thenReturn("localhost");
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_PORT, Integer.class)).thenReturn(443);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_DOMAIN_REST_CLIENT_SCHEME)).thenReturn("https");
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT, Integer.class)).thenReturn(600000);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_CONNECTION_TIMEOUT, Integer.class)).thenReturn(5000);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_PER_ROUTE, Integer.class)).thenReturn(5);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL, Integer.class)).thenReturn(10);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_KEEP_ALIVE_MILLIS, Long.class)).thenReturn(60_000L);
+    }
+
+    @After
+    public void after()
+    {
+        elasticsearchRestHighLevelClientFactory.shutdown();
+    }
+
+    @Test
+    public void testGetRestHighLevelClient() throws IOException
+    {
+        // No client is built until it is requested.
+        assertNull(elasticsearchRestHighLevelClientFactory.getConnectionPoolStats());
+
+        // Get a client and release it.
+        RestHighLevelClient restHighLevelClient;
+        try (RestHighLevelClient client = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        {
+            restHighLevelClient = client;
+        }
+
+        // Confirm that the connection pool is configured per configuration values.
+        assertEquals(10, elasticsearchRestHighLevelClientFactory.getConnectionPoolStats().getMax());
+
+        // Confirm that the same client is reused while the configuration does not change.
+        try (RestHighLevelClient client = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        {
+            assertSame(restHighLevelClient, client);
+        }
+    }
+
+    @Test
+    public void testGetRestHighLevelClientConfigurationChange() throws IOException
+    {
+        try (RestHighLevelClient restHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+        {
+            // Change the configuration while the client is in use.
+            when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL, Integer.class))
+                .thenReturn(20);
+
+            // Confirm that a new client is built per new configuration.
+            try (RestHighLevelClient newRestHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+            {
+                assertNotSame(restHighLevelClient, newRestHighLevelClient);
+                assertEquals(20, elasticsearchRestHighLevelClientFactory.getConnectionPoolStats().getMax());
+            }
+
+            // Confirm that the new client is reused from now on.
+            try (RestHighLevelClient newRestHighLevelClient = elasticsearchRestHighLevelClientFactory.getRestHighLevelClient())
+            {
+                assertNotSame(restHighLevelClient, newRestHighLevelClient);
+            }
+        }
+    }
+}
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -39,6 +40,7 @@ import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -597,6 +599,98 @@ public class IndexFunctionsDaoTest extends AbstractDaoTest
         indexFunctionsDao.createIndexDocuments(SEARCH_INDEX_NAME, documentMap);
     }
 
+    @Test
+    public void testBulkIndexDocumentsFunction() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+        BulkResponse bulkResponse = mock(BulkResponse.class);
+
+        // Create objects needed for the test.
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put(SEARCH_INDEX_DOCUMENT, SEARCH_INDEX_DOCUMENT_JSON);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(bulkResponse);
+        when(bulkResponse.hasFailures()).thenReturn(false);
+
+        // Call the method under test
+        Set<String> result = indexFunctionsDao.bulkIndexDocuments(SEARCH_INDEX_NAME, documentMap);
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+        verify(bulkResponse).hasFailures();
+        verify(restHighLevelClient).close();
+        verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, restHighLevelClient);
+
+        // Validate the results.
+        assertThat("Result is not empty.", result.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testBulkIndexDocumentsFunctionWithFailures() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+        BulkResponse bulkResponse = mock(BulkResponse.class);
+        BulkItemResponse failedBulkItemResponse = mock(BulkItemResponse.class);
+        BulkItemResponse succeededBulkItemResponse = mock(BulkItemResponse.class);
+
+        // Create objects needed for the test.
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put(SEARCH_INDEX_DOCUMENT, SEARCH_INDEX_DOCUMENT_JSON);
+        documentMap.put(SEARCH_INDEX_DOCUMENT + "_2", SEARCH_INDEX_DOCUMENT_JSON);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(bulkResponse);
+        when(bulkResponse.hasFailures()).thenReturn(true);
+        when(bulkResponse.buildFailureMessage()).thenReturn(ERROR_MESSAGE);
+        when(bulkResponse.getItems()).thenReturn(new BulkItemResponse[] {failedBulkItemResponse, succeededBulkItemResponse});
+        when(failedBulkItemResponse.isFailed()).thenReturn(true);
+        when(failedBulkItemResponse.getId()).thenReturn(SEARCH_INDEX_DOCUMENT);
+        when(succeededBulkItemResponse.isFailed()).thenReturn(false);
+
+        // Call the method under test
+        Set<String> result = indexFunctionsDao.bulkIndexDocuments(SEARCH_INDEX_NAME, documentMap);
+
+        // Verify the calls to external methods
+        verify(elasticsearchRestHighLevelClientFactory).getRestHighLevelClient();
+        verify(restHighLevelClient).bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+        verify(bulkResponse).hasFailures();
+        verify(bulkResponse).buildFailureMessage();
+        verify(bulkResponse).getItems();
+        verify(failedBulkItemResponse).isFailed();
+        verify(failedBulkItemResponse).getId();
+        verify(succeededBulkItemResponse).isFailed();
+        verify(restHighLevelClient).close();
+        verifyNoMoreInteractions(bulkResponse, elasticsearchRestHighLevelClientFactory, failedBulkItemResponse, restHighLevelClient,
+            succeededBulkItemResponse);
+
+        // Validate the results.
+        assertThat("Result not equal to expected.", result, equalTo(new HashSet<>(Collections.singletonList(SEARCH_INDEX_DOCUMENT))));
+    }
+
+    @Test(expected = ElasticsearchRestClientException.class)
+    public void testBulkIndexDocumentsFunctionThrowsElasticsearchRestClientException() throws Exception
+    {
+        // Build mocks
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+
+        // Create objects needed for the test.
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put(SEARCH_INDEX_DOCUMENT, SEARCH_INDEX_DOCUMENT_JSON);
+
+        // Mock the calls to external methods
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT))).thenThrow(new IOException());
+
+        // Call the method under test
+        indexFunctionsDao.bulkIndexDocuments(SEARCH_INDEX_NAME, documentMap);
+    }
+
     @Test
     public void testDeleteDocumentByIdFunction() throws Exception
     {
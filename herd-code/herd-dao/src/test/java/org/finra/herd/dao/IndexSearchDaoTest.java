@@ -29,8 +29,10 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -51,6 +53,7 @@ import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.text.Text;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
 import org.elasticsearch.search.SearchShardTarget;
@@ -60,6 +63,7 @@ import org.elasticsearch.search.fetch.subphase.highlight.HighlightField;
 import org.elasticsearch.search.sort.SortBuilder;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -95,6 +99,8 @@ public class IndexSearchDaoTest extends AbstractDaoTest
 {
     private static final String NAMESPACE = "namespace";
 
+    private static final String TAG_CODE_SOURCE = "tagCode";
+
     private static final String TAG_TYPE = "tagType";
 
     @InjectMocks
@@ -148,6 +154,101 @@ public class IndexSearchDaoTest extends AbstractDaoTest
         testIndexSearch(SEARCH_TERM, fields, NO_MATCH, null, null, NO_ENABLE_HIT_HIGHLIGHTING, false, false, DISABLE_COLUMN_FIELDS, true);
     }
 
+    @Test
+    public void indexSearchTestWithPageSizeAndSearchAfter() throws Exception
+    {
+        // Create an index search filter, so no search term is needed.
+        final IndexSearchKey indexSearchKey = new IndexSearchKey();
+        indexSearchKey.setIndexSearchResultTypeKey(new IndexSearchResultTypeKey(SearchIndexTypeEntity.SearchIndexTypes.TAG.name()));
+        final List<IndexSearchFilter> indexSearchFilters =
+            Collections.singletonList(new IndexSearchFilter(NO_EXCLUSION_SEARCH_FILTER, Collections.singletonList(indexSearchKey)));
+
+        // Create the search after cursors for the requested page and for the next page.
+        final String searchAfterJson = "[1.0,\"" + TAG_SEARCH_INDEX_NAME + "\",\"" + TAG_CODE + "\"]";
+        final String searchAfter = Base64.getUrlEncoder().withoutPadding().encodeToString(searchAfterJson.getBytes(StandardCharsets.UTF_8));
+        final String nextSearchAfterJson = "[0.5,\"" + TAG_SEARCH_INDEX_NAME + "\",\"" + TAG_CODE_2 + "\"]";
+        final String nextSearchAfter = Base64.getUrlEncoder().withoutPadding().encodeToString(nextSearchAfterJson.getBytes(StandardCharsets.UTF_8));
+        final Object[] nextSortValues = {0.5f, TAG_SEARCH_INDEX_NAME, TAG_CODE_2};
+
+        // Create an index search request for a page with a single index search result.
+        final IndexSearchRequest indexSearchRequest = new IndexSearchRequest(null, indexSearchFilters, NO_INDEX_SEARCH_FACET_FIELDS,
+            NO_ENABLE_HIT_HIGHLIGHTING, 1, searchAfter);
+
+        // Build a search response with a single tag search hit.
+        RestHighLevelClient restHighLevelClient = mock(RestHighLevelClient.class);
+        SearchResponse searchResponse = mock(SearchResponse.class);
+        SearchHits searchHits = mock(SearchHits.class);
+        SearchHit searchHit = mock(SearchHit.class);
+
+        Map<String, Object> tagTypeMap = new HashMap<>();
+        tagTypeMap.put(CODE, TAG_TYPE_CODE);
+        Map<String, Object> sourceMap = new HashMap<>();
+        sourceMap.put(TAG_CODE_SOURCE, TAG_CODE_2);
+        sourceMap.put(TAG_TYPE, tagTypeMap);
+
+        // Mock the external calls.
+        when(elasticsearchHelper.addIndexSearchFilterBooleanClause(indexSearchFilters, BUSINESS_OBJECT_DEFINITION_SEARCH_INDEX_NAME, TAG_SEARCH_INDEX_NAME))
+            .thenReturn(QueryBuilders.boolQuery());
+        when(jsonHelper.unmarshallJsonToObject(List.class, searchAfterJson)).thenReturn(Arrays.asList(1.0, TAG_SEARCH_INDEX_NAME, TAG_CODE));
+        when(jsonHelper.objectToJson(nextSortValues)).thenReturn(nextSearchAfterJson);
+        when(elasticsearchRestHighLevelClientFactory.getRestHighLevelClient()).thenReturn(restHighLevelClient);
+        when(restHighLevelClient.search(any(SearchRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(searchResponse);
+        when(searchResponse.getHits()).thenReturn(searchHits);
+        when(searchHits.getHits()).thenReturn(new SearchHit[] {searchHit});
+        when(searchHit.getSourceAsMap()).thenReturn(sourceMap);
+        when(searchHit.getIndex()).thenReturn(TAG_SEARCH_INDEX_NAME);
+        when(searchHit.getSortValues()).thenReturn(nextSortValues);
+
+        // Call the method under test.
+        IndexSearchResponse indexSearchResponse =
+            indexSearchDao.indexSearch(indexSearchRequest, NO_FIELDS, NO_MATCH, BUSINESS_OBJECT_DEFINITION_SEARCH_INDEX_NAME, TAG_SEARCH_INDEX_NAME);
+
+        // Verify that the search request continues after the requested cursor with the requested page size.
+        ArgumentCaptor<SearchRequest> searchRequestArgumentCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(restHighLevelClient).search(searchRequestArgumentCaptor.capture(), eq(RequestOptions.DEFAULT));
+        SearchSourceBuilder searchSourceBuilder = searchRequestArgumentCaptor.getValue().source();
+        assertThat(searchSourceBuilder.size(), is(1));
+        assertThat(searchSourceBuilder.sorts().size(), is(3));
+        assertThat(Arrays.asList(searchSourceBuilder.searchAfter()), is(Arrays.asList(1.0, TAG_SEARCH_INDEX_NAME, TAG_CODE)));
+
+        // Validate the results. The page is full, so a cursor to the next page is returned.
+        assertThat(indexSearchResponse.getIndexSearchResults().size(), is(1));
+        assertThat(indexSearchResponse.getIndexSearchResults().get(0).getIndexSearchResultKey().getTagKey(), is(new TagKey(TAG_TYPE_CODE, TAG_CODE_2)));
+        assertThat(indexSearchResponse.getNextSearchAfter(), is(nextSearchAfter));
+    }
+
+    @Test
+    public void indexSearchTestWithInvalidSearchAfter() throws Exception
+    {
+        // Create an index search filter, so no search term is needed.
+        final IndexSearchKey indexSearchKey = new IndexSearchKey();
+        indexSearchKey.setIndexSearchResultTypeKey(new IndexSearchResultTypeKey(SearchIndexTypeEntity.SearchIndexTypes.TAG.name()));
+        final List<IndexSearchFilter> indexSearchFilters =
+            Collections.singletonList(new IndexSearchFilter(NO_EXCLUSION_SEARCH_FILTER, Collections.singletonList(indexSearchKey)));
+
+        // Create an index search request with a search after cursor that was not returned by an index search.
+        final IndexSearchRequest indexSearchRequest = new IndexSearchRequest(null, indexSearchFilters, NO_INDEX_SEARCH_FACET_FIELDS,
+            NO_ENABLE_HIT_HIGHLIGHTING, NO_PAGE_SIZE, INVALID_VALUE);
+
+        // Mock the external calls.
+        when(elasticsearchHelper.addIndexSearchFilterBooleanClause(indexSearchFilters, BUSINESS_OBJECT_DEFINITION_SEARCH_INDEX_NAME, TAG_SEARCH_INDEX_NAME))
+            .thenReturn(QueryBuilders.boolQuery());
+
+        // Try to call the method under test.
+        try
+        {
+            indexSearchDao.indexSearch(indexSearchRequest, NO_FIELDS, NO_MATCH, BUSINESS_OBJECT_DEFINITION_SEARCH_INDEX_NAME, TAG_SEARCH_INDEX_NAME);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertThat(e.getMessage(), is(String.format("Invalid search after cursor \"%s\".", INVALID_VALUE)));
+        }
+
+        // Verify that no search was executed.
+        verifyNoMoreInteractions(elasticsearchRestHighLevelClientFactory);
+    }
+
     @Test
     public void indexSearchTestWithExceptionWhenBuildingMultiMatchQueryWithBoosts() throws Exception
     {
@@ -615,7 +716,8 @@ public class IndexSearchDaoTest extends AbstractDaoTest
         when(searchHit2.getHighlightFields()).thenReturn(highlightFieldMap);
 
         // Create index search request
-        final IndexSearchRequest indexSearchRequest = new IndexSearchRequest(searchTerm, searchFilters, facetList, isHitHighlightingEnabled);
+        final IndexSearchRequest indexSearchRequest = new IndexSearchRequest(searchTerm, searchFilters, facetList, isHitHighlightingEnabled,
+            NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         List<TagTypeIndexSearchResponseDto> tagTypeIndexSearchResponseDtos = Collections
             .singletonList(new TagTypeIndexSearchResponseDto("code", Collections.singletonList(new TagIndexSearchResponseDto("tag1", 1, null)), null));
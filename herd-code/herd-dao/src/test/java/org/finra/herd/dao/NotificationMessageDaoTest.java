@@ -19,6 +19,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -48,4 +49,57 @@ public class NotificationMessageDaoTest extends AbstractDaoTest
         // Try to retrieve the oldest notification message from an empty table.
         assertNull(notificationMessageDao.getOldestNotificationMessage());
     }
+
+    @Test
+    public void testGetOldestNotificationMessagesForUpdate()
+    {
+        // Create database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays
+            .asList(notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2));
+
+        // Retrieve the oldest notification messages.
+        assertEquals(notificationMessageEntities, notificationMessageDao.getOldestNotificationMessagesForUpdate(2));
+        assertEquals(notificationMessageEntities.subList(0, 1), notificationMessageDao.getOldestNotificationMessagesForUpdate(1));
+    }
+
+    @Test
+    public void testGetOldestNotificationMessagesForUpdateQueueIsEmpty()
+    {
+        // Try to retrieve the oldest notification messages from an empty table.
+        assertEquals(Collections.emptyList(), notificationMessageDao.getOldestNotificationMessagesForUpdate(2));
+    }
+
+    @Test
+    public void testGetNotificationMessageCount()
+    {
+        // Validate that the queue is empty.
+        assertEquals(0L, notificationMessageDao.getNotificationMessageCount());
+
+        // Create database entries required for testing.
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT);
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2);
+
+        // Validate the number of notification messages in the queue.
+        assertEquals(2L, notificationMessageDao.getNotificationMessageCount());
+    }
+
+    @Test
+    public void testDeleteNotificationMessages()
+    {
+        // Create database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays
+            .asList(notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2));
+
+        // Delete the oldest notification message.
+        assertEquals(1, notificationMessageDao.deleteNotificationMessages(Collections.singletonList(notificationMessageEntities.get(0).getId())));
+
+        // Validate that only the newest notification message is left in the queue.
+        assertEquals(1L, notificationMessageDao.getNotificationMessageCount());
+        assertEquals(notificationMessageEntities.get(1).getId(), notificationMessageDao.getOldestNotificationMessage().getId());
+
+        // Validate that nothing gets deleted when no ids are specified.
+        assertEquals(0, notificationMessageDao.deleteNotificationMessages(Collections.emptyList()));
+    }
 }
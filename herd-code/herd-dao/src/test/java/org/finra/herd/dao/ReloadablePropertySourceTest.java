@@ -16,10 +16,15 @@
 package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.apache.commons.configuration.BaseConfiguration;
@@ -63,6 +68,9 @@ public class ReloadablePropertySourceTest extends AbstractDaoTest
     // configuration.
     private File propertiesFile;
 
+    // The reloadable property sources created by the test, so their background refreshes can be stopped.
+    private List<ReloadablePropertySource> reloadablePropertySources = new ArrayList<>();
+
     @Before
     @Override
     public void setup() throws Exception
@@ -85,6 +93,12 @@ public class ReloadablePropertySourceTest extends AbstractDaoTest
     @After
     public void tearDown() throws Exception
     {
+        // Stop refreshing the properties in the background.
+        for (ReloadablePropertySource reloadablePropertySource : reloadablePropertySources)
+        {
+            reloadablePropertySource.shutdown();
+        }
+
         // Delete the temporary properties file.
         if (propertiesFile != null)
         {
@@ -116,6 +130,13 @@ public class ReloadablePropertySourceTest extends AbstractDaoTest
         verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_1);
     }
 
+    @Test
+    public void testReloadablePropertySourceBean() throws Exception
+    {
+        // The reloadable property source of the environment is registered as a bean, so its background refresh is stopped when the context is closed.
+        assertSame(getMutablePropertySources().get(ReloadablePropertySource.class.getName()), appContext.getBean("reloadablePropertySource"));
+    }
+
     @Test
     public void testGetPropertyValueNotYetRefreshed() throws Exception
     {
@@ -132,6 +153,26 @@ public class ReloadablePropertySourceTest extends AbstractDaoTest
         verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_1);
     }
 
+    @Test
+    public void testGetSourceSnapshot() throws Exception
+    {
+        // Get a reloadable property source that loads properties from the configuration every time a property is read.
+        ReloadablePropertySource reloadablePropertySource = getNewReloadablePropertiesSource(0L);
+
+        // Get the current snapshot of the properties.
+        Map<String, Object> source = reloadablePropertySource.getSource();
+        assertEquals(TEST_VALUE_1, source.get(TEST_KEY));
+        assertTrue(reloadablePropertySource.containsProperty(TEST_KEY));
+
+        // Update the value from value 1 to value 2 and read it, so the properties get refreshed.
+        updatePropertyToValue2();
+        verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_2);
+
+        // Confirm that the previously obtained snapshot was not modified by the refresh.
+        assertEquals(TEST_VALUE_1, source.get(TEST_KEY));
+        assertEquals(TEST_VALUE_2, reloadablePropertySource.getSource().get(TEST_KEY));
+    }
+
     @Ignore // TODO: Test case fails at random times. Need to figure out why.
     @Test
     public void testGetPropertyValueRefreshed() throws Exception
@@ -284,9 +325,11 @@ public class ReloadablePropertySourceTest extends AbstractDaoTest
      */
     private ReloadablePropertySource getNewReloadablePropertiesSource(Long refreshIntervalSecs, Configuration configuration)
     {
-        return (refreshIntervalSecs == null ?
+        ReloadablePropertySource reloadablePropertySource = (refreshIntervalSecs == null ?
             new ReloadablePropertySource(ReloadablePropertySource.class.getName(), cloneProperties(properties), configuration) :
             new ReloadablePropertySource(ReloadablePropertySource.class.getName(), cloneProperties(properties), configuration, refreshIntervalSecs));
+        reloadablePropertySources.add(reloadablePropertySource);
+        return reloadablePropertySource;
     }
 
     /**
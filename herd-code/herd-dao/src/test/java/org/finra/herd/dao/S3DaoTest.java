@@ -16,8 +16,10 @@
 package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
@@ -32,8 +34,10 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.io.StringWriter;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -42,6 +46,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import com.amazonaws.AmazonClientException;
@@ -57,6 +62,7 @@ import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
@@ -78,11 +84,13 @@ import com.amazonaws.services.s3.model.StorageClass;
 import com.amazonaws.services.s3.model.Tag;
 import com.amazonaws.services.s3.model.VersionListing;
 import com.amazonaws.services.s3.transfer.Copy;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.Transfer;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferProgress;
 import com.amazonaws.services.s3.transfer.Upload;
 import com.google.common.base.Objects;
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -92,6 +100,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.helper.LogLevel;
@@ -147,6 +156,37 @@ public class S3DaoTest extends AbstractDaoTest
         localTempPath = Files.createTempDirectory(null);
     }
 
+    @Test
+    public void testAbortMultipartUpload()
+    {
+        S3Operations originalS3Operations = (S3Operations) ReflectionTestUtils.getField(s3Dao, "s3Operations");
+        S3Operations mockS3Operations = mock(S3Operations.class);
+        ReflectionTestUtils.setField(s3Dao, "s3Operations", mockS3Operations);
+
+        try
+        {
+            String s3BucketName = "s3BucketName";
+            String uploadKey = "uploadKey1";
+            String uploadId = "uploadId1";
+
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+            s3FileTransferRequestParamsDto.setS3BucketName(s3BucketName);
+            s3FileTransferRequestParamsDto.setS3KeyPrefix(uploadKey);
+
+            s3Dao.abortMultipartUpload(s3FileTransferRequestParamsDto, uploadId);
+
+            // Assert that S3Operations.abortMultipartUpload is called exactly ONCE for the specified upload.
+            verify(mockS3Operations).abortMultipartUpload(argThat(
+                argument -> Objects.equal(s3BucketName, argument.getBucketName()) && Objects.equal(uploadKey, argument.getKey()) &&
+                    Objects.equal(uploadId, argument.getUploadId())), any());
+            verifyNoMoreInteractions(mockS3Operations);
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(s3Dao, "s3Operations", originalS3Operations);
+        }
+    }
+
     @Test
     public void testAbortMultipartUploadsAssertAbortOnlyBeforeThreshold()
     {
@@ -944,6 +984,110 @@ public class S3DaoTest extends AbstractDaoTest
         Assert.assertTrue(destinationLocalFile.isFile());
     }
 
+    @Test
+    public void testDownloadFileRange() throws IOException
+    {
+        // Put an S3 file with known content.
+        byte[] data = "0123456789".getBytes(StandardCharsets.UTF_8);
+        s3Operations.putObject(new PutObjectRequest(S3_BUCKET_NAME, TARGET_S3_KEY, new ByteArrayInputStream(data), new ObjectMetadata()), null);
+
+        // Create a preallocated local file.
+        File destinationLocalFile = Paths.get(localTempPath.toString(), LOCAL_FILE).toFile();
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(destinationLocalFile, "rw"))
+        {
+            randomAccessFile.setLength(data.length);
+        }
+
+        // Download the S3 file as two ranges, one of them with a rate limiter.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        s3FileTransferRequestParamsDto.setLocalPath(destinationLocalFile.getPath());
+        S3FileTransferResultsDto secondRangeResults = s3Dao.downloadFileRange(s3FileTransferRequestParamsDto, 6, 9, RateLimiter.create(1024));
+        S3FileTransferResultsDto firstRangeResults = s3Dao.downloadFileRange(s3FileTransferRequestParamsDto, 0, 5, null);
+
+        // Validate the results.
+        assertEquals(Long.valueOf(6L), firstRangeResults.getTotalBytesTransferred());
+        assertEquals(Long.valueOf(4L), secondRangeResults.getTotalBytesTransferred());
+        Assert.assertArrayEquals(data, Files.readAllBytes(destinationLocalFile.toPath()));
+    }
+
+    @Test
+    public void testDownloadFileRangeRetry() throws IOException
+    {
+        S3Operations originalS3Operations = (S3Operations) ReflectionTestUtils.getField(s3Dao, "s3Operations");
+        S3Operations mockS3Operations = mock(S3Operations.class);
+        ReflectionTestUtils.setField(s3Dao, "s3Operations", mockS3Operations);
+
+        try
+        {
+            byte[] data = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+            // Create a preallocated local file.
+            File destinationLocalFile = Paths.get(localTempPath.toString(), LOCAL_FILE).toFile();
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(destinationLocalFile, "rw"))
+            {
+                randomAccessFile.setLength(data.length);
+            }
+
+            // The first request fails after streaming three bytes. The retried request must continue from the first byte not yet written.
+            when(mockS3Operations.getS3Object(any(), any())).then(new Answer<S3Object>()
+            {
+                private int requestsCount;
+
+                @Override
+                public S3Object answer(InvocationOnMock invocation) throws Throwable
+                {
+                    GetObjectRequest getObjectRequest = invocation.getArgument(0);
+                    S3Object s3Object = new S3Object();
+
+                    if (requestsCount++ == 0)
+                    {
+                        assertEquals(0, getObjectRequest.getRange()[0]);
+                        s3Object.setObjectContent(new InputStream()
+                        {
+                            private int position;
+
+                            @Override
+                            public int read() throws IOException
+                            {
+                                if (position == 3)
+                                {
+                                    throw new IOException("Connection reset");
+                                }
+                                return data[position++];
+                            }
+                        });
+                    }
+                    else
+                    {
+                        assertEquals(3, getObjectRequest.getRange()[0]);
+                        assertEquals(9, getObjectRequest.getRange()[1]);
+                        s3Object.setObjectContent(new ByteArrayInputStream(Arrays.copyOfRange(data, 3, data.length)));
+                    }
+
+                    return s3Object;
+                }
+            });
+
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+            s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+            s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+            s3FileTransferRequestParamsDto.setLocalPath(destinationLocalFile.getPath());
+            S3FileTransferResultsDto results = s3Dao.downloadFileRange(s3FileTransferRequestParamsDto, 0, 9, null);
+
+            // Validate the results.
+            assertEquals(Long.valueOf(10L), results.getTotalBytesTransferred());
+            Assert.assertArrayEquals(data, Files.readAllBytes(destinationLocalFile.toPath()));
+            verify(mockS3Operations, times(2)).getS3Object(any(), any());
+            verifyNoMoreInteractions(mockS3Operations);
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(s3Dao, "s3Operations", originalS3Operations);
+        }
+    }
+
     /**
      * Asserts that calling generateGetObjectPresignedUrl() will return the expected mocked pre-signed URL.
      */
@@ -1476,6 +1620,34 @@ public class S3DaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testGetObjectMetadataMultipleS3Keys()
+    {
+        // Put two S3 files of different sizes in S3.
+        String s3Key1 = TARGET_S3_KEY + "1";
+        String s3Key2 = TARGET_S3_KEY + "2";
+        s3Operations.putObject(
+            new PutObjectRequest(storageDaoTestHelper.getS3ManagedBucketName(), s3Key1, new ByteArrayInputStream(new byte[(int) FILE_SIZE_1_KB]), null), null);
+        s3Operations.putObject(
+            new PutObjectRequest(storageDaoTestHelper.getS3ManagedBucketName(), s3Key2, new ByteArrayInputStream(new byte[(int) FILE_SIZE_2_KB]), null), null);
+
+        // Get S3 object metadata for both S3 files and for a non-existing S3 key.
+        Map<String, ObjectMetadata> result =
+            s3Dao.getObjectMetadata(s3DaoTestHelper.getTestS3FileTransferRequestParamsDto(), Arrays.asList(s3Key1, s3Key2, TARGET_S3_KEY + "3"));
+
+        // Validate the results.
+        assertEquals(2, result.size());
+        assertEquals(FILE_SIZE_1_KB, result.get(s3Key1).getContentLength());
+        assertEquals(FILE_SIZE_2_KB, result.get(s3Key2).getContentLength());
+
+        // Get S3 object metadata again and validate that the metadata requests of both calls share the same running task executor.
+        ThreadPoolTaskExecutor taskExecutor = (ThreadPoolTaskExecutor) ReflectionTestUtils.getField(s3Dao, "s3ObjectMetadataTaskExecutor");
+        assertNotNull(taskExecutor);
+        assertEquals(1, s3Dao.getObjectMetadata(s3DaoTestHelper.getTestS3FileTransferRequestParamsDto(), Arrays.asList(s3Key1)).size());
+        assertSame(taskExecutor, ReflectionTestUtils.getField(s3Dao, "s3ObjectMetadataTaskExecutor"));
+        assertFalse(taskExecutor.getThreadPoolExecutor().isShutdown());
+    }
+
     /**
      * Get ObjectMetadata with a socket timeout setting.
      */
@@ -2912,6 +3084,55 @@ public class S3DaoTest extends AbstractDaoTest
         s3DaoTestHelper.validateS3FileUpload(s3FileTransferRequestParamsDto, Arrays.asList(TARGET_S3_KEY));
     }
 
+    /**
+     * Test that we are able to perform the resumable uploadFile S3Dao operation on S3 using our DAO tier.
+     */
+    @Test
+    public void testUploadFileResumable() throws IOException, InterruptedException
+    {
+        // Create local test file.
+        File targetFile = createLocalFile(localTempPath.toString(), LOCAL_FILE, FILE_SIZE_1_KB);
+
+        // Upload test file to s3Dao as a new resumable upload.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        s3FileTransferRequestParamsDto.setLocalPath(targetFile.getPath());
+        List<PersistableUpload> persistableUploads = new ArrayList<>();
+        S3FileTransferResultsDto results = s3Dao.uploadFile(s3FileTransferRequestParamsDto, null, persistableUploads::add);
+
+        // Validate results. The file is uploaded at once, so there is no upload state to persist.
+        Assert.assertTrue(results.getTotalFilesTransferred() == 1L);
+        Assert.assertTrue(persistableUploads.isEmpty());
+
+        // Validate the file upload.
+        s3DaoTestHelper.validateS3FileUpload(s3FileTransferRequestParamsDto, Arrays.asList(TARGET_S3_KEY));
+    }
+
+    /**
+     * Test that we are able to resume an upload using the resumable uploadFile S3Dao operation.
+     */
+    @Test
+    public void testUploadFileResumeUpload() throws IOException, InterruptedException
+    {
+        // Create local test file.
+        File targetFile = createLocalFile(localTempPath.toString(), LOCAL_FILE, FILE_SIZE_1_KB);
+
+        // Resume the upload of the test file.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        s3FileTransferRequestParamsDto.setLocalPath(targetFile.getPath());
+        PersistableUpload persistableUpload =
+            new PersistableUpload(s3FileTransferRequestParamsDto.getS3BucketName(), TARGET_S3_KEY, targetFile.getPath(), "UT_MultipartUploadId", FILE_SIZE_1_KB,
+                FILE_SIZE_1_KB);
+        S3FileTransferResultsDto results = s3Dao.uploadFile(s3FileTransferRequestParamsDto, persistableUpload, null);
+
+        // Validate results.
+        Assert.assertTrue(results.getTotalFilesTransferred() == 1L);
+
+        // Validate the file upload.
+        s3DaoTestHelper.validateS3FileUpload(s3FileTransferRequestParamsDto, Arrays.asList(TARGET_S3_KEY));
+    }
+
     /**
      * Test that we are able to perform the uploadFileList S3Dao operation on S3 using our DAO tier.
      */
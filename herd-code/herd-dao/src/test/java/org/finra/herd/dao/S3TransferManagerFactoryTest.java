@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.dao;
+
+import static org.finra.herd.dao.AbstractDaoTest.AWS_ASSUMED_ROLE_ACCESS_KEY;
+import static org.finra.herd.dao.AbstractDaoTest.AWS_ASSUMED_ROLE_ACCESS_KEY_2;
+import static org.finra.herd.dao.AbstractDaoTest.AWS_ASSUMED_ROLE_SECRET_KEY;
+import static org.finra.herd.dao.AbstractDaoTest.AWS_ASSUMED_ROLE_SESSION_TOKEN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.s3.AmazonS3;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+
+/**
+ * This class tests the functionality of S3 transfer manager factory.
+ */
+public class S3TransferManagerFactoryTest
+{
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @InjectMocks
+    private S3TransferManagerFactory s3TransferManagerFactory;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MAX_THREADS, Integer.class)).thenReturn(2);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_CACHE_MAX_SIZE, Integer.class)).thenReturn(1);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_UPLOAD_THRESHOLD_BYTES, Long.class))
+            .thenReturn((Long) ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_UPLOAD_THRESHOLD_BYTES.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MINIMUM_UPLOAD_PART_SIZE_BYTES, Long.class))
+            .thenReturn((Long) ConfigurationValue.S3_TRANSFER_MANAGER_MINIMUM_UPLOAD_PART_SIZE_BYTES.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_COPY_THRESHOLD_BYTES, Long.class))
+            .thenReturn((Long) ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_COPY_THRESHOLD_BYTES.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_COPY_PART_SIZE_BYTES, Long.class))
+            .thenReturn((Long) ConfigurationValue.S3_TRANSFER_MANAGER_MULTIPART_COPY_PART_SIZE_BYTES.getDefaultValue());
+    }
+
+    @After
+    public void after()
+    {
+        s3TransferManagerFactory.shutdown();
+    }
+
+    @Test
+    public void testGetSharedTransferManager()
+    {
+        AmazonS3 amazonS3 = mock(AmazonS3.class);
+        AmazonS3 amazonS3Second = mock(AmazonS3.class);
+
+        // Get a shared transfer manager and release it.
+        S3TransferManagerFactory.SharedTransferManager sharedTransferManager;
+        try (S3TransferManagerFactory.SharedTransferManager transferManager = s3TransferManagerFactory
+            .getSharedTransferManager(createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY), () -> amazonS3))
+        {
+            sharedTransferManager = transferManager;
+            assertEquals(1, s3TransferManagerFactory.getActiveTransfersCount());
+        }
+        assertEquals(0, s3TransferManagerFactory.getActiveTransfersCount());
+
+        // Confirm that the same transfer manager is reused for the same parameters.
+        try (S3TransferManagerFactory.SharedTransferManager transferManager = s3TransferManagerFactory
+            .getSharedTransferManager(createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY), () -> amazonS3Second))
+        {
+            assertSame(sharedTransferManager, transferManager);
+            assertSame(amazonS3, transferManager.getTransferManager().getAmazonS3Client());
+        }
+
+        // Confirm that different credentials get a new transfer manager and, since the maximum number of shared transfer managers is 1, the idle transfer
+        // manager gets evicted and its S3 client gets shut down.
+        try (S3TransferManagerFactory.SharedTransferManager transferManager = s3TransferManagerFactory
+            .getSharedTransferManager(createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY_2), () -> amazonS3Second))
+        {
+            assertNotSame(sharedTransferManager, transferManager);
+            verify(amazonS3).shutdown();
+        }
+        verify(amazonS3Second, never()).shutdown();
+    }
+
+    @Test
+    public void testGetSharedTransferManagerInUseIsNotEvicted()
+    {
+        AmazonS3 amazonS3 = mock(AmazonS3.class);
+        AmazonS3 amazonS3Second = mock(AmazonS3.class);
+
+        try (S3TransferManagerFactory.SharedTransferManager transferManager = s3TransferManagerFactory
+            .getSharedTransferManager(createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY), () -> amazonS3))
+        {
+            // Get a transfer manager with different credentials while the first one is still in use.
+            try (S3TransferManagerFactory.SharedTransferManager transferManagerSecond = s3TransferManagerFactory
+                .getSharedTransferManager(createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY_2), () -> amazonS3Second))
+            {
+                assertNotSame(transferManager, transferManagerSecond);
+                assertEquals(2, s3TransferManagerFactory.getActiveTransfersCount());
+            }
+        }
+
+        verify(amazonS3, never()).shutdown();
+        verify(amazonS3Second, never()).shutdown();
+    }
+
+    @Test
+    public void testGetSharedTransferManagerKeyDoesNotHoldCredentials()
+    {
+        try (S3TransferManagerFactory.SharedTransferManager transferManager = s3TransferManagerFactory
+            .getSharedTransferManager(createS3FileTransferRequestParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY), () -> mock(AmazonS3.class)))
+        {
+            // Validate that the key of the shared transfer manager only holds a hash of the AWS credentials.
+            @SuppressWarnings("unchecked")
+            Map<List<Object>, S3TransferManagerFactory.SharedTransferManager> sharedTransferManagers =
+                (Map<List<Object>, S3TransferManagerFactory.SharedTransferManager>) ReflectionTestUtils
+                    .getField(s3TransferManagerFactory, "sharedTransferManagers");
+            assertEquals(1, sharedTransferManagers.size());
+            List<Object> key = sharedTransferManagers.keySet().iterator().next();
+            assertFalse(key.contains(AWS_ASSUMED_ROLE_ACCESS_KEY));
+            assertFalse(key.contains(AWS_ASSUMED_ROLE_SECRET_KEY));
+            assertFalse(key.contains(AWS_ASSUMED_ROLE_SESSION_TOKEN));
+        }
+    }
+
+    private S3FileTransferRequestParamsDto createS3FileTransferRequestParamsDto(String awsAccessKeyId)
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setAwsAccessKeyId(awsAccessKeyId);
+        s3FileTransferRequestParamsDto.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
+        s3FileTransferRequestParamsDto.setSessionToken(AWS_ASSUMED_ROLE_SESSION_TOKEN);
+        return s3FileTransferRequestParamsDto;
+    }
+}
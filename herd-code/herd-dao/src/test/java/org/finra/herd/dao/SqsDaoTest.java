@@ -17,8 +17,11 @@ package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
 import java.util.Collections;
 
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import org.junit.Test;
 
@@ -48,4 +51,32 @@ public class SqsDaoTest extends AbstractDaoTest
             new AwsParamsDto(NO_AWS_ACCESS_KEY, NO_AWS_SECRET_KEY, NO_SESSION_TOKEN, NO_HTTP_PROXY_HOST, NO_HTTP_PROXY_PORT, AWS_REGION_NAME_US_EAST_1),
             AWS_SNS_TOPIC_ARN, MESSAGE_TEXT, Collections.singletonList(new MessageHeader(KEY, VALUE))));
     }
+
+    @Test
+    public void testSendMessageBatch()
+    {
+        // Send two SQS messages in a batch.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(
+            new AwsParamsDto(NO_AWS_ACCESS_KEY, NO_AWS_SECRET_KEY, NO_SESSION_TOKEN, NO_HTTP_PROXY_HOST, NO_HTTP_PROXY_PORT, AWS_REGION_NAME_US_EAST_1),
+            AWS_SQS_QUEUE_NAME, Arrays.asList(MESSAGE_TEXT, MESSAGE_TEXT_2));
+
+        // Validate the result. Batch result entries are identified by the index of the relative message.
+        assertEquals(Arrays.asList(new SendMessageBatchResultEntry().withId("0").withMessageId(MESSAGE_ID),
+            new SendMessageBatchResultEntry().withId("1").withMessageId(MESSAGE_ID)), result.getSuccessful());
+        assertEquals(0, result.getFailed().size());
+    }
+
+    @Test
+    public void testSendMessageBatchWithMessageHeaders()
+    {
+        // Send two SQS messages in a batch, where only the first message has message headers.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(
+            new AwsParamsDto(NO_AWS_ACCESS_KEY, NO_AWS_SECRET_KEY, NO_SESSION_TOKEN, NO_HTTP_PROXY_HOST, NO_HTTP_PROXY_PORT, AWS_REGION_NAME_US_EAST_1),
+            AWS_SQS_QUEUE_NAME, Arrays.asList(MESSAGE_TEXT, MESSAGE_TEXT_2), Arrays.asList(Collections.singletonList(new MessageHeader(KEY, VALUE)), null));
+
+        // Validate the result.
+        assertEquals(Arrays.asList(new SendMessageBatchResultEntry().withId("0").withMessageId(MESSAGE_ID),
+            new SendMessageBatchResultEntry().withId("1").withMessageId(MESSAGE_ID)), result.getSuccessful());
+        assertEquals(0, result.getFailed().size());
+    }
 }
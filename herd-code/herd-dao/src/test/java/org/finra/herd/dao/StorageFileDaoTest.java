@@ -162,6 +162,54 @@ public class StorageFileDaoTest extends AbstractDaoTest
         validateGetStoragePathsByStorageUnitIds(LOCAL_FILES.size() * LOCAL_FILES.size(), LOCAL_FILES.size() * LOCAL_FILES.size());
     }
 
+    @Test
+    public void testInsertStorageFiles() throws Exception
+    {
+        // Create a storage unit entity.
+        StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+            .createStorageUnitEntity(StorageEntity.MANAGED_STORAGE, NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION,
+                PARTITION_VALUE, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+
+        // Create a list of storage file entities, where the last one has no file size and row count specified.
+        List<StorageFileEntity> storageFileEntities = new ArrayList<>();
+        for (String file : LOCAL_FILES)
+        {
+            StorageFileEntity storageFileEntity = new StorageFileEntity();
+            storageFileEntity.setStorageUnit(storageUnitEntity);
+            storageFileEntity.setPath(file);
+            storageFileEntity.setFileSizeBytes(storageFileEntities.size() < LOCAL_FILES.size() - 1 ? FILE_SIZE_1_KB : null);
+            storageFileEntity.setRowCount(storageFileEntities.size() < LOCAL_FILES.size() - 1 ? ROW_COUNT_1000 : null);
+            storageFileEntities.add(storageFileEntity);
+        }
+
+        // Override configuration, so the storage files get inserted by one full and one partial multi-row insert statement executed in separate batches.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.STORAGE_FILE_BULK_INSERT_ROWS_PER_STATEMENT.getKey(), LOCAL_FILES.size() - 2);
+        overrideMap.put(ConfigurationValue.JDBC_BATCH_SIZE.getKey(), LOCAL_FILES.size() - 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Insert the storage files.
+            storageFileDao.insertStorageFiles(storageFileEntities);
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+
+        // Validate the results.
+        for (int i = 0; i < LOCAL_FILES.size(); i++)
+        {
+            StorageFileEntity storageFileEntity = storageFileDao.getStorageFileByStorageUnitEntityAndFilePath(storageUnitEntity, LOCAL_FILES.get(i));
+            assertEquals(LOCAL_FILES.get(i), storageFileEntity.getPath());
+            assertEquals(i < LOCAL_FILES.size() - 1 ? FILE_SIZE_1_KB : null, storageFileEntity.getFileSizeBytes());
+            assertEquals(i < LOCAL_FILES.size() - 1 ? ROW_COUNT_1000 : null, storageFileEntity.getRowCount());
+            assertEquals(storageUnitEntity.getId(), storageFileEntity.getStorageUnitId());
+        }
+    }
+
     private void validateGetStoragePathsByStorageUnitIds(Integer chunkSize, Integer pageSize) throws Exception
     {
         // Override configuration.
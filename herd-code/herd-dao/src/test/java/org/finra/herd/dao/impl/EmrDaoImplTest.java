@@ -387,6 +387,31 @@ public class EmrDaoImplTest extends AbstractDaoTest
         assertNull(result);
     }
 
+    @Test
+    public void testGetActiveEmrClusterByNameWhenCacheRefreshedByAnotherThread()
+    {
+        // Create an AWS parameters DTO.
+        AwsParamsDto awsParamsDto =
+            new AwsParamsDto(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN, HTTP_PROXY_HOST, HTTP_PROXY_PORT,
+                AWS_REGION_NAME_US_EAST_1);
+
+        // Create an EMR cluster cache timestamps dto with a delta update that happened after the lookup started.
+        EmrClusterCacheTimestamps emrClusterCacheTimestamps =
+            new EmrClusterCacheTimestamps(LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusMinutes(1));
+
+        // Mock the external calls.
+        when(emrClusterCacheTimestampsMap.get(AWS_ACCOUNT_ID)).thenReturn(emrClusterCacheTimestamps);
+
+        // Call the method under test.
+        ClusterSummary result = emrDaoImpl.getActiveEmrClusterByNameAndAccountId(EMR_CLUSTER_NAME, AWS_ACCOUNT_ID, awsParamsDto);
+
+        // Verify the external calls. No list cluster request is made, since the cache was already refreshed by another thread.
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertNull(result);
+    }
+
     @Test
     public void testGetActiveEmrClusterByNameAndAccountIdWhenClusterNameIsInCache()
     {
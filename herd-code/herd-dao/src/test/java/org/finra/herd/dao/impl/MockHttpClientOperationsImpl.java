@@ -27,6 +27,7 @@ import java.util.regex.Pattern;
 
 import javax.xml.bind.JAXBException;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
 import org.apache.http.ProtocolVersion;
@@ -40,6 +41,7 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicStatusLine;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -51,6 +53,7 @@ import org.finra.herd.model.api.xml.Attribute;
 import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataStorageFilesCreateResponse;
@@ -91,6 +94,8 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
 
     public static final String HOSTNAME_THROW_IO_EXCEPTION = "testThrowIoException";
 
+    public static final String SEARCH_CONTINUATION_TOKEN = "testSearchContinuationToken";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(MockHttpClientOperationsImpl.class);
 
     @Autowired
@@ -161,7 +166,7 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
             else if (uri.getPath().equals("/herd-app/rest/businessObjectData/search"))
             {
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION);
-                buildSearchBusinessObjectDataResponse(response, uri);
+                buildSearchBusinessObjectDataResponse(response, (HttpPost) request);
             }
             else if (uri.getPath().startsWith("/herd-app/rest/businessObjectData/destroy"))
             {
@@ -274,53 +279,72 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
     }
 
     /**
-     * Builds a business object definition response.
+     * Builds a business object data search response. A request without the page number uses continuation token paging, where the first page has business
+     * object data with sub-partitions and the next continuation token, and the second page has business object data without sub-partitions. With page number
+     * paging, the first page has both business object data and any other page is empty.
      *
      * @param response the response
-     * @param uri the URI of the incoming request
+     * @param request the incoming request
      *
      * @throws JAXBException if a JAXB error occurred
+     * @throws IOException if an I/O error occurred
      */
-    private void buildSearchBusinessObjectDataResponse(MockCloseableHttpResponse response, URI uri) throws JAXBException
+    private void buildSearchBusinessObjectDataResponse(MockCloseableHttpResponse response, HttpPost request) throws JAXBException, IOException
     {
         BusinessObjectDataSearchResult businessObjectDataSearchResult = new BusinessObjectDataSearchResult();
+        List<BusinessObjectData> businessObjectDataElements = new ArrayList<>();
+
+        // Build the response based on the continuation token or the pageNum.
+        String rawQuery = request.getURI().getRawQuery();
+        if (rawQuery == null)
+        {
+            BusinessObjectDataSearchRequest businessObjectDataSearchRequest =
+                xmlHelper.unmarshallXmlToObject(BusinessObjectDataSearchRequest.class, EntityUtils.toString(request.getEntity(), StandardCharsets.UTF_8));
 
-        // Build the response based on the pageNum.
-        if (uri.getRawQuery().equals("pageNum=1"))
+            if (StringUtils.isEmpty(businessObjectDataSearchRequest.getContinuationToken()))
+            {
+                businessObjectDataElements.add(createSearchBusinessObjectData(
+                    Arrays.asList("subPartitionValue1", "subPartitionValue2", "subPartitionValue3", "subPartitionValue4")));
+                businessObjectDataSearchResult.setNextContinuationToken(SEARCH_CONTINUATION_TOKEN);
+            }
+            else if (SEARCH_CONTINUATION_TOKEN.equals(businessObjectDataSearchRequest.getContinuationToken()))
+            {
+                businessObjectDataElements.add(createSearchBusinessObjectData(null));
+            }
+        }
+        else if (rawQuery.equals("pageNum=1"))
         {
-            List<BusinessObjectData> businessObjectDataElements = new ArrayList<>();
-
-            // Add business object data with sub-partitions.
-            BusinessObjectData businessObjectDataWithSubPartitions = new BusinessObjectData();
-            businessObjectDataWithSubPartitions.setNamespace("testNamespace");
-            businessObjectDataWithSubPartitions.setBusinessObjectDefinitionName("testBusinessObjectDefinitionName");
-            businessObjectDataWithSubPartitions.setBusinessObjectFormatUsage("testBusinessObjectFormatUsage");
-            businessObjectDataWithSubPartitions.setBusinessObjectFormatFileType("testBusinessObjectFormatFileType");
-            businessObjectDataWithSubPartitions.setBusinessObjectFormatVersion(9);
-            businessObjectDataWithSubPartitions.setPartitionValue("primaryPartitionValue");
-            businessObjectDataWithSubPartitions
-                .setSubPartitionValues(Arrays.asList("subPartitionValue1", "subPartitionValue2", "subPartitionValue3", "subPartitionValue4"));
-            businessObjectDataWithSubPartitions.setVersion(5);
-            businessObjectDataElements.add(businessObjectDataWithSubPartitions);
-
-            // Add business object data without sub-partitions.
-            BusinessObjectData businessObjectDataWithoutSubPartitions = new BusinessObjectData();
-            businessObjectDataWithoutSubPartitions.setNamespace("testNamespace");
-            businessObjectDataWithoutSubPartitions.setBusinessObjectDefinitionName("testBusinessObjectDefinitionName");
-            businessObjectDataWithoutSubPartitions.setBusinessObjectFormatUsage("testBusinessObjectFormatUsage");
-            businessObjectDataWithoutSubPartitions.setBusinessObjectFormatFileType("testBusinessObjectFormatFileType");
-            businessObjectDataWithoutSubPartitions.setBusinessObjectFormatVersion(9);
-            businessObjectDataWithoutSubPartitions.setPartitionValue("primaryPartitionValue");
-            businessObjectDataWithoutSubPartitions.setSubPartitionValues(null);
-            businessObjectDataWithoutSubPartitions.setVersion(5);
-            businessObjectDataElements.add(businessObjectDataWithoutSubPartitions);
-
-            businessObjectDataSearchResult.setBusinessObjectDataElements(businessObjectDataElements);
+            // Add business object data with and without sub-partitions.
+            businessObjectDataElements.add(
+                createSearchBusinessObjectData(Arrays.asList("subPartitionValue1", "subPartitionValue2", "subPartitionValue3", "subPartitionValue4")));
+            businessObjectDataElements.add(createSearchBusinessObjectData(null));
         }
 
+        businessObjectDataSearchResult.setBusinessObjectDataElements(businessObjectDataElements);
         response.setEntity(getHttpEntity(businessObjectDataSearchResult));
     }
 
+    /**
+     * Creates a business object data returned by the business object data search.
+     *
+     * @param subPartitionValues the list of sub-partition values, maybe null
+     *
+     * @return the business object data
+     */
+    private BusinessObjectData createSearchBusinessObjectData(List<String> subPartitionValues)
+    {
+        BusinessObjectData businessObjectData = new BusinessObjectData();
+        businessObjectData.setNamespace("testNamespace");
+        businessObjectData.setBusinessObjectDefinitionName("testBusinessObjectDefinitionName");
+        businessObjectData.setBusinessObjectFormatUsage("testBusinessObjectFormatUsage");
+        businessObjectData.setBusinessObjectFormatFileType("testBusinessObjectFormatFileType");
+        businessObjectData.setBusinessObjectFormatVersion(9);
+        businessObjectData.setPartitionValue("primaryPartitionValue");
+        businessObjectData.setSubPartitionValues(subPartitionValues);
+        businessObjectData.setVersion(5);
+        return businessObjectData;
+    }
+
     /**
      * Builds a business object data get versions response.
      *
@@ -26,6 +26,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -35,6 +36,7 @@ import java.util.concurrent.Future;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
@@ -68,6 +70,7 @@ import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
 import com.amazonaws.services.s3.transfer.MultipleFileUpload;
 import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferProgress;
@@ -76,8 +79,12 @@ import com.amazonaws.services.s3.transfer.internal.CopyImpl;
 import com.amazonaws.services.s3.transfer.internal.DownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileDownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileUploadImpl;
+import com.amazonaws.services.s3.transfer.internal.S3ProgressListener;
 import com.amazonaws.services.s3.transfer.internal.TransferMonitor;
 import com.amazonaws.services.s3.transfer.internal.UploadImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.concurrent.BasicFuture;
@@ -152,6 +159,11 @@ public class MockS3OperationsImpl implements S3Operations
      */
     public static final String MOCK_S3_FILE_NAME_SERVICE_EXCEPTION = "mock_s3_file_name_service_exception";
 
+    /**
+     * A mock multipart upload ID which hints that resuming the upload should throw an AmazonS3Exception with the "NoSuchUpload" error code.
+     */
+    public static final String MOCK_S3_UPLOAD_ID_NO_SUCH_UPLOAD = "mock_s3_upload_id_no_such_upload";
+
     /**
      * The description for a mock transfer.
      */
@@ -167,6 +179,11 @@ public class MockS3OperationsImpl implements S3Operations
      */
     private Map<String, MockS3Bucket> mockS3Buckets = new HashMap<>();
 
+    /**
+     * The IDs of the multipart uploads that were aborted.
+     */
+    private List<String> abortedMultipartUploadIds = Collections.synchronizedList(new ArrayList<>());
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -175,7 +192,18 @@ public class MockS3OperationsImpl implements S3Operations
     @Override
     public void abortMultipartUpload(AbortMultipartUploadRequest abortMultipartUploadRequest, AmazonS3 s3Client)
     {
-        // This method does nothing.
+        // Only record the ID of the aborted upload.
+        abortedMultipartUploadIds.add(abortMultipartUploadRequest.getUploadId());
+    }
+
+    /**
+     * Gets the IDs of the multipart uploads that were aborted.
+     *
+     * @return the IDs of the aborted multipart uploads
+     */
+    public List<String> getAbortedMultipartUploadIds()
+    {
+        return abortedMultipartUploadIds;
     }
 
     /**
@@ -430,9 +458,22 @@ public class MockS3OperationsImpl implements S3Operations
         S3Object s3Object = new S3Object();
         s3Object.setBucketName(getObjectRequest.getBucketName());
         s3Object.setKey(getObjectRequest.getKey());
-        s3Object.setObjectContent(new ByteArrayInputStream(mockS3Object.getData()));
         s3Object.setObjectMetadata(mockS3Object.getObjectMetadata());
 
+        // Honor the requested range, if any, by returning only the requested bytes of the mock object data.
+        byte[] data = mockS3Object.getData();
+        long[] range = getObjectRequest.getRange();
+        if (range != null)
+        {
+            int firstByte = (int) Math.min(range[0], data.length);
+            int lastByte = (int) Math.min(range[1], data.length - 1);
+            s3Object.setObjectContent(new ByteArrayInputStream(data, firstByte, Math.max(lastByte - firstByte + 1, 0)));
+        }
+        else
+        {
+            s3Object.setObjectContent(new ByteArrayInputStream(data));
+        }
+
         return s3Object;
     }
 
@@ -505,6 +546,7 @@ public class MockS3OperationsImpl implements S3Operations
                     s3ObjectSummary.setBucketName(bucketName);
                     s3ObjectSummary.setKey(s3ObjectKey);
                     s3ObjectSummary.setSize(mockS3Object.getData().length);
+                    s3ObjectSummary.setETag(mockS3Object.getObjectMetadata() != null ? mockS3Object.getObjectMetadata().getETag() : null);
                     s3ObjectSummary.setStorageClass(mockS3Object.getObjectMetadata() != null ? mockS3Object.getObjectMetadata().getStorageClass() : null);
 
                     objectListing.getObjectSummaries().add(s3ObjectSummary);
@@ -628,6 +670,9 @@ public class MockS3OperationsImpl implements S3Operations
         // Update the Last-Modified header value. This value not being set causes NullPointerException in S3Dao download related unit tests.
         metadata.setLastModified(new Date());
 
+        // Set the ETag to the MD5 digest of the data, like S3 does for the objects uploaded in a single part without KMS encryption.
+        metadata.setHeader(Headers.ETAG, DigestUtils.md5Hex(s3ObjectData));
+
         MockS3Bucket mockS3Bucket = getOrCreateBucket(s3BucketName);
 
         MockS3Object mockS3Object = new MockS3Object();
@@ -713,6 +758,7 @@ public class MockS3OperationsImpl implements S3Operations
     {
         // Clear all mock S3 buckets.
         mockS3Buckets.clear();
+        abortedMultipartUploadIds.clear();
     }
 
     @Override
@@ -752,6 +798,48 @@ public class MockS3OperationsImpl implements S3Operations
         return upload;
     }
 
+    /**
+     * {@inheritDoc} <p/> This implementation uploads the object at once, so the listener never gets notified with a persistable upload state.
+     */
+    @Override
+    public Upload upload(PutObjectRequest putObjectRequest, S3ProgressListener progressListener, TransferManager transferManager)
+    {
+        return upload(putObjectRequest, transferManager);
+    }
+
+    /**
+     * {@inheritDoc} <p/> This implementation uploads the whole file referenced by the persistable upload. The persistable upload accessors are not public, so
+     * the upload parameters are read from its serialized form.
+     */
+    @Override
+    public Upload resumeUpload(PersistableUpload persistableUpload, TransferManager transferManager)
+    {
+        JsonNode jsonNode;
+        try
+        {
+            jsonNode = new ObjectMapper().readTree(persistableUpload.serialize());
+        }
+        catch (IOException e)
+        {
+            throw new IllegalArgumentException("Failed to read the persistable upload.", e);
+        }
+
+        String bucketName = jsonNode.get("bucketName").asText();
+        String key = jsonNode.get("key").asText();
+
+        LOGGER.debug("resumeUpload(): bucketName = " + bucketName + ", key = " + key);
+
+        if (MOCK_S3_UPLOAD_ID_NO_SUCH_UPLOAD.equals(jsonNode.get("multipartUploadId").asText()))
+        {
+            AmazonS3Exception amazonS3Exception = new AmazonS3Exception("The specified upload does not exist.");
+            amazonS3Exception.setErrorCode(S3Operations.ERROR_CODE_NO_SUCH_UPLOAD);
+            amazonS3Exception.setStatusCode(404);
+            throw amazonS3Exception;
+        }
+
+        return upload(new PutObjectRequest(bucketName, key, new File(jsonNode.get("file").asText())), transferManager);
+    }
+
     @Override
     public MultipleFileUpload uploadDirectory(String bucketName, String virtualDirectoryKeyPrefix, File directory, boolean includeSubdirectories,
         ObjectMetadataProvider metadataProvider, TransferManager transferManager)
@@ -15,11 +15,15 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.util.List;
 import java.util.Map;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 import org.finra.herd.dao.AbstractDaoTest;
@@ -52,4 +56,23 @@ public class MockSqsOperationsImpl implements SqsOperations
         // Nothing else to do in the normal case since our unit tests aren't reading messages once they have been published.
         return new SendMessageResult().withMessageId(AbstractDaoTest.MESSAGE_ID);
     }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(String queueName, List<SendMessageBatchRequestEntry> entries, AmazonSQS amazonSQS)
+    {
+        // Throw an illegal state exception for a specific queue name for testing purposes.
+        if (queueName.equals(MOCK_SQS_QUEUE_NOT_FOUND_NAME))
+        {
+            throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName));
+        }
+
+        // Report all messages as successfully sent.
+        SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+        for (SendMessageBatchRequestEntry entry : entries)
+        {
+            sendMessageBatchResult.getSuccessful().add(new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId(AbstractDaoTest.MESSAGE_ID));
+        }
+
+        return sendMessageBatchResult;
+    }
 }
@@ -0,0 +1,113 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.GetQueueUrlResult;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+/**
+ * This class tests functionality within the SQS operations implementation.
+ */
+public class SqsOperationsImplTest
+{
+    private SqsOperationsImpl sqsOperationsImpl = new SqsOperationsImpl();
+
+    @Test
+    public void testGetBatchesByCount()
+    {
+        // Create more messages than allowed per batch request.
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < SqsOperationsImpl.MAX_BATCH_SIZE + 1; i++)
+        {
+            entries.add(new SendMessageBatchRequestEntry(String.valueOf(i), "message"));
+        }
+
+        // Validate that the messages are split by the maximum number of messages per batch request.
+        List<List<SendMessageBatchRequestEntry>> batches = sqsOperationsImpl.getBatches(entries);
+        assertEquals(2, batches.size());
+        assertEquals(entries.subList(0, SqsOperationsImpl.MAX_BATCH_SIZE), batches.get(0));
+        assertEquals(entries.subList(SqsOperationsImpl.MAX_BATCH_SIZE, entries.size()), batches.get(1));
+    }
+
+    @Test
+    public void testGetBatchesByPayloadSize()
+    {
+        // Create messages, where any two of them exceed the maximum payload size per batch request when the message attribute is taken into account.
+        String messageBody = StringUtils.repeat('a', SqsOperationsImpl.MAX_BATCH_PAYLOAD_SIZE_BYTES / 2);
+        SendMessageBatchRequestEntry entry1 = new SendMessageBatchRequestEntry("0", messageBody);
+        SendMessageBatchRequestEntry entry2 = new SendMessageBatchRequestEntry("1", messageBody)
+            .withMessageAttributes(Collections.singletonMap("key", new MessageAttributeValue().withDataType("String").withStringValue("value")));
+        SendMessageBatchRequestEntry entry3 = new SendMessageBatchRequestEntry("2", StringUtils.repeat('a', SqsOperationsImpl.MAX_BATCH_PAYLOAD_SIZE_BYTES));
+        SendMessageBatchRequestEntry entry4 = new SendMessageBatchRequestEntry("3", "message");
+
+        // Validate that the messages are split by the maximum payload size per batch request.
+        assertEquals(Arrays.asList(Collections.singletonList(entry1), Collections.singletonList(entry2), Collections.singletonList(entry3),
+            Collections.singletonList(entry4)), sqsOperationsImpl.getBatches(Arrays.asList(entry1, entry2, entry3, entry4)));
+
+        // Validate that small messages share a batch request with a message that still fits.
+        assertEquals(Collections.singletonList(Arrays.asList(entry1, entry4)), sqsOperationsImpl.getBatches(Arrays.asList(entry1, entry4)));
+    }
+
+    @Test
+    public void testSendMessageBatchFailedBatchRequest()
+    {
+        // Create more messages than allowed per batch request.
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < SqsOperationsImpl.MAX_BATCH_SIZE + 1; i++)
+        {
+            entries.add(new SendMessageBatchRequestEntry(String.valueOf(i), "message"));
+        }
+
+        // Mock the AWS SQS client, so the first batch request succeeds and the second one fails with an exception.
+        AmazonSQS amazonSQS = mock(AmazonSQS.class);
+        when(amazonSQS.getQueueUrl("queue")).thenReturn(new GetQueueUrlResult().withQueueUrl("queueUrl"));
+        SendMessageBatchResult firstBatchResult = new SendMessageBatchResult();
+        for (SendMessageBatchRequestEntry entry : entries.subList(0, SqsOperationsImpl.MAX_BATCH_SIZE))
+        {
+            firstBatchResult.getSuccessful().add(new SendMessageBatchResultEntry().withId(entry.getId()));
+        }
+        AmazonServiceException amazonServiceException = new AmazonServiceException("test exception");
+        amazonServiceException.setErrorCode("ServiceUnavailable");
+        when(amazonSQS.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(firstBatchResult).thenThrow(amazonServiceException);
+
+        // Send the messages.
+        SendMessageBatchResult result = sqsOperationsImpl.sendMessageBatch("queue", entries, amazonSQS);
+
+        // Validate that only the message of the failed batch request is reported as failed.
+        assertEquals(firstBatchResult.getSuccessful(), result.getSuccessful());
+        assertEquals(1, result.getFailed().size());
+        assertEquals(String.valueOf(SqsOperationsImpl.MAX_BATCH_SIZE), result.getFailed().get(0).getId());
+        assertEquals("ServiceUnavailable", result.getFailed().get(0).getCode());
+    }
+}
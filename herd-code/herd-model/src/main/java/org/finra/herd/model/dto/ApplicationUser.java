@@ -38,6 +38,11 @@ public class ApplicationUser implements Serializable
     private Date sessionInitTime;
     private Set<NamespaceAuthorization> namespaceAuthorizations;
 
+    /**
+     * The index of the namespace authorizations. It is built on first use and is not serialized.
+     */
+    private transient volatile NamespaceAuthorizationIndex namespaceAuthorizationIndex;
+
     /**
      * The class that built this application user.
      */
@@ -133,9 +138,35 @@ public class ApplicationUser implements Serializable
         return namespaceAuthorizations;
     }
 
+    /**
+     * Sets the namespace authorizations of this user and invalidates the namespace authorization index, so it gets rebuilt from the new set on the next
+     * permission check.
+     *
+     * @param namespaceAuthorizations the namespace authorizations, may be null
+     */
     public void setNamespaceAuthorizations(Set<NamespaceAuthorization> namespaceAuthorizations)
     {
         this.namespaceAuthorizations = namespaceAuthorizations;
+        this.namespaceAuthorizationIndex = null;
+    }
+
+    /**
+     * Gets the index of the namespace authorizations of this user. The index is built on the first call and reused by all subsequent calls until the namespace
+     * authorizations are replaced through {@link #setNamespaceAuthorizations(Set)}.
+     *
+     * @return the namespace authorization index
+     */
+    public NamespaceAuthorizationIndex getNamespaceAuthorizationIndex()
+    {
+        NamespaceAuthorizationIndex index = namespaceAuthorizationIndex;
+
+        if (index == null)
+        {
+            index = new NamespaceAuthorizationIndex(namespaceAuthorizations);
+            namespaceAuthorizationIndex = index;
+        }
+
+        return index;
     }
 
     public Class<?> getGeneratedByClass()
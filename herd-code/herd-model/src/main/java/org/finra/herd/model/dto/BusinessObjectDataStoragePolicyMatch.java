@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.model.dto;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * A lightweight match of a business object data to the highest priority storage policy with a filter and a transition matching the business object data. It
+ * carries only the business object data values needed to evaluate storage policy rules along with the "created on" timestamp and id used for keyset
+ * pagination.
+ */
+public class BusinessObjectDataStoragePolicyMatch
+{
+    private final Long businessObjectDataId;
+
+    private final Timestamp businessObjectDataCreatedOn;
+
+    private final Timestamp businessObjectDataUpdatedOn;
+
+    private final String businessObjectDataPartitionValue;
+
+    private final Long storagePolicyId;
+
+    private final int storagePolicyPriority;
+
+    /**
+     * Creates a business object data to storage policy match.
+     *
+     * @param businessObjectDataId the business object data id
+     * @param businessObjectDataCreatedOn the business object data "created on" timestamp
+     * @param businessObjectDataUpdatedOn the business object data "updated on" timestamp
+     * @param businessObjectDataPartitionValue the business object data primary partition value
+     * @param storagePolicyId the storage policy id
+     * @param storagePolicyPriority the storage policy priority, where 0 is the highest priority
+     */
+    public BusinessObjectDataStoragePolicyMatch(Long businessObjectDataId, Timestamp businessObjectDataCreatedOn, Timestamp businessObjectDataUpdatedOn,
+        String businessObjectDataPartitionValue, Long storagePolicyId, int storagePolicyPriority)
+    {
+        this.businessObjectDataId = businessObjectDataId;
+        this.businessObjectDataCreatedOn = businessObjectDataCreatedOn;
+        this.businessObjectDataUpdatedOn = businessObjectDataUpdatedOn;
+        this.businessObjectDataPartitionValue = businessObjectDataPartitionValue;
+        this.storagePolicyId = storagePolicyId;
+        this.storagePolicyPriority = storagePolicyPriority;
+    }
+
+    public Long getBusinessObjectDataId()
+    {
+        return businessObjectDataId;
+    }
+
+    public Timestamp getBusinessObjectDataCreatedOn()
+    {
+        return businessObjectDataCreatedOn;
+    }
+
+    public Timestamp getBusinessObjectDataUpdatedOn()
+    {
+        return businessObjectDataUpdatedOn;
+    }
+
+    public String getBusinessObjectDataPartitionValue()
+    {
+        return businessObjectDataPartitionValue;
+    }
+
+    public Long getStoragePolicyId()
+    {
+        return storagePolicyId;
+    }
+
+    public int getStoragePolicyPriority()
+    {
+        return storagePolicyPriority;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass())
+        {
+            return false;
+        }
+
+        BusinessObjectDataStoragePolicyMatch that = (BusinessObjectDataStoragePolicyMatch) object;
+
+        return storagePolicyPriority == that.storagePolicyPriority && Objects.equals(businessObjectDataId, that.businessObjectDataId) &&
+            Objects.equals(businessObjectDataCreatedOn, that.businessObjectDataCreatedOn) &&
+            Objects.equals(businessObjectDataUpdatedOn, that.businessObjectDataUpdatedOn) &&
+            Objects.equals(businessObjectDataPartitionValue, that.businessObjectDataPartitionValue) && Objects.equals(storagePolicyId, that.storagePolicyId);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(businessObjectDataId, businessObjectDataCreatedOn, businessObjectDataUpdatedOn, businessObjectDataPartitionValue, storagePolicyId,
+            storagePolicyPriority);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BusinessObjectDataStoragePolicyMatch{" +
+            "businessObjectDataId=" + businessObjectDataId +
+            ", businessObjectDataCreatedOn=" + businessObjectDataCreatedOn +
+            ", businessObjectDataUpdatedOn=" + businessObjectDataUpdatedOn +
+            ", businessObjectDataPartitionValue='" + businessObjectDataPartitionValue + '\'' +
+            ", storagePolicyId=" + storagePolicyId +
+            ", storagePolicyPriority=" + storagePolicyPriority +
+            '}';
+    }
+}
@@ -190,6 +190,11 @@ public enum ConfigurationValue
      */
     JMS_PUBLISHING_JOB_CRON_EXPRESSION("jms.publishing.job.cron.expression", "0 0/5 * * * ?"),
 
+    /**
+     * The maximum number of notification messages that "jmsPublishing" system job claims from the database queue in a single transaction. The default is 100.
+     */
+    JMS_PUBLISHING_JOB_BATCH_SIZE("jms.publishing.job.batch.size", 100),
+
     /**
      * The cron expression to schedule "relationalTableSchemaUpdate" system job.  Default is to run this system job every night at 8 AM.
      */
@@ -417,6 +422,61 @@ public enum ConfigurationValue
      */
     AWS_S3_DEFAULT_DOWNLOAD_SESSION_DURATION_SECS("aws.s3.default.download.session.duration.secs", 3600),
 
+    /**
+     * The number of threads in the thread pool of each S3 transfer manager that does not specify its own number of threads. This bounds the number of S3
+     * object parts transferred in parallel by one transfer manager. The default is 10.
+     */
+    S3_TRANSFER_MANAGER_MAX_THREADS("s3.transfer.manager.max.threads", 10),
+
+    /**
+     * The maximum number of shared S3 transfer managers kept for reuse. Idle transfer managers are evicted, least recently used first, once this number is
+     * reached. The default is 100.
+     */
+    S3_TRANSFER_MANAGER_CACHE_MAX_SIZE("s3.transfer.manager.cache.max.size", 100),
+
+    /**
+     * The size threshold in bytes above which S3 uploads use multipart uploads. The default is 16 MB.
+     */
+    S3_TRANSFER_MANAGER_MULTIPART_UPLOAD_THRESHOLD_BYTES("s3.transfer.manager.multipart.upload.threshold.bytes", 16_777_216L),
+
+    /**
+     * The minimum part size in bytes for S3 multipart uploads. The default is 5 MB.
+     */
+    S3_TRANSFER_MANAGER_MINIMUM_UPLOAD_PART_SIZE_BYTES("s3.transfer.manager.minimum.upload.part.size.bytes", 5_242_880L),
+
+    /**
+     * The size threshold in bytes above which S3 copies use multipart copies. The default is 5 GB.
+     */
+    S3_TRANSFER_MANAGER_MULTIPART_COPY_THRESHOLD_BYTES("s3.transfer.manager.multipart.copy.threshold.bytes", 5_368_709_120L),
+
+    /**
+     * The part size in bytes for S3 multipart copies. The default is 100 MB.
+     */
+    S3_TRANSFER_MANAGER_MULTIPART_COPY_PART_SIZE_BYTES("s3.transfer.manager.multipart.copy.part.size.bytes", 104_857_600L),
+
+    /**
+     * The size of the thread pool shared by all S3 object metadata (HEAD) requests executed in parallel when validating storage files that were not found by
+     * an S3 listing. The pool is the s3ObjectMetadataTaskExecutor bean, so a change requires a restart. The default is 10.
+     */
+    S3_OBJECT_METADATA_MAX_THREADS("s3.object.metadata.max.threads", 10),
+
+    /**
+     * The maximum number of attempts to download a range of bytes of an S3 file. A retried attempt continues from the first byte not yet written. The
+     * default is 3.
+     */
+    S3_DOWNLOAD_FILE_RANGE_MAX_ATTEMPTS("s3.download.file.range.max.attempts", 3),
+
+    /**
+     * The maximum number of per-file errors reported by a single storage file validation error message. The default is 100.
+     */
+    STORAGE_FILE_VALIDATION_MAX_REPORTED_ERRORS("storage.file.validation.max.reported.errors", 100),
+
+    /**
+     * The maximum number of storage files not found by an S3 listing that get looked up using S3 object metadata requests during storage file validation. When
+     * more storage files are not found by the listing, they are reported as not found without further lookups. The default is 1000.
+     */
+    STORAGE_FILE_VALIDATION_MAX_S3_METADATA_REQUESTS("storage.file.validation.max.s3.metadata.requests", 1_000),
+
     /**
      * The optional maximum number of expected partition values allowed for availability and DDL generation. If not specified, any number of partition values is
      * allowed.
@@ -517,6 +577,18 @@ public enum ConfigurationValue
      */
     STORAGE_FILE_PATHS_QUERY_PAGINATION_SIZE("storage.file.paths.query.pagination.size", 100000),
 
+    /**
+     * The minimum number of storage files in a storage unit for the storage files to be registered using bulk JDBC inserts instead of JPA when creating a
+     * business object data. Zero and negatives disable the bulk registration. The default is 1000 storage files.
+     */
+    STORAGE_FILE_BULK_REGISTRATION_THRESHOLD("storage.file.bulk.registration.threshold", 1_000),
+
+    /**
+     * The number of storage files inserted by a single multi-row insert statement when storage files are registered using bulk JDBC inserts. The default is
+     * 100 storage files per statement.
+     */
+    STORAGE_FILE_BULK_INSERT_ROWS_PER_STATEMENT("storage.file.bulk.insert.rows.per.statement", 100),
+
     /**
      * The optional Log4J override configuration.
      */
@@ -605,6 +677,12 @@ public enum ConfigurationValue
      */
     HERD_NOTIFICATION_SQS_INCOMING_QUEUE_NAME("herd.notification.sqs.incoming.queue.name", null),
 
+    /**
+     * The maximum number of threads shared by all callers to publish notification messages to AWS SNS topics in parallel. The value is read once, when the
+     * snsPublishTaskExecutor bean gets created. The default is 10.
+     */
+    HERD_NOTIFICATION_SNS_PUBLISH_MAX_THREADS("herd.notification.sns.publish.max.threads", 10),
+
     /**
      * Contains a list of notification message definitions as defined in {@link org.finra.herd.model.api.xml.NotificationMessageDefinitions
      * NotificationMessageDefinitions} to use when generating notification messages for a business object data status change event. There is no default value
@@ -663,6 +741,22 @@ public enum ConfigurationValue
      */
     HERD_CACHE_MEMORY_STORE_EVICTION_POLICY("herd.cache.memory.store.eviction.policy", "LRU"),
 
+    /**
+     * Indicates whether Hive partitions discovered from storage files of a storage unit are cached and reused by subsequent DDL and partitions generation
+     * requests. The default is "false" (disabled).
+     */
+    HIVE_PARTITIONS_CACHE_ENABLED("hive.partitions.cache.enabled", "false"),
+
+    /**
+     * The time to live in seconds for the cached Hive partitions of a storage unit. The default is 3600 seconds (1 hour).
+     */
+    HIVE_PARTITIONS_CACHE_TIME_TO_LIVE_SECONDS("hive.partitions.cache.time.to.live.seconds", 3600L),
+
+    /**
+     * The maximum number of storage units with cached Hive partitions kept in memory. The default is 100000.
+     */
+    HIVE_PARTITIONS_CACHE_MAX_ELEMENTS_IN_MEMORY("hive.partitions.cache.max.elements.in.memory", 100_000),
+
     /**
      * The default value for EC2 node IAM profile name when creating EMR cluster.
      */
@@ -683,6 +777,41 @@ public enum ConfigurationValue
      */
     JDBC_RESULT_MAX_ROWS("jdbc.result.max.rows", null),
 
+    /**
+     * The maximum number of target database connection pools kept by the JDBC service, one per target database URL, user and credentials. The least recently
+     * used pool is closed when this number is exceeded. Zero or a negative number disables the pooling. The default is 10.
+     */
+    JDBC_CONNECTION_POOL_MAX_POOLS("jdbc.connection.pool.max.pools", 10),
+
+    /**
+     * The maximum number of connections in each target database connection pool of the JDBC service. The default is 4.
+     */
+    JDBC_CONNECTION_POOL_MAX_CONNECTIONS("jdbc.connection.pool.max.connections", 4),
+
+    /**
+     * The time in milliseconds after which idle target database connections and unused connection pools of the JDBC service get closed. The default is 5
+     * minutes.
+     */
+    JDBC_CONNECTION_POOL_IDLE_TIMEOUT_MILLIS("jdbc.connection.pool.idle.timeout.millis", 300_000L),
+
+    /**
+     * The maximum time in milliseconds to wait for a connection from a target database connection pool of the JDBC service when all of its connections are in
+     * use. The default is 30 seconds.
+     */
+    JDBC_CONNECTION_POOL_MAX_WAIT_MILLIS("jdbc.connection.pool.max.wait.millis", 30_000L),
+
+    /**
+     * The maximum number of statements of a single JDBC execution request that get executed concurrently when the request asks to execute its statements in
+     * parallel. The default is 4.
+     */
+    JDBC_STATEMENTS_MAX_PARALLELISM("jdbc.statements.max.parallelism", 4),
+
+    /**
+     * The number of threads shared by all JDBC execution requests that execute their statements in parallel. The value is read once, when the
+     * jdbcStatementTaskExecutor bean gets created. The default is 16.
+     */
+    JDBC_STATEMENTS_MAX_THREADS("jdbc.statements.max.threads", 16),
+
     /**
      * The maximum number of business object data records that will be returned by the business object data “get all” endpoints.
      */
@@ -851,6 +980,12 @@ public enum ConfigurationValue
      */
     ELASTICSEARCH_COLUMN_MATCH_HIGHLIGHT_FIELDS("elasticsearch.column.match.highlight.fields", "{\"fields\": [\"*\"]}"),
 
+    /**
+     * The maximum number of index search results returned in a single index search page. This is also the page size used to walk index search results when
+     * exporting them. The default is 1000.
+     */
+    ELASTICSEARCH_INDEX_SEARCH_MAX_PAGE_SIZE("elasticsearch.index.search.max.page.size", 1_000),
+
     /**
      * The elasticsearch spot check percentage for bdefs
      */
@@ -911,6 +1046,21 @@ public enum ConfigurationValue
      */
     ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_SOCKET_TIMEOUT("elasticsearch.rest.high.level.client.socket.timeout", 600000),
 
+    /**
+     * The maximum number of pooled connections per Elasticsearch domain route kept by the shared Elasticsearch REST high level client. The default is 50.
+     */
+    ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_PER_ROUTE("elasticsearch.rest.high.level.client.max.connections.per.route", 50),
+
+    /**
+     * The maximum total number of pooled connections kept by the shared Elasticsearch REST high level client. The default is 100.
+     */
+    ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_MAX_CONNECTIONS_TOTAL("elasticsearch.rest.high.level.client.max.connections.total", 100),
+
+    /**
+     * The time in milliseconds an idle pooled connection of the shared Elasticsearch REST high level client is kept alive for reuse. The default is 60000.
+     */
+    ELASTICSEARCH_REST_HIGH_LEVEL_CLIENT_KEEP_ALIVE_MILLIS("elasticsearch.rest.high.level.client.keep.alive.millis", 60_000L),
+
     /**
      * The search index update queue name
      */
@@ -921,6 +1071,41 @@ public enum ConfigurationValue
      */
     SEARCH_INDEX_UPDATE_JMS_LISTENER_ENABLED("search.index.update.jms.listener.enabled", "true"),
 
+    /**
+     * The time window in milliseconds over which the search index update JMS message listener collects and de-duplicates the search index document updates
+     * before applying them as bulk updates. A value of 0 or less disables the coalescing, so each message is applied as soon as it is received. The default
+     * is 0 (disabled). When enabled, a message is acknowledged once its updates are collected, so the updates still pending when the application stops
+     * abruptly are lost until the affected documents get modified again or the search index gets validated.
+     */
+    SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLIS("search.index.update.coalescing.window.millis", 0L),
+
+    /**
+     * The maximum number of distinct search index documents that may be pending in the coalescing window. Once reached, the pending updates are applied
+     * right away by the JMS message listener thread. The default is 10000.
+     */
+    SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS("search.index.update.coalescing.max.pending.documents", 10_000),
+
+    /**
+     * The maximum number of search index documents loaded and applied per bulk update when the coalesced search index updates are applied. The default is
+     * 500.
+     */
+    SEARCH_INDEX_UPDATE_COALESCING_BATCH_SIZE("search.index.update.coalescing.batch.size", 500),
+
+    /**
+     * The maximum number of documents sent to Elasticsearch in a single bulk request when rebuilding a search index.
+     */
+    SEARCH_INDEX_BULK_INDEX_MAX_DOCUMENTS("search.index.bulk.index.max.documents", 500),
+
+    /**
+     * The maximum total size in bytes of the JSON documents sent to Elasticsearch in a single bulk request when rebuilding a search index.
+     */
+    SEARCH_INDEX_BULK_INDEX_MAX_BYTES("search.index.bulk.index.max.bytes", 5_242_880),
+
+    /**
+     * The maximum number of attempts to send a single bulk request to Elasticsearch when rebuilding a search index.
+     */
+    SEARCH_INDEX_BULK_INDEX_MAX_ATTEMPTS("search.index.bulk.index.max.attempts", 3),
+
     /**
      * The name of the Credstash table where credentials are stored.
      */
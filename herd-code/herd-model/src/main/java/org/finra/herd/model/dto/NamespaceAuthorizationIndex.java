@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.model.dto;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.finra.herd.model.api.xml.NamespaceAuthorization;
+import org.finra.herd.model.api.xml.NamespacePermissionEnum;
+
+/**
+ * An immutable index of the namespace permissions of an application user. The permissions are indexed by upper-cased namespace code, so a permission check
+ * for a namespace is a single hash lookup regardless of how many namespace authorizations the user has.
+ */
+public class NamespaceAuthorizationIndex
+{
+    /**
+     * The namespace permissions by upper-cased namespace code.
+     */
+    private final Map<String, EnumSet<NamespacePermissionEnum>> namespacePermissionsMap;
+
+    /**
+     * The namespace codes, as specified by the namespace authorizations, by upper-cased namespace code.
+     */
+    private final Map<String, String> namespaceCodesMap;
+
+    /**
+     * Builds the index from the specified namespace authorizations. Permissions of namespace authorizations with namespace codes that only differ in case are
+     * merged.
+     *
+     * @param namespaceAuthorizations the namespace authorizations, may be null
+     */
+    public NamespaceAuthorizationIndex(Collection<NamespaceAuthorization> namespaceAuthorizations)
+    {
+        Map<String, EnumSet<NamespacePermissionEnum>> namespacePermissionsMap = new HashMap<>();
+        Map<String, String> namespaceCodesMap = new HashMap<>();
+
+        if (namespaceAuthorizations != null)
+        {
+            for (NamespaceAuthorization namespaceAuthorization : namespaceAuthorizations)
+            {
+                if (namespaceAuthorization.getNamespace() != null)
+                {
+                    String namespaceKey = namespaceAuthorization.getNamespace().toUpperCase();
+
+                    EnumSet<NamespacePermissionEnum> namespacePermissions =
+                        namespacePermissionsMap.computeIfAbsent(namespaceKey, key -> EnumSet.noneOf(NamespacePermissionEnum.class));
+                    if (namespaceAuthorization.getNamespacePermissions() != null)
+                    {
+                        for (NamespacePermissionEnum namespacePermission : namespaceAuthorization.getNamespacePermissions())
+                        {
+                            if (namespacePermission != null)
+                            {
+                                namespacePermissions.add(namespacePermission);
+                            }
+                        }
+                    }
+
+                    namespaceCodesMap.putIfAbsent(namespaceKey, namespaceAuthorization.getNamespace());
+                }
+            }
+        }
+
+        this.namespacePermissionsMap = Collections.unmodifiableMap(namespacePermissionsMap);
+        this.namespaceCodesMap = Collections.unmodifiableMap(namespaceCodesMap);
+    }
+
+    /**
+     * Returns true if the index has any of the specified permissions for the specified namespace. The namespace code is matched case-insensitively.
+     *
+     * @param namespace the namespace code
+     * @param permissions the permissions
+     *
+     * @return true if any of the permissions is granted for the namespace, false otherwise or if the namespace is null
+     */
+    public boolean hasAnyPermission(String namespace, NamespacePermissionEnum... permissions)
+    {
+        if (namespace == null)
+        {
+            return false;
+        }
+
+        EnumSet<NamespacePermissionEnum> namespacePermissions = namespacePermissionsMap.get(namespace.toUpperCase());
+
+        if (namespacePermissions != null)
+        {
+            for (NamespacePermissionEnum permission : permissions)
+            {
+                if (namespacePermissions.contains(permission))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the codes of all namespaces that have all of the specified permissions.
+     *
+     * @param permissions the permissions
+     *
+     * @return the set of namespace codes
+     */
+    public Set<String> getNamespacesWithAllPermissions(NamespacePermissionEnum... permissions)
+    {
+        Set<String> namespaces = new HashSet<>();
+
+        for (Map.Entry<String, EnumSet<NamespacePermissionEnum>> entry : namespacePermissionsMap.entrySet())
+        {
+            boolean hasAllPermissions = true;
+            for (NamespacePermissionEnum permission : permissions)
+            {
+                if (!entry.getValue().contains(permission))
+                {
+                    hasAllPermissions = false;
+                    break;
+                }
+            }
+
+            if (hasAllPermissions)
+            {
+                namespaces.add(namespaceCodesMap.get(entry.getKey()));
+            }
+        }
+
+        return namespaces;
+    }
+}
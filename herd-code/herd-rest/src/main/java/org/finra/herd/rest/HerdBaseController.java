@@ -93,19 +93,35 @@ public abstract class HerdBaseController
     }
 
     /**
-     * Sets HTTP headers to HTTP servlet response per specified paging information.
+     * Sets HTTP headers to HTTP servlet response per specified paging information. The headers are not set for the paging information values that are not
+     * available, such as the page number with continuation token paging.
      *
      * @param httpServletResponse the HTTP servlet response
      * @param pagingInfo the paging information DTO
      */
     protected void addPagingHttpHeaders(HttpServletResponse httpServletResponse, PagingInfoDto pagingInfo)
     {
-        httpServletResponse.setHeader(HTTP_HEADER_PAGING_PAGE_NUM, String.valueOf(pagingInfo.getPageNum()));
-        httpServletResponse.setHeader(HTTP_HEADER_PAGING_PAGE_SIZE, String.valueOf(pagingInfo.getPageSize()));
-        httpServletResponse.setHeader(HTTP_HEADER_PAGING_PAGE_COUNT, String.valueOf(pagingInfo.getPageCount()));
-        httpServletResponse.setHeader(HTTP_HEADER_PAGING_TOTAL_RECORDS_ON_PAGE, String.valueOf(pagingInfo.getTotalRecordsOnPage()));
-        httpServletResponse.setHeader(HTTP_HEADER_PAGING_TOTAL_RECORD_COUNT, String.valueOf(pagingInfo.getTotalRecordCount()));
-        httpServletResponse.setHeader(HTTP_HEADER_PAGING_MAX_RESULTS_PER_PAGE, String.valueOf(pagingInfo.getMaxResultsPerPage()));
+        addPagingHttpHeader(httpServletResponse, HTTP_HEADER_PAGING_PAGE_NUM, pagingInfo.getPageNum());
+        addPagingHttpHeader(httpServletResponse, HTTP_HEADER_PAGING_PAGE_SIZE, pagingInfo.getPageSize());
+        addPagingHttpHeader(httpServletResponse, HTTP_HEADER_PAGING_PAGE_COUNT, pagingInfo.getPageCount());
+        addPagingHttpHeader(httpServletResponse, HTTP_HEADER_PAGING_TOTAL_RECORDS_ON_PAGE, pagingInfo.getTotalRecordsOnPage());
+        addPagingHttpHeader(httpServletResponse, HTTP_HEADER_PAGING_TOTAL_RECORD_COUNT, pagingInfo.getTotalRecordCount());
+        addPagingHttpHeader(httpServletResponse, HTTP_HEADER_PAGING_MAX_RESULTS_PER_PAGE, pagingInfo.getMaxResultsPerPage());
+    }
+
+    /**
+     * Sets a paging HTTP header to HTTP servlet response, unless the paging information value is not available.
+     *
+     * @param httpServletResponse the HTTP servlet response
+     * @param headerName the HTTP header name
+     * @param value the paging information value, may be null
+     */
+    private void addPagingHttpHeader(HttpServletResponse httpServletResponse, String headerName, Long value)
+    {
+        if (value != null)
+        {
+            httpServletResponse.setHeader(headerName, String.valueOf(value));
+        }
     }
 
     /**
@@ -19,8 +19,13 @@ import static org.finra.herd.model.dto.SecurityFunctions.FN_INDEX_SEARCH_POST;
 import static org.finra.herd.ui.constants.UiConstants.REST_URL_BASE;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Set;
 
+import javax.servlet.http.HttpServletResponse;
+
 import io.swagger.annotations.Api;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.annotation.Secured;
@@ -29,6 +34,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.IndexSearchRequest;
 import org.finra.herd.model.api.xml.IndexSearchResponse;
 import org.finra.herd.service.IndexSearchService;
@@ -41,9 +47,17 @@ import org.finra.herd.service.IndexSearchService;
 @Api(tags = "Index Search")
 public class IndexSearchRestController extends HerdBaseController
 {
+    /**
+     * The content type of the newline delimited JSON index search export.
+     */
+    public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
     @Autowired
     private IndexSearchService indexSearchService;
 
+    @Autowired
+    private JsonHelper jsonHelper;
+
     /**
      * The index search POST method.
      *
@@ -59,4 +73,49 @@ public class IndexSearchRestController extends HerdBaseController
     {
         return indexSearchService.indexSearch(request, fields, match);
     }
+
+    /**
+     * The index search export POST method. Streams all index search results that match the request as newline delimited JSON, one index search result per
+     * line. The results are read from the search indexes one page at a time, so the complete result set is never held in memory. The "pageSize" and
+     * "searchAfter" elements of the request may be used to control the page size and to resume an interrupted export. Facets are not computed.
+     *
+     * @param fields the set of fields that are to be returned in the index search results (accepts: displayname and shortdescription)
+     * @param match the set of match fields that the search will be restricted to (accepts: column)
+     * @param request the index search request
+     * @param httpServletResponse the HTTP servlet response to stream the index search results to
+     *
+     * @throws IOException if the index search results could not be written to the response
+     */
+    @RequestMapping(value = "/indexSearch/export", method = POST, consumes = {"application/xml", "application/json"}, produces = NDJSON_CONTENT_TYPE)
+    @Secured(FN_INDEX_SEARCH_POST)
+    public void exportIndexSearchResults(@RequestParam(value = "fields", required = false, defaultValue = "") Set<String> fields,
+        @RequestParam(value = "match", required = false, defaultValue = "") Set<String> match, @RequestBody IndexSearchRequest request,
+        HttpServletResponse httpServletResponse) throws IOException
+    {
+        httpServletResponse.setContentType(NDJSON_CONTENT_TYPE);
+        httpServletResponse.setCharacterEncoding("UTF-8");
+
+        Writer writer = httpServletResponse.getWriter();
+
+        try
+        {
+            indexSearchService.exportIndexSearchResults(request, fields, match, indexSearchResult -> {
+                try
+                {
+                    writer.write(jsonHelper.objectToJson(indexSearchResult));
+                    writer.write('\n');
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+
+        writer.flush();
+    }
 }
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.rest;
 
+import javax.servlet.http.HttpServletResponse;
+
 import io.swagger.annotations.Api;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.annotation.Secured;
@@ -32,6 +34,7 @@ import org.finra.herd.model.api.xml.JobSignalRequest;
 import org.finra.herd.model.api.xml.JobStatusEnum;
 import org.finra.herd.model.api.xml.JobSummaries;
 import org.finra.herd.model.api.xml.JobUpdateRequest;
+import org.finra.herd.model.dto.JobSummariesPagingInfoDto;
 import org.finra.herd.model.dto.SecurityFunctions;
 import org.finra.herd.service.JobService;
 import org.finra.herd.ui.constants.UiConstants;
@@ -64,13 +67,18 @@ public class JobRestController extends HerdBaseController
 
     /**
      * <p>Gets a list of job executions based on the specified filter parameters.</p> <p>Jobs' namespace to which you do not have READ permissions to will be
-     * omitted from the result.</p>
+     * omitted from the result.</p> <p>When the page number or the page size is specified, a single page of the job executions ordered by their IDs is returned
+     * along with HTTP headers that contain the pagination information. Otherwise, all matching job executions are returned, unless their count exceeds the
+     * maximum number of results allowed.</p>
      *
      * @param namespace an optional namespace filter
      * @param jobName an optional job name filter
      * @param status an optional job status filter
      * @param startTime an optional start time filter (ex. 2015, 2015-12, 2015-12-28, 2015-12-12T3:4:5)
      * @param endTime an optional end time filter (ex. 2015, 2015-12, 2015-12-28, 2015-12-12T3:4:5)
+     * @param pageNum an optional page number. Page numbers are one-based - that is the first page number is one. Default value is 1
+     * @param pageSize an optional page size. Default value and maximum value is the maximum number of results allowed
+     * @param httpServletResponse the HTTP servlet response
      *
      * @return the list of job summaries.
      * @throws Exception if any problems were encountered.
@@ -79,10 +87,19 @@ public class JobRestController extends HerdBaseController
     @Secured(SecurityFunctions.FN_JOBS_GET)
     public JobSummaries getJobs(@RequestParam(value = "namespace", required = false) String namespace,
         @RequestParam(value = "jobName", required = false) String jobName, @RequestParam(value = "status", required = false) JobStatusEnum status,
-        @RequestParam(value = "startTime", required = false) String startTime, @RequestParam(value = "endTime", required = false) String endTime)
-        throws Exception
+        @RequestParam(value = "startTime", required = false) String startTime, @RequestParam(value = "endTime", required = false) String endTime,
+        @RequestParam(value = "pageNum", required = false) Integer pageNum, @RequestParam(value = "pageSize", required = false) Integer pageSize,
+        HttpServletResponse httpServletResponse) throws Exception
     {
-        return jobService.getJobs(namespace, jobName, status, getDateTime(startTime), getDateTime(endTime));
+        // Get the job summaries.
+        JobSummariesPagingInfoDto jobSummariesPagingInfoDto =
+            jobService.getJobs(namespace, jobName, status, getDateTime(startTime), getDateTime(endTime), pageNum, pageSize);
+
+        // Add HTTP headers to HTTP servlet response per paging information.
+        addPagingHttpHeaders(httpServletResponse, jobSummariesPagingInfoDto);
+
+        // Create and return the HTTP response.
+        return jobSummariesPagingInfoDto.getJobSummaries();
     }
 
     /**
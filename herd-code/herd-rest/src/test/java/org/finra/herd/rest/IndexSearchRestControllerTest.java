@@ -16,12 +16,21 @@
 package org.finra.herd.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.servlet.http.HttpServletResponse;
 
 import com.google.common.collect.Sets;
 import org.junit.Before;
@@ -30,8 +39,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.IndexSearchRequest;
 import org.finra.herd.model.api.xml.IndexSearchResponse;
+import org.finra.herd.model.api.xml.IndexSearchResult;
+import org.finra.herd.model.api.xml.SearchIndexKey;
 import org.finra.herd.service.IndexSearchService;
 
 /**
@@ -45,6 +57,9 @@ public class IndexSearchRestControllerTest extends AbstractRestTest
     @Mock
     private IndexSearchService indexSearchService;
 
+    @Mock
+    private JsonHelper jsonHelper;
+
     @Before
     public void before()
     {
@@ -56,10 +71,11 @@ public class IndexSearchRestControllerTest extends AbstractRestTest
     {
         // Create an index search request.
         final IndexSearchRequest indexSearchRequest =
-            new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING);
+            new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING,
+                NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create an index search response.
-        IndexSearchResponse indexSearchResponse = new IndexSearchResponse(LONG_VALUE, new ArrayList<>(), new ArrayList<>());
+        IndexSearchResponse indexSearchResponse = new IndexSearchResponse(LONG_VALUE, new ArrayList<>(), new ArrayList<>(), NO_NEXT_SEARCH_AFTER);
 
         // Create a set of search optional fields.
         Set<String> fields = Sets.newHashSet(FIELD_SHORT_DESCRIPTION);
@@ -80,4 +96,56 @@ public class IndexSearchRestControllerTest extends AbstractRestTest
         // Validate the result.
         assertEquals(indexSearchResponse, result);
     }
+
+    @Test
+    public void testExportIndexSearchResults() throws Exception
+    {
+        // Create an index search request.
+        final IndexSearchRequest indexSearchRequest =
+            new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING,
+                NO_PAGE_SIZE, NO_SEARCH_AFTER);
+
+        // Create index search results.
+        IndexSearchResult indexSearchResult = new IndexSearchResult();
+        indexSearchResult.setSearchIndexKey(new SearchIndexKey(SEARCH_INDEX_NAME));
+        IndexSearchResult indexSearchResult2 = new IndexSearchResult();
+        indexSearchResult2.setSearchIndexKey(new SearchIndexKey(SEARCH_INDEX_NAME_2));
+
+        // Create a set of search optional fields.
+        Set<String> fields = Sets.newHashSet(FIELD_SHORT_DESCRIPTION);
+
+        // Create a set of search match fields.
+        Set<String> match = Sets.newHashSet(MATCH_COLUMN);
+
+        // Create an HTTP servlet response that writes to a string.
+        StringWriter stringWriter = new StringWriter();
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+
+        // Mock the external calls.
+        when(httpServletResponse.getWriter()).thenReturn(new PrintWriter(stringWriter));
+        when(jsonHelper.objectToJson(indexSearchResult)).thenReturn(STRING_VALUE);
+        when(jsonHelper.objectToJson(indexSearchResult2)).thenReturn(STRING_VALUE_2);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            Consumer<IndexSearchResult> indexSearchResultConsumer = (Consumer<IndexSearchResult>) invocation.getArguments()[3];
+            indexSearchResultConsumer.accept(indexSearchResult);
+            indexSearchResultConsumer.accept(indexSearchResult2);
+            return 2L;
+        }).when(indexSearchService).exportIndexSearchResults(eq(indexSearchRequest), eq(fields), eq(match), any());
+
+        // Call the method under test.
+        indexSearchRestController.exportIndexSearchResults(fields, match, indexSearchRequest, httpServletResponse);
+
+        // Verify the external calls.
+        verify(indexSearchService).exportIndexSearchResults(eq(indexSearchRequest), eq(fields), eq(match), any());
+        verify(jsonHelper).objectToJson(indexSearchResult);
+        verify(jsonHelper).objectToJson(indexSearchResult2);
+        verify(httpServletResponse).setContentType(IndexSearchRestController.NDJSON_CONTENT_TYPE);
+        verify(httpServletResponse).setCharacterEncoding("UTF-8");
+        verify(httpServletResponse).getWriter();
+        verifyNoMoreInteractions(indexSearchService, jsonHelper, httpServletResponse);
+
+        // Validate the results.
+        assertEquals(STRING_VALUE + "\n" + STRING_VALUE_2 + "\n", stringWriter.toString());
+    }
 }
@@ -16,12 +16,15 @@
 package org.finra.herd.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
@@ -39,6 +42,7 @@ import org.finra.herd.model.api.xml.JobSummary;
 import org.finra.herd.model.api.xml.JobUpdateRequest;
 import org.finra.herd.model.api.xml.Parameter;
 import org.finra.herd.model.api.xml.S3PropertiesLocation;
+import org.finra.herd.model.dto.JobSummariesPagingInfoDto;
 import org.finra.herd.service.JobService;
 
 /**
@@ -141,22 +145,33 @@ public class JobRestControllerTest extends AbstractRestTest
         // Create a job summaries object.
         JobSummaries jobSummaries = new JobSummaries(Arrays.asList(jobSummary));
 
+        // Create a job summaries response without paging information.
+        JobSummariesPagingInfoDto jobSummariesPagingInfoDto = new JobSummariesPagingInfoDto(null, null, null, 1L, null, null, jobSummaries);
+
+        // Create a mocked HTTP servlet response.
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
+
         // Mock the external calls.
-        when(jobService.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME, END_TIME)).thenReturn(jobSummaries);
+        when(jobService.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME, END_TIME, null, null)).thenReturn(jobSummariesPagingInfoDto);
 
         // Call the method under test.
-        JobSummaries result = jobRestController.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME.toString(), END_TIME.toString());
+        JobSummaries result = jobRestController
+            .getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME.toString(), END_TIME.toString(), null, null, httpServletResponse);
 
         // Verify the external calls.
-        verify(jobService).getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME, END_TIME);
+        verify(jobService).getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME, END_TIME, null, null);
         verifyNoMoreInteractionsHelper();
 
+        // Verify interactions with the mocked objects.
+        verify(httpServletResponse).setHeader(HerdBaseController.HTTP_HEADER_PAGING_TOTAL_RECORDS_ON_PAGE, "1");
+        verifyNoMoreInteractions(httpServletResponse);
+
         // Validate the results.
         assertEquals(jobSummaries, result);
     }
 
-    @Test(expected = IllegalArgumentException.class)
-    public void testGetJobsYearOutOfRange() throws Exception
+    @Test
+    public void testGetJobsWithPaging() throws Exception
     {
         // Create a job summary.
         JobSummary jobSummary = new JobSummary();
@@ -164,31 +179,48 @@ public class JobRestControllerTest extends AbstractRestTest
         jobSummary.setNamespace(JOB_NAMESPACE);
         jobSummary.setJobName(JOB_NAME);
 
-        // Create a job summaries object.
-        JobSummaries jobSummaries = new JobSummaries(Arrays.asList(jobSummary));
+        // Create a job summaries response with paging information.
+        JobSummariesPagingInfoDto jobSummariesPagingInfoDto =
+            new JobSummariesPagingInfoDto(Long.valueOf(PAGE_NUMBER_ONE), Long.valueOf(PAGE_SIZE_ONE_THOUSAND), null, TOTAL_RECORDS_ON_PAGE, null,
+                MAX_RESULTS_PER_PAGE, new JobSummaries(Arrays.asList(jobSummary)));
+
+        // Create a mocked HTTP servlet response.
+        HttpServletResponse httpServletResponse = mock(HttpServletResponse.class);
 
         // Mock the external calls.
-        when(jobService.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME, END_TIME)).thenReturn(jobSummaries);
+        when(jobService.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, null, null, PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND))
+            .thenReturn(jobSummariesPagingInfoDto);
 
-        jobRestController.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, "20190606", "20190707");
+        // Call the method under test.
+        JobSummaries result =
+            jobRestController.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, null, null, PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND, httpServletResponse);
+
+        // Verify the external calls.
+        verify(jobService).getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, null, null, PAGE_NUMBER_ONE, PAGE_SIZE_ONE_THOUSAND);
+        verifyNoMoreInteractionsHelper();
+
+        // Verify interactions with the mocked objects.
+        verify(httpServletResponse).setHeader(HerdBaseController.HTTP_HEADER_PAGING_PAGE_NUM, String.valueOf(PAGE_NUMBER_ONE));
+        verify(httpServletResponse).setHeader(HerdBaseController.HTTP_HEADER_PAGING_PAGE_SIZE, String.valueOf(PAGE_SIZE_ONE_THOUSAND));
+        verify(httpServletResponse).setHeader(HerdBaseController.HTTP_HEADER_PAGING_TOTAL_RECORDS_ON_PAGE, String.valueOf(TOTAL_RECORDS_ON_PAGE));
+        verify(httpServletResponse).setHeader(HerdBaseController.HTTP_HEADER_PAGING_MAX_RESULTS_PER_PAGE, String.valueOf(MAX_RESULTS_PER_PAGE));
+        verifyNoMoreInteractions(httpServletResponse);
+
+        // Validate the results.
+        assertEquals(jobSummariesPagingInfoDto.getJobSummaries(), result);
     }
 
     @Test(expected = IllegalArgumentException.class)
-    public void testGetJobsWrongDatFormat() throws Exception
+    public void testGetJobsYearOutOfRange() throws Exception
     {
-        // Create a job summary.
-        JobSummary jobSummary = new JobSummary();
-        jobSummary.setId(JOB_ID);
-        jobSummary.setNamespace(JOB_NAMESPACE);
-        jobSummary.setJobName(JOB_NAME);
-
-        // Create a job summaries object.
-        JobSummaries jobSummaries = new JobSummaries(Arrays.asList(jobSummary));
-
-        // Mock the external calls.
-        when(jobService.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME, END_TIME)).thenReturn(jobSummaries);
+        jobRestController.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, "20190606", "20190707", null, null, mock(HttpServletResponse.class));
+    }
 
-        jobRestController.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, "adgwgsfg", "201907070948035049583045");
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetJobsWrongDatFormat() throws Exception
+    {
+        jobRestController
+            .getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, "adgwgsfg", "201907070948035049583045", null, null, mock(HttpServletResponse.class));
     }
 
     @Test
@@ -204,9 +236,19 @@ public class JobRestControllerTest extends AbstractRestTest
         JobSummaries jobSummaries = new JobSummaries(Arrays.asList(jobSummary));
 
         // Mock the external calls.
-        when(jobService.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, START_TIME, END_TIME)).thenReturn(jobSummaries);
+        when(jobService.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, null, null, null, null))
+            .thenReturn(new JobSummariesPagingInfoDto(null, null, null, 1L, null, null, jobSummaries));
+
+        // Call the method under test.
+        JobSummaries result =
+            jobRestController.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, null, null, null, null, mock(HttpServletResponse.class));
 
-        jobRestController.getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, null, null);
+        // Verify the external calls.
+        verify(jobService).getJobs(JOB_NAMESPACE, JOB_NAME, JobStatusEnum.RUNNING, null, null, null, null);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(jobSummaries, result);
     }
 
     @Test
@@ -68,6 +68,14 @@ public interface ActivitiService
      */
     public List<ProcessInstance> getSuspendedProcessInstances();
 
+    /**
+     * Gets a list of currently suspended process instances among the specified process instances.
+     *
+     * @param processInstanceIds The process instance IDs
+     * @return the list of currently suspended process instances
+     */
+    List<ProcessInstance> getSuspendedProcessInstancesByProcessInstanceIds(Set<String> processInstanceIds);
+
     /**
      * Gets a historic process instance by its process instance ID.
      *
@@ -116,6 +124,15 @@ public interface ActivitiService
      */
     long getJobsWithExceptionCountByProcessInstanceId(String processInstanceId);
 
+    /**
+     * Gets the counts of jobs with exceptions for the specified process instances. Process instances without jobs with exceptions are not included in the
+     * result.
+     *
+     * @param processInstanceIds The process instance IDs
+     * @return The map of process instance IDs to their counts of jobs with exceptions
+     */
+    Map<String, Long> getJobsWithExceptionCountsByProcessInstanceIds(Set<String> processInstanceIds);
+
     /**
      * Gets all historic process instances by their status and process definition keys. When job status is RUNNING or SUSPENDED, then all "unfinished" process
      * instances are returned.
@@ -129,6 +146,22 @@ public interface ActivitiService
     List<HistoricProcessInstance> getHistoricProcessInstancesByStatusAndProcessDefinitionKeys(JobStatusEnum jobStatus, Collection<String> processDefinitionKeys,
         DateTime startTime, DateTime endTime);
 
+    /**
+     * Gets a page of historic process instances by their status and process definition IDs ordered by process instance ID. Unlike the query by process
+     * definition keys, the RUNNING and SUSPENDED job statuses are told apart by the database, so the page contains only the process instances with the
+     * requested status.
+     *
+     * @param jobStatus The job status. Optional.
+     * @param processDefinitionIds Collection of process definition IDs
+     * @param startTime an optional job start time
+     * @param endTime an optional job end time
+     * @param firstResult The index of the first result to return
+     * @param maxResults The maximum number of results to return
+     * @return List of historic process instances
+     */
+    List<HistoricProcessInstance> getHistoricProcessInstancesByStatusAndProcessDefinitionIds(JobStatusEnum jobStatus, Collection<String> processDefinitionIds,
+        DateTime startTime, DateTime endTime, int firstResult, int maxResults);
+
     /**
      * Gets all unfinished historic process instances by start before time.
      *
@@ -16,9 +16,11 @@
 package org.finra.herd.service;
 
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.finra.herd.model.api.xml.IndexSearchRequest;
 import org.finra.herd.model.api.xml.IndexSearchResponse;
+import org.finra.herd.model.api.xml.IndexSearchResult;
 
 /**
  * IndexSearchService
@@ -37,4 +39,19 @@ public interface IndexSearchService
      * @return an index indexSearch response object containing the total index indexSearch results and index indexSearch results
      */
     IndexSearchResponse indexSearch(final IndexSearchRequest request, final Set<String> fields, final Set<String> match);
+
+    /**
+     * Walks all index search results that match the index search request one page at a time and passes each of them to the specified consumer, so the
+     * caller can stream the results without holding the complete result set in memory. Facets are not computed. When a search after cursor is specified in
+     * the request, the walk starts after the index search result identified by the cursor.
+     *
+     * @param request the index search request that contains a search term string and/or search filters
+     * @param fields the set of fields that are to be returned in the index search results
+     * @param match the set of match fields that are to be searched upon in the index search
+     * @param indexSearchResultConsumer the consumer of the index search results
+     *
+     * @return the number of index search results passed to the consumer
+     */
+    long exportIndexSearchResults(final IndexSearchRequest request, final Set<String> fields, final Set<String> match,
+        final Consumer<IndexSearchResult> indexSearchResultConsumer);
 }
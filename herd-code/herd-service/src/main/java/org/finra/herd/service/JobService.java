@@ -24,6 +24,7 @@ import org.finra.herd.model.api.xml.JobSignalRequest;
 import org.finra.herd.model.api.xml.JobStatusEnum;
 import org.finra.herd.model.api.xml.JobSummaries;
 import org.finra.herd.model.api.xml.JobUpdateRequest;
+import org.finra.herd.model.dto.JobSummariesPagingInfoDto;
 
 /**
  * The job service.
@@ -77,6 +78,25 @@ public interface JobService
      */
     JobSummaries getJobs(String namespace, String jobName, JobStatusEnum jobStatus, DateTime startTime, DateTime endTime) throws Exception;
 
+    /**
+     * <p>Gets a page of job executions based on the specified filter parameters. The jobs are ordered by their IDs.</p> <p>Jobs' namespace to which you do
+     * not have READ permissions to will be omitted from the result.</p> <p>When neither the page number nor the page size is specified, all matching jobs are
+     * returned in a single page, unless their count exceeds the maximum number of results allowed.</p>
+     *
+     * @param namespace an optional namespace filter
+     * @param jobName an optional job name filter
+     * @param jobStatus an optional job status filter
+     * @param startTime an optional job start time filter
+     * @param endTime an optional job end time filter
+     * @param pageNum an optional one-based page number, defaults to 1
+     * @param pageSize an optional page size, defaults to the maximum number of results allowed
+     *
+     * @return the list of job summaries along with the paging information
+     * @throws Exception if any problems were encountered
+     */
+    JobSummariesPagingInfoDto getJobs(String namespace, String jobName, JobStatusEnum jobStatus, DateTime startTime, DateTime endTime, Integer pageNum,
+        Integer pageSize) throws Exception;
+
     /**
      * <p>Gets a list of running job executions based on the start before time filter.</p>
      *
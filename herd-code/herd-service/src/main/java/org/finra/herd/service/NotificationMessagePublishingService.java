@@ -15,6 +15,8 @@
 */
 package org.finra.herd.service;
 
+import java.util.List;
+
 import org.finra.herd.model.dto.NotificationMessage;
 
 /**
@@ -36,10 +38,38 @@ public interface NotificationMessagePublishingService
      */
     public void publishNotificationMessage(NotificationMessage notificationMessage);
 
+    /**
+     * Publishes a list of notification messages. The SQS messages are sent in batches per destination queue and the SNS messages are published in parallel.
+     * A failure to publish a message does not stop publishing of the other messages.
+     *
+     * @param notificationMessages the list of notification messages
+     *
+     * @return the list of notification messages that failed to publish
+     */
+    public List<NotificationMessage> publishNotificationMessages(List<NotificationMessage> notificationMessages);
+
     /**
      * Publishes and removes from the database queue the oldest notification message.
      *
      * @return true if notification message was successfully published and false otherwise
      */
     public boolean publishOldestNotificationMessageFromDatabaseQueue();
+
+    /**
+     * Publishes and removes from the database queue up to the specified number of the oldest notification messages. The messages are claimed with row level
+     * locks that skip messages already claimed by another herd node. Publishing stops at the first message that fails to publish, so that message and all
+     * newer messages stay in the database queue.
+     *
+     * @param maxMessages the maximum number of notification messages to publish
+     *
+     * @return the number of notification messages that were successfully published and removed from the database queue
+     */
+    public int publishOldestNotificationMessagesFromDatabaseQueue(int maxMessages);
+
+    /**
+     * Gets the number of notification messages currently stored in the database queue.
+     *
+     * @return the number of notification messages in the database queue
+     */
+    public long getNotificationMessageDatabaseQueueSize();
 }
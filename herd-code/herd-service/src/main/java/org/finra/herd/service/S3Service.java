@@ -16,10 +16,15 @@
 package org.finra.herd.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.Tag;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
+import com.google.common.util.concurrent.RateLimiter;
 
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -30,6 +35,15 @@ import org.finra.herd.model.dto.S3FileTransferResultsDto;
  */
 public interface S3Service
 {
+    /**
+     * Aborts a multipart upload.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object being
+     * uploaded.
+     * @param uploadId the ID of the multipart upload to abort
+     */
+    void abortMultipartUpload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String uploadId);
+
     /**
      * Copies an S3 object from the source S3 bucket to the same path in target bucket.  This method does not delete the source S3 object.
      *
@@ -103,6 +117,30 @@ public interface S3Service
      */
     S3FileTransferResultsDto downloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Downloads a range of bytes of an S3 file into an existing local file at the same offset.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix are for the source of the copy. The
+     * local path is the existing local file the bytes will be written into.
+     * @param firstByte the offset of the first byte of the range
+     * @param lastByte the offset of the last byte of the range, inclusive
+     * @param rateLimiter the rate limiter to acquire a permit per downloaded byte from, may be null to not limit the download bandwidth
+     *
+     * @return the results.
+     */
+    S3FileTransferResultsDto downloadFileRange(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, long firstByte, long lastByte,
+        RateLimiter rateLimiter);
+
+    /**
+     * Gets the metadata for the specified Amazon S3 objects without actually fetching the objects. The metadata requests are executed in parallel.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name identifies the bucket where the S3 objects are located
+     * @param s3Keys the list of S3 object keys
+     *
+     * @return the map of S3 object keys to their metadata, where S3 objects that are not found are not included
+     */
+    Map<String, ObjectMetadata> getObjectMetadata(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, List<String> s3Keys);
+
     /**
      * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name).
      *
@@ -188,6 +226,20 @@ public interface S3Service
      */
     S3FileTransferResultsDto uploadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Uploads a local file into S3, so the upload can be resumed after a failure.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix are for the target of the copy. The
+     * local path is the local file to be copied.
+     * @param persistableUpload the persisted state of an earlier upload of the same file to resume, may be null to start a new upload
+     * @param persistableUploadListener the listener to be notified with the persistable upload state, may be null
+     *
+     * @return the results.
+     * @throws InterruptedException if any problems were encountered.
+     */
+    S3FileTransferResultsDto uploadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, PersistableUpload persistableUpload,
+        Consumer<PersistableUpload> persistableUploadListener) throws InterruptedException;
+
     /**
      * Uploads a list of local files into S3.
      *
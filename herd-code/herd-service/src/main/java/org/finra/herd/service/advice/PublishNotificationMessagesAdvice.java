@@ -16,6 +16,8 @@
 package org.finra.herd.service.advice;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -78,20 +80,30 @@ public class PublishNotificationMessagesAdvice extends AbstractServiceAdvice
                         targetClass.getName(), methodSignature.getName(), notificationMessageInMemoryQueue.size());
                 }
 
-                // Publish all notification messages stored in the "in-memory" notification message queue.
+                // Get all notification messages stored in the "in-memory" notification message queue.
+                List<NotificationMessage> notificationMessages = new ArrayList<>();
                 while (!notificationMessageInMemoryQueue.isEmpty())
                 {
-                    // Get notification message from the "in-memory" queue.
-                    NotificationMessage notificationMessage = notificationMessageInMemoryQueue.remove();
+                    notificationMessages.add(notificationMessageInMemoryQueue.remove());
+                }
 
-                    // Publish the message.
+                // Publish the messages as a batch.
+                if (!notificationMessages.isEmpty())
+                {
+                    List<NotificationMessage> failedNotificationMessages;
                     try
                     {
-                        notificationMessagePublishingService.publishNotificationMessage(notificationMessage);
+                        failedNotificationMessages = notificationMessagePublishingService.publishNotificationMessages(notificationMessages);
                     }
-                    catch (Exception sqsException)
+                    catch (Exception publishException)
+                    {
+                        LOGGER.error("Failed to publish notification messages. messageCount={}", notificationMessages.size(), publishException);
+                        failedNotificationMessages = notificationMessages;
+                    }
+
+                    // On error, add each failed notification message to the database queue.
+                    for (NotificationMessage notificationMessage : failedNotificationMessages)
                     {
-                        // On error, add this notification message to the database queue.
                         try
                         {
                             notificationMessagePublishingService.addNotificationMessageToDatabaseQueue(notificationMessage);
@@ -99,10 +111,10 @@ public class PublishNotificationMessagesAdvice extends AbstractServiceAdvice
                         catch (Exception dbException)
                         {
                             // Log the error.
-                            LOGGER
-                                .error("Failed to add notification message to the database queue. messageType=\"{}\" messageDestination=\"{}\" messageText={}",
-                                    notificationMessage.getMessageType(), notificationMessage.getMessageDestination(), notificationMessage.getMessageText(),
-                                    dbException);
+                            LOGGER.error(
+                                "Failed to add notification message to the database queue. messageType=\"{}\" messageDestination=\"{}\" messageText={}",
+                                notificationMessage.getMessageType(), notificationMessage.getMessageDestination(), notificationMessage.getMessageText(),
+                                dbException);
                         }
                     }
                 }
@@ -176,6 +176,40 @@ public class ServiceSpringModuleConfig
         return taskExecutor;
     }
 
+    /**
+     * The TaskExecutor bean shared by all callers to publish notification messages to SNS topics in parallel.
+     *
+     * @return ThreadPoolTaskExecutor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor snsPublishTaskExecutor()
+    {
+        int threadsCount = Math.max(1, configurationHelper.getProperty(ConfigurationValue.HERD_NOTIFICATION_SNS_PUBLISH_MAX_THREADS, Integer.class));
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(threadsCount);
+        taskExecutor.setMaxPoolSize(threadsCount);
+        taskExecutor.setThreadNamePrefix("sns-notification-publish-");
+        taskExecutor.setDaemon(true);
+        return taskExecutor;
+    }
+
+    /**
+     * The TaskExecutor bean shared by all JDBC execution requests that execute their statements in parallel.
+     *
+     * @return ThreadPoolTaskExecutor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor jdbcStatementTaskExecutor()
+    {
+        int threadsCount = Math.max(1, configurationHelper.getProperty(ConfigurationValue.JDBC_STATEMENTS_MAX_THREADS, Integer.class));
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(threadsCount);
+        taskExecutor.setMaxPoolSize(threadsCount);
+        taskExecutor.setThreadNamePrefix("jdbc-statement-");
+        taskExecutor.setDaemon(true);
+        return taskExecutor;
+    }
+
     /**
      * Returns an Activiti Async executor that uses our configured task executor.
      *
@@ -18,6 +18,7 @@ package org.finra.herd.service.helper;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -39,6 +40,7 @@ import org.finra.herd.core.HerdStringUtils;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDataDao;
 import org.finra.herd.dao.ExpectedPartitionValueDao;
+import org.finra.herd.dao.StorageFileDao;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.AlreadyExistsException;
@@ -115,6 +117,9 @@ public class BusinessObjectDataDaoHelper
     @Autowired
     private ExpectedPartitionValueDao expectedPartitionValueDao;
 
+    @Autowired
+    private HivePartitionsCacheHelper hivePartitionsCacheHelper;
+
     @Autowired
     private JsonHelper jsonHelper;
 
@@ -133,6 +138,9 @@ public class BusinessObjectDataDaoHelper
     @Autowired
     private StorageDaoHelper storageDaoHelper;
 
+    @Autowired
+    private StorageFileDao storageFileDao;
+
     @Autowired
     private StorageFileHelper storageFileHelper;
 
@@ -319,16 +327,31 @@ public class BusinessObjectDataDaoHelper
         businessObjectDataStatusHistoryEntities.add(businessObjectDataStatusHistoryEntity);
         newVersionBusinessObjectDataEntity.setHistoricalStatuses(businessObjectDataStatusHistoryEntities);
 
+        // Take the storage files of the storage units that qualify for bulk registration out of the entity graph, so they never get managed by the persistence
+        // context.
+        Map<String, List<StorageFileEntity>> bulkRegistrationStorageFileEntities = detachBulkRegistrationStorageFiles(newVersionBusinessObjectDataEntity);
+
         // Persist the new entity.
         newVersionBusinessObjectDataEntity = businessObjectDataDao.saveAndRefresh(newVersionBusinessObjectDataEntity);
 
+        // Now that their storage units are persisted, insert the storage files that were taken out of the entity graph.
+        if (!bulkRegistrationStorageFileEntities.isEmpty())
+        {
+            List<StorageFileEntity> storageFileEntities = new ArrayList<>();
+            for (List<StorageFileEntity> storageUnitStorageFileEntities : bulkRegistrationStorageFileEntities.values())
+            {
+                storageFileEntities.addAll(storageUnitStorageFileEntities);
+            }
+            storageFileDao.insertStorageFiles(storageFileEntities);
+        }
+
         // Create a status change notification to be sent on create business object data event.
         messageNotificationEventService
             .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(newVersionBusinessObjectDataEntity),
                 businessObjectDataStatusEntity.getCode(), null);
 
         // Create and return the business object data object from the persisted entity.
-        return businessObjectDataHelper.createBusinessObjectDataFromEntity(newVersionBusinessObjectDataEntity);
+        return createBusinessObjectDataFromEntity(newVersionBusinessObjectDataEntity, bulkRegistrationStorageFileEntities);
     }
 
     /**
@@ -862,6 +885,9 @@ public class BusinessObjectDataDaoHelper
         // Persist the entity.
         businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
 
+        // Discard Hive partitions cached for storage units of this business object data, since their storage files might have changed.
+        hivePartitionsCacheHelper.evictBusinessObjectData(businessObjectDataEntity);
+
         // Sent a business object data status change notification.
         messageNotificationEventService
             .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity),
@@ -1052,13 +1078,6 @@ public class BusinessObjectDataDaoHelper
                         Assert.isTrue(storageFileEntity.getPath().startsWith(directoryPath), String
                             .format("Storage file path \"%s\" does not match the storage directory path \"%s\".", storageFileEntity.getPath(), directoryPath));
                     }
-
-                    // Ensure the file exists in S3 if the validate file existence flag is configured for this storage.
-                    if (validateFileExistence && isS3StoragePlatform)
-                    {
-                        // Validate storage file.
-                        storageFileHelper.validateStorageFile(storageFile, params.getS3BucketName(), actualS3Keys, validateFileSize);
-                    }
                 }
 
                 // Minimize the file path occurs if
@@ -1079,11 +1098,88 @@ public class BusinessObjectDataDaoHelper
                     }
                 }
             }
+
+            // Ensure the files exist in S3 if the validate file existence flag is configured for this storage and storage files were not discovered.
+            if (params != null)
+            {
+                storageFileHelper.validateStorageFiles(storageFiles, params, actualS3Keys, validateFileSize);
+            }
         }
 
         return storageFileEntities;
     }
 
+    /**
+     * Creates the business object data from the newly persisted entity. The storage files of the storage units registered using bulk inserts are not part of
+     * the entity graph, so they are created from the inserted storage file entities instead of being loaded from the database.
+     *
+     * @param businessObjectDataEntity the newly persisted business object data entity
+     * @param bulkRegisteredStorageFileEntities the map of storage names to the storage file entities registered using bulk inserts
+     *
+     * @return the business object data
+     */
+    private BusinessObjectData createBusinessObjectDataFromEntity(BusinessObjectDataEntity businessObjectDataEntity,
+        Map<String, List<StorageFileEntity>> bulkRegisteredStorageFileEntities)
+    {
+        if (bulkRegisteredStorageFileEntities.isEmpty())
+        {
+            return businessObjectDataHelper.createBusinessObjectDataFromEntity(businessObjectDataEntity);
+        }
+
+        // Create the business object data without storage files and then add the storage files per storage unit.
+        BusinessObjectData businessObjectData = businessObjectDataHelper.createBusinessObjectDataFromEntity(businessObjectDataEntity, false, false, true);
+
+        Map<String, StorageUnitEntity> storageUnitEntities = new HashMap<>();
+        for (StorageUnitEntity storageUnitEntity : businessObjectDataEntity.getStorageUnits())
+        {
+            storageUnitEntities.put(storageUnitEntity.getStorage().getName(), storageUnitEntity);
+        }
+
+        for (StorageUnit storageUnit : businessObjectData.getStorageUnits())
+        {
+            StorageUnitEntity storageUnitEntity = storageUnitEntities.get(storageUnit.getStorage().getName());
+            Collection<StorageFileEntity> storageFileEntities = bulkRegisteredStorageFileEntities.containsKey(storageUnit.getStorage().getName()) ?
+                bulkRegisteredStorageFileEntities.get(storageUnit.getStorage().getName()) : storageUnitEntity.getStorageFiles();
+
+            if (CollectionUtils.isNotEmpty(storageFileEntities))
+            {
+                storageUnit.setStorageFiles(storageFileHelper.createStorageFilesFromEntities(storageFileEntities, storageUnitEntity.getDirectoryPath()));
+            }
+        }
+
+        return businessObjectData;
+    }
+
+    /**
+     * Takes the storage files out of the storage units that have enough storage files to qualify for bulk registration. The storage files of such storage
+     * units are expected to be inserted using bulk inserts once the storage units are persisted. Please note that the storage files collections of these
+     * storage units stay empty in the persistence context.
+     *
+     * @param businessObjectDataEntity the business object data entity that is not persisted yet
+     *
+     * @return the map of storage names to the storage file entities taken out of the storage units
+     */
+    private Map<String, List<StorageFileEntity>> detachBulkRegistrationStorageFiles(BusinessObjectDataEntity businessObjectDataEntity)
+    {
+        Map<String, List<StorageFileEntity>> bulkRegistrationStorageFileEntities = new HashMap<>();
+
+        int bulkRegistrationThreshold = configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_BULK_REGISTRATION_THRESHOLD, Integer.class);
+
+        if (bulkRegistrationThreshold > 0 && businessObjectDataEntity.getStorageUnits() != null)
+        {
+            for (StorageUnitEntity storageUnitEntity : businessObjectDataEntity.getStorageUnits())
+            {
+                if (storageUnitEntity.getStorageFiles() != null && storageUnitEntity.getStorageFiles().size() >= bulkRegistrationThreshold)
+                {
+                    bulkRegistrationStorageFileEntities.put(storageUnitEntity.getStorage().getName(), new ArrayList<>(storageUnitEntity.getStorageFiles()));
+                    storageUnitEntity.setStorageFiles(new ArrayList<>());
+                }
+            }
+        }
+
+        return bulkRegistrationStorageFileEntities;
+    }
+
     /**
      * Creates a list of storage unit entities from a list of storage unit create requests.
      *
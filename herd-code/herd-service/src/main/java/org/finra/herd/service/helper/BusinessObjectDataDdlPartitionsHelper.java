@@ -20,10 +20,13 @@ import static org.finra.herd.service.helper.DdlGenerator.PARTITIONED_TABLE_LOCAT
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,6 +37,8 @@ import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -55,6 +60,7 @@ import org.finra.herd.model.api.xml.SchemaColumn;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HivePartitionDto;
 import org.finra.herd.model.dto.StorageUnitAvailabilityDto;
+import org.finra.herd.model.dto.StorageUnitHivePartitionsDto;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
@@ -86,6 +92,8 @@ public class BusinessObjectDataDdlPartitionsHelper
      */
     public static final String REGEX_S3_EMPTY_PARTITION = "_\\$folder\\$";
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(BusinessObjectDataDdlPartitionsHelper.class);
+
     @Autowired
     private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
 
@@ -107,6 +115,9 @@ public class BusinessObjectDataDdlPartitionsHelper
     @Autowired
     private ConfigurationHelper configurationHelper;
 
+    @Autowired
+    private HivePartitionsCacheHelper hivePartitionsCacheHelper;
+
     @Autowired
     private S3KeyPrefixHelper s3KeyPrefixHelper;
 
@@ -379,11 +390,36 @@ public class BusinessObjectDataDdlPartitionsHelper
         HashMap<String, String> replacements, BusinessObjectFormat businessObjectFormatForSchema, String ifNotExistsOption,
         List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos)
     {
-        // If flag is not set to suppress scan for unregistered sub-partitions, retrieve all storage
-        // file paths for the relative storage units loaded in a multi-valued map for easy access.
-        MultiValuedMap<Integer, String> storageUnitIdToStorageFilePathsMap =
-            BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions) ? new ArrayListValuedHashMap<>() :
-                storageFileDao.getStorageFilePathsByStorageUnitIds(storageUnitHelper.getStorageUnitIds(storageUnitAvailabilityDtos));
+        // If flag is not set to suppress scan for unregistered sub-partitions, storage file paths for the relative storage units get loaded in a multi-valued
+        // map for easy access. To keep memory usage bounded, the storage file paths are loaded one chunk of storage units at a time, right before the chunk
+        // gets processed, instead of loading storage file paths for all storage units at once.
+        boolean loadStorageFilePaths = !BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions);
+        List<Integer> storageUnitIds = loadStorageFilePaths ? storageUnitHelper.getStorageUnitIds(storageUnitAvailabilityDtos) : new ArrayList<>();
+        int storageUnitsChunkSize = configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_PATHS_QUERY_IN_CLAUSE_CHUNK_SIZE, Integer.class);
+        if (storageUnitsChunkSize <= 0)
+        {
+            storageUnitsChunkSize = Math.max(storageUnitIds.size(), 1);
+        }
+        MultiValuedMap<Integer, String> storageUnitIdToStorageFilePathsMap = new ArrayListValuedHashMap<>();
+        Set<Integer> storageUnitIdsWithLoadedStorageFilePaths = new HashSet<>();
+        int storageUnitIndex = 0;
+
+        // If enabled, reuse Hive partitions discovered by previous requests for storage units of a partitioned table, so storage file paths only need to be
+        // loaded and scanned for storage units that are new to the cache or whose discovery inputs have changed.
+        boolean useHivePartitionsCache =
+            loadStorageFilePaths && BooleanUtils.isTrue(generateDdlRequest.isPartitioned) && hivePartitionsCacheHelper.isHivePartitionsCacheEnabled();
+        int hivePartitionsCacheHitCount = 0;
+
+        // Take the cache version stamps of the storage units before their storage file paths get loaded, so Hive partitions discovered for a storage unit
+        // that gets evicted meanwhile do not get cached.
+        Map<Integer, Long> hivePartitionsCacheStorageUnitVersions = new HashMap<>();
+        if (useHivePartitionsCache)
+        {
+            for (Integer storageUnitId : storageUnitIds)
+            {
+                hivePartitionsCacheStorageUnitVersions.put(storageUnitId, hivePartitionsCacheHelper.getStorageUnitVersion(storageUnitId));
+            }
+        }
 
         // Crete a map of storage names in upper case to their relative S3 key prefix velocity templates.
         Map<String, String> s3KeyPrefixVelocityTemplates = new HashMap<>();
@@ -391,6 +427,9 @@ public class BusinessObjectDataDdlPartitionsHelper
         // Crete a map of business object format keys to their relative business object format instances.
         Map<BusinessObjectFormatKey, BusinessObjectFormat> businessObjectFormats = new HashMap<>();
 
+        // Crete a map of business object format keys to their relative S3 key prefix velocity template variables.
+        Map<BusinessObjectFormatKey, Map<String, Object>> s3KeyPrefixFormatVariables = new HashMap<>();
+
         // Get data provider for the business object definition.
         BusinessObjectDefinitionEntity businessObjectDefinitionEntity = businessObjectDefinitionDaoHelper.getBusinessObjectDefinitionEntity(
             new BusinessObjectDefinitionKey(businessObjectFormatForSchema.getNamespace(), businessObjectFormatForSchema.getBusinessObjectDefinitionName()));
@@ -407,6 +446,25 @@ public class BusinessObjectDataDdlPartitionsHelper
         List<String> addPartitionStatements = new ArrayList<>();
         for (StorageUnitAvailabilityDto storageUnitAvailabilityDto : storageUnitAvailabilityDtos)
         {
+            // If needed, replace storage file paths loaded for the previous chunk of storage units with the ones for the chunk starting with this storage unit.
+            if (loadStorageFilePaths && storageUnitIndex % storageUnitsChunkSize == 0)
+            {
+                List<Integer> chunkStorageUnitIds =
+                    new ArrayList<>(storageUnitIds.subList(storageUnitIndex, Math.min(storageUnitIndex + storageUnitsChunkSize, storageUnitIds.size())));
+
+                // Skip storage units that have cached Hive partitions. If a cached entry turns out not to match this request, storage file paths for that
+                // storage unit get loaded individually when the storage unit is processed.
+                if (useHivePartitionsCache)
+                {
+                    chunkStorageUnitIds.removeIf(hivePartitionsCacheHelper::containsStorageUnit);
+                }
+
+                storageUnitIdToStorageFilePathsMap = chunkStorageUnitIds.isEmpty() ? new ArrayListValuedHashMap<>() :
+                    storageFileDao.getStorageFilePathsByStorageUnitIds(chunkStorageUnitIds);
+                storageUnitIdsWithLoadedStorageFilePaths = new HashSet<>(chunkStorageUnitIds);
+            }
+            storageUnitIndex++;
+
             // Get storage name in upper case for this storage unit.
             String upperCaseStorageName = storageUnitAvailabilityDto.getStorageName().toUpperCase();
 
@@ -425,12 +483,34 @@ public class BusinessObjectDataDdlPartitionsHelper
             // Retrieve business object format for this business object data.
             BusinessObjectFormat businessObjectFormat = getBusinessObjectFormat(businessObjectFormatKey, businessObjectFormats);
 
-            // Build the expected S3 key prefix for this storage unit.
-            String s3KeyPrefix = s3KeyPrefixHelper.buildS3KeyPrefix(s3KeyPrefixVelocityTemplate, dataProviderName, businessObjectFormat, businessObjectDataKey,
+            // Build the expected S3 key prefix for this storage unit reusing the S3 key prefix velocity template variables of its business object format.
+            Map<String, Object> formatVariables = s3KeyPrefixFormatVariables
+                .computeIfAbsent(businessObjectFormatKey, key -> s3KeyPrefixHelper.getS3KeyPrefixFormatVariables(dataProviderName, businessObjectFormat));
+            String s3KeyPrefix = s3KeyPrefixHelper.buildS3KeyPrefix(s3KeyPrefixVelocityTemplate, formatVariables, businessObjectFormat, businessObjectDataKey,
                 storageUnitAvailabilityDto.getStorageName());
 
+            // If enabled, get the cached Hive partitions for this storage unit, as long as they were discovered using the same inputs.
+            List<String> autoDiscoverableSubPartitionColumnNames = null;
+            StorageUnitHivePartitionsDto cachedStorageUnitHivePartitionsDto = null;
+            if (useHivePartitionsCache &&
+                businessObjectFormatForSchema.getSchema().getPartitions().size() > CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()))
+            {
+                autoDiscoverableSubPartitionColumnNames = new ArrayList<>();
+                for (SchemaColumn schemaColumn : businessObjectFormatForSchema.getSchema().getPartitions()
+                    .subList(1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
+                        businessObjectFormatForSchema.getSchema().getPartitions().size()))
+                {
+                    autoDiscoverableSubPartitionColumnNames.add(schemaColumn.getName());
+                }
+
+                cachedStorageUnitHivePartitionsDto = hivePartitionsCacheHelper
+                    .getStorageUnitHivePartitions(storageUnitAvailabilityDto.getStorageUnitId(), s3KeyPrefix,
+                        storageUnitAvailabilityDto.getStorageUnitDirectoryPath(), autoDiscoverableSubPartitionColumnNames);
+            }
+
             // If flag is set to suppress scan for unregistered sub-partitions, use the directory path or the S3 key prefix
-            // as the partition's location, otherwise, use storage files to discover all unregistered sub-partitions.
+            // as the partition's location, otherwise, use storage files to discover all unregistered sub-partitions. The storage files
+            // do not need to be processed when Hive partitions for this storage unit were already discovered and cached by a previous request.
             List<String> storageFilePaths = new ArrayList<>();
             if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
             {
@@ -448,8 +528,16 @@ public class BusinessObjectDataDdlPartitionsHelper
                 // We add a trailing '/' character to the prefix, since it represents a directory.
                 storageFilePaths.add(StringUtils.appendIfMissing(s3KeyPrefix, "/"));
             }
-            else
+            else if (cachedStorageUnitHivePartitionsDto == null)
             {
+                // Load storage file paths for this storage unit, if they were not loaded along with the rest of the chunk.
+                if (!storageUnitIdsWithLoadedStorageFilePaths.contains(storageUnitAvailabilityDto.getStorageUnitId()))
+                {
+                    storageUnitIdToStorageFilePathsMap.putAll(
+                        storageFileDao.getStorageFilePathsByStorageUnitIds(Collections.singletonList(storageUnitAvailabilityDto.getStorageUnitId())));
+                    storageUnitIdsWithLoadedStorageFilePaths.add(storageUnitAvailabilityDto.getStorageUnitId());
+                }
+
                 // Retrieve storage file paths registered with this business object data in the specified storage.
                 storageFilePaths = storageUnitIdToStorageFilePathsMap.containsKey(storageUnitAvailabilityDto.getStorageUnitId()) ?
                     new ArrayList<>(storageUnitIdToStorageFilePathsMap.get(storageUnitAvailabilityDto.getStorageUnitId())) : new ArrayList<>();
@@ -548,9 +636,30 @@ public class BusinessObjectDataDdlPartitionsHelper
                     .subList(1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
                         businessObjectFormatForSchema.getSchema().getPartitions().size());
 
-                // Get and process Hive partitions.
-                for (HivePartitionDto hivePartition : getHivePartitions(businessObjectDataKey, autoDiscoverableSubPartitionColumns, s3KeyPrefix,
-                    storageFilePaths, storageUnitAvailabilityDto.getStorageName()))
+                // Get Hive partitions, reusing the cached ones if available.
+                List<HivePartitionDto> hivePartitions;
+                if (cachedStorageUnitHivePartitionsDto != null)
+                {
+                    hivePartitions = cachedStorageUnitHivePartitionsDto.getHivePartitions();
+                    hivePartitionsCacheHitCount++;
+                }
+                else
+                {
+                    hivePartitions = getHivePartitions(businessObjectDataKey, autoDiscoverableSubPartitionColumns, s3KeyPrefix, storageFilePaths,
+                        storageUnitAvailabilityDto.getStorageName());
+
+                    // If enabled, cache the discovered Hive partitions along with the inputs used to discover them.
+                    if (autoDiscoverableSubPartitionColumnNames != null)
+                    {
+                        hivePartitionsCacheHelper.putStorageUnitHivePartitions(
+                            new StorageUnitHivePartitionsDto(storageUnitAvailabilityDto.getStorageUnitId(), s3KeyPrefix,
+                                storageUnitAvailabilityDto.getStorageUnitDirectoryPath(), autoDiscoverableSubPartitionColumnNames, hivePartitions),
+                            hivePartitionsCacheStorageUnitVersions.get(storageUnitAvailabilityDto.getStorageUnitId()));
+                    }
+                }
+
+                // Process Hive partitions.
+                for (HivePartitionDto hivePartition : hivePartitions)
                 {
                     if (!generateDdlRequest.isGeneratePartitionsRequest)
                     {
@@ -622,6 +731,13 @@ public class BusinessObjectDataDdlPartitionsHelper
             }
         }
 
+        // Log the Hive partitions cache usage.
+        if (useHivePartitionsCache)
+        {
+            LOGGER.info("Reused cached Hive partitions for {} out of {} storage units. tableName=\"{}\"", hivePartitionsCacheHitCount,
+                storageUnitAvailabilityDtos.size(), generateDdlRequest.tableName);
+        }
+
         // Add all add partition statements to the main string builder.
         if (CollectionUtils.isNotEmpty(addPartitionStatements))
         {
@@ -15,6 +15,12 @@
 */
 package org.finra.herd.service.helper;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -24,7 +30,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.AttributeValueFilter;
+import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchFilter;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
@@ -34,6 +42,13 @@ import org.finra.herd.model.api.xml.PartitionValueRange;
 @Component
 public class BusinessObjectDataSearchHelper
 {
+    /**
+     * The types of the values carried by a continuation token, which are the version-less alternate key values, the business object format version, the
+     * business object data version and the business object data id.
+     */
+    private static final List<Class<?>> CONTINUATION_TOKEN_VALUE_TYPES = Collections.unmodifiableList(Arrays
+        .asList(String.class, String.class, String.class, String.class, String.class, List.class, Number.class, Number.class, Number.class));
+
     @Autowired
     private AlternateKeyHelper alternateKeyHelper;
 
@@ -43,6 +58,81 @@ public class BusinessObjectDataSearchHelper
     @Autowired
     private ConfigurationHelper configurationHelper;
 
+    @Autowired
+    private JsonHelper jsonHelper;
+
+    /**
+     * Gets a continuation token that identifies the position of the specified business object data in the business object data search results.
+     *
+     * @param businessObjectData the business object data returned last on a page of search results
+     *
+     * @return the URL safe Base64 encoded JSON array of the values that identify the business object data
+     */
+    public String getContinuationToken(BusinessObjectData businessObjectData)
+    {
+        List<Object> values = Arrays.asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
+            businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(), businessObjectData.getPartitionValue(),
+            businessObjectData.getSubPartitionValues() != null ? businessObjectData.getSubPartitionValues() : new ArrayList<>(),
+            businessObjectData.getBusinessObjectFormatVersion(), businessObjectData.getVersion(), businessObjectData.getId());
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(jsonHelper.objectToJson(values).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the business object data identified by a continuation token. Only the values that identify the position of the business object data in the
+     * business object data search results are populated.
+     *
+     * @param continuationToken the continuation token returned with the previous page of search results, may be blank when the first page is requested
+     *
+     * @return the business object data or null when the continuation token is blank
+     * @throws IllegalArgumentException if the continuation token is not valid
+     */
+    public BusinessObjectData getBusinessObjectDataFromContinuationToken(String continuationToken)
+    {
+        if (StringUtils.isBlank(continuationToken))
+        {
+            return null;
+        }
+
+        List<?> values;
+
+        try
+        {
+            values = jsonHelper.unmarshallJsonToObject(List.class, new String(Base64.getUrlDecoder().decode(continuationToken.trim()), StandardCharsets.UTF_8));
+        }
+        catch (IllegalArgumentException | IOException e)
+        {
+            values = null;
+        }
+
+        if (!isValidContinuationToken(values))
+        {
+            throw new IllegalArgumentException(String.format("Invalid continuation token \"%s\".", continuationToken));
+        }
+
+        List<String> subPartitionValues = new ArrayList<>();
+        for (Object subPartitionValue : (List<?>) values.get(5))
+        {
+            subPartitionValues.add((String) subPartitionValue);
+        }
+
+        BusinessObjectData businessObjectData = new BusinessObjectData();
+        businessObjectData.setNamespace((String) values.get(0));
+        businessObjectData.setBusinessObjectDefinitionName((String) values.get(1));
+        businessObjectData.setBusinessObjectFormatUsage((String) values.get(2));
+        businessObjectData.setBusinessObjectFormatFileType((String) values.get(3));
+        businessObjectData.setPartitionValue((String) values.get(4));
+        if (!subPartitionValues.isEmpty())
+        {
+            businessObjectData.setSubPartitionValues(subPartitionValues);
+        }
+        businessObjectData.setBusinessObjectFormatVersion(((Number) values.get(6)).intValue());
+        businessObjectData.setVersion(((Number) values.get(7)).intValue());
+        businessObjectData.setId(((Number) values.get(8)).longValue());
+
+        return businessObjectData;
+    }
+
     /**
      * Validates a business object data search request.
      *
@@ -96,6 +186,40 @@ public class BusinessObjectDataSearchHelper
         return parameterValue;
     }
 
+    /**
+     * Checks that the values decoded from a continuation token are of the expected types.
+     *
+     * @param values the values decoded from a continuation token, may be null
+     *
+     * @return true if the values are valid, false otherwise
+     */
+    private boolean isValidContinuationToken(List<?> values)
+    {
+        if (values == null || values.size() != CONTINUATION_TOKEN_VALUE_TYPES.size())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < values.size(); i++)
+        {
+            if (!CONTINUATION_TOKEN_VALUE_TYPES.get(i).isInstance(values.get(i)))
+            {
+                return false;
+            }
+        }
+
+        // Sub-partition values must be strings.
+        for (Object subPartitionValue : (List<?>) values.get(5))
+        {
+            if (!(subPartitionValue instanceof String))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Validates a business object data search key.
      *
@@ -31,6 +31,9 @@ public class BusinessObjectDataStatusDaoHelper
     @Autowired
     private BusinessObjectDataStatusDao businessObjectDataStatusDao;
 
+    @Autowired
+    private ReferenceEntityCacheHelper referenceEntityCacheHelper;
+
     /**
      * Gets a business object status entity and ensure it exists.
      *
@@ -41,7 +44,9 @@ public class BusinessObjectDataStatusDaoHelper
      */
     public BusinessObjectDataStatusEntity getBusinessObjectDataStatusEntity(String code) throws ObjectNotFoundException
     {
-        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = businessObjectDataStatusDao.getBusinessObjectDataStatusByCode(code);
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = referenceEntityCacheHelper
+            .getEntity(BusinessObjectDataStatusEntity.class, code, BusinessObjectDataStatusEntity::getCode,
+                () -> businessObjectDataStatusDao.getBusinessObjectDataStatusByCode(code));
 
         if (businessObjectDataStatusEntity == null)
         {
@@ -31,6 +31,9 @@ public class FileTypeDaoHelper
     @Autowired
     private FileTypeDao fileTypeDao;
 
+    @Autowired
+    private ReferenceEntityCacheHelper referenceEntityCacheHelper;
+
     /**
      * Gets the file type entity and ensure it exists.
      *
@@ -41,7 +44,8 @@ public class FileTypeDaoHelper
      */
     public FileTypeEntity getFileTypeEntity(String fileType) throws ObjectNotFoundException
     {
-        FileTypeEntity fileTypeEntity = fileTypeDao.getFileTypeByCode(fileType);
+        FileTypeEntity fileTypeEntity =
+            referenceEntityCacheHelper.getEntity(FileTypeEntity.class, fileType, FileTypeEntity::getCode, () -> fileTypeDao.getFileTypeByCode(fileType));
 
         if (fileTypeEntity == null)
         {
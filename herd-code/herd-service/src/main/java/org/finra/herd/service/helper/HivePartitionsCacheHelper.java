@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.service.helper;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.StorageUnitHivePartitionsDto;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.StorageUnitEntity;
+
+/**
+ * A helper class for the cache of Hive partitions discovered from storage files of storage units. The cache is keyed by storage unit id. Each cached entry
+ * also records all inputs used to discover its Hive partitions, so an entry is only reused when the inputs of the current request match.
+ * <p/>
+ * Storage units are evicted both right away and once the current transaction commits, so a concurrent request can not keep Hive partitions discovered from
+ * uncommitted or pre-commit data. The cache is local to each herd node, so changes made on other nodes are only picked up once the cached entries expire.
+ */
+@Component
+public class HivePartitionsCacheHelper
+{
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The number of storage unit version stripes.
+     */
+    private static final int STORAGE_UNIT_VERSION_STRIPES = 1024;
+
+    /**
+     * The version stamps of storage units, incremented on every eviction of a storage unit. They let a request detect that a storage unit was evicted while
+     * it was discovering Hive partitions for it. Storage units are spread over a fixed number of stripes by id, so the memory used does not grow with the
+     * number of storage units. Storage units that share a stripe also share a version stamp, which at worst skips caching an entry, but never keeps a stale
+     * one.
+     */
+    private final AtomicLongArray storageUnitVersions = new AtomicLongArray(STORAGE_UNIT_VERSION_STRIPES);
+
+    /**
+     * Returns true if the Hive partitions cache is enabled.
+     *
+     * @return true if the Hive partitions cache is enabled, false otherwise
+     */
+    public boolean isHivePartitionsCacheEnabled()
+    {
+        return BooleanUtils.isTrue(configurationHelper.getBooleanProperty(ConfigurationValue.HIVE_PARTITIONS_CACHE_ENABLED));
+    }
+
+    /**
+     * Gets the cached Hive partitions for the specified storage unit, but only if they were discovered using the same inputs.
+     *
+     * @param storageUnitId the storage unit id
+     * @param s3KeyPrefix the S3 key prefix of the storage unit
+     * @param storageUnitDirectoryPath the directory path of the storage unit
+     * @param autoDiscoverableSubPartitionColumnNames the names of the auto-discoverable sub-partition columns
+     *
+     * @return the cached Hive partitions or null if no matching cache entry exists
+     */
+    public StorageUnitHivePartitionsDto getStorageUnitHivePartitions(Integer storageUnitId, String s3KeyPrefix, String storageUnitDirectoryPath,
+        List<String> autoDiscoverableSubPartitionColumnNames)
+    {
+        StorageUnitHivePartitionsDto storageUnitHivePartitionsDto = getHivePartitionsCache().get(storageUnitId, StorageUnitHivePartitionsDto.class);
+
+        if (storageUnitHivePartitionsDto != null && Objects.equals(storageUnitHivePartitionsDto.getS3KeyPrefix(), s3KeyPrefix) &&
+            Objects.equals(storageUnitHivePartitionsDto.getStorageUnitDirectoryPath(), storageUnitDirectoryPath) &&
+            Objects.equals(storageUnitHivePartitionsDto.getAutoDiscoverableSubPartitionColumnNames(), autoDiscoverableSubPartitionColumnNames))
+        {
+            return storageUnitHivePartitionsDto;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns true if the cache contains an entry for the specified storage unit, regardless of the inputs the entry was discovered with.
+     *
+     * @param storageUnitId the storage unit id
+     *
+     * @return true if the cache contains an entry for the storage unit, false otherwise
+     */
+    public boolean containsStorageUnit(Integer storageUnitId)
+    {
+        return getHivePartitionsCache().get(storageUnitId) != null;
+    }
+
+    /**
+     * Gets the version stamp of the specified storage unit. A request gets it before loading the data it discovers Hive partitions from and passes it along
+     * with the discovered Hive partitions to {@link #putStorageUnitHivePartitions(StorageUnitHivePartitionsDto, long)}.
+     *
+     * @param storageUnitId the storage unit id
+     *
+     * @return the version stamp of the storage unit
+     */
+    public long getStorageUnitVersion(Integer storageUnitId)
+    {
+        return storageUnitVersions.get(getStorageUnitVersionStripe(storageUnitId));
+    }
+
+    /**
+     * Adds the Hive partitions of a storage unit to the cache replacing any previously cached entry for this storage unit. The Hive partitions are not cached
+     * if the storage unit got evicted since the specified version stamp was taken, since they might have been discovered from data that has changed since.
+     *
+     * @param storageUnitHivePartitionsDto the Hive partitions of the storage unit along with the inputs used to discover them
+     * @param expectedStorageUnitVersion the version stamp of the storage unit taken before the data used to discover the Hive partitions was loaded
+     */
+    public void putStorageUnitHivePartitions(StorageUnitHivePartitionsDto storageUnitHivePartitionsDto, long expectedStorageUnitVersion)
+    {
+        if (getStorageUnitVersion(storageUnitHivePartitionsDto.getStorageUnitId()) == expectedStorageUnitVersion)
+        {
+            getHivePartitionsCache().put(storageUnitHivePartitionsDto.getStorageUnitId(), storageUnitHivePartitionsDto);
+        }
+    }
+
+    /**
+     * Removes the cached Hive partitions for the specified storage unit. If a transaction is active, the storage unit is evicted again after the transaction
+     * commits.
+     *
+     * @param storageUnitEntity the storage unit entity
+     */
+    public void evictStorageUnit(StorageUnitEntity storageUnitEntity)
+    {
+        Integer storageUnitId = storageUnitEntity.getId();
+
+        if (storageUnitId != null)
+        {
+            evictStorageUnitId(storageUnitId);
+
+            if (TransactionSynchronizationManager.isSynchronizationActive())
+            {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+                {
+                    @Override
+                    public void afterCommit()
+                    {
+                        evictStorageUnitId(storageUnitId);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Removes the cached Hive partitions for all storage units of the specified business object data.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     */
+    public void evictBusinessObjectData(BusinessObjectDataEntity businessObjectDataEntity)
+    {
+        if (businessObjectDataEntity.getStorageUnits() != null)
+        {
+            businessObjectDataEntity.getStorageUnits().forEach(this::evictStorageUnit);
+        }
+    }
+
+    /**
+     * Removes the cached Hive partitions for the specified storage unit id.
+     *
+     * @param storageUnitId the storage unit id
+     */
+    private void evictStorageUnitId(Integer storageUnitId)
+    {
+        storageUnitVersions.incrementAndGet(getStorageUnitVersionStripe(storageUnitId));
+        getHivePartitionsCache().evict(storageUnitId);
+    }
+
+    /**
+     * Gets the version stripe of the specified storage unit id.
+     *
+     * @param storageUnitId the storage unit id
+     *
+     * @return the index of the version stripe
+     */
+    private int getStorageUnitVersionStripe(Integer storageUnitId)
+    {
+        return Math.floorMod(storageUnitId, STORAGE_UNIT_VERSION_STRIPES);
+    }
+
+    /**
+     * Gets the Hive partitions cache.
+     *
+     * @return the Hive partitions cache
+     */
+    private Cache getHivePartitionsCache()
+    {
+        return cacheManager.getCache(DaoSpringModuleConfig.HIVE_PARTITIONS_CACHE_NAME);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * A helper that hands out data sources for the target databases of the JDBC service. A bounded number of connection pools is kept, one per target database
+ * URL, user and credentials, so the physical connections are reused across JDBC execution requests. The pools that are not used for longer than the idle
+ * timeout get closed by a periodic check, and the least recently used pool gets closed once the maximum number of pools is exceeded. Borrowing a connection
+ * from a pool with all of its connections in use fails after the configured maximum wait time.
+ */
+@Component
+public class JdbcDataSourceHelper
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcDataSourceHelper.class);
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The connection pools keyed by driver class name, URL, user name and a SHA-256 hash of the password, so the passwords are not kept in the keys. The map
+     * is kept in access order, so the least recently used pool comes first. All access is guarded by this map.
+     */
+    private final Map<List<String>, PooledDataSource> pooledDataSources = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Acquires a data source for the specified target database. Every acquired data source must be released by calling {@link #releaseDataSource(DataSource)}
+     * once the caller is done with it, so its connection pool can be closed when it is no longer used.
+     *
+     * @param driverClassName the fully qualified JDBC driver class name
+     * @param url the JDBC URL
+     * @param username the user name
+     * @param password the password
+     *
+     * @return the data source
+     */
+    public DataSource acquireDataSource(String driverClassName, String url, String username, String password)
+    {
+        // Zero or a negative number of pools disables the pooling, so a new data source is created for each request as before.
+        int maxPoolsCount = configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_POOLS, Integer.class);
+        if (maxPoolsCount <= 0)
+        {
+            DriverManagerDataSource driverManagerDataSource = new DriverManagerDataSource();
+            driverManagerDataSource.setUrl(url);
+            driverManagerDataSource.setUsername(username);
+            driverManagerDataSource.setPassword(password);
+            driverManagerDataSource.setDriverClassName(driverClassName);
+            return driverManagerDataSource;
+        }
+
+        int maxConnectionsCount = configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_CONNECTIONS, Integer.class);
+        long idleTimeoutMillis = configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_IDLE_TIMEOUT_MILLIS, Long.class);
+        long maxWaitMillis = configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_WAIT_MILLIS, Long.class);
+        List<String> key = Arrays.asList(driverClassName, url, username, password == null ? null : DigestUtils.sha256Hex(password));
+
+        PooledDataSource pooledDataSource;
+        List<PooledDataSource> evictedPooledDataSources;
+        synchronized (pooledDataSources)
+        {
+            pooledDataSource = pooledDataSources.get(key);
+            if (pooledDataSource == null)
+            {
+                BasicDataSource basicDataSource = new BasicDataSource();
+                basicDataSource.setDriverClassName(driverClassName);
+                basicDataSource.setUrl(url);
+                basicDataSource.setUsername(username);
+                basicDataSource.setPassword(password);
+                basicDataSource.setMaxTotal(maxConnectionsCount);
+                basicDataSource.setMaxIdle(maxConnectionsCount);
+                basicDataSource.setMinIdle(0);
+                basicDataSource.setTestOnBorrow(true);
+                basicDataSource.setTimeBetweenEvictionRunsMillis(idleTimeoutMillis);
+                basicDataSource.setMinEvictableIdleTimeMillis(idleTimeoutMillis);
+                basicDataSource.setMaxWaitMillis(maxWaitMillis);
+
+                // The connections are shared by the requests, so any session state left by a request gets reset when its connection is returned.
+                basicDataSource.setDefaultAutoCommit(true);
+                basicDataSource.setRollbackOnReturn(true);
+                basicDataSource.setEnableAutoCommitOnReturn(true);
+
+                pooledDataSource = new PooledDataSource(basicDataSource);
+                pooledDataSources.put(key, pooledDataSource);
+
+                LOGGER.info("Created JDBC connection pool. url=\"{}\" username=\"{}\" maxConnectionsCount={} poolsCount={}", url, username,
+                    maxConnectionsCount, pooledDataSources.size());
+            }
+
+            pooledDataSource.activeUsersCount++;
+            evictedPooledDataSources = evictPooledDataSources(maxPoolsCount, idleTimeoutMillis);
+        }
+
+        // Close the evicted pools outside of the lock, since closing waits on the connections to be closed.
+        close(evictedPooledDataSources);
+
+        return pooledDataSource.basicDataSource;
+    }
+
+    /**
+     * Periodically closes the connection pools that are not used by anyone and were idle for longer than the idle timeout, so the pools do not stay open until
+     * another data source gets acquired.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void closeIdleDataSources()
+    {
+        int maxPoolsCount = configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_POOLS, Integer.class);
+        long idleTimeoutMillis = configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_IDLE_TIMEOUT_MILLIS, Long.class);
+
+        List<PooledDataSource> evictedPooledDataSources;
+        synchronized (pooledDataSources)
+        {
+            evictedPooledDataSources = evictPooledDataSources(Math.max(0, maxPoolsCount), idleTimeoutMillis);
+        }
+
+        close(evictedPooledDataSources);
+    }
+
+    /**
+     * Releases a data source acquired by {@link #acquireDataSource(String, String, String, String)}.
+     *
+     * @param dataSource the data source to release
+     */
+    public void releaseDataSource(DataSource dataSource)
+    {
+        synchronized (pooledDataSources)
+        {
+            for (PooledDataSource pooledDataSource : pooledDataSources.values())
+            {
+                if (pooledDataSource.basicDataSource == dataSource)
+                {
+                    pooledDataSource.activeUsersCount--;
+                    pooledDataSource.lastReleaseTime = System.currentTimeMillis();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of the connection pools currently kept.
+     *
+     * @return the number of the connection pools
+     */
+    public int getPoolsCount()
+    {
+        synchronized (pooledDataSources)
+        {
+            return pooledDataSources.size();
+        }
+    }
+
+    /**
+     * Closes all connection pools.
+     */
+    @PreDestroy
+    public void shutdown()
+    {
+        List<PooledDataSource> closedPooledDataSources;
+        synchronized (pooledDataSources)
+        {
+            closedPooledDataSources = new ArrayList<>(pooledDataSources.values());
+            pooledDataSources.clear();
+        }
+
+        close(closedPooledDataSources);
+    }
+
+    /**
+     * Removes the pools that are not used by anyone and either were idle for longer than the idle timeout or exceed the maximum number of pools. The least
+     * recently used pools get removed first. This method must be called while holding the lock on the pools map.
+     *
+     * @param maxPoolsCount the maximum number of pools
+     * @param idleTimeoutMillis the idle timeout in milliseconds
+     *
+     * @return the list of removed pools that need to be closed
+     */
+    private List<PooledDataSource> evictPooledDataSources(int maxPoolsCount, long idleTimeoutMillis)
+    {
+        List<PooledDataSource> evictedPooledDataSources = new ArrayList<>();
+        long currentTime = System.currentTimeMillis();
+
+        Iterator<PooledDataSource> iterator = pooledDataSources.values().iterator();
+        while (iterator.hasNext())
+        {
+            PooledDataSource pooledDataSource = iterator.next();
+            if (pooledDataSource.activeUsersCount == 0 &&
+                (pooledDataSources.size() > maxPoolsCount || currentTime - pooledDataSource.lastReleaseTime > idleTimeoutMillis))
+            {
+                iterator.remove();
+                evictedPooledDataSources.add(pooledDataSource);
+            }
+        }
+
+        return evictedPooledDataSources;
+    }
+
+    /**
+     * Closes the connection pools, logging any errors.
+     *
+     * @param closedPooledDataSources the connection pools
+     */
+    private void close(List<PooledDataSource> closedPooledDataSources)
+    {
+        for (PooledDataSource pooledDataSource : closedPooledDataSources)
+        {
+            close(pooledDataSource.basicDataSource);
+        }
+    }
+
+    /**
+     * Closes the connection pool, logging any errors.
+     *
+     * @param basicDataSource the connection pool
+     */
+    private void close(BasicDataSource basicDataSource)
+    {
+        try
+        {
+            basicDataSource.close();
+            LOGGER.info("Closed JDBC connection pool. url=\"{}\" username=\"{}\"", basicDataSource.getUrl(), basicDataSource.getUsername());
+        }
+        catch (SQLException e)
+        {
+            LOGGER.warn("Failed to close JDBC connection pool. url=\"{}\" username=\"{}\"", basicDataSource.getUrl(), basicDataSource.getUsername(), e);
+        }
+    }
+
+    /**
+     * A connection pool along with the number of its current users.
+     */
+    private static class PooledDataSource
+    {
+        private final BasicDataSource basicDataSource;
+
+        private int activeUsersCount;
+
+        private long lastReleaseTime = System.currentTimeMillis();
+
+        private PooledDataSource(BasicDataSource basicDataSource)
+        {
+            this.basicDataSource = basicDataSource;
+        }
+    }
+}
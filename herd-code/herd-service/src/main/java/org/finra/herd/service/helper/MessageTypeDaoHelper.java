@@ -31,6 +31,9 @@ public class MessageTypeDaoHelper
     @Autowired
     private MessageTypeDao messageTypeDao;
 
+    @Autowired
+    private ReferenceEntityCacheHelper referenceEntityCacheHelper;
+
     /**
      * Gets a message type entity by its code and ensure it exists.
      *
@@ -40,7 +43,8 @@ public class MessageTypeDaoHelper
      */
     public MessageTypeEntity getMessageTypeEntity(String code)
     {
-        MessageTypeEntity messageTypeEntity = messageTypeDao.getMessageTypeByCode(code);
+        MessageTypeEntity messageTypeEntity =
+            referenceEntityCacheHelper.getEntity(MessageTypeEntity.class, code, MessageTypeEntity::getCode, () -> messageTypeDao.getMessageTypeByCode(code));
 
         if (messageTypeEntity == null)
         {
@@ -31,6 +31,9 @@ public class NamespaceDaoHelper
     @Autowired
     private NamespaceDao namespaceDao;
 
+    @Autowired
+    private ReferenceEntityCacheHelper referenceEntityCacheHelper;
+
     /**
      * Gets a namespace entity and ensure it exists.
      *
@@ -41,7 +44,8 @@ public class NamespaceDaoHelper
      */
     public NamespaceEntity getNamespaceEntity(String namespace) throws ObjectNotFoundException
     {
-        NamespaceEntity namespaceEntity = namespaceDao.getNamespaceByCd(namespace);
+        NamespaceEntity namespaceEntity =
+            referenceEntityCacheHelper.getEntity(NamespaceEntity.class, namespace, NamespaceEntity::getCode, () -> namespaceDao.getNamespaceByCd(namespace));
 
         if (namespaceEntity == null)
         {
@@ -18,7 +18,6 @@ package org.finra.herd.service.helper;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -31,7 +30,6 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import org.finra.herd.model.api.xml.NamespaceAuthorization;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.model.dto.ApplicationUser;
 import org.finra.herd.model.dto.SecurityUserWrapper;
@@ -137,20 +135,15 @@ public class NamespaceSecurityHelper
             ApplicationUser applicationUser = getApplicationUser();
             if (applicationUser != null)
             {
-                for (NamespaceAuthorization namespaceAuthorization : applicationUser.getNamespaceAuthorizations())
-                {
-                    if (namespaceAuthorization.getNamespacePermissions().containsAll(Arrays.asList(permissions)))
-                    {
-                        namespaces.add(namespaceAuthorization.getNamespace());
-                    }
-                }
+                namespaces = applicationUser.getNamespaceAuthorizationIndex().getNamespacesWithAllPermissions(permissions);
             }
         }
         return namespaces;
     }
 
     /**
-     * Returns true if the application user is authorized to the given namespace and has the given permissions.
+     * Returns true if the application user is authorized to the given namespace and has the given permissions. The check uses the namespace authorization
+     * index of the application user, so it does not depend on the number of namespace authorizations the user has.
      *
      * @param applicationUser the application user
      * @param namespace the namespace
@@ -160,25 +153,8 @@ public class NamespaceSecurityHelper
      */
     private boolean isAuthorized(ApplicationUser applicationUser, String namespace, NamespacePermissionEnum... permissions)
     {
-        if (applicationUser != null && applicationUser.getNamespaceAuthorizations() != null)
-        {
-            for (NamespaceAuthorization currentUserAuthorization : applicationUser.getNamespaceAuthorizations())
-            {
-                List<NamespacePermissionEnum> currentUserNamespacePermissions = currentUserAuthorization.getNamespacePermissions();
-                if (currentUserNamespacePermissions == null)
-                {
-                    currentUserNamespacePermissions = Collections.emptyList();
-                }
-
-                if (StringUtils.equalsIgnoreCase(currentUserAuthorization.getNamespace(), namespace) &&
-                    currentUserNamespacePermissions.stream().anyMatch(Arrays.asList(permissions)::contains))
-                {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return applicationUser != null && applicationUser.getNamespaceAuthorizations() != null &&
+            applicationUser.getNamespaceAuthorizationIndex().hasAnyPermission(namespace, permissions);
     }
 
     /**
@@ -0,0 +1,191 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.finra.herd.dao.HerdDao;
+
+/**
+ * A helper that memoizes lookups of small reference entities, such as namespaces, file types, storage, statuses, storage platforms and message types, for the
+ * duration of the current transaction. A herd request is served by a single transaction, so the same reference entity is queried only once per request no
+ * matter how many times the service code resolves it.
+ * <p/>
+ * The memoized entities are the managed instances of the current persistence context, so they always reflect the changes made within the current transaction.
+ * An entity that was removed, detached or renamed since it was memoized is looked up again, so create, update and delete service methods need no explicit
+ * invalidation. Nothing is shared across transactions, so herd nodes never see stale reference data written by other nodes.
+ */
+@Component
+public class ReferenceEntityCacheHelper
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceEntityCacheHelper.class);
+
+    @Autowired
+    private HerdDao herdDao;
+
+    /**
+     * The number of lookups served from the memoized entities, i.e. the number of saved queries, since the application start.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * The number of lookups that required a query since the application start.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Gets a reference entity by its code, returning the entity memoized within the current transaction when available. The lookups are not memoized when no
+     * transaction synchronization is active. A lookup that returns no entity is never memoized.
+     *
+     * @param entityClass the entity class
+     * @param code the code of the entity (case insensitive)
+     * @param codeGetter the function that returns the code of an entity
+     * @param entityLoader the supplier that queries the entity from the database
+     * @param <T> the type of the entity
+     *
+     * @return the entity or null if the entity doesn't exist
+     */
+    public <T> T getEntity(Class<T> entityClass, String code, Function<T, String> codeGetter, Supplier<T> entityLoader)
+    {
+        TransactionEntities transactionEntities = getTransactionEntities();
+
+        if (transactionEntities == null || code == null)
+        {
+            return entityLoader.get();
+        }
+
+        List<Object> key = Arrays.asList(entityClass, code.toUpperCase());
+        T entity = entityClass.cast(transactionEntities.entities.get(key));
+
+        // Only use the memoized entity if it is still managed by the current persistence context and still has the requested code.
+        if (entity != null && herdDao.getEntityManager().contains(entity) && code.equalsIgnoreCase(codeGetter.apply(entity)))
+        {
+            hitCount.incrementAndGet();
+            transactionEntities.hitCount++;
+            return entity;
+        }
+
+        missCount.incrementAndGet();
+        transactionEntities.missCount++;
+
+        entity = entityLoader.get();
+        if (entity != null)
+        {
+            transactionEntities.entities.put(key, entity);
+        }
+        else
+        {
+            transactionEntities.entities.remove(key);
+        }
+
+        return entity;
+    }
+
+    /**
+     * Gets the number of lookups served from the memoized entities since the application start. Each hit is a query saved.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of lookups that required a query since the application start.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the entities memoized within the current transaction, binding a new holder to the current transaction if needed.
+     *
+     * @return the entities memoized within the current transaction or null if no transaction synchronization is active
+     */
+    private TransactionEntities getTransactionEntities()
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            return null;
+        }
+
+        TransactionEntities transactionEntities = (TransactionEntities) TransactionSynchronizationManager.getResource(this);
+
+        if (transactionEntities == null)
+        {
+            TransactionEntities newTransactionEntities = new TransactionEntities();
+            TransactionSynchronizationManager.bindResource(this, newTransactionEntities);
+
+            // Keep the holder bound to its own transaction only, so a suspended transaction does not share entities with a new inner transaction.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void suspend()
+                {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReferenceEntityCacheHelper.this);
+                }
+
+                @Override
+                public void resume()
+                {
+                    TransactionSynchronizationManager.bindResource(ReferenceEntityCacheHelper.this, newTransactionEntities);
+                }
+
+                @Override
+                public void afterCompletion(int status)
+                {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReferenceEntityCacheHelper.this);
+
+                    LOGGER.debug("Reference entity lookups completed for the transaction. entityCount={} hitCount={} missCount={}",
+                        newTransactionEntities.entities.size(), newTransactionEntities.hitCount, newTransactionEntities.missCount);
+                }
+            });
+
+            transactionEntities = newTransactionEntities;
+        }
+
+        return transactionEntities;
+    }
+
+    /**
+     * The reference entities memoized within a transaction along with the lookup counts of the transaction.
+     */
+    private static class TransactionEntities
+    {
+        private final Map<List<Object>, Object> entities = new HashMap<>();
+
+        private long hitCount;
+
+        private long missCount;
+    }
+}
@@ -15,6 +15,7 @@
 */
 package org.finra.herd.service.helper;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -118,17 +119,51 @@ public class S3KeyPrefixHelper
     public String buildS3KeyPrefix(String s3KeyPrefixVelocityTemplate, String dataProviderName, BusinessObjectFormat businessObjectFormat,
         BusinessObjectDataKey businessObjectDataKey, String storageName)
     {
-        // Create and populate the velocity context with variable values.
+        return buildS3KeyPrefix(s3KeyPrefixVelocityTemplate, getS3KeyPrefixFormatVariables(dataProviderName, businessObjectFormat), businessObjectFormat,
+            businessObjectDataKey, storageName);
+    }
+
+    /**
+     * Gets the S3 key prefix velocity template variables that only depend on the business object format. The returned variables can be reused to build S3 key
+     * prefixes for any business object data of the business object format.
+     *
+     * @param dataProviderName the data provider name
+     * @param businessObjectFormat the business object format
+     *
+     * @return the unmodifiable map of velocity template variables
+     */
+    public Map<String, Object> getS3KeyPrefixFormatVariables(String dataProviderName, BusinessObjectFormat businessObjectFormat)
+    {
+        Map<String, Object> formatVariables = new HashMap<>();
+        formatVariables.put("environment", s3KeyPrefixFormat(configurationHelper.getProperty(ConfigurationValue.HERD_ENVIRONMENT)));
+        formatVariables.put("namespace", s3KeyPrefixFormat(businessObjectFormat.getNamespace()));
+        formatVariables.put("dataProviderName", s3KeyPrefixFormat(dataProviderName));
+        formatVariables.put("businessObjectDefinitionName", s3KeyPrefixFormat(businessObjectFormat.getBusinessObjectDefinitionName()));
+        formatVariables.put("businessObjectFormatUsage", s3KeyPrefixFormat(businessObjectFormat.getBusinessObjectFormatUsage()));
+        formatVariables.put("businessObjectFormatFileType", s3KeyPrefixFormat(businessObjectFormat.getBusinessObjectFormatFileType()));
+        formatVariables.put("businessObjectFormatVersion", s3KeyPrefixFormat(String.valueOf(businessObjectFormat.getBusinessObjectFormatVersion())));
+        formatVariables.put("businessObjectFormatPartitionKey", s3KeyPrefixFormat(s3KeyPrefixFormat(businessObjectFormat.getPartitionKey())));
+        formatVariables.put("CollectionUtils", CollectionUtils.class);
+        return Collections.unmodifiableMap(formatVariables);
+    }
+
+    /**
+     * Returns S3 key prefix constructed per specified velocity template using the pre-populated business object format variables.
+     *
+     * @param s3KeyPrefixVelocityTemplate the S3 key prefix velocity template
+     * @param formatVariables the business object format variables as returned by {@link #getS3KeyPrefixFormatVariables(String, BusinessObjectFormat)}
+     * @param businessObjectFormat the business object format
+     * @param businessObjectDataKey the business object data key
+     * @param storageName the storage name
+     *
+     * @return the S3 key prefix
+     */
+    public String buildS3KeyPrefix(String s3KeyPrefixVelocityTemplate, Map<String, Object> formatVariables, BusinessObjectFormat businessObjectFormat,
+        BusinessObjectDataKey businessObjectDataKey, String storageName)
+    {
+        // Create and populate the velocity context with business object data variable values.
         Map<String, Object> context = new HashMap<>();
-        context.put("environment", s3KeyPrefixFormat(configurationHelper.getProperty(ConfigurationValue.HERD_ENVIRONMENT)));
-        context.put("namespace", s3KeyPrefixFormat(businessObjectFormat.getNamespace()));
-        context.put("dataProviderName", s3KeyPrefixFormat(dataProviderName));
-        context.put("businessObjectDefinitionName", s3KeyPrefixFormat(businessObjectFormat.getBusinessObjectDefinitionName()));
-        context.put("businessObjectFormatUsage", s3KeyPrefixFormat(businessObjectFormat.getBusinessObjectFormatUsage()));
-        context.put("businessObjectFormatFileType", s3KeyPrefixFormat(businessObjectFormat.getBusinessObjectFormatFileType()));
-        context.put("businessObjectFormatVersion", s3KeyPrefixFormat(String.valueOf(businessObjectFormat.getBusinessObjectFormatVersion())));
         context.put("businessObjectDataVersion", s3KeyPrefixFormat(String.valueOf(businessObjectDataKey.getBusinessObjectDataVersion())));
-        context.put("businessObjectFormatPartitionKey", s3KeyPrefixFormat(s3KeyPrefixFormat(businessObjectFormat.getPartitionKey())));
         context.put("businessObjectDataPartitionValue", businessObjectDataKey.getPartitionValue());
 
         // Build an ordered map of sub-partition column names to sub-partition values.
@@ -160,11 +195,10 @@ public class S3KeyPrefixHelper
 
         // Add the map of sub-partitions to the context.
         context.put("businessObjectDataSubPartitions", subPartitions);
-        context.put("CollectionUtils", CollectionUtils.class);
 
         // Process the velocity template.
-        String s3KeyPrefix = velocityHelper
-            .evaluate(s3KeyPrefixVelocityTemplate, context, configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_KEY_PREFIX_VELOCITY_TEMPLATE));
+        String s3KeyPrefix = velocityHelper.evaluate(s3KeyPrefixVelocityTemplate, context, formatVariables,
+            configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_KEY_PREFIX_VELOCITY_TEMPLATE));
 
         // Validate that S3 key prefix is not blank.
         Assert.isTrue(StringUtils.isNotBlank(s3KeyPrefix), String
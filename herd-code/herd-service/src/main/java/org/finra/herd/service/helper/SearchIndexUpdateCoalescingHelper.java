@@ -0,0 +1,436 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.service.helper;
+
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_TAG_UPDATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_CREATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_DELETE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_UPDATE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PreDestroy;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.SearchIndexUpdateDto;
+import org.finra.herd.service.BusinessObjectDefinitionService;
+import org.finra.herd.service.TagService;
+
+/**
+ * Collects the search index document updates received by the search index update JMS message listener over a short time window, de-duplicates them per
+ * search index document and applies them as bulk updates. Only the latest modification of a document is kept, since both the create and the update of a
+ * document re-index the current state of the entity, while a delete removes the document. The coalescing is disabled by default, since a message is
+ * acknowledged once its updates are collected and the updates still pending on an abrupt stop are not redelivered.
+ */
+@Component
+public class SearchIndexUpdateCoalescingHelper
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexUpdateCoalescingHelper.class);
+
+    /**
+     * The number of times the pending updates of a search index document are applied before they are dropped.
+     */
+    static final int MAX_APPLY_ATTEMPTS = 3;
+
+    @Autowired
+    private BusinessObjectDefinitionService businessObjectDefinitionService;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private TagService tagService;
+
+    /**
+     * Serializes the application of the pending updates.
+     */
+    private final Lock applyLock = new ReentrantLock();
+
+    /**
+     * The pending updates per message type keyed by search index document id in arrival order. Guarded by "this".
+     */
+    private Map<String, Map<Long, PendingSearchIndexUpdate>> pendingSearchIndexUpdates = new HashMap<>();
+
+    /**
+     * The number of distinct search index documents with pending updates. Guarded by "this".
+     */
+    private int pendingSearchIndexUpdateCount;
+
+    /**
+     * The number of search index document updates received since the pending updates were last applied. Guarded by "this".
+     */
+    private long receivedSearchIndexUpdateCount;
+
+    /**
+     * The time when the oldest pending update was received or 0 when there are no pending updates. Guarded by "this".
+     */
+    private long oldestPendingSearchIndexUpdateReceivedTime;
+
+    /**
+     * Returns true if the search index updates are to be coalesced per configuration.
+     *
+     * @return true if the coalescing is enabled, false otherwise
+     */
+    public boolean isCoalescingEnabled()
+    {
+        Long coalescingWindowMillis = configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLIS, Long.class);
+        return coalescingWindowMillis != null && coalescingWindowMillis > 0;
+    }
+
+    /**
+     * Adds the search index document updates carried by a search index update message to the pending updates. The pending updates are applied right away
+     * when the configured maximum number of pending documents is reached.
+     *
+     * @param searchIndexUpdateDto the search index update
+     * @param messageSentTime the time when the message was sent to the queue, used to report the queue lag
+     */
+    public void addSearchIndexUpdate(SearchIndexUpdateDto searchIndexUpdateDto, long messageSentTime)
+    {
+        // Messages in the original message format carry business object definition ids only.
+        String messageType =
+            searchIndexUpdateDto.getMessageType() == null ? MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE : searchIndexUpdateDto.getMessageType();
+        List<Long> ids =
+            MESSAGE_TYPE_TAG_UPDATE.equals(messageType) ? searchIndexUpdateDto.getTagIds() : searchIndexUpdateDto.getBusinessObjectDefinitionIds();
+
+        if (CollectionUtils.isEmpty(ids))
+        {
+            return;
+        }
+
+        // Both the create and the update of a document re-index the current state of the entity, so they are applied as updates.
+        String modificationType = searchIndexUpdateDto.getModificationType();
+        if (SEARCH_INDEX_UPDATE_TYPE_CREATE.equals(modificationType))
+        {
+            modificationType = SEARCH_INDEX_UPDATE_TYPE_UPDATE;
+        }
+        else if (!SEARCH_INDEX_UPDATE_TYPE_UPDATE.equals(modificationType) && !SEARCH_INDEX_UPDATE_TYPE_DELETE.equals(modificationType))
+        {
+            LOGGER.warn("Unknown modification type received. modificationType=\"{}\"", modificationType);
+            return;
+        }
+
+        long currentTime = System.currentTimeMillis();
+        int pendingCount;
+
+        synchronized (this)
+        {
+            Map<Long, PendingSearchIndexUpdate> pendingUpdatesForMessageType =
+                pendingSearchIndexUpdates.computeIfAbsent(messageType, key -> new LinkedHashMap<>());
+
+            for (Long id : ids)
+            {
+                PendingSearchIndexUpdate pendingUpdate = pendingUpdatesForMessageType.get(id);
+
+                if (pendingUpdate == null)
+                {
+                    pendingUpdatesForMessageType.put(id, new PendingSearchIndexUpdate(modificationType, currentTime, messageSentTime));
+                    pendingSearchIndexUpdateCount++;
+                }
+                else
+                {
+                    // Keep the latest modification and the earliest times, so the queue lag covers the whole wait of the document.
+                    pendingUpdate.merge(modificationType, messageSentTime);
+                }
+            }
+
+            receivedSearchIndexUpdateCount += ids.size();
+
+            if (oldestPendingSearchIndexUpdateReceivedTime == 0)
+            {
+                oldestPendingSearchIndexUpdateReceivedTime = currentTime;
+            }
+
+            pendingCount = pendingSearchIndexUpdateCount;
+        }
+
+        // Apply the pending updates on this thread if too many documents are pending, which also slows down the consumption of the queue.
+        if (pendingCount >= configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class))
+        {
+            applyPendingSearchIndexUpdates();
+        }
+    }
+
+    /**
+     * Periodically applies the pending updates once the oldest of them has waited for the configured coalescing window.
+     */
+    @Scheduled(fixedDelay = 250)
+    public void applyExpiredSearchIndexUpdates()
+    {
+        try
+        {
+            long oldestReceivedTime;
+
+            synchronized (this)
+            {
+                oldestReceivedTime = oldestPendingSearchIndexUpdateReceivedTime;
+            }
+
+            // Apply all pending updates when the coalescing window of the oldest one has passed or when the coalescing has been disabled.
+            if (oldestReceivedTime > 0 && (!isCoalescingEnabled() ||
+                System.currentTimeMillis() - oldestReceivedTime >= configurationHelper
+                    .getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_WINDOW_MILLIS, Long.class)))
+            {
+                applyPendingSearchIndexUpdates();
+            }
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("Failed to apply the pending search index updates.", e);
+        }
+    }
+
+    /**
+     * Applies the pending updates before the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown()
+    {
+        applyPendingSearchIndexUpdates();
+    }
+
+    /**
+     * Gets the number of distinct search index documents with pending updates.
+     *
+     * @return the number of pending search index documents
+     */
+    public synchronized int getPendingSearchIndexUpdateCount()
+    {
+        return pendingSearchIndexUpdateCount;
+    }
+
+    /**
+     * Applies all pending updates. The updates are applied per message type, separately for the re-indexed and the deleted documents, in batches of the
+     * configured size. The updates of a batch that fails are returned to the pending updates, unless they were already attempted the maximum number of times.
+     */
+    public void applyPendingSearchIndexUpdates()
+    {
+        applyLock.lock();
+
+        try
+        {
+            // Take the pending updates, so new updates may be added while these are applied.
+            Map<String, Map<Long, PendingSearchIndexUpdate>> searchIndexUpdates;
+            long receivedCount;
+
+            synchronized (this)
+            {
+                searchIndexUpdates = pendingSearchIndexUpdates;
+                receivedCount = receivedSearchIndexUpdateCount;
+                pendingSearchIndexUpdates = new HashMap<>();
+                pendingSearchIndexUpdateCount = 0;
+                receivedSearchIndexUpdateCount = 0;
+                oldestPendingSearchIndexUpdateReceivedTime = 0;
+            }
+
+            if (searchIndexUpdates.isEmpty())
+            {
+                return;
+            }
+
+            int batchSize = configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_BATCH_SIZE, Integer.class);
+            long startTime = System.currentTimeMillis();
+            long maxQueueLagMillis = 0;
+            int documentCount = 0;
+            int failedDocumentCount = 0;
+
+            for (Map.Entry<String, Map<Long, PendingSearchIndexUpdate>> entry : searchIndexUpdates.entrySet())
+            {
+                // Split the documents into the ones to re-index and the ones to delete.
+                List<Long> updateIds = new ArrayList<>();
+                List<Long> deleteIds = new ArrayList<>();
+
+                for (Map.Entry<Long, PendingSearchIndexUpdate> pendingUpdateEntry : entry.getValue().entrySet())
+                {
+                    PendingSearchIndexUpdate pendingUpdate = pendingUpdateEntry.getValue();
+
+                    if (SEARCH_INDEX_UPDATE_TYPE_DELETE.equals(pendingUpdate.getModificationType()))
+                    {
+                        deleteIds.add(pendingUpdateEntry.getKey());
+                    }
+                    else
+                    {
+                        updateIds.add(pendingUpdateEntry.getKey());
+                    }
+
+                    maxQueueLagMillis = Math.max(maxQueueLagMillis, startTime - pendingUpdate.getMessageSentTime());
+                }
+
+                documentCount += entry.getValue().size();
+                failedDocumentCount += applySearchIndexUpdates(entry.getKey(), SEARCH_INDEX_UPDATE_TYPE_UPDATE, updateIds, batchSize, entry.getValue());
+                failedDocumentCount += applySearchIndexUpdates(entry.getKey(), SEARCH_INDEX_UPDATE_TYPE_DELETE, deleteIds, batchSize, entry.getValue());
+            }
+
+            LOGGER.info("Applied coalesced search index updates. receivedDocumentUpdateCount={} documentCount={} failedDocumentCount={} " +
+                    "maxQueueLagMillis={} applyDurationMillis={} pendingDocumentCount={}", receivedCount, documentCount, failedDocumentCount, maxQueueLagMillis,
+                System.currentTimeMillis() - startTime, getPendingSearchIndexUpdateCount());
+        }
+        finally
+        {
+            applyLock.unlock();
+        }
+    }
+
+    /**
+     * Applies one kind of modification to the specified search index documents in batches.
+     *
+     * @param messageType the message type that identifies the search index
+     * @param modificationType the modification type
+     * @param ids the ids of the search index documents
+     * @param batchSize the maximum number of documents per batch
+     * @param pendingUpdates the pending updates of the message type, used to return the updates of the failed batches to the pending updates
+     *
+     * @return the number of documents in the failed batches
+     */
+    private int applySearchIndexUpdates(String messageType, String modificationType, List<Long> ids, int batchSize,
+        Map<Long, PendingSearchIndexUpdate> pendingUpdates)
+    {
+        int failedDocumentCount = 0;
+
+        for (List<Long> batch : Lists.partition(ids, batchSize))
+        {
+            try
+            {
+                if (MESSAGE_TYPE_TAG_UPDATE.equals(messageType))
+                {
+                    tagService.updateSearchIndexDocumentTag(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, new ArrayList<>(batch), modificationType));
+                }
+                else
+                {
+                    businessObjectDefinitionService.updateSearchIndexDocumentBusinessObjectDefinition(
+                        new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, new ArrayList<>(batch), modificationType));
+                }
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.error("Failed to apply the search index updates. messageType=\"{}\" modificationType=\"{}\" documentCount={}", messageType,
+                    modificationType, batch.size(), e);
+
+                failedDocumentCount += batch.size();
+                returnToPendingSearchIndexUpdates(messageType, batch, pendingUpdates);
+            }
+        }
+
+        return failedDocumentCount;
+    }
+
+    /**
+     * Returns the updates of a failed batch to the pending updates, so they are attempted again with the next application. An update is not returned when a
+     * newer update of the same document is already pending or when it was attempted the maximum number of times.
+     *
+     * @param messageType the message type
+     * @param ids the ids of the search index documents in the failed batch
+     * @param pendingUpdates the applied pending updates of the message type
+     */
+    private synchronized void returnToPendingSearchIndexUpdates(String messageType, List<Long> ids, Map<Long, PendingSearchIndexUpdate> pendingUpdates)
+    {
+        Map<Long, PendingSearchIndexUpdate> pendingUpdatesForMessageType = pendingSearchIndexUpdates.computeIfAbsent(messageType, key -> new LinkedHashMap<>());
+
+        for (Long id : ids)
+        {
+            PendingSearchIndexUpdate pendingUpdate = pendingUpdates.get(id);
+
+            if (pendingUpdate.getApplyAttempts() + 1 >= MAX_APPLY_ATTEMPTS)
+            {
+                LOGGER.error("Dropping the search index update after {} attempts. messageType=\"{}\" modificationType=\"{}\" id={}", MAX_APPLY_ATTEMPTS,
+                    messageType, pendingUpdate.getModificationType(), id);
+            }
+            else if (!pendingUpdatesForMessageType.containsKey(id))
+            {
+                pendingUpdatesForMessageType.put(id, pendingUpdate.nextAttempt());
+                pendingSearchIndexUpdateCount++;
+
+                if (oldestPendingSearchIndexUpdateReceivedTime == 0 || pendingUpdate.getReceivedTime() < oldestPendingSearchIndexUpdateReceivedTime)
+                {
+                    oldestPendingSearchIndexUpdateReceivedTime = pendingUpdate.getReceivedTime();
+                }
+            }
+        }
+    }
+
+    /**
+     * The pending update of a single search index document.
+     */
+    private static class PendingSearchIndexUpdate
+    {
+        private String modificationType;
+
+        private final long receivedTime;
+
+        private long messageSentTime;
+
+        private final int applyAttempts;
+
+        PendingSearchIndexUpdate(String modificationType, long receivedTime, long messageSentTime)
+        {
+            this(modificationType, receivedTime, messageSentTime, 0);
+        }
+
+        private PendingSearchIndexUpdate(String modificationType, long receivedTime, long messageSentTime, int applyAttempts)
+        {
+            this.modificationType = modificationType;
+            this.receivedTime = receivedTime;
+            this.messageSentTime = messageSentTime;
+            this.applyAttempts = applyAttempts;
+        }
+
+        void merge(String modificationType, long messageSentTime)
+        {
+            this.modificationType = modificationType;
+            this.messageSentTime = Math.min(this.messageSentTime, messageSentTime);
+        }
+
+        PendingSearchIndexUpdate nextAttempt()
+        {
+            return new PendingSearchIndexUpdate(modificationType, receivedTime, messageSentTime, applyAttempts + 1);
+        }
+
+        String getModificationType()
+        {
+            return modificationType;
+        }
+
+        long getReceivedTime()
+        {
+            return receivedTime;
+        }
+
+        long getMessageSentTime()
+        {
+            return messageSentTime;
+        }
+
+        int getApplyAttempts()
+        {
+            return applyAttempts;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.springframework.jms.annotation.JmsListener;
 import org.springframework.jms.config.JmsListenerEndpointRegistry;
 import org.springframework.jms.listener.MessageListenerContainer;
 import org.springframework.jms.listener.adapter.ListenerExecutionFailedException;
+import org.springframework.jms.support.JmsHeaders;
 import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -60,6 +61,9 @@ public class SearchIndexUpdateJmsMessageListener
     @Autowired
     private JsonHelper jsonHelper;
 
+    @Autowired
+    private SearchIndexUpdateCoalescingHelper searchIndexUpdateCoalescingHelper;
+
     @Autowired
     private TagService tagService;
 
@@ -139,8 +143,20 @@ public class SearchIndexUpdateJmsMessageListener
             // Unmarshall the SearchIndexUpdateDto from a JSON string to a SearchIndexUpdateDto object
             SearchIndexUpdateDto searchIndexUpdateDto = jsonHelper.unmarshallJsonToObject(SearchIndexUpdateDto.class, payload);
 
-            LOGGER.info("Unmarshall the json payload into the searchIndexUpdateDto=\"{}\", jms_messageId=\"{}\"", searchIndexUpdateDto.toString(),
-                allHeaders.get("jms_messageId"));
+            // Get the time when the message was sent to the queue, so the queue lag can be reported.
+            long currentTime = System.currentTimeMillis();
+            Object messageTimestamp = allHeaders.get(JmsHeaders.TIMESTAMP);
+            long messageSentTime = messageTimestamp instanceof Long ? (Long) messageTimestamp : currentTime;
+
+            LOGGER.info("Unmarshall the json payload into the searchIndexUpdateDto=\"{}\", jms_messageId=\"{}\" queueLagMillis={}",
+                searchIndexUpdateDto.toString(), allHeaders.get("jms_messageId"), currentTime - messageSentTime);
+
+            // Collect the updates to be de-duplicated and applied in bulk with the other updates received within the coalescing window, if enabled.
+            if (searchIndexUpdateCoalescingHelper.isCoalescingEnabled())
+            {
+                searchIndexUpdateCoalescingHelper.addSearchIndexUpdate(searchIndexUpdateDto, messageSentTime);
+                return;
+            }
 
             // If the message type is null, this message is in the original message format.
             if (searchIndexUpdateDto.getMessageType() == null)
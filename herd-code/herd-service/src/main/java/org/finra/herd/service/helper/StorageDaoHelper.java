@@ -32,6 +32,9 @@ public class StorageDaoHelper
     @Autowired
     private StorageDao storageDao;
 
+    @Autowired
+    private ReferenceEntityCacheHelper referenceEntityCacheHelper;
+
     /**
      * Gets a storage entity by storage key and makes sure that it exists.
      *
@@ -55,7 +58,8 @@ public class StorageDaoHelper
      */
     public StorageEntity getStorageEntity(String storageName) throws ObjectNotFoundException
     {
-        StorageEntity storageEntity = storageDao.getStorageByName(storageName);
+        StorageEntity storageEntity =
+            referenceEntityCacheHelper.getEntity(StorageEntity.class, storageName, StorageEntity::getName, () -> storageDao.getStorageByName(storageName));
 
         if (storageEntity == null)
         {
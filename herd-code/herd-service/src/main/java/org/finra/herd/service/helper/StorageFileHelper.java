@@ -24,8 +24,10 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
@@ -37,13 +39,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.api.xml.StorageUnit;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.jpa.StorageFileEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
+import org.finra.herd.service.S3Service;
 
 /**
  * A helper class for StorageFile related code.
@@ -56,9 +62,15 @@ public class StorageFileHelper
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private JsonHelper jsonHelper;
 
+    @Autowired
+    private S3Service s3Service;
+
     /**
      * Creates a storage file from the storage file entity. Storage unit directory path might not be specified and also it may or may not contain trailing '/'
      * character.
@@ -393,23 +405,36 @@ public class StorageFileHelper
         {
             for (StorageFile storageFile : storageFiles)
             {
-                // Create a "real file" that points to the actual file on the file system.
-                File localFile = Paths.get(baseDirectory, storageFile.getFilePath()).toFile();
+                validateDownloadedS3File(baseDirectory, storageFile);
+            }
+        }
+    }
 
-                // Verify that the file exists.
-                if (!localFile.isFile())
-                {
-                    throw new IllegalStateException(String.format("Downloaded \"%s\" file doesn't exist.", localFile));
-                }
+    /**
+     * Validates a single downloaded S3 file per specified storage file.
+     *
+     * @param baseDirectory the local parent directory path, relative to which the file is expected to be located
+     * @param storageFile the storage file
+     *
+     * @throws IllegalStateException if the file is not valid
+     */
+    public void validateDownloadedS3File(String baseDirectory, StorageFile storageFile) throws IllegalStateException
+    {
+        // Create a "real file" that points to the actual file on the file system.
+        File localFile = Paths.get(baseDirectory, storageFile.getFilePath()).toFile();
 
-                // Validate the file size.
-                if (localFile.length() != storageFile.getFileSizeBytes())
-                {
-                    throw new IllegalStateException(String
-                        .format("Size of the downloaded \"%s\" S3 file does not match the expected value (expected %d bytes, actual %d bytes).",
-                            localFile.getPath(), storageFile.getFileSizeBytes(), localFile.length()));
-                }
-            }
+        // Verify that the file exists.
+        if (!localFile.isFile())
+        {
+            throw new IllegalStateException(String.format("Downloaded \"%s\" file doesn't exist.", localFile));
+        }
+
+        // Validate the file size.
+        if (localFile.length() != storageFile.getFileSizeBytes())
+        {
+            throw new IllegalStateException(String
+                .format("Size of the downloaded \"%s\" S3 file does not match the expected value (expected %d bytes, actual %d bytes).",
+                    localFile.getPath(), storageFile.getFileSizeBytes(), localFile.length()));
         }
     }
 
@@ -489,6 +514,86 @@ public class StorageFileHelper
         }
     }
 
+    /**
+     * Validates storage files against the S3 objects reported by an S3 listing. Storage files that are not found by the listing are looked up using S3 object
+     * metadata requests executed in parallel. All per-file mismatches are reported by a single exception.
+     *
+     * @param storageFiles the list of storage files to be validated
+     * @param params the S3 file transfer request parameters used to access the S3 bucket
+     * @param actualS3Keys the map of storage file paths to storage files as reported by the S3 listing
+     * @param validateFileSize specifies whether file size validation is required or not
+     *
+     * @throws ObjectNotFoundException if any of the storage files is not found in S3
+     * @throws IllegalArgumentException if any of the storage files has a file size that does not match the file size reported by S3
+     */
+    public void validateStorageFiles(List<StorageFile> storageFiles, S3FileTransferRequestParamsDto params, Map<String, StorageFile> actualS3Keys,
+        boolean validateFileSize)
+    {
+        // Collect paths of the storage files not found by the S3 listing.
+        List<String> unlistedStorageFilePaths = new ArrayList<>();
+        for (StorageFile storageFile : storageFiles)
+        {
+            if (!actualS3Keys.containsKey(storageFile.getFilePath()))
+            {
+                unlistedStorageFilePaths.add(storageFile.getFilePath());
+            }
+        }
+
+        // Look up the storage files not found by the S3 listing, unless there are too many of them to be worth checking one by one.
+        Map<String, ObjectMetadata> unlistedS3ObjectMetadata = new HashMap<>();
+        if (!unlistedStorageFilePaths.isEmpty() && unlistedStorageFilePaths.size() <=
+            configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_VALIDATION_MAX_S3_METADATA_REQUESTS, Integer.class))
+        {
+            unlistedS3ObjectMetadata = s3Service.getObjectMetadata(params, unlistedStorageFilePaths);
+        }
+
+        // Validate all storage files collecting the per-file errors.
+        List<String> errorMessages = new ArrayList<>();
+        boolean storageFileNotFound = false;
+        for (StorageFile storageFile : storageFiles)
+        {
+            Long actualFileSizeBytes;
+            if (actualS3Keys.containsKey(storageFile.getFilePath()))
+            {
+                actualFileSizeBytes = actualS3Keys.get(storageFile.getFilePath()).getFileSizeBytes();
+            }
+            else if (unlistedS3ObjectMetadata.containsKey(storageFile.getFilePath()))
+            {
+                actualFileSizeBytes = unlistedS3ObjectMetadata.get(storageFile.getFilePath()).getContentLength();
+            }
+            else
+            {
+                errorMessages.add(String.format("File not found at s3://%s/%s location.", params.getS3BucketName(), storageFile.getFilePath()));
+                storageFileNotFound = true;
+                continue;
+            }
+
+            if (validateFileSize && !Objects.equals(storageFile.getFileSizeBytes(), actualFileSizeBytes))
+            {
+                errorMessages.add(String
+                    .format("Specified file size of %d bytes for \"%s\" storage file does not match file size of %d bytes reported by S3.",
+                        storageFile.getFileSizeBytes(), storageFile.getFilePath(), actualFileSizeBytes));
+            }
+        }
+
+        if (!errorMessages.isEmpty())
+        {
+            // Report up to the configured maximum number of errors.
+            int maxReportedErrors = Math.max(1, configurationHelper.getProperty(ConfigurationValue.STORAGE_FILE_VALIDATION_MAX_REPORTED_ERRORS, Integer.class));
+            String errorMessage = StringUtils.join(errorMessages.subList(0, Math.min(maxReportedErrors, errorMessages.size())), " ");
+            if (errorMessages.size() > maxReportedErrors)
+            {
+                errorMessage += String.format(" %d more storage file validation errors were not reported.", errorMessages.size() - maxReportedErrors);
+            }
+
+            if (storageFileNotFound)
+            {
+                throw new ObjectNotFoundException(errorMessage);
+            }
+            throw new IllegalArgumentException(errorMessage);
+        }
+    }
+
     /**
      * Validates storage file path and size against the actual S3 objects reported by S3.
      *
@@ -31,6 +31,9 @@ public class StoragePlatformHelper
     @Autowired
     private StoragePlatformDao storagePlatformDao;
 
+    @Autowired
+    private ReferenceEntityCacheHelper referenceEntityCacheHelper;
+
     /**
      * Gets a storage platform entity by name.
      *
@@ -42,7 +45,9 @@ public class StoragePlatformHelper
     public StoragePlatformEntity getStoragePlatformEntity(String storagePlatformName) throws ObjectNotFoundException
     {
         // Get the associated storage platform and verify that it exists.
-        StoragePlatformEntity storagePlatformEntity = storagePlatformDao.getStoragePlatformByName(storagePlatformName);
+        StoragePlatformEntity storagePlatformEntity = referenceEntityCacheHelper
+            .getEntity(StoragePlatformEntity.class, storagePlatformName, StoragePlatformEntity::getName,
+                () -> storagePlatformDao.getStoragePlatformByName(storagePlatformName));
         if (storagePlatformEntity == null)
         {
             throw new ObjectNotFoundException("Storage platform with name \"" + storagePlatformName + "\" doesn't exist.");
@@ -47,6 +47,9 @@ public class StorageUnitDaoHelper
     @Autowired
     private BusinessObjectFormatHelper businessObjectFormatHelper;
 
+    @Autowired
+    private HivePartitionsCacheHelper hivePartitionsCacheHelper;
+
     @Autowired
     private MessageNotificationEventService messageNotificationEventService;
 
@@ -181,6 +184,9 @@ public class StorageUnitDaoHelper
         // Set the storage unit status value.
         storageUnitEntity.setStatus(storageUnitStatusEntity);
 
+        // Discard Hive partitions cached for this storage unit, since the storage unit might have changed.
+        hivePartitionsCacheHelper.evictStorageUnit(storageUnitEntity);
+
         // Send a storage unit status change notification as per system configuration.
         messageNotificationEventService
             .processStorageUnitStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(storageUnitEntity.getBusinessObjectData()),
@@ -229,6 +235,9 @@ public class StorageUnitDaoHelper
         // Persist the entity.
         storageUnitDao.saveAndRefresh(storageUnitEntity);
 
+        // Discard Hive partitions cached for this storage unit, since the storage unit might have changed.
+        hivePartitionsCacheHelper.evictStorageUnit(storageUnitEntity);
+
         // Send a storage unit status change notification as per system configuration.
         messageNotificationEventService
             .processStorageUnitStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(storageUnitEntity.getBusinessObjectData()),
@@ -81,7 +81,6 @@ public class UserNamespaceAuthorizationHelper
         {
             // Assign a set of namespace authorizations per specified user.
             Set<NamespaceAuthorization> namespaceAuthorizations = new HashSet<>();
-            applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
             for (UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity : userNamespaceAuthorizationDao
                 .getUserNamespaceAuthorizationsByUserId(userId))
             {
@@ -97,6 +96,9 @@ public class UserNamespaceAuthorizationHelper
                     namespaceAuthorizations.add(toNamespaceAuthorization(wildcardEntity));
                 }
             }
+
+            // Set the namespace authorizations once they are complete, so the namespace authorization index gets built from the full set.
+            applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
         }
     }
 
@@ -18,11 +18,23 @@ package org.finra.herd.service.helper;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.Velocity;
+import org.apache.velocity.context.Context;
+import org.apache.velocity.exception.ParseErrorException;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.RuntimeSingleton;
+import org.apache.velocity.runtime.parser.ParseException;
 import org.apache.velocity.util.introspection.SecureUberspector;
 import org.springframework.stereotype.Component;
 
@@ -33,6 +45,16 @@ import org.springframework.stereotype.Component;
 @Component
 public class VelocityHelper
 {
+    /**
+     * The maximum number of parsed templates kept in memory.
+     */
+    private static final int TEMPLATE_CACHE_MAX_SIZE = 1000;
+
+    /**
+     * The parsed templates by template text and log tag. The log tag is part of the key since it is used as the template name in error messages.
+     */
+    private final Cache<List<String>, Template> templateCache = CacheBuilder.newBuilder().maximumSize(TEMPLATE_CACHE_MAX_SIZE).build();
+
     /**
      * Initializes the Velocity engine.
      */
@@ -69,7 +91,7 @@ public class VelocityHelper
     }
 
     /**
-     * Wrapper for {@link Velocity#evaluate(org.apache.velocity.context.Context, java.io.Writer, String, java.io.InputStream)}
+     * Evaluates the specified template. The template is parsed once and the parsed template is reused by subsequent evaluations of the same template text.
      *
      * @param template The template {@link String}
      * @param variables Variables to add to context
@@ -79,7 +101,91 @@ public class VelocityHelper
      */
     public String evaluate(String template, Map<String, Object> variables, String logTag)
     {
-        StringReader templateReader = new StringReader(template);
-        return evaluate(templateReader, variables, logTag);
+        return merge(getTemplate(template, logTag), new VelocityContext(variables));
+    }
+
+    /**
+     * Evaluates the specified template with variables that are shared between evaluations, such as the variables that only depend on a business object
+     * format. The shared variables are not copied and must not be modified while in use. The template is parsed once and the parsed template is reused by
+     * subsequent evaluations of the same template text.
+     *
+     * @param template The template {@link String}
+     * @param variables Variables to add to context, these take precedence over the shared variables
+     * @param sharedVariables Shared variables to add to context
+     * @param logTag The log tag
+     *
+     * @return {@link String} result of evaluation
+     */
+    public String evaluate(String template, Map<String, Object> variables, Map<String, Object> sharedVariables, String logTag)
+    {
+        return merge(getTemplate(template, logTag), new VelocityContext(variables, new VelocityContext(sharedVariables)));
+    }
+
+    /**
+     * Gets the parsed template for the specified template text, parsing it if it is not cached yet.
+     *
+     * @param template the template text
+     * @param logTag the log tag
+     *
+     * @return the parsed template
+     */
+    private Template getTemplate(String template, String logTag)
+    {
+        try
+        {
+            return templateCache.get(Arrays.asList(template, logTag), () -> parseTemplate(template, logTag));
+        }
+        catch (ExecutionException | UncheckedExecutionException e)
+        {
+            // Re-throw the original exception (e.g. ParseErrorException), so callers see the same exceptions as when evaluating the template directly.
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Error parsing velocity template.", e.getCause());
+        }
+    }
+
+    /**
+     * Parses the specified template text the same way {@link Velocity#evaluate(Context, java.io.Writer, String, Reader)} does.
+     *
+     * @param template the template text
+     * @param logTag the log tag
+     *
+     * @return the parsed template
+     */
+    private Template parseTemplate(String template, String logTag)
+    {
+        RuntimeServices runtimeServices = RuntimeSingleton.getRuntimeServices();
+
+        Template parsedTemplate = new Template();
+        parsedTemplate.setRuntimeServices(runtimeServices);
+        parsedTemplate.setName(logTag);
+        try
+        {
+            parsedTemplate.setData(runtimeServices.parse(new StringReader(template), logTag));
+        }
+        catch (ParseException parseException)
+        {
+            throw new ParseErrorException(parseException);
+        }
+        parsedTemplate.initDocument();
+
+        return parsedTemplate;
+    }
+
+    /**
+     * Renders the specified parsed template.
+     *
+     * @param template the parsed template
+     * @param context the Velocity context
+     *
+     * @return {@link String} result of evaluation
+     */
+    private String merge(Template template, Context context)
+    {
+        StringWriter writer = new StringWriter();
+        template.merge(context, writer);
+        return writer.toString();
     }
-}
\ No newline at end of file
+}
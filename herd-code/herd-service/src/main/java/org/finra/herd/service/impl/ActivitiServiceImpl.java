@@ -18,6 +18,8 @@ package org.finra.herd.service.impl;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,9 +31,13 @@ import org.activiti.engine.RuntimeService;
 import org.activiti.engine.history.HistoricActivityInstance;
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.history.HistoricProcessInstanceQuery;
+import org.activiti.engine.history.NativeHistoricProcessInstanceQuery;
+import org.activiti.engine.impl.persistence.entity.SuspensionState;
+import org.activiti.engine.query.NativeQuery;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.NativeJobQuery;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.apache.commons.io.IOUtils;
 import org.joda.time.DateTime;
@@ -66,6 +72,11 @@ public class ActivitiServiceImpl implements ActivitiService
 
     private static final String HERD_WORKFLOW_ENVIRONMENT = "herd_workflowEnvironment";
 
+    /**
+     * The maximum number of values passed to a single "in" clause.
+     */
+    private static final int MAX_IN_CLAUSE_SIZE = 1000;
+
     @Override
     public ProcessDefinition getProcessDefinitionById(String processDefinitionId)
     {
@@ -92,6 +103,24 @@ public class ActivitiServiceImpl implements ActivitiService
         return activitiRuntimeService.createProcessInstanceQuery().suspended().list();
     }
 
+    @Override
+    public List<ProcessInstance> getSuspendedProcessInstancesByProcessInstanceIds(Set<String> processInstanceIds)
+    {
+        List<ProcessInstance> suspendedProcessInstances = new ArrayList<>();
+
+        // Query the process instances in chunks to keep the size of the "in" clause bounded. Activiti does not allow an empty set of process instance IDs.
+        List<String> processInstanceIdList = new ArrayList<>(processInstanceIds);
+        for (int fromIndex = 0; fromIndex < processInstanceIdList.size(); fromIndex += MAX_IN_CLAUSE_SIZE)
+        {
+            Set<String> processInstanceIdsChunk =
+                new HashSet<>(processInstanceIdList.subList(fromIndex, Math.min(fromIndex + MAX_IN_CLAUSE_SIZE, processInstanceIdList.size())));
+            suspendedProcessInstances
+                .addAll(activitiRuntimeService.createProcessInstanceQuery().processInstanceIds(processInstanceIdsChunk).suspended().list());
+        }
+
+        return suspendedProcessInstances;
+    }
+
     @Override
     public HistoricProcessInstance getHistoricProcessInstanceByProcessInstanceId(String processInstanceId)
     {
@@ -129,6 +158,32 @@ public class ActivitiServiceImpl implements ActivitiService
         return activitiManagementService.createJobQuery().withException().processInstanceId(processInstanceId).count();
     }
 
+    @Override
+    public Map<String, Long> getJobsWithExceptionCountsByProcessInstanceIds(Set<String> processInstanceIds)
+    {
+        Map<String, Long> jobsWithExceptionCounts = new HashMap<>();
+
+        // The job query does not support filtering by a set of process instances, so select the jobs with exceptions using a native query per chunk of
+        // process instances, to keep the size of the "in" clause bounded, and count them per process instance.
+        List<String> processInstanceIdList = new ArrayList<>(processInstanceIds);
+        for (int fromIndex = 0; fromIndex < processInstanceIdList.size(); fromIndex += MAX_IN_CLAUSE_SIZE)
+        {
+            NativeJobQuery query = activitiManagementService.createNativeJobQuery();
+
+            StringBuilder sql = new StringBuilder("SELECT RES.* FROM ").append(activitiManagementService.getTableName(Job.class)).append(" RES WHERE ");
+            appendInCondition(sql, query, "RES.PROCESS_INSTANCE_ID_", "processInstanceId",
+                processInstanceIdList.subList(fromIndex, Math.min(fromIndex + MAX_IN_CLAUSE_SIZE, processInstanceIdList.size())));
+            sql.append(" AND (RES.EXCEPTION_MSG_ IS NOT NULL OR RES.EXCEPTION_STACK_ID_ IS NOT NULL)");
+
+            for (Job job : query.sql(sql.toString()).list())
+            {
+                jobsWithExceptionCounts.merge(job.getProcessInstanceId(), 1L, Long::sum);
+            }
+        }
+
+        return jobsWithExceptionCounts;
+    }
+
     @Override
     public List<HistoricProcessInstance> getUnfinishedHistoricProcessInstancesByStartBeforeTime(DateTime startBeforeTime)
     {
@@ -142,6 +197,48 @@ public class ActivitiServiceImpl implements ActivitiService
         return createHistoricProcessInstanceQuery(processDefinitionKeys, jobStatus, startTime, endTime).list();
     }
 
+    @Override
+    public List<HistoricProcessInstance> getHistoricProcessInstancesByStatusAndProcessDefinitionIds(JobStatusEnum jobStatus,
+        Collection<String> processDefinitionIds, DateTime startTime, DateTime endTime, int firstResult, int maxResults)
+    {
+        // The historic process instance query knows neither about a set of process definition IDs nor about the suspension state of the process instances, so
+        // use a native query to let the database apply all filters and skip straight to the requested page.
+        NativeHistoricProcessInstanceQuery query = activitiHistoryService.createNativeHistoricProcessInstanceQuery();
+
+        StringBuilder sql = new StringBuilder("SELECT RES.* FROM ").append(activitiManagementService.getTableName(HistoricProcessInstance.class));
+        sql.append(" RES WHERE ");
+        appendInCondition(sql, query, "RES.PROC_DEF_ID_", "processDefinitionId", processDefinitionIds);
+
+        if (JobStatusEnum.RUNNING.equals(jobStatus) || JobStatusEnum.SUSPENDED.equals(jobStatus))
+        {
+            // A running process instance has no active runtime execution in the suspended state, while a suspended process instance has one.
+            sql.append(" AND RES.END_TIME_ IS NULL AND ").append(JobStatusEnum.RUNNING.equals(jobStatus) ? "NOT " : "").append("EXISTS (SELECT 1 FROM ")
+                .append(activitiManagementService.getTableName(ProcessInstance.class))
+                .append(" E WHERE E.ID_ = RES.PROC_INST_ID_ AND E.SUSPENSION_STATE_ = #{suspensionState})");
+            query.parameter("suspensionState", SuspensionState.SUSPENDED.getStateCode());
+        }
+        else if (JobStatusEnum.COMPLETED.equals(jobStatus))
+        {
+            sql.append(" AND RES.END_TIME_ IS NOT NULL");
+        }
+
+        if (startTime != null)
+        {
+            sql.append(" AND RES.START_TIME_ >= #{startTime}");
+            query.parameter("startTime", startTime.toDate());
+        }
+
+        if (endTime != null)
+        {
+            sql.append(" AND RES.END_TIME_ <= #{endTime}");
+            query.parameter("endTime", endTime.toDate());
+        }
+
+        sql.append(" ORDER BY RES.ID_ ASC");
+
+        return query.sql(sql.toString()).listPage(firstResult, maxResults);
+    }
+
     @Override
     public long getHistoricProcessInstancesCountByStatusAndProcessDefinitionKeys(JobStatusEnum jobStatus, Collection<String> processDefinitionKeys,
         DateTime startTime, DateTime endTime)
@@ -231,6 +328,39 @@ public class ActivitiServiceImpl implements ActivitiService
         return query;
     }
 
+    /**
+     * Appends a condition that the column matches any of the specified values to the SQL of a native query and sets the parameter values on the query. The
+     * values are split into "in" clauses of at most {@link #MAX_IN_CLAUSE_SIZE} values joined by "or", since some databases limit the size of an "in" clause.
+     *
+     * @param sql the SQL of the native query
+     * @param query the native query
+     * @param columnName the column name
+     * @param parameterNamePrefix the prefix of the parameter names
+     * @param values the values, must not be empty
+     */
+    private void appendInCondition(StringBuilder sql, NativeQuery<?, ?> query, String columnName, String parameterNamePrefix, Collection<String> values)
+    {
+        sql.append('(');
+        int index = 0;
+        for (String value : values)
+        {
+            if (index % MAX_IN_CLAUSE_SIZE == 0)
+            {
+                sql.append(index > 0 ? ") OR " : "").append(columnName).append(" IN (");
+            }
+            else
+            {
+                sql.append(", ");
+            }
+
+            String parameterName = parameterNamePrefix + index;
+            sql.append("#{").append(parameterName).append('}');
+            query.parameter(parameterName, value);
+            index++;
+        }
+        sql.append("))");
+    }
+
     /**
      * Creates a HistoricProcessInstanceQuery in the given the start before time.
      *
@@ -17,10 +17,15 @@ package org.finra.herd.service.impl;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -503,7 +508,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             if (businessObjectFormatRecordCount == 0)
             {
                 return new BusinessObjectDataSearchResultPagingInfoDto(pageNum.longValue(), pageSize.longValue(), 0L, 0L, 0L, (long) maxResultsPerPage,
-                    new BusinessObjectDataSearchResult(new ArrayList<>()));
+                    new BusinessObjectDataSearchResult(new ArrayList<>(), null));
             }
 
             // Get partition keys from the list of partition value filters.
@@ -532,17 +537,20 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
                 String.format(" that have schema with partition columns matching \"%s\" partition key(s).", String.join(", ", partitionKeys)));
         }
 
-        // Get the total record count up to to the maximum allowed record count that is configured in the system plus one more record.
-        Integer totalRecordCount =
-            businessObjectDataDao.getBusinessObjectDataLimitedCountBySearchKey(businessObjectDataSearchKey, businessObjectDataSearchMaxResultCount + 1);
+        // Check whether to return the attributes that match the attribute value filters.
+        boolean includeAttributes = BooleanUtils.isNotFalse(businessObjectDataSearchRequest.isIncludeAttributes());
 
-        // Validate the total record count.
-        if (totalRecordCount > businessObjectDataSearchMaxResultCount)
+        // Use continuation token paging when a continuation token is specified.
+        if (businessObjectDataSearchRequest.getContinuationToken() != null)
         {
-            throw new IllegalArgumentException(
-                String.format("Result limit of %d exceeded. Modify filters to further limit results.", businessObjectDataSearchMaxResultCount));
+            return searchBusinessObjectDataByContinuationToken(businessObjectDataSearchKey, businessObjectDataSearchRequest.getContinuationToken(),
+                BooleanUtils.isTrue(businessObjectDataSearchRequest.isIncludeTotalRecordCount()), includeAttributes, pageSize, maxResultsPerPage,
+                rawSearchPageSize, businessObjectDataSearchMaxResultCount);
         }
 
+        // Get the total record count up to to the maximum allowed record count that is configured in the system plus one more record.
+        Integer totalRecordCount = getBusinessObjectDataSearchTotalRecordCount(businessObjectDataSearchKey, businessObjectDataSearchMaxResultCount);
+
         // Compute the number of records that we would need to skip due to page number and page size specified in the request.
         // Please note that page numbers are one-based.
         Integer numberOfRecordsToSkip = (pageNum - 1) * pageSize;
@@ -560,7 +568,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         // Otherwise, is latest valid filter is not enabled, execute the search without any special filtering on our side.
         else if (BooleanUtils.isNotTrue(businessObjectDataSearchKey.isFilterOnLatestValidVersion()))
         {
-            businessObjectDataList = businessObjectDataDao.searchBusinessObjectData(businessObjectDataSearchKey, pageNum, pageSize);
+            businessObjectDataList = businessObjectDataDao.searchBusinessObjectData(businessObjectDataSearchKey, pageNum, pageSize, includeAttributes);
         }
         // Execute search with filtering on the latest valid version for each set of partition values.
         // Please note that VALID status filtering is already done in the main search query.
@@ -579,7 +587,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             while (keepProcessing)
             {
                 List<BusinessObjectData> rawSearchBusinessObjectDataList =
-                    businessObjectDataDao.searchBusinessObjectData(businessObjectDataSearchKey, ++rawSearchPageNum, rawSearchPageSize);
+                    businessObjectDataDao.searchBusinessObjectData(businessObjectDataSearchKey, ++rawSearchPageNum, rawSearchPageSize, includeAttributes);
 
                 // Process the list of business object data search results to select the latest versions.
                 for (BusinessObjectData businessObjectData : rawSearchBusinessObjectDataList)
@@ -622,7 +630,126 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         // Build and return the business object data search result with the paging information.
         return new BusinessObjectDataSearchResultPagingInfoDto(pageNum.longValue(), pageSize.longValue(), (long) pageCount,
             (long) businessObjectDataList.size(), totalRecordCount.longValue(), (long) maxResultsPerPage,
-            new BusinessObjectDataSearchResult(businessObjectDataList));
+            new BusinessObjectDataSearchResult(businessObjectDataList, null));
+    }
+
+    /**
+     * Searches business object data using continuation token paging. Each page selects the business object data that follow the business object data
+     * identified by the continuation token in the keyset order instead of using a row offset.
+     *
+     * @param businessObjectDataSearchKey the business object data search key
+     * @param continuationToken the continuation token returned with the previous page, or an empty token to get the first page
+     * @param includeTotalRecordCount specifies whether to compute the total record count
+     * @param includeAttributes specifies whether to return the attributes that match the attribute value filters
+     * @param pageSize the page size
+     * @param maxResultsPerPage the maximum number of results that can be returned on any page of data
+     * @param rawSearchPageSize the maximum number of results selected at once when filtering in latest valid versions
+     * @param businessObjectDataSearchMaxResultCount the maximum record count allowed when the total record count is computed
+     *
+     * @return the business object data search result with the paging information
+     */
+    private BusinessObjectDataSearchResultPagingInfoDto searchBusinessObjectDataByContinuationToken(BusinessObjectDataSearchKey businessObjectDataSearchKey,
+        String continuationToken, boolean includeTotalRecordCount, boolean includeAttributes, int pageSize, int maxResultsPerPage, int rawSearchPageSize,
+        int businessObjectDataSearchMaxResultCount)
+    {
+        // Get the business object data returned last on the previous page, if any.
+        BusinessObjectData lastBusinessObjectData = businessObjectDataSearchHelper.getBusinessObjectDataFromContinuationToken(continuationToken);
+
+        // The total record count requires a separate query, so only get it when requested.
+        Long totalRecordCount = null;
+        Long pageCount = null;
+        if (includeTotalRecordCount)
+        {
+            int recordCount = getBusinessObjectDataSearchTotalRecordCount(businessObjectDataSearchKey, businessObjectDataSearchMaxResultCount);
+            totalRecordCount = (long) recordCount;
+            pageCount = (long) (recordCount / pageSize + (recordCount % pageSize > 0 ? 1 : 0));
+        }
+
+        List<BusinessObjectData> businessObjectDataList;
+        if (BooleanUtils.isNotTrue(businessObjectDataSearchKey.isFilterOnLatestValidVersion()))
+        {
+            businessObjectDataList =
+                businessObjectDataDao.searchBusinessObjectDataAfter(businessObjectDataSearchKey, lastBusinessObjectData, pageSize, includeAttributes);
+        }
+        // Execute search with filtering on the latest valid version for each set of partition values. All versions of the same business object data are
+        // adjacent in the keyset order with the latest version first, so a business object data is the latest valid version when its version-less alternate
+        // key differs from the one of the business object data selected before it. Please note that VALID status filtering is already done in the search query.
+        else
+        {
+            businessObjectDataList = new ArrayList<>();
+            List<String> lastAlternateKeyValues =
+                lastBusinessObjectData != null ? getBusinessObjectDataVersionLessAlternateKeyValues(lastBusinessObjectData) : null;
+
+            boolean keepProcessing = true;
+            BusinessObjectData lastRawSearchBusinessObjectData = lastBusinessObjectData;
+            while (keepProcessing)
+            {
+                List<BusinessObjectData> rawSearchBusinessObjectDataList = businessObjectDataDao
+                    .searchBusinessObjectDataAfter(businessObjectDataSearchKey, lastRawSearchBusinessObjectData, rawSearchPageSize, includeAttributes);
+
+                for (BusinessObjectData businessObjectData : rawSearchBusinessObjectDataList)
+                {
+                    List<String> alternateKeyValues = getBusinessObjectDataVersionLessAlternateKeyValues(businessObjectData);
+
+                    if (!alternateKeyValues.equals(lastAlternateKeyValues))
+                    {
+                        businessObjectDataList.add(businessObjectData);
+                        lastAlternateKeyValues = alternateKeyValues;
+
+                        // Check if we got enough latest valid versions.
+                        if (businessObjectDataList.size() == pageSize)
+                        {
+                            keepProcessing = false;
+                            break;
+                        }
+                    }
+                }
+
+                // Determine if we need to keep processing.
+                if (keepProcessing)
+                {
+                    keepProcessing = (rawSearchBusinessObjectDataList.size() == rawSearchPageSize);
+
+                    if (keepProcessing)
+                    {
+                        lastRawSearchBusinessObjectData = rawSearchBusinessObjectDataList.get(rawSearchBusinessObjectDataList.size() - 1);
+                    }
+                }
+            }
+        }
+
+        // A full page may be followed by more results, so return a continuation token that identifies the business object data returned last.
+        String nextContinuationToken = businessObjectDataList.size() == pageSize ?
+            businessObjectDataSearchHelper.getContinuationToken(businessObjectDataList.get(businessObjectDataList.size() - 1)) : null;
+
+        // Build and return the business object data search result with the paging information. Page numbers do not apply to continuation token paging.
+        return new BusinessObjectDataSearchResultPagingInfoDto(null, (long) pageSize, pageCount, (long) businessObjectDataList.size(), totalRecordCount,
+            (long) maxResultsPerPage, new BusinessObjectDataSearchResult(businessObjectDataList, nextContinuationToken));
+    }
+
+    /**
+     * Gets the total record count of the business object data search results and validates it against the maximum allowed record count.
+     *
+     * @param businessObjectDataSearchKey the business object data search key
+     * @param businessObjectDataSearchMaxResultCount the maximum allowed record count
+     *
+     * @return the total record count
+     */
+    private int getBusinessObjectDataSearchTotalRecordCount(BusinessObjectDataSearchKey businessObjectDataSearchKey,
+        int businessObjectDataSearchMaxResultCount)
+    {
+        // Get the total record count up to to the maximum allowed record count that is configured in the system plus one more record.
+        Integer totalRecordCount =
+            businessObjectDataDao.getBusinessObjectDataLimitedCountBySearchKey(businessObjectDataSearchKey, businessObjectDataSearchMaxResultCount + 1);
+
+        // Validate the total record count.
+        if (totalRecordCount > businessObjectDataSearchMaxResultCount)
+        {
+            throw new IllegalArgumentException(
+                String.format("Result limit of %d exceeded. Modify filters to further limit results.", businessObjectDataSearchMaxResultCount));
+        }
+
+        return totalRecordCount;
     }
 
     /**
@@ -788,11 +915,11 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         businessObjectDataAvailabilityCollectionResponse.setBusinessObjectDataAvailabilityResponses(businessObjectDataAvailabilityResponses);
         boolean isAllDataAvailable = true;
         boolean isAllDataNotAvailable = true;
-        for (BusinessObjectDataAvailabilityRequest request : businessObjectDataAvailabilityCollectionRequest.getBusinessObjectDataAvailabilityRequests())
+        // Please note that the individual availability requests are processed together as a batch, so the per-format cost is shared across the requests.
+        businessObjectDataAvailabilityResponses
+            .addAll(checkBusinessObjectDataAvailabilities(businessObjectDataAvailabilityCollectionRequest.getBusinessObjectDataAvailabilityRequests()));
+        for (BusinessObjectDataAvailability businessObjectDataAvailability : businessObjectDataAvailabilityResponses)
         {
-            // Please note that when calling to process individual availability requests, we ask to skip the request validation and trimming step.
-            BusinessObjectDataAvailability businessObjectDataAvailability = checkBusinessObjectDataAvailabilityImpl(request, true);
-            businessObjectDataAvailabilityResponses.add(businessObjectDataAvailability);
             isAllDataAvailable = isAllDataAvailable && businessObjectDataAvailability.getNotAvailableStatuses().isEmpty();
             isAllDataNotAvailable = isAllDataNotAvailable && businessObjectDataAvailability.getAvailableStatuses().isEmpty();
         }
@@ -1195,43 +1322,114 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     }
 
     /**
-     * Performs a search and returns a list of business object data key values and relative statuses for a range of requested business object data.
+     * Performs availability checks for a list of business object data availability requests. The business object format, storage and business object data
+     * status entities are retrieved only once per batch. The requests are grouped by the parameters of the storage unit queries, so the storage units for all
+     * requests in a group get selected together.
      *
-     * @param request the business object data availability request
-     * @param skipRequestValidation specifies whether to skip the request validation and trimming
+     * @param requests the list of business object data availability requests that are already validated and trimmed
      *
-     * @return the business object data availability information
+     * @return the list of business object data availability information listed in the order of the requests
      */
-    private BusinessObjectDataAvailability checkBusinessObjectDataAvailabilityImpl(BusinessObjectDataAvailabilityRequest request, boolean skipRequestValidation)
+    private List<BusinessObjectDataAvailability> checkBusinessObjectDataAvailabilities(List<BusinessObjectDataAvailabilityRequest> requests)
     {
-        // Perform the validation.
-        if (!skipRequestValidation)
+        // Cache the entities retrieved for the requests, since multiple requests may refer to the same business object format, storage, or status.
+        Map<BusinessObjectFormatKey, BusinessObjectFormatEntity> businessObjectFormatEntities = new HashMap<>();
+        Map<String, StorageEntity> storageEntities = new HashMap<>();
+        Map<String, BusinessObjectDataStatusEntity> businessObjectDataStatusEntities = new HashMap<>();
+
+        // Resolve all requests and group them by the storage unit query parameters. The linked hash map preserves the order of the requests.
+        List<BusinessObjectDataAvailabilityCheck> businessObjectDataAvailabilityChecks = new ArrayList<>();
+        Map<List<Object>, List<BusinessObjectDataAvailabilityCheck>> businessObjectDataAvailabilityCheckGroups = new LinkedHashMap<>();
+        for (BusinessObjectDataAvailabilityRequest request : requests)
         {
-            validateBusinessObjectDataAvailabilityRequest(request);
-        }
+            BusinessObjectDataAvailabilityCheck businessObjectDataAvailabilityCheck = new BusinessObjectDataAvailabilityCheck(request);
 
-        // Get business object format key from the request.
-        BusinessObjectFormatKey businessObjectFormatKey = getBusinessObjectFormatKey(request);
+            // Get business object format key from the request.
+            businessObjectDataAvailabilityCheck.businessObjectFormatKey = getBusinessObjectFormatKey(request);
 
-        // Make sure that specified business object format exists.
-        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoHelper.getBusinessObjectFormatEntity(businessObjectFormatKey);
+            // Make sure that specified business object format exists.
+            businessObjectDataAvailabilityCheck.businessObjectFormatEntity = businessObjectFormatEntities
+                .computeIfAbsent(businessObjectDataAvailabilityCheck.businessObjectFormatKey, businessObjectFormatDaoHelper::getBusinessObjectFormatEntity);
+
+            // Validate that all storage names specified in the request exist and build a list of the requested storage entities.
+            for (String storageName : getStorageNames(request))
+            {
+                businessObjectDataAvailabilityCheck.storageEntities.add(storageEntities.computeIfAbsent(storageName, storageDaoHelper::getStorageEntity));
+            }
 
-        // Validate that all storage names specified in the request exist and build a list of the requested storage entities.
-        List<StorageEntity> storageEntities = new ArrayList<>();
-        for (String storageName : getStorageNames(request))
+            // Get business object data status entity for available business object data as per optionally specified business object data status in the request.
+            businessObjectDataAvailabilityCheck.businessObjectDataStatusEntity = businessObjectDataStatusEntities
+                .computeIfAbsent(request.getBusinessObjectDataStatus(), businessObjectDataDaoHelper::getBusinessObjectStatusEntityForAvailableData);
+
+            // Build partition filters based on the specified partition value filters.
+            // Business object data availability works across all storage platform types, so the storage platform type is not specified in the call.
+            businessObjectDataAvailabilityCheck.partitionFilters = businessObjectDataDaoHelper
+                .buildPartitionFilters(request.getPartitionValueFilters(), request.getPartitionValueFilter(),
+                    businessObjectDataAvailabilityCheck.businessObjectFormatKey, request.getBusinessObjectDataVersion(),
+                    businessObjectDataAvailabilityCheck.businessObjectDataStatusEntity, businessObjectDataAvailabilityCheck.storageEntities, null, null,
+                    businessObjectDataAvailabilityCheck.businessObjectFormatEntity);
+
+            // Create business object data availability object instance and initialise it with request field values.
+            businessObjectDataAvailabilityCheck.businessObjectDataAvailability =
+                createBusinessObjectDataAvailability(request, businessObjectDataAvailabilityCheck.businessObjectDataStatusEntity);
+
+            // Group the requests that select storage units for the same business object format, versions, status and storage, where partition filters have
+            // the same partition levels specified, since only the partition filters are different in the storage unit queries for those requests.
+            List<Boolean> partitionFilterLevels = new ArrayList<>();
+            for (String partitionValue : businessObjectDataAvailabilityCheck.partitionFilters.get(0))
+            {
+                partitionFilterLevels.add(partitionValue != null);
+            }
+            List<Object> businessObjectDataAvailabilityCheckGroupKey =
+                Arrays.asList(businessObjectDataAvailabilityCheck.businessObjectFormatEntity.getBusinessObjectDefinition().getId(),
+                    businessObjectDataAvailabilityCheck.businessObjectFormatEntity.getUsage().toUpperCase(),
+                    businessObjectDataAvailabilityCheck.businessObjectFormatEntity.getFileType().getCode(),
+                    businessObjectDataAvailabilityCheck.businessObjectFormatKey.getBusinessObjectFormatVersion(), request.getBusinessObjectDataVersion(),
+                    businessObjectDataAvailabilityCheck.businessObjectDataStatusEntity.getCode(), getStorageNames(request), partitionFilterLevels);
+
+            businessObjectDataAvailabilityChecks.add(businessObjectDataAvailabilityCheck);
+            businessObjectDataAvailabilityCheckGroups.computeIfAbsent(businessObjectDataAvailabilityCheckGroupKey, key -> new ArrayList<>())
+                .add(businessObjectDataAvailabilityCheck);
+        }
+
+        // Perform the availability checks one group at a time.
+        for (List<BusinessObjectDataAvailabilityCheck> businessObjectDataAvailabilityCheckGroup : businessObjectDataAvailabilityCheckGroups.values())
         {
-            storageEntities.add(storageDaoHelper.getStorageEntity(storageName));
+            checkBusinessObjectDataAvailabilityGroup(businessObjectDataAvailabilityCheckGroup);
         }
 
-        // Get business object data status entity for available business object data as per optionally specified business object data status in the request.
-        BusinessObjectDataStatusEntity businessObjectDataStatusEntity =
-            businessObjectDataDaoHelper.getBusinessObjectStatusEntityForAvailableData(request.getBusinessObjectDataStatus());
+        // Return the availability information in the order of the requests.
+        List<BusinessObjectDataAvailability> businessObjectDataAvailabilities = new ArrayList<>();
+        for (BusinessObjectDataAvailabilityCheck businessObjectDataAvailabilityCheck : businessObjectDataAvailabilityChecks)
+        {
+            businessObjectDataAvailabilities.add(businessObjectDataAvailabilityCheck.businessObjectDataAvailability);
+        }
 
-        // Build partition filters based on the specified partition value filters.
-        // Business object data availability works across all storage platform types, so the storage platform type is not specified in the call.
-        List<List<String>> partitionFilters = businessObjectDataDaoHelper
-            .buildPartitionFilters(request.getPartitionValueFilters(), request.getPartitionValueFilter(), businessObjectFormatKey,
-                request.getBusinessObjectDataVersion(), businessObjectDataStatusEntity, storageEntities, null, null, businessObjectFormatEntity);
+        return businessObjectDataAvailabilities;
+    }
+
+    /**
+     * Performs availability checks for a group of business object data availability requests that only differ by their partition filters. The storage units
+     * are selected once for the union of the partition filters of all requests in the group and then distributed back to the requests per partition filter.
+     *
+     * @param businessObjectDataAvailabilityChecks the group of business object data availability checks
+     */
+    private void checkBusinessObjectDataAvailabilityGroup(List<BusinessObjectDataAvailabilityCheck> businessObjectDataAvailabilityChecks)
+    {
+        // Get the storage unit query parameters shared by all requests in the group.
+        BusinessObjectDataAvailabilityCheck firstBusinessObjectDataAvailabilityCheck = businessObjectDataAvailabilityChecks.get(0);
+        BusinessObjectFormatKey businessObjectFormatKey = firstBusinessObjectDataAvailabilityCheck.businessObjectFormatKey;
+        BusinessObjectFormatEntity businessObjectFormatEntity = firstBusinessObjectDataAvailabilityCheck.businessObjectFormatEntity;
+        Integer businessObjectDataVersion = firstBusinessObjectDataAvailabilityCheck.request.getBusinessObjectDataVersion();
+        List<StorageEntity> storageEntities = firstBusinessObjectDataAvailabilityCheck.storageEntities;
+        List<String> samplePartitionFilter = firstBusinessObjectDataAvailabilityCheck.partitionFilters.get(0);
+
+        // Build a union of the partition filters for all requests in the group.
+        Set<List<String>> partitionFilters = new LinkedHashSet<>();
+        for (BusinessObjectDataAvailabilityCheck businessObjectDataAvailabilityCheck : businessObjectDataAvailabilityChecks)
+        {
+            partitionFilters.addAll(businessObjectDataAvailabilityCheck.partitionFilters);
+        }
 
         // Retrieve a list of storage unit availability DTOs for the specified partition values. The list will be sorted by partition value that is identified
         // by partition column position. If a business object data version isn't specified, the latest business object data version as per business object data
@@ -1239,90 +1437,126 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         // storage unit DAO  call. We want to select only "available" storage units, so we pass "true" for selectOnlyAvailableStorageUnits parameter.
         List<StorageUnitAvailabilityDto> availableStorageUnitAvailabilityDtos = storageUnitDao
             .getStorageUnitsByPartitionFilters(businessObjectFormatEntity.getBusinessObjectDefinition(), businessObjectFormatKey.getBusinessObjectFormatUsage(),
-                businessObjectFormatEntity.getFileType(), businessObjectFormatKey.getBusinessObjectFormatVersion(), partitionFilters,
-                request.getBusinessObjectDataVersion(), businessObjectDataStatusEntity, storageEntities, null, null, true, null);
-
-        // Create business object data availability object instance and initialise it with request field values.
-        BusinessObjectDataAvailability businessObjectDataAvailability = createBusinessObjectDataAvailability(request, businessObjectDataStatusEntity);
-
-        // Create "available" and "not available" business object data status lists.
-        List<BusinessObjectDataStatus> availableStatuses = new ArrayList<>();
-        businessObjectDataAvailability.setAvailableStatuses(availableStatuses);
-        List<BusinessObjectDataStatus> notAvailableStatuses = new ArrayList<>();
-        businessObjectDataAvailability.setNotAvailableStatuses(notAvailableStatuses);
-
-        // Build a list of matched available partition filters and populate the available statuses list. Please note that each request partition filter
-        // might result in multiple available business object data entities. If storage names are not specified, fail on "duplicate" business object data
-        // (same business object data instance registered with multiple storage). Otherwise, remove possible "duplicates".
-        List<List<String>> matchedAvailablePartitionFilters = new ArrayList<>();
-        List<List<String>> availablePartitions = new ArrayList<>();
-        Map<BusinessObjectDataKey, StorageUnitAvailabilityDto> businessObjectDataToStorageUnitMap = new HashMap<>();
-        for (StorageUnitAvailabilityDto storageUnitAvailabilityDto : availableStorageUnitAvailabilityDtos)
-        {
-            BusinessObjectDataKey businessObjectDataKey = storageUnitAvailabilityDto.getBusinessObjectDataKey();
+                businessObjectFormatEntity.getFileType(), businessObjectFormatKey.getBusinessObjectFormatVersion(), new ArrayList<>(partitionFilters),
+                businessObjectDataVersion, firstBusinessObjectDataAvailabilityCheck.businessObjectDataStatusEntity, storageEntities, null, null, true, null);
+        List<List<String>> availableStorageUnitPartitionFilters = getPartitionFilters(availableStorageUnitAvailabilityDtos, samplePartitionFilter);
 
-            if (businessObjectDataToStorageUnitMap.containsKey(businessObjectDataKey))
+        // Populate the available statuses for each request in the group and collect the union of their unmatched partition filters.
+        Set<List<String>> unmatchedPartitionFilters = new LinkedHashSet<>();
+        for (BusinessObjectDataAvailabilityCheck businessObjectDataAvailabilityCheck : businessObjectDataAvailabilityChecks)
+        {
+            BusinessObjectDataAvailabilityRequest request = businessObjectDataAvailabilityCheck.request;
+            BusinessObjectDataAvailability businessObjectDataAvailability = businessObjectDataAvailabilityCheck.businessObjectDataAvailability;
+
+            // Create "available" and "not available" business object data status lists.
+            List<BusinessObjectDataStatus> availableStatuses = new ArrayList<>();
+            businessObjectDataAvailability.setAvailableStatuses(availableStatuses);
+            List<BusinessObjectDataStatus> notAvailableStatuses = new ArrayList<>();
+            businessObjectDataAvailability.setNotAvailableStatuses(notAvailableStatuses);
+
+            // Build a list of matched available partition filters and populate the available statuses list. Please note that each request partition filter
+            // might result in multiple available business object data entities. If storage names are not specified, fail on "duplicate" business object data
+            // (same business object data instance registered with multiple storage). Otherwise, remove possible "duplicates".
+            List<List<String>> matchedAvailablePartitionFilters = new ArrayList<>();
+            List<List<String>> availablePartitions = new ArrayList<>();
+            Map<BusinessObjectDataKey, StorageUnitAvailabilityDto> businessObjectDataToStorageUnitMap = new HashMap<>();
+            for (StorageUnitAvailabilityDto storageUnitAvailabilityDto : getStorageUnitAvailabilityDtos(availableStorageUnitAvailabilityDtos,
+                availableStorageUnitPartitionFilters, businessObjectDataAvailabilityCheck.partitionFilters))
             {
-                // If storage is not specified, fail on a business object data registered in multiple storage. Otherwise, ignore that storage unit.
-                if (CollectionUtils.isEmpty(storageEntities))
+                BusinessObjectDataKey businessObjectDataKey = storageUnitAvailabilityDto.getBusinessObjectDataKey();
+
+                if (businessObjectDataToStorageUnitMap.containsKey(businessObjectDataKey))
                 {
-                    throw new IllegalArgumentException(String.format("Found business object data registered in more than one storage. " +
-                            "Please specify storage(s) in the request to resolve this. Business object data {%s}",
-                        businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey)));
+                    // If storage is not specified, fail on a business object data registered in multiple storage. Otherwise, ignore that storage unit.
+                    if (CollectionUtils.isEmpty(storageEntities))
+                    {
+                        throw new IllegalArgumentException(String.format("Found business object data registered in more than one storage. " +
+                                "Please specify storage(s) in the request to resolve this. Business object data {%s}",
+                            businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey)));
+                    }
+                }
+                else
+                {
+                    matchedAvailablePartitionFilters.add(businessObjectDataHelper.getPartitionFilter(businessObjectDataKey, samplePartitionFilter));
+                    availablePartitions.add(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataKey));
+                    availableStatuses.add(createAvailableBusinessObjectDataStatus(storageUnitAvailabilityDto));
+                    businessObjectDataToStorageUnitMap.put(businessObjectDataKey, storageUnitAvailabilityDto);
                 }
             }
-            else
+
+            // Check if request specifies to include all registered sub-partitions in the response.
+            boolean includeAllRegisteredSubPartitions =
+                request.getBusinessObjectDataVersion() == null && BooleanUtils.isTrue(request.isIncludeAllRegisteredSubPartitions());
+
+            // If request specifies to include all registered sub-partitions in the response, query all
+            // matched partition filters one more time to discover any non-available registered sub-partitions.
+            if (includeAllRegisteredSubPartitions && !CollectionUtils.isEmpty(matchedAvailablePartitionFilters))
             {
-                matchedAvailablePartitionFilters.add(businessObjectDataHelper.getPartitionFilter(businessObjectDataKey, partitionFilters.get(0)));
-                availablePartitions.add(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataKey));
-                availableStatuses.add(createAvailableBusinessObjectDataStatus(storageUnitAvailabilityDto));
-                businessObjectDataToStorageUnitMap.put(businessObjectDataKey, storageUnitAvailabilityDto);
+                addNotAvailableBusinessObjectDataStatuses(notAvailableStatuses, businessObjectFormatEntity.getBusinessObjectDefinition(),
+                    businessObjectFormatKey.getBusinessObjectFormatUsage(), businessObjectFormatEntity.getFileType(),
+                    businessObjectFormatKey.getBusinessObjectFormatVersion(), matchedAvailablePartitionFilters, availablePartitions, storageEntities);
             }
-        }
-
-        // Check if request specifies to include all registered sub-partitions in the response.
-        boolean includeAllRegisteredSubPartitions =
-            request.getBusinessObjectDataVersion() == null && BooleanUtils.isTrue(request.isIncludeAllRegisteredSubPartitions());
 
-        // If request specifies to include all registered sub-partitions in the response, query all
-        // matched partition filters one more time to discover any non-available registered sub-partitions.
-        if (includeAllRegisteredSubPartitions && !CollectionUtils.isEmpty(matchedAvailablePartitionFilters))
-        {
-            addNotAvailableBusinessObjectDataStatuses(notAvailableStatuses, businessObjectFormatEntity.getBusinessObjectDefinition(),
-                businessObjectFormatKey.getBusinessObjectFormatUsage(), businessObjectFormatEntity.getFileType(),
-                businessObjectFormatKey.getBusinessObjectFormatVersion(), matchedAvailablePartitionFilters, availablePartitions, storageEntities);
+            // Get a list of unmatched partition filters.
+            businessObjectDataAvailabilityCheck.unmatchedPartitionFilters = new ArrayList<>(businessObjectDataAvailabilityCheck.partitionFilters);
+            businessObjectDataAvailabilityCheck.unmatchedPartitionFilters.removeAll(matchedAvailablePartitionFilters);
+            unmatchedPartitionFilters.addAll(businessObjectDataAvailabilityCheck.unmatchedPartitionFilters);
         }
 
-        // Get a list of unmatched partition filters.
-        List<List<String>> unmatchedPartitionFilters = new ArrayList<>(partitionFilters);
-        unmatchedPartitionFilters.removeAll(matchedAvailablePartitionFilters);
-
         // We still need to try to retrieve business object data per list of unmatched filters regardless of business object data and/or storage unit statuses.
         // This is done to populate not-available statuses with legitimate reasons.
         // Business object data availability works across all storage platform types, so the storage platform type is not specified in the herdDao call.
         // We want to select any existing storage units regardless of their status, so we pass "false" for selectOnlyAvailableStorageUnits parameter.
         List<StorageUnitAvailabilityDto> notAvailableStorageUnitAvailabilityDtos = storageUnitDao
             .getStorageUnitsByPartitionFilters(businessObjectFormatEntity.getBusinessObjectDefinition(), businessObjectFormatKey.getBusinessObjectFormatUsage(),
-                businessObjectFormatEntity.getFileType(), businessObjectFormatKey.getBusinessObjectFormatVersion(), unmatchedPartitionFilters,
-                request.getBusinessObjectDataVersion(), null, storageEntities, null, null, false, null);
+                businessObjectFormatEntity.getFileType(), businessObjectFormatKey.getBusinessObjectFormatVersion(), new ArrayList<>(unmatchedPartitionFilters),
+                businessObjectDataVersion, null, storageEntities, null, null, false, null);
+        List<List<String>> notAvailableStorageUnitPartitionFilters = getPartitionFilters(notAvailableStorageUnitAvailabilityDtos, samplePartitionFilter);
+
+        // Populate the not-available statuses for each request in the group.
+        for (BusinessObjectDataAvailabilityCheck businessObjectDataAvailabilityCheck : businessObjectDataAvailabilityChecks)
+        {
+            List<BusinessObjectDataStatus> notAvailableStatuses = businessObjectDataAvailabilityCheck.businessObjectDataAvailability.getNotAvailableStatuses();
+
+            // Populate the not-available statuses list.
+            List<StorageUnitAvailabilityDto> requestNotAvailableStorageUnitAvailabilityDtos =
+                getStorageUnitAvailabilityDtos(notAvailableStorageUnitAvailabilityDtos, notAvailableStorageUnitPartitionFilters,
+                    businessObjectDataAvailabilityCheck.unmatchedPartitionFilters);
+            addNotAvailableBusinessObjectDataStatuses(notAvailableStatuses, requestNotAvailableStorageUnitAvailabilityDtos);
 
-        // Populate the not-available statuses list.
-        addNotAvailableBusinessObjectDataStatuses(notAvailableStatuses, notAvailableStorageUnitAvailabilityDtos);
+            // Build a list of matched "not-available" partition filters.
+            // Please note that each request partition filter might result in multiple available business object data entities.
+            List<List<String>> matchedNotAvailablePartitionFilters = getPartitionFilters(requestNotAvailableStorageUnitAvailabilityDtos, samplePartitionFilter);
 
-        // Build a list of matched "not-available" partition filters.
-        // Please note that each request partition filter might result in multiple available business object data entities.
-        List<List<String>> matchedNotAvailablePartitionFilters = getPartitionFilters(notAvailableStorageUnitAvailabilityDtos, partitionFilters.get(0));
+            // Update the list of unmatched partition filters.
+            businessObjectDataAvailabilityCheck.unmatchedPartitionFilters.removeAll(matchedNotAvailablePartitionFilters);
 
-        // Update the list of unmatched partition filters.
-        unmatchedPartitionFilters.removeAll(matchedNotAvailablePartitionFilters);
+            // Populate the "not available" statuses per remaining unmatched filters.
+            for (List<String> unmatchedPartitionFilter : businessObjectDataAvailabilityCheck.unmatchedPartitionFilters)
+            {
+                notAvailableStatuses.add(createNotAvailableBusinessObjectDataStatus(businessObjectDataAvailabilityCheck.request, unmatchedPartitionFilter));
+            }
+        }
+    }
 
-        // Populate the "not available" statuses per remaining unmatched filters.
-        for (List<String> unmatchedPartitionFilter : unmatchedPartitionFilters)
+    /**
+     * Performs a search and returns a list of business object data key values and relative statuses for a range of requested business object data.
+     *
+     * @param request the business object data availability request
+     * @param skipRequestValidation specifies whether to skip the request validation and trimming
+     *
+     * @return the business object data availability information
+     */
+    private BusinessObjectDataAvailability checkBusinessObjectDataAvailabilityImpl(BusinessObjectDataAvailabilityRequest request, boolean skipRequestValidation)
+    {
+        // Perform the validation.
+        if (!skipRequestValidation)
         {
-            notAvailableStatuses.add(createNotAvailableBusinessObjectDataStatus(request, unmatchedPartitionFilter));
+            validateBusinessObjectDataAvailabilityRequest(request);
         }
 
-        return businessObjectDataAvailability;
+        // Perform the availability check as a batch of one request.
+        return checkBusinessObjectDataAvailabilities(Collections.singletonList(request)).get(0);
     }
 
     /**
@@ -1612,6 +1846,32 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return storageNames;
     }
 
+    /**
+     * Gets storage unit availability DTOs that match any of the specified partition filters.
+     *
+     * @param storageUnitAvailabilityDtos the list of storage unit availability DTOs
+     * @param storageUnitPartitionFilters the list of partition filters matched by the storage unit availability DTOs, listed in the same order as the DTOs
+     * @param partitionFilters the list of partition filters to match
+     *
+     * @return the list of matching storage unit availability DTOs listed in their original order
+     */
+    private List<StorageUnitAvailabilityDto> getStorageUnitAvailabilityDtos(List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtos,
+        List<List<String>> storageUnitPartitionFilters, List<List<String>> partitionFilters)
+    {
+        Set<List<String>> partitionFilterSet = new HashSet<>(partitionFilters);
+        List<StorageUnitAvailabilityDto> matchingStorageUnitAvailabilityDtos = new ArrayList<>();
+
+        for (int i = 0; i < storageUnitAvailabilityDtos.size(); i++)
+        {
+            if (partitionFilterSet.contains(storageUnitPartitionFilters.get(i)))
+            {
+                matchingStorageUnitAvailabilityDtos.add(storageUnitAvailabilityDtos.get(i));
+            }
+        }
+
+        return matchingStorageUnitAvailabilityDtos;
+    }
+
     /**
      * Replaces all null values in the specified list with empty strings.
      *
@@ -1855,4 +2115,31 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             }
         }
     }
+
+    /**
+     * Holds the state of an availability check performed for a single business object data availability request within a batch.
+     */
+    private static class BusinessObjectDataAvailabilityCheck
+    {
+        private final BusinessObjectDataAvailabilityRequest request;
+
+        private BusinessObjectFormatKey businessObjectFormatKey;
+
+        private BusinessObjectFormatEntity businessObjectFormatEntity;
+
+        private final List<StorageEntity> storageEntities = new ArrayList<>();
+
+        private BusinessObjectDataStatusEntity businessObjectDataStatusEntity;
+
+        private List<List<String>> partitionFilters;
+
+        private List<List<String>> unmatchedPartitionFilters;
+
+        private BusinessObjectDataAvailability businessObjectDataAvailability;
+
+        private BusinessObjectDataAvailabilityCheck(BusinessObjectDataAvailabilityRequest request)
+        {
+            this.request = request;
+        }
+    }
 }
@@ -16,6 +16,7 @@
 package org.finra.herd.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -339,8 +340,8 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
         // Get storage files already registered with the storage unit.
         List<String> registeredStorageFilePaths = new ArrayList<>(alreadyRegisteredStorageFiles.keySet());
 
-        // Check if request contains any of the already registered files.
-        registeredStorageFilePaths.retainAll(requestStorageFilePaths);
+        // Check if request contains any of the already registered files. Use a hash set, so the check does not depend on the number of request files.
+        registeredStorageFilePaths.retainAll(new HashSet<>(requestStorageFilePaths));
         if (!CollectionUtils.isEmpty(registeredStorageFilePaths))
         {
             // Throw an exception reporting the information on the "already registered" storage file.
@@ -367,11 +368,8 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
                     validateFileSize);
             }
 
-            // Validate each storage file listed in the request.
-            for (StorageFile storageFile : storageFiles)
-            {
-                storageFileHelper.validateStorageFile(storageFile, params.getS3BucketName(), actualS3Keys, validateFileSize);
-            }
+            // Validate all storage files listed in the request.
+            storageFileHelper.validateStorageFiles(storageFiles, params, actualS3Keys, validateFileSize);
         }
     }
 
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableSet;
 import org.apache.commons.collections4.CollectionUtils;
@@ -27,13 +28,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.IndexSearchDao;
 import org.finra.herd.dao.helper.ElasticsearchHelper;
 import org.finra.herd.model.api.xml.IndexSearchFilter;
 import org.finra.herd.model.api.xml.IndexSearchRequest;
 import org.finra.herd.model.api.xml.IndexSearchResponse;
+import org.finra.herd.model.api.xml.IndexSearchResult;
 import org.finra.herd.model.api.xml.IndexSearchResultTypeKey;
 import org.finra.herd.model.api.xml.TagKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.SearchIndexTypeEntity;
 import org.finra.herd.model.jpa.TagEntity;
 import org.finra.herd.service.FacetFieldValidationService;
@@ -75,6 +79,9 @@ public class IndexSearchServiceImpl implements IndexSearchService, SearchableSer
     @Autowired
     private AlternateKeyHelper alternateKeyHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private IndexSearchDao indexSearchDao;
 
@@ -118,6 +125,52 @@ public class IndexSearchServiceImpl implements IndexSearchService, SearchableSer
         return indexSearchDao.indexSearch(request, fields, match, bdefActiveIndex, tagActiveIndex);
     }
 
+    @Override
+    public long exportIndexSearchResults(final IndexSearchRequest request, final Set<String> fields, final Set<String> match,
+        final Consumer<IndexSearchResult> indexSearchResultConsumer)
+    {
+        // Validate the search response fields
+        validateSearchResponseFields(fields);
+
+        // Validate the search response match
+        validateSearchMatchFields(match);
+
+        // Validate the search request
+        validateIndexSearchRequest(request);
+
+        // Facets are not computed when exporting the index search results
+        request.setFacetFields(null);
+
+        // Walk the index search results using the largest allowed page size unless a page size is specified in the request
+        if (request.getPageSize() == null)
+        {
+            request.setPageSize(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_INDEX_SEARCH_MAX_PAGE_SIZE, Integer.class));
+        }
+
+        // Fetch the current active indexes once, so all pages are read from the same indexes
+        String bdefActiveIndex = searchIndexDaoHelper.getActiveSearchIndex(SearchIndexTypeEntity.SearchIndexTypes.BUS_OBJCT_DFNTN.name());
+        String tagActiveIndex = searchIndexDaoHelper.getActiveSearchIndex(SearchIndexTypeEntity.SearchIndexTypes.TAG.name());
+
+        // Pass the index search results to the consumer one page at a time, following the search after cursor until the last page is reached
+        long indexSearchResultCount = 0;
+        IndexSearchResponse indexSearchResponse;
+        do
+        {
+            indexSearchResponse = indexSearchDao.indexSearch(request, fields, match, bdefActiveIndex, tagActiveIndex);
+
+            if (CollectionUtils.isNotEmpty(indexSearchResponse.getIndexSearchResults()))
+            {
+                indexSearchResponse.getIndexSearchResults().forEach(indexSearchResultConsumer);
+                indexSearchResultCount += indexSearchResponse.getIndexSearchResults().size();
+            }
+
+            request.setSearchAfter(indexSearchResponse.getNextSearchAfter());
+        }
+        while (indexSearchResponse.getNextSearchAfter() != null);
+
+        return indexSearchResultCount;
+    }
+
     /**
      * Private method to validate the index search request.
      *
@@ -139,6 +192,20 @@ public class IndexSearchServiceImpl implements IndexSearchService, SearchableSer
         {
             validateIndexSearchFilters(request.getIndexSearchFilters());
         }
+
+        // Validate the page size if specified in the request
+        if (request.getPageSize() != null)
+        {
+            int maxPageSize = configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_INDEX_SEARCH_MAX_PAGE_SIZE, Integer.class);
+            Assert.isTrue(request.getPageSize() > 0, "A page size greater than 0 must be specified.");
+            Assert.isTrue(request.getPageSize() <= maxPageSize, String.format("A page size less than or equal to %d must be specified.", maxPageSize));
+        }
+
+        // Trim the search after cursor if specified in the request
+        if (request.getSearchAfter() != null)
+        {
+            request.setSearchAfter(request.getSearchAfter().trim());
+        }
     }
 
     /**
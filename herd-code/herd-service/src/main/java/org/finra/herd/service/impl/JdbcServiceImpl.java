@@ -20,15 +20,21 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.DataSource;
 
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -50,6 +56,7 @@ import org.finra.herd.model.api.xml.S3PropertiesLocation;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.service.JdbcService;
+import org.finra.herd.service.helper.JdbcDataSourceHelper;
 import org.finra.herd.service.helper.StorageHelper;
 import org.finra.herd.service.helper.VelocityHelper;
 
@@ -70,6 +77,9 @@ public class JdbcServiceImpl implements JdbcService
     @Autowired
     private JdbcDao jdbcDao;
 
+    @Autowired
+    private JdbcDataSourceHelper jdbcDataSourceHelper;
+
     @Autowired
     private S3Dao s3Dao;
 
@@ -80,12 +90,19 @@ public class JdbcServiceImpl implements JdbcService
     private VelocityHelper velocityHelper;
 
     /**
-     * This implementation uses a {@link DriverManagerDataSource} and {@link DefaultTransactionDefinition}. It suspends the existing transaction and purposely
-     * runs this logic in "no transaction" to ensure we don't create a connection that would potentially become idle while all JDBC tasks execute. If the
-     * underlying connection pool has an abandoned connection timeout, it would reclaim and close the connection. Then when all the JDBC tasks below finish,
-     * this transaction would try to commit and would generate a "commit failed" exception because the connection is already closed. This approach is fine since
-     * we are not actually doing any "herd" DB operations below. When all the below JDBC operations are finished, nothing would happen here except the callers
-     * transaction would pick up where it left off which would be needed to write workflow variables, etc.
+     * The task executor shared by all requests to execute their statements in parallel.
+     */
+    @Autowired
+    @Qualifier("jdbcStatementTaskExecutor")
+    private AsyncTaskExecutor jdbcStatementTaskExecutor;
+
+    /**
+     * This implementation uses a pooled data source from {@link JdbcDataSourceHelper} and {@link DefaultTransactionDefinition}. It suspends the existing
+     * transaction and purposely runs this logic in "no transaction" to ensure we don't create a connection that would potentially become idle while all JDBC
+     * tasks execute. If the underlying connection pool has an abandoned connection timeout, it would reclaim and close the connection. Then when all the JDBC
+     * tasks below finish, this transaction would try to commit and would generate a "commit failed" exception because the connection is already closed. This
+     * approach is fine since we are not actually doing any "herd" DB operations below. When all the below JDBC operations are finished, nothing would happen
+     * here except the callers transaction would pick up where it left off which would be needed to write workflow variables, etc.
      */
     @Override
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
@@ -95,7 +112,7 @@ public class JdbcServiceImpl implements JdbcService
     }
 
     /**
-     * This implementation uses a {@link DriverManagerDataSource}. Uses existing Spring ORM transaction.
+     * This implementation uses a pooled data source from {@link JdbcDataSourceHelper}. Uses existing Spring ORM transaction.
      *
      * @param jdbcExecutionRequest JDBC execution request
      *
@@ -109,15 +126,24 @@ public class JdbcServiceImpl implements JdbcService
         S3PropertiesLocation s3PropertiesLocation = jdbcExecutionRequest.getS3PropertiesLocation();
         Map<String, Object> variables = getVariablesFromS3(s3PropertiesLocation);
 
-        // Create data source
-        DataSource dataSource = createDataSource(jdbcExecutionRequest.getConnection(), variables);
+        // Acquire data source
+        DataSource dataSource = acquireDataSource(jdbcExecutionRequest.getConnection(), variables);
 
-        // Execute the requested statements
-        List<JdbcStatement> requestJdbcStatements = jdbcExecutionRequest.getStatements();
-        List<JdbcStatement> responseJdbcStatements = executeStatements(requestJdbcStatements, dataSource, variables);
+        try
+        {
+            // Execute the requested statements
+            List<JdbcStatement> requestJdbcStatements = jdbcExecutionRequest.getStatements();
+            List<JdbcStatement> responseJdbcStatements = executeStatements(requestJdbcStatements, dataSource, variables,
+                BooleanUtils.isTrue(jdbcExecutionRequest.isExecuteStatementsInParallel()));
 
-        // Create and return the execution result
-        return new JdbcExecutionResponse(null, responseJdbcStatements);
+            // Create and return the execution result
+            return new JdbcExecutionResponse(null, responseJdbcStatements);
+        }
+        finally
+        {
+            // Release the data source, so its connection pool may be closed once it is no longer used.
+            jdbcDataSourceHelper.releaseDataSource(dataSource);
+        }
     }
 
     /**
@@ -236,15 +262,17 @@ public class JdbcServiceImpl implements JdbcService
     }
 
     /**
-     * Executes the requested statements in order. Returns the result of the execution.
+     * Executes the requested statements in order, or concurrently when the statements are independent of each other. Returns the result of the execution.
      *
      * @param requestJdbcStatements the list of statements to execute, in order
      * @param dataSource the data source
      * @param variables the mapping of variables
+     * @param executeStatementsInParallel specifies whether to execute the statements concurrently
      *
      * @return List of response {@link JdbcStatement}
      */
-    private List<JdbcStatement> executeStatements(List<JdbcStatement> requestJdbcStatements, DataSource dataSource, Map<String, Object> variables)
+    private List<JdbcStatement> executeStatements(List<JdbcStatement> requestJdbcStatements, DataSource dataSource, Map<String, Object> variables,
+        boolean executeStatementsInParallel)
     {
         List<JdbcStatement> responseJdbcStatements = new ArrayList<>();
 
@@ -261,6 +289,13 @@ public class JdbcServiceImpl implements JdbcService
         // We will reuse this template for all executions
         JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
 
+        // Execute independent statements concurrently, if requested.
+        if (executeStatementsInParallel && responseJdbcStatements.size() > 1)
+        {
+            executeStatementsInParallel(jdbcTemplate, responseJdbcStatements, variables);
+            return responseJdbcStatements;
+        }
+
         /*
          * Execute each statement.
          * If there were any errors, and continueOnError is not TRUE, then the execution will stop.
@@ -280,6 +315,77 @@ public class JdbcServiceImpl implements JdbcService
         return responseJdbcStatements;
     }
 
+    /**
+     * Executes the given statements concurrently on the shared task executor. A permit is taken before each statement is submitted, so no more than the
+     * configured maximum number of statements of this request are executed at a time, and a single request can not take over the shared threads. If a
+     * statement fails and continueOnError is not TRUE, the statements that have not started yet will remain in their SKIPPED status.
+     *
+     * @param jdbcTemplate the JDBC template
+     * @param jdbcStatements the list of response statements to execute
+     * @param variables the mapping of variables
+     */
+    private void executeStatementsInParallel(final JdbcTemplate jdbcTemplate, List<JdbcStatement> jdbcStatements, final Map<String, Object> variables)
+    {
+        final Semaphore permits =
+            new Semaphore(Math.max(1, configurationHelper.getProperty(ConfigurationValue.JDBC_STATEMENTS_MAX_PARALLELISM, Integer.class)));
+        final AtomicBoolean stopped = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            for (int i = 0; i < jdbcStatements.size() && !stopped.get(); i++)
+            {
+                final JdbcStatement jdbcStatement = jdbcStatements.get(i);
+                final int jdbcStatementIndex = i;
+                permits.acquire();
+                futures.add(jdbcStatementTaskExecutor.submit(() -> {
+                    try
+                    {
+                        if (!stopped.get())
+                        {
+                            executeStatement(jdbcTemplate, jdbcStatement, variables, jdbcStatementIndex);
+
+                            if (JdbcStatementStatus.ERROR.equals(jdbcStatement.getStatus()) && !Boolean.TRUE.equals(jdbcStatement.isContinueOnError()))
+                            {
+                                stopped.set(true);
+                            }
+                        }
+                    }
+                    finally
+                    {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while executing JDBC statements.", e);
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        finally
+        {
+            // Cancel the statements that are still pending, so they do not hold the shared threads once this request is done.
+            for (Future<?> future : futures)
+            {
+                future.cancel(true);
+            }
+        }
+    }
+
     /**
      * Executes a single statement using the given JDBC template. The given statement will be updated with the result and status.
      *
@@ -401,14 +507,15 @@ public class JdbcServiceImpl implements JdbcService
     }
 
     /**
-     * Creates and returns a new data source from the given connection information. Creates a new {@link DriverManagerDataSource}.
+     * Acquires a data source for the given connection information. The data source is pooled per URL, user name and password, so the connections get reused
+     * across requests. The acquired data source must be released using {@link JdbcDataSourceHelper#releaseDataSource(DataSource)}.
      *
      * @param jdbcConnection the JDBC connection
      * @param variables the optional map of key-value for expression evaluation
      *
-     * @return a new {@link DataSource}
+     * @return the {@link DataSource}
      */
-    private DataSource createDataSource(JdbcConnection jdbcConnection, Map<String, Object> variables)
+    private DataSource acquireDataSource(JdbcConnection jdbcConnection, Map<String, Object> variables)
     {
         String url = evaluate(jdbcConnection.getUrl(), variables, "jdbc connection url");
         String username = evaluate(jdbcConnection.getUsername(), variables, "jdbc connection username");
@@ -416,12 +523,7 @@ public class JdbcServiceImpl implements JdbcService
 
         validateUrl(url);
 
-        DriverManagerDataSource driverManagerDataSource = new DriverManagerDataSource();
-        driverManagerDataSource.setUrl(url);
-        driverManagerDataSource.setUsername(username);
-        driverManagerDataSource.setPassword(password);
-        driverManagerDataSource.setDriverClassName(getDriverClassName(jdbcConnection.getDatabaseType()));
-        return driverManagerDataSource;
+        return jdbcDataSourceHelper.acquireDataSource(getDriverClassName(jdbcConnection.getDatabaseType()), url, username, password);
     }
 
     /**
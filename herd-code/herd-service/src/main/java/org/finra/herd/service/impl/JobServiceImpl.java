@@ -70,6 +70,7 @@ import org.finra.herd.model.api.xml.WorkflowError;
 import org.finra.herd.model.api.xml.WorkflowStep;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.JobDefinitionAlternateKeyDto;
+import org.finra.herd.model.dto.JobSummariesPagingInfoDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.jpa.JobDefinitionEntity;
 import org.finra.herd.model.jpa.JobDefinitionParameterEntity;
@@ -234,11 +235,30 @@ public class JobServiceImpl implements JobService
 
     @Override
     public JobSummaries getJobs(String namespace, String jobName, JobStatusEnum jobStatus, DateTime startTime, DateTime endTime) throws Exception
+    {
+        return getJobs(namespace, jobName, jobStatus, startTime, endTime, null, null).getJobSummaries();
+    }
+
+    @Override
+    public JobSummariesPagingInfoDto getJobs(String namespace, String jobName, JobStatusEnum jobStatus, DateTime startTime, DateTime endTime, Integer pageNum,
+        Integer pageSize) throws Exception
     {
         // Trim the parameters.
         String namespaceTrimmed = namespace == null ? null : namespace.trim();
         String jobNameTrimmed = jobName == null ? null : jobName.trim();
 
+        // When neither the page number nor the page size is specified, all matching jobs are returned in a single page.
+        boolean pagingRequested = pageNum != null || pageSize != null;
+
+        // Validate the page number and page size. The maximum number of results allowed is also the maximum page size.
+        Integer maxResultsPerPage = null;
+        if (pagingRequested)
+        {
+            maxResultsPerPage = herdStringHelper.getConfigurationValueAsInteger(ConfigurationValue.JOBS_QUERY_MAX_RESULTS);
+            pageNum = validatePagingParameter("pageNum", pageNum, 1, Integer.MAX_VALUE);
+            pageSize = validatePagingParameter("pageSize", pageSize, maxResultsPerPage, maxResultsPerPage);
+        }
+
         // Construct the list of job summaries to return.
         JobSummaries jobSummaries = new JobSummaries();
 
@@ -289,11 +309,36 @@ public class JobServiceImpl implements JobService
                     processDefinitionIdToKeyMap.put(processDefinition.getId(), processDefinition.getKey());
                 }
 
-                List<HistoricProcessInstance> historicProcessInstances =
-                    getHistoricProcessInstances(processDefinitionIdToKeyMap.values(), jobStatus, startTime, endTime);
+                // Select the process instances to return and collect the IDs of the suspended ones.
+                List<HistoricProcessInstance> historicProcessInstances;
+                Set<String> suspendedProcessInstanceIds = new HashSet<>();
+                if (pagingRequested)
+                {
+                    // The query filters by the job status and the current process definition versions, so the page can be read directly at its offset.
+                    long firstResult = (long) (pageNum - 1) * pageSize;
+                    historicProcessInstances = firstResult > Integer.MAX_VALUE ? new ArrayList<>() : activitiService
+                        .getHistoricProcessInstancesByStatusAndProcessDefinitionIds(jobStatus, processDefinitionIdToKeyMap.keySet(), startTime, endTime,
+                            (int) firstResult, pageSize);
+                    suspendedProcessInstanceIds.addAll(getSuspendedProcessInstanceIds(historicProcessInstances));
+                }
+                else
+                {
+                    historicProcessInstances = selectHistoricProcessInstances(
+                        getHistoricProcessInstances(processDefinitionIdToKeyMap.values(), jobStatus, startTime, endTime), processDefinitionIdToKeyMap,
+                        jobStatus, suspendedProcessInstanceIds);
+                }
 
-                // Get a set of all runtime suspended process instance ids.
-                Set<String> suspendedProcessInstanceIds = getSuspendedProcessInstanceIds();
+                // Get the counts of jobs with exceptions for the unfinished process instances being listed.
+                Set<String> unfinishedProcessInstanceIds = new HashSet<>();
+                for (HistoricProcessInstance historicProcessInstance : historicProcessInstances)
+                {
+                    if (historicProcessInstance.getEndTime() == null)
+                    {
+                        unfinishedProcessInstanceIds.add(historicProcessInstance.getId());
+                    }
+                }
+                Map<String, Long> jobsWithExceptionCounts = unfinishedProcessInstanceIds.isEmpty() ? new HashMap<>() :
+                    activitiService.getJobsWithExceptionCountsByProcessInstanceIds(unfinishedProcessInstanceIds);
 
                 // Compile the Regex pattern.
                 Pattern pattern = jobDefinitionHelper.getNamespaceAndJobNameRegexPattern();
@@ -301,57 +346,52 @@ public class JobServiceImpl implements JobService
                 // Loop over the process instances and build a list of job summaries to return.
                 for (HistoricProcessInstance historicProcessInstance : historicProcessInstances)
                 {
-                    // Exclude all process instances started using older versions of the process definition.
-                    if (processDefinitionIdToKeyMap.containsKey(historicProcessInstance.getProcessDefinitionId()))
+                    // Create a new job summary.
+                    JobSummary jobSummary = new JobSummary();
+                    jobSummary.setId(historicProcessInstance.getId());
+
+                    // Get the job definition key.
+                    JobDefinitionAlternateKeyDto jobDefinitionKey =
+                        jobDefinitionHelper.getJobDefinitionKey(processDefinitionIdToKeyMap.get(historicProcessInstance.getProcessDefinitionId()), pattern);
+
+                    // Set the namespace and job name on the job summary.
+                    jobSummary.setNamespace(jobDefinitionKey.getNamespace());
+                    jobSummary.setJobName(jobDefinitionKey.getJobName());
+
+                    // Set the start time always since all jobs will have a start time.
+                    jobSummary.setStartTime(HerdDateUtils.getXMLGregorianCalendarValue(historicProcessInstance.getStartTime()));
+
+                    if (historicProcessInstance.getEndTime() == null)
                     {
-                        // Set a flag if this job is SUSPENDED.
-                        boolean suspended = suspendedProcessInstanceIds.contains(historicProcessInstance.getId());
-
-                        // If the job status filter is specified to select only RUNNING or SUSPENDED process instances,
-                        // exclude the relative process instances from the result. This check is needed, since
-                        // getHistoricProcessInstances() returns both RUNNING and SUSPENDED process instances.
-                        if (!(JobStatusEnum.SUSPENDED.equals(jobStatus) && !suspended) && !(JobStatusEnum.RUNNING.equals(jobStatus) && suspended))
-                        {
-                            // Create a new job summary.
-                            JobSummary jobSummary = new JobSummary();
-                            jobSummary.setId(historicProcessInstance.getId());
-
-                            // Get the job definition key.
-                            JobDefinitionAlternateKeyDto jobDefinitionKey = jobDefinitionHelper
-                                .getJobDefinitionKey(processDefinitionIdToKeyMap.get(historicProcessInstance.getProcessDefinitionId()), pattern);
-
-                            // Set the namespace and job name on the job summary.
-                            jobSummary.setNamespace(jobDefinitionKey.getNamespace());
-                            jobSummary.setJobName(jobDefinitionKey.getJobName());
-
-                            // Set the start time always since all jobs will have a start time.
-                            jobSummary.setStartTime(HerdDateUtils.getXMLGregorianCalendarValue(historicProcessInstance.getStartTime()));
-
-                            if (historicProcessInstance.getEndTime() == null)
-                            {
-                                // Since there is no end time, the job is running or suspended.
-                                jobSummary.setStatus(suspended ? JobStatusEnum.SUSPENDED : JobStatusEnum.RUNNING);
-
-                                // If the end time is null, then determine the status based on the presence of any exceptions.
-                                jobSummary.setTotalExceptions(activitiService.getJobsWithExceptionCountByProcessInstanceId(historicProcessInstance.getId()));
-                            }
-                            else
-                            {
-                                // If the end time is set, then the job has finished so set the end time and the status to completed.
-                                jobSummary.setEndTime(HerdDateUtils.getXMLGregorianCalendarValue(historicProcessInstance.getEndTime()));
-                                jobSummary.setStatus(JobStatusEnum.COMPLETED);
-                            }
-
-                            // Add the new summary to the list.
-                            jobSummaries.getJobSummaries().add(jobSummary);
-                        }
+                        // Since there is no end time, the job is running or suspended.
+                        jobSummary.setStatus(
+                            suspendedProcessInstanceIds.contains(historicProcessInstance.getId()) ? JobStatusEnum.SUSPENDED : JobStatusEnum.RUNNING);
+
+                        // If the end time is null, then determine the status based on the presence of any exceptions.
+                        Long jobsWithExceptionCount = jobsWithExceptionCounts.get(historicProcessInstance.getId());
+                        jobSummary.setTotalExceptions(jobsWithExceptionCount == null ? 0 : jobsWithExceptionCount);
+                    }
+                    else
+                    {
+                        // If the end time is set, then the job has finished so set the end time and the status to completed.
+                        jobSummary.setEndTime(HerdDateUtils.getXMLGregorianCalendarValue(historicProcessInstance.getEndTime()));
+                        jobSummary.setStatus(JobStatusEnum.COMPLETED);
                     }
+
+                    // Add the new summary to the list.
+                    jobSummaries.getJobSummaries().add(jobSummary);
                 }
             }
         }
 
-        // Return the list of job summaries.
-        return jobSummaries;
+        // Return the list of job summaries along with the paging information. The total record count is not known without scanning all matching jobs.
+        long totalRecordsOnPage = jobSummaries.getJobSummaries().size();
+        if (pagingRequested)
+        {
+            return new JobSummariesPagingInfoDto(pageNum.longValue(), pageSize.longValue(), null, totalRecordsOnPage, null, maxResultsPerPage.longValue(),
+                jobSummaries);
+        }
+        return new JobSummariesPagingInfoDto(null, null, null, totalRecordsOnPage, null, null, jobSummaries);
     }
 
     @Override
@@ -367,8 +407,8 @@ public class JobServiceImpl implements JobService
         List<HistoricProcessInstance> historicProcessInstances =
             activitiService.getUnfinishedHistoricProcessInstancesByStartBeforeTime(startBeforeTime);
 
-        // Get a set of all runtime suspended process instance ids.
-        Set<String> suspendedProcessInstanceIds = getSuspendedProcessInstanceIds();
+        // Get a set of the runtime suspended process instance ids among the selected process instances.
+        Set<String> suspendedProcessInstanceIds = getSuspendedProcessInstanceIds(historicProcessInstances);
 
         // Loop over the process instances and build a list of job summaries to return.
         for (HistoricProcessInstance historicProcessInstance : historicProcessInstances)
@@ -789,22 +829,92 @@ public class JobServiceImpl implements JobService
     }
 
     /**
-     * Gets a set of all currently suspended runtime process instance ids.
+     * Gets a set of the currently suspended runtime process instance ids among the specified process instances. Only the unfinished process instances are
+     * looked up, since a finished process instance cannot be suspended.
+     *
+     * @param historicProcessInstances the list of historic process instances
      *
      * @return the set of currently suspended process instance ids
      */
-    private Set<String> getSuspendedProcessInstanceIds()
+    private Set<String> getSuspendedProcessInstanceIds(List<HistoricProcessInstance> historicProcessInstances)
     {
-        Set<String> suspendedProcessInstanceIds = new HashSet<>();
+        Set<String> unfinishedProcessInstanceIds = new HashSet<>();
+        for (HistoricProcessInstance historicProcessInstance : historicProcessInstances)
+        {
+            if (historicProcessInstance.getEndTime() == null)
+            {
+                unfinishedProcessInstanceIds.add(historicProcessInstance.getId());
+            }
+        }
 
-        for (ProcessInstance suspendedProcessInstance : activitiService.getSuspendedProcessInstances())
+        Set<String> suspendedProcessInstanceIds = new HashSet<>();
+        if (!unfinishedProcessInstanceIds.isEmpty())
         {
-            suspendedProcessInstanceIds.add(suspendedProcessInstance.getId());
+            for (ProcessInstance suspendedProcessInstance : activitiService.getSuspendedProcessInstancesByProcessInstanceIds(unfinishedProcessInstanceIds))
+            {
+                suspendedProcessInstanceIds.add(suspendedProcessInstance.getId());
+            }
         }
 
         return suspendedProcessInstanceIds;
     }
 
+    /**
+     * Selects the historic process instances that were started using the current versions of the process definitions and that match the RUNNING or SUSPENDED
+     * job status filter. The status check is needed, since the historic process instance query returns both RUNNING and SUSPENDED process instances.
+     *
+     * @param historicProcessInstances the list of historic process instances to select from
+     * @param processDefinitionIdToKeyMap the map of the current process definition IDs to their keys
+     * @param jobStatus an optional job status
+     * @param suspendedProcessInstanceIds the set to add the IDs of the suspended process instances to
+     *
+     * @return the list of selected historic process instances
+     */
+    private List<HistoricProcessInstance> selectHistoricProcessInstances(List<HistoricProcessInstance> historicProcessInstances,
+        Map<String, String> processDefinitionIdToKeyMap, JobStatusEnum jobStatus, Set<String> suspendedProcessInstanceIds)
+    {
+        suspendedProcessInstanceIds.addAll(getSuspendedProcessInstanceIds(historicProcessInstances));
+
+        List<HistoricProcessInstance> selectedHistoricProcessInstances = new ArrayList<>();
+        for (HistoricProcessInstance historicProcessInstance : historicProcessInstances)
+        {
+            // Exclude all process instances started using older versions of the process definition.
+            if (processDefinitionIdToKeyMap.containsKey(historicProcessInstance.getProcessDefinitionId()))
+            {
+                boolean suspended = suspendedProcessInstanceIds.contains(historicProcessInstance.getId());
+                if (!(JobStatusEnum.SUSPENDED.equals(jobStatus) && !suspended) && !(JobStatusEnum.RUNNING.equals(jobStatus) && suspended))
+                {
+                    selectedHistoricProcessInstances.add(historicProcessInstance);
+                }
+            }
+        }
+
+        return selectedHistoricProcessInstances;
+    }
+
+    /**
+     * Validates a paging parameter of the job listing.
+     *
+     * @param parameterName the name of the parameter
+     * @param parameterValue the parameter value, may be null
+     * @param defaultParameterValue the default parameter value
+     * @param maxParameterValue the maximum allowed parameter value
+     *
+     * @return the validated parameter value
+     */
+    private Integer validatePagingParameter(String parameterName, Integer parameterValue, Integer defaultParameterValue, Integer maxParameterValue)
+    {
+        if (parameterValue == null)
+        {
+            return defaultParameterValue;
+        }
+
+        Assert.isTrue(parameterValue > 0, String.format("A %s greater than 0 must be specified.", parameterName));
+        Assert.isTrue(parameterValue <= maxParameterValue, String.format("A %s less than %d must be specified.", parameterName, maxParameterValue));
+
+        return parameterValue;
+    }
+
     /**
      * Populates the job Object with workflow xml.
      *
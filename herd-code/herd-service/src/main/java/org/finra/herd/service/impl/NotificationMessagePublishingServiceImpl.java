@@ -16,15 +16,24 @@
 package org.finra.herd.service.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import com.amazonaws.services.sns.model.PublishResult;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +44,7 @@ import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JsonHelper;
+import org.finra.herd.model.dto.AwsParamsDto;
 import org.finra.herd.model.dto.MessageHeader;
 import org.finra.herd.model.dto.NotificationMessage;
 import org.finra.herd.model.jpa.MessageTypeEntity;
@@ -69,6 +79,13 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
     @Autowired
     private SqsDao sqsDao;
 
+    /**
+     * The task executor shared by all callers to publish notification messages to SNS topics.
+     */
+    @Autowired
+    @Qualifier("snsPublishTaskExecutor")
+    private AsyncTaskExecutor snsPublishTaskExecutor;
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -93,6 +110,18 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         publishNotificationMessageImpl(notificationMessage);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation executes non-transactionally, suspends the current transaction if one exists.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<NotificationMessage> publishNotificationMessages(List<NotificationMessage> notificationMessages)
+    {
+        return publishNotificationMessagesImpl(notificationMessages);
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -105,6 +134,24 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         return publishOldestNotificationMessageFromDatabaseQueueImpl();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int publishOldestNotificationMessagesFromDatabaseQueue(int maxMessages)
+    {
+        return publishOldestNotificationMessagesFromDatabaseQueueImpl(maxMessages);
+    }
+
+    @Override
+    public long getNotificationMessageDatabaseQueueSize()
+    {
+        return notificationMessageDao.getNotificationMessageCount();
+    }
+
     /**
      * Adds a notification message to the database queue.
      *
@@ -178,12 +225,62 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         }
     }
 
+    /**
+     * Publishes a list of notification messages. The SQS messages are grouped by destination queue and sent using batch requests, while the SNS messages are
+     * published in parallel using a bounded number of threads.
+     *
+     * @param notificationMessages the list of notification messages
+     *
+     * @return the list of notification messages that failed to publish
+     */
+    protected List<NotificationMessage> publishNotificationMessagesImpl(List<NotificationMessage> notificationMessages)
+    {
+        List<NotificationMessage> failedNotificationMessages = new ArrayList<>();
+
+        // Group the SQS messages by destination queue, keeping the original order of messages within each queue.
+        Map<String, List<NotificationMessage>> sqsNotificationMessages = new LinkedHashMap<>();
+        List<NotificationMessage> snsNotificationMessages = new ArrayList<>();
+        for (NotificationMessage notificationMessage : notificationMessages)
+        {
+            if (notificationMessage.getMessageType().equals(MessageTypeEntity.MessageEventTypes.SQS.name()))
+            {
+                sqsNotificationMessages.computeIfAbsent(notificationMessage.getMessageDestination(), queueName -> new ArrayList<>()).add(notificationMessage);
+            }
+            else if (notificationMessage.getMessageType().equals(MessageTypeEntity.MessageEventTypes.SNS.name()))
+            {
+                snsNotificationMessages.add(notificationMessage);
+            }
+            else
+            {
+                LOGGER.error("Failed to publish notification message. Notification message type \"{}\" is not supported. messageDestination=\"{}\"",
+                    notificationMessage.getMessageType(), notificationMessage.getMessageDestination());
+                failedNotificationMessages.add(notificationMessage);
+            }
+        }
+
+        AwsParamsDto awsParamsDto = awsHelper.getAwsParamsDto();
+
+        for (Map.Entry<String, List<NotificationMessage>> entry : sqsNotificationMessages.entrySet())
+        {
+            failedNotificationMessages.addAll(sendSqsNotificationMessages(awsParamsDto, entry.getKey(), entry.getValue()));
+        }
+
+        if (!snsNotificationMessages.isEmpty())
+        {
+            failedNotificationMessages.addAll(publishSnsNotificationMessages(awsParamsDto, snsNotificationMessages));
+        }
+
+        LOGGER.info("Published notification messages. messageCount={} sqsQueueCount={} snsMessageCount={} failedMessageCount={}", notificationMessages.size(),
+            sqsNotificationMessages.size(), snsNotificationMessages.size(), failedNotificationMessages.size());
+
+        return failedNotificationMessages;
+    }
+
     /**
      * Publishes and removes from the database queue the oldest notification message.
      *
      * @return true if notification message was successfully published and false otherwise
      */
-    @SuppressWarnings("unchecked")
     protected boolean publishOldestNotificationMessageFromDatabaseQueueImpl()
     {
         // Initialize the result flag to false.
@@ -195,27 +292,8 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         // If message is retrieved, publish and remove it from the queue.
         if (notificationMessageEntity != null)
         {
-            // Get the message headers from the entity.
-            List<MessageHeader> messageHeaders = null;
-            if (StringUtils.isNotBlank(notificationMessageEntity.getMessageHeaders()))
-            {
-                try
-                {
-                    messageHeaders = jsonHelper.unmarshallJsonToListOfObjects(MessageHeader.class, notificationMessageEntity.getMessageHeaders());
-                }
-                catch (IOException e)
-                {
-                    throw new IllegalStateException(String.format("Failed to unmarshall notification message headers. " +
-                        "messageId=%d messageType=%s messageDestination=%s messageText=%s messageHeaders=%s", notificationMessageEntity.getId(),
-                        notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
-                        notificationMessageEntity.getMessageText(), notificationMessageEntity.getMessageHeaders()), e);
-                }
-            }
-
             // Publish notification message.
-            publishNotificationMessageImpl(
-                new NotificationMessage(notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
-                    notificationMessageEntity.getMessageText(), messageHeaders));
+            publishNotificationMessageImpl(getNotificationMessage(notificationMessageEntity));
 
             // Delete this message from the queue.
             notificationMessageDao.delete(notificationMessageEntity);
@@ -226,4 +304,197 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
 
         return result;
     }
+
+    /**
+     * Publishes and removes from the database queue up to the specified number of the oldest notification messages.
+     *
+     * @param maxMessages the maximum number of notification messages to publish
+     *
+     * @return the number of notification messages that were successfully published and removed from the database queue
+     */
+    protected int publishOldestNotificationMessagesFromDatabaseQueueImpl(int maxMessages)
+    {
+        // Claim the oldest notification messages from the database queue. The claimed messages stay locked until the end of the current transaction.
+        List<NotificationMessageEntity> notificationMessageEntities = notificationMessageDao.getOldestNotificationMessagesForUpdate(maxMessages);
+
+        // Publish the claimed messages in order, stopping at the first failure, so the failed message and all newer messages stay in the queue.
+        List<Long> publishedNotificationMessageIds = new ArrayList<>();
+        try
+        {
+            for (NotificationMessageEntity notificationMessageEntity : notificationMessageEntities)
+            {
+                publishNotificationMessageImpl(getNotificationMessage(notificationMessageEntity));
+                publishedNotificationMessageIds.add(notificationMessageEntity.getId());
+            }
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Failed to publish a notification message from the database queue. claimedMessageCount={} publishedMessageCount={}",
+                notificationMessageEntities.size(), publishedNotificationMessageIds.size(), e);
+        }
+
+        // Delete all successfully published messages from the queue using a single statement.
+        notificationMessageDao.deleteNotificationMessages(publishedNotificationMessageIds);
+
+        return publishedNotificationMessageIds.size();
+    }
+
+    /**
+     * Creates a notification message from the specified notification message entity.
+     *
+     * @param notificationMessageEntity the notification message entity
+     *
+     * @return the notification message
+     */
+    @SuppressWarnings("unchecked")
+    private NotificationMessage getNotificationMessage(NotificationMessageEntity notificationMessageEntity)
+    {
+        // Get the message headers from the entity.
+        List<MessageHeader> messageHeaders = null;
+        if (StringUtils.isNotBlank(notificationMessageEntity.getMessageHeaders()))
+        {
+            try
+            {
+                messageHeaders = jsonHelper.unmarshallJsonToListOfObjects(MessageHeader.class, notificationMessageEntity.getMessageHeaders());
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException(String.format("Failed to unmarshall notification message headers. " +
+                    "messageId=%d messageType=%s messageDestination=%s messageText=%s messageHeaders=%s", notificationMessageEntity.getId(),
+                    notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
+                    notificationMessageEntity.getMessageText(), notificationMessageEntity.getMessageHeaders()), e);
+            }
+        }
+
+        return new NotificationMessage(notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
+            notificationMessageEntity.getMessageText(), messageHeaders);
+    }
+
+    /**
+     * Sends notification messages to the specified SQS queue using batch requests.
+     *
+     * @param awsParamsDto the AWS related parameters
+     * @param queueName the name of the SQS queue
+     * @param notificationMessages the list of notification messages to send to the queue
+     *
+     * @return the list of notification messages that failed to publish
+     */
+    private List<NotificationMessage> sendSqsNotificationMessages(AwsParamsDto awsParamsDto, String queueName, List<NotificationMessage> notificationMessages)
+    {
+        List<String> messageTexts = new ArrayList<>();
+        List<List<MessageHeader>> messageHeaders = new ArrayList<>();
+        for (NotificationMessage notificationMessage : notificationMessages)
+        {
+            messageTexts.add(notificationMessage.getMessageText());
+            messageHeaders.add(notificationMessage.getMessageHeaders());
+        }
+
+        SendMessageBatchResult sendMessageBatchResult;
+        try
+        {
+            sendMessageBatchResult = sqsDao.sendMessageBatch(awsParamsDto, queueName, messageTexts, messageHeaders);
+        }
+        catch (RuntimeException e)
+        {
+            // Batch requests that fail with an exception are reported as failed entries, so an exception here means that no message got sent at all.
+            LOGGER.error("Failed to publish SQS notification messages to \"{}\" destination. messageCount={}", queueName, notificationMessages.size(), e);
+            return notificationMessages;
+        }
+
+        // Batch result entries are identified by the index of the relative message.
+        List<NotificationMessage> failedNotificationMessages = new ArrayList<>();
+        for (BatchResultErrorEntry batchResultErrorEntry : sendMessageBatchResult.getFailed())
+        {
+            NotificationMessage notificationMessage = notificationMessages.get(Integer.parseInt(batchResultErrorEntry.getId()));
+            LOGGER.error("Failed to publish SQS notification message to \"{}\" destination. errorCode=\"{}\" errorMessage=\"{}\" messageText={}", queueName,
+                batchResultErrorEntry.getCode(), batchResultErrorEntry.getMessage(), notificationMessage.getMessageText());
+            failedNotificationMessages.add(notificationMessage);
+        }
+
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug("Published SQS notification messages. messageDestination=\"{}\" messageTexts={} messageHeaders={} sendMessageBatchResult={}",
+                queueName, jsonHelper.objectToJson(messageTexts), jsonHelper.objectToJson(messageHeaders), jsonHelper.objectToJson(sendMessageBatchResult));
+        }
+
+        return failedNotificationMessages;
+    }
+
+    /**
+     * Publishes notification messages to SNS topics in parallel using the shared, bounded task executor.
+     *
+     * @param awsParamsDto the AWS related parameters
+     * @param notificationMessages the list of notification messages to publish
+     *
+     * @return the list of notification messages that failed to publish
+     */
+    private List<NotificationMessage> publishSnsNotificationMessages(AwsParamsDto awsParamsDto, List<NotificationMessage> notificationMessages)
+    {
+        List<Future<Boolean>> futures = new ArrayList<>();
+        List<NotificationMessage> failedNotificationMessages = new ArrayList<>();
+        try
+        {
+            for (NotificationMessage notificationMessage : notificationMessages)
+            {
+                futures.add(snsPublishTaskExecutor.submit(() -> publishSnsNotificationMessage(awsParamsDto, notificationMessage)));
+            }
+
+            for (int i = 0; i < notificationMessages.size(); i++)
+            {
+                if (!futures.get(i).get())
+                {
+                    failedNotificationMessages.add(notificationMessages.get(i));
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing SNS notification messages.", e);
+        }
+        catch (ExecutionException e)
+        {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return failedNotificationMessages;
+    }
+
+    /**
+     * Publishes a notification message to an SNS topic, logging any errors.
+     *
+     * @param awsParamsDto the AWS related parameters
+     * @param notificationMessage the notification message
+     *
+     * @return true if the notification message was successfully published and false otherwise
+     */
+    private boolean publishSnsNotificationMessage(AwsParamsDto awsParamsDto, NotificationMessage notificationMessage)
+    {
+        try
+        {
+            PublishResult publishResult = snsDao.publish(awsParamsDto, notificationMessage.getMessageDestination(), notificationMessage.getMessageText(),
+                notificationMessage.getMessageHeaders());
+
+            if (LOGGER.isDebugEnabled())
+            {
+                LOGGER.debug("Published SNS notification message. messageDestination=\"{}\" messageText={} messageHeaders={} publishResult={}",
+                    notificationMessage.getMessageDestination(), notificationMessage.getMessageText(),
+                    jsonHelper.objectToJson(notificationMessage.getMessageHeaders()), jsonHelper.objectToJson(publishResult));
+            }
+
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Failed to publish SNS notification message to \"{}\" destination. messageText={}", notificationMessage.getMessageDestination(),
+                notificationMessage.getMessageText(), e);
+            return false;
+        }
+    }
 }
@@ -16,10 +16,15 @@
 package org.finra.herd.service.impl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.Tag;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
+import com.google.common.util.concurrent.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,6 +52,12 @@ public class S3ServiceImpl implements S3Service
     @Autowired
     private S3Dao s3Dao;
 
+    @Override
+    public void abortMultipartUpload(S3FileTransferRequestParamsDto params, String uploadId)
+    {
+        s3Dao.abortMultipartUpload(params, uploadId);
+    }
+
     @Override
     public S3FileTransferResultsDto copyFile(S3FileCopyRequestParamsDto params) throws InterruptedException
     {
@@ -102,6 +113,18 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.downloadFile(params);
     }
 
+    @Override
+    public S3FileTransferResultsDto downloadFileRange(S3FileTransferRequestParamsDto params, long firstByte, long lastByte, RateLimiter rateLimiter)
+    {
+        return s3Dao.downloadFileRange(params, firstByte, lastByte, rateLimiter);
+    }
+
+    @Override
+    public Map<String, ObjectMetadata> getObjectMetadata(S3FileTransferRequestParamsDto params, List<String> s3Keys)
+    {
+        return s3Dao.getObjectMetadata(params, s3Keys);
+    }
+
     @Override
     public List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto params)
     {
@@ -153,6 +176,13 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.uploadFile(params);
     }
 
+    @Override
+    public S3FileTransferResultsDto uploadFile(S3FileTransferRequestParamsDto params, PersistableUpload persistableUpload,
+        Consumer<PersistableUpload> persistableUploadListener) throws InterruptedException
+    {
+        return s3Dao.uploadFile(params, persistableUpload, persistableUploadListener);
+    }
+
     @Override
     public S3FileTransferResultsDto uploadFileList(S3FileTransferRequestParamsDto params) throws InterruptedException
     {
@@ -15,10 +15,15 @@
 */
 package org.finra.herd.service.impl;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Future;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,11 +32,15 @@ import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import org.finra.herd.core.HerdDateUtils;
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.IndexFunctionsDao;
 import org.finra.herd.dao.TagDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.dao.exception.ElasticsearchRestClientException;
 import org.finra.herd.model.api.xml.SearchIndexKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
 import org.finra.herd.model.jpa.SearchIndexStatusEntity;
 import org.finra.herd.model.jpa.TagEntity;
@@ -54,6 +63,9 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
     @Autowired
     private BusinessObjectDefinitionDao businessObjectDefinitionDao;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
 
@@ -73,6 +85,9 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
     @Async
     public Future<Void> indexAllBusinessObjectDefinitions(SearchIndexKey searchIndexKey)
     {
+        // Create a bulk index document batch that accumulates JSON documents and sends them to the search index in size and byte bounded bulk requests.
+        BulkIndexDocumentBatch bulkIndexDocumentBatch = createBulkIndexDocumentBatch(searchIndexKey.getSearchIndexName());
+
         // Index all business object definitions defined in the system using pagination.
         int startPosition = 0;
         int processedBusinessObjectDefinitionsCount = 0;
@@ -80,10 +95,13 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
         while ((businessObjectDefinitionEntities =
             businessObjectDefinitionDao.getAllBusinessObjectDefinitions(startPosition, BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE)).size() > 0)
         {
-            // Index business object definitions selected for processing.
+            // Convert business object definitions selected for processing to JSON documents and add them to the bulk index document batch.
             businessObjectDefinitionHelper
                 .executeFunctionForBusinessObjectDefinitionEntities(searchIndexKey.getSearchIndexName(), businessObjectDefinitionEntities,
-                    indexFunctionsDao::createIndexDocument);
+                    bulkIndexDocumentBatch::addDocument);
+
+            // Detach the processed business object definitions, so the persistence context does not grow with the size of the catalog.
+            businessObjectDefinitionEntities.forEach(businessObjectDefinitionDao::detach);
 
             // Increment the offset.
             startPosition += BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
@@ -92,6 +110,9 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
             processedBusinessObjectDefinitionsCount += businessObjectDefinitionEntities.size();
         }
 
+        // Send the remaining documents to the search index.
+        bulkIndexDocumentBatch.flush();
+
         // Perform a simple count validation, index size should equal entity list size.
         validateSearchIndexSize(searchIndexKey.getSearchIndexName(), processedBusinessObjectDefinitionsCount);
 
@@ -110,8 +131,14 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
         // Get a list of all tags
         final List<TagEntity> tagEntities = Collections.unmodifiableList(tagDao.getTags());
 
+        // Create a bulk index document batch that accumulates JSON documents and sends them to the search index in size and byte bounded bulk requests.
+        BulkIndexDocumentBatch bulkIndexDocumentBatch = createBulkIndexDocumentBatch(searchIndexKey.getSearchIndexName());
+
         // Index all tags.
-        tagHelper.executeFunctionForTagEntities(searchIndexKey.getSearchIndexName(), tagEntities, indexFunctionsDao::createIndexDocument);
+        tagHelper.executeFunctionForTagEntities(searchIndexKey.getSearchIndexName(), tagEntities, bulkIndexDocumentBatch::addDocument);
+
+        // Send the remaining documents to the search index.
+        bulkIndexDocumentBatch.flush();
 
         // Simple count validation, index size should equal entity list size.
         validateSearchIndexSize(searchIndexKey.getSearchIndexName(), tagEntities.size());
@@ -124,6 +151,20 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
         return new AsyncResult<>(null);
     }
 
+    /**
+     * Creates a bulk index document batch for the specified search index using the configured bulk request limits.
+     *
+     * @param indexName the name of the index
+     *
+     * @return the bulk index document batch
+     */
+    protected BulkIndexDocumentBatch createBulkIndexDocumentBatch(String indexName)
+    {
+        return new BulkIndexDocumentBatch(indexName, configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_DOCUMENTS, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_BYTES, Integer.class),
+            configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_ATTEMPTS, Integer.class));
+    }
+
     /**
      * Performs a simple count validation on the specified search index.
      *
@@ -145,4 +186,139 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
 
         return result;
     }
+
+    /**
+     * Accumulates JSON documents for a search index and sends them to the search index as bulk requests once either the document count or the total document
+     * size limit is reached. A failed bulk request is retried up to the configured number of attempts. Progress is logged after each bulk request.
+     */
+    protected class BulkIndexDocumentBatch
+    {
+        private final String indexName;
+
+        private final int maxDocuments;
+
+        private final long maxBytes;
+
+        private final int maxAttempts;
+
+        private Map<String, String> documentMap = new LinkedHashMap<>();
+
+        private long documentMapBytes;
+
+        private long indexedDocumentsCount;
+
+        private long indexedBytesCount;
+
+        private int bulkRequestsCount;
+
+        private final long startTimeMillis = System.currentTimeMillis();
+
+        BulkIndexDocumentBatch(String indexName, int maxDocuments, long maxBytes, int maxAttempts)
+        {
+            this.indexName = indexName;
+            this.maxDocuments = Math.max(maxDocuments, 1);
+            this.maxBytes = Math.max(maxBytes, 1);
+            this.maxAttempts = Math.max(maxAttempts, 1);
+        }
+
+        /**
+         * Adds a document to the batch. The batch is sent to the search index first if the new document would exceed the byte limit, and after the document
+         * is added if the document count limit is reached. The index name parameter is ignored, since the batch is bound to a single index, but it allows
+         * this method to be used as a search index function.
+         *
+         * @param indexName the name of the index
+         * @param id the document id
+         * @param json the document as a JSON string
+         */
+        void addDocument(String indexName, String id, String json)
+        {
+            long documentBytes = json.getBytes(StandardCharsets.UTF_8).length;
+
+            if (!documentMap.isEmpty() && documentMapBytes + documentBytes > maxBytes)
+            {
+                flush();
+            }
+
+            documentMap.put(id, json);
+            documentMapBytes += documentBytes;
+
+            if (documentMap.size() >= maxDocuments)
+            {
+                flush();
+            }
+        }
+
+        /**
+         * Sends all accumulated documents to the search index as a single bulk request. The documents are written directly to the index, since a new index
+         * is not reachable through its alias until it is fully built. Documents that the search index rejects are sent again in a new bulk request, and the
+         * rebuild fails if any document is still rejected after the configured number of attempts.
+         */
+        void flush()
+        {
+            if (documentMap.isEmpty())
+            {
+                return;
+            }
+
+            Map<String, String> pendingDocumentMap = documentMap;
+
+            for (int attempt = 1; ; attempt++)
+            {
+                Set<String> failedDocumentIds;
+
+                try
+                {
+                    failedDocumentIds = indexFunctionsDao.bulkIndexDocuments(indexName, pendingDocumentMap);
+                }
+                catch (ElasticsearchRestClientException elasticsearchRestClientException)
+                {
+                    if (attempt >= maxAttempts)
+                    {
+                        throw elasticsearchRestClientException;
+                    }
+
+                    LOGGER.warn("Bulk index request failed, retrying. indexName=\"{}\" documentCount={} attempt={} maxAttempts={}", indexName,
+                        pendingDocumentMap.size(), attempt, maxAttempts, elasticsearchRestClientException);
+                    continue;
+                }
+
+                if (CollectionUtils.isEmpty(failedDocumentIds))
+                {
+                    break;
+                }
+
+                if (attempt >= maxAttempts)
+                {
+                    throw new IllegalStateException(
+                        String.format("Failed to index %d document(s) into \"%s\" search index after %d attempt(s). Failed document ids: %s",
+                            failedDocumentIds.size(), indexName, attempt, failedDocumentIds));
+                }
+
+                LOGGER.warn("Bulk index request had failed documents, retrying them. indexName=\"{}\" failedDocumentCount={} attempt={} maxAttempts={}",
+                    indexName, failedDocumentIds.size(), attempt, maxAttempts);
+
+                // Only send the rejected documents again.
+                Map<String, String> failedDocumentMap = new LinkedHashMap<>();
+                for (String failedDocumentId : failedDocumentIds)
+                {
+                    if (pendingDocumentMap.containsKey(failedDocumentId))
+                    {
+                        failedDocumentMap.put(failedDocumentId, pendingDocumentMap.get(failedDocumentId));
+                    }
+                }
+                pendingDocumentMap = failedDocumentMap;
+            }
+
+            bulkRequestsCount++;
+            indexedDocumentsCount += documentMap.size();
+            indexedBytesCount += documentMapBytes;
+            documentMap = new LinkedHashMap<>();
+            documentMapBytes = 0;
+
+            long elapsedTimeMillis = Math.max(System.currentTimeMillis() - startTimeMillis, 1);
+            LOGGER.info("Bulk indexed documents. indexName=\"{}\" bulkRequestsCount={} indexedDocumentsCount={} indexedBytesCount={} elapsedTime=\"{}\" " +
+                    "documentsPerSecond={}", indexName, bulkRequestsCount, indexedDocumentsCount, indexedBytesCount,
+                HerdDateUtils.formatDuration(elapsedTimeMillis), indexedDocumentsCount * 1000 / elapsedTimeMillis);
+        }
+    }
 }
@@ -18,14 +18,19 @@ package org.finra.herd.service.impl;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +42,7 @@ import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.BusinessObjectDataDao;
 import org.finra.herd.dao.HerdDao;
 import org.finra.herd.dao.SqsDao;
+import org.finra.herd.dao.StoragePolicyDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.HerdStringHelper;
@@ -44,6 +50,7 @@ import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.StoragePolicyKey;
 import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.BusinessObjectDataStoragePolicyMatch;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.dto.StoragePolicySelection;
@@ -97,12 +104,19 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
     @Autowired
     private SqsDao sqsDao;
 
+    @Autowired
+    private StoragePolicyDao storagePolicyDao;
+
     @Override
     public List<StoragePolicySelection> execute(String sqsQueueName, int maxResult)
     {
-        // Create a result map. We use the map here to prevent duplicate selection of business object data entities.
-        // Please note that we use linked has map here in order to preserve the order of selections.
-        Map<BusinessObjectDataEntity, StoragePolicySelection> storagePolicySelectionMap = new LinkedHashMap<>();
+        // Create a result list along with a set of ids of business object data that got selected. The set is used to prevent duplicate selection of business
+        // object data across the scans.
+        List<StoragePolicySelection> storagePolicySelections = new ArrayList<>();
+        Set<Long> selectedBusinessObjectDataIds = new HashSet<>();
+
+        // Keep the storage policy entities loaded so far by their ids, since the same storage policies match many business object data.
+        Map<Long, StoragePolicyEntity> storagePolicyEntities = new HashMap<>();
 
         // Get the current timestamp from the database.
         Timestamp currentTimestamp = herdDao.getCurrentTimestamp();
@@ -123,167 +137,226 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
         // the current database timestamp and the threshold value configured in the system.
         Timestamp updatedOnThresholdTimestamp = HerdDateUtils.addDays(currentTimestamp, -updatedOnThresholdInDays);
 
-        // First, we want to process all storage policies level by level that are configured to ignore latest valid versions. This is done, in order for the
-        // regular policies, possibly from the same priority level, to still be able to select the latest valid business object data entities that got selected
-        // for rule checking by the policies that that are configured to ignore latest valid versions. The second scan is for all policies that are not
-        // configured to ignore latest valid versions.
+        // First, we want to process all storage policies that are configured to ignore latest valid versions. This is done, in order for the regular
+        // policies, possibly from the same priority level, to still be able to select the latest valid business object data entities that got selected for
+        // rule checking by the policies that that are configured to ignore latest valid versions. The second scan is for all policies that are not configured
+        // to ignore latest valid versions.
         for (Boolean doNotTransitionLatestValid : new Boolean[] {true, false})
         {
-            // Keep track of all business object data entities selected per storage policies. This is need to avoid a lower priority selection policy to be
-            // executed ahead of a higher priority one. Please note that this check also implies that, for each of the two scans that we perform, any business
-            // object data could be selected for checking applicable rules only by one storage policy regardless of storage policy priority level.
-            Set<BusinessObjectDataEntity> businessObjectDataEntitiesSelectedForReview = new HashSet<>();
-
-            // Separately process all possible storage policy priority levels in order of priorities. This is done to assure that higher priority level storage
-            // policies will be listed earlier in the final result map.
-            for (StoragePolicyPriorityLevel storagePolicyPriorityLevel : STORAGE_POLICY_PRIORITY_LEVELS)
+            // Each scan is a single keyset paginated pass over business object data ordered by "created on" timestamp and id. All storage policy priority
+            // levels are evaluated by the same query, which returns every business object data only once along with its highest priority matching storage
+            // policy. This assures that a lower priority storage policy is never executed ahead of a higher priority one and that, for each of the two scans
+            // that we perform, any business object data could be selected for checking applicable rules only by one storage policy regardless of storage
+            // policy priority level. Please note that selections are ordered oldest business object data first regardless of the priority level of the matching
+            // storage policy, rather than by priority level first. Thus, when the maximum number of results is reached, older business object data matching a
+            // lower priority storage policy gets selected ahead of newer business object data matching a higher priority storage policy.
+            Timestamp lastBusinessObjectDataCreatedOn = null;
+            Long lastBusinessObjectDataId = null;
+
+            // Until we reach maximum number of results or run out of business object data to select, retrieve and process business object data matching
+            // storage policies, where the business object data status is supported by the storage policy feature and the business object data alternate key
+            // values match storage policy's filter and transition (not taking into account storage policy rules).
+            while (storagePolicySelections.size() < maxResult)
             {
-                // Until we reach maximum number of results or run out of entities to select, retrieve and process business object data entities mapped to their
-                // corresponding storage policy entities, where the business object data status is supported by the storage policy feature and the business
-                // object data alternate key values match storage policy's filter and transition (not taking into account storage policy rules).
-                int startPosition = 0;
-                while (true)
+                List<BusinessObjectDataStoragePolicyMatch> businessObjectDataStoragePolicyMatches = businessObjectDataDao
+                    .getBusinessObjectDataStoragePolicyMatches(STORAGE_POLICY_PRIORITY_LEVELS, doNotTransitionLatestValid,
+                        SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, maxAllowedTransitionAttempts, lastBusinessObjectDataCreatedOn, lastBusinessObjectDataId,
+                        maxResult);
+
+                // Stop this scan if there are no more business object data to select.
+                if (businessObjectDataStoragePolicyMatches.isEmpty())
+                {
+                    break;
+                }
+
+                // Remember the keyset of the last business object data in this page, so the next page would start right after it.
+                BusinessObjectDataStoragePolicyMatch lastBusinessObjectDataStoragePolicyMatch =
+                    businessObjectDataStoragePolicyMatches.get(businessObjectDataStoragePolicyMatches.size() - 1);
+                lastBusinessObjectDataCreatedOn = lastBusinessObjectDataStoragePolicyMatch.getBusinessObjectDataCreatedOn();
+                lastBusinessObjectDataId = lastBusinessObjectDataStoragePolicyMatch.getBusinessObjectDataId();
+
+                // If we are processing storage policies that are configured to ignore latest valid business object data, then load all business object data
+                // present in this page with a single query and find all latest valid business object data among them.
+                Map<Long, BusinessObjectDataEntity> businessObjectDataEntities = new HashMap<>();
+                Set<Long> latestValidBusinessObjectDataIds = Collections.emptySet();
+                if (doNotTransitionLatestValid)
                 {
-                    Map<BusinessObjectDataEntity, StoragePolicyEntity> map = businessObjectDataDao
-                        .getBusinessObjectDataEntitiesMatchingStoragePolicies(storagePolicyPriorityLevel, doNotTransitionLatestValid,
-                            SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, maxAllowedTransitionAttempts, startPosition, maxResult);
+                    businessObjectDataEntities = getBusinessObjectDataEntities(businessObjectDataStoragePolicyMatches.stream()
+                        .map(BusinessObjectDataStoragePolicyMatch::getBusinessObjectDataId).collect(Collectors.toSet()));
+                    latestValidBusinessObjectDataIds = getLatestValidBusinessObjectDataIds(businessObjectDataEntities.values());
+                }
 
-                    // If we are processing storage policies that are configured to ignore latest valid business object data, then find all latest valid
-                    // business object data that is present in this chunk of selected business object data matching storage policies.
-                    Set<BusinessObjectDataEntity> latestValidBusinessObjectDataEntities =
-                        doNotTransitionLatestValid ? businessObjectDataHelper.getLatestValidBusinessObjectDataEntities(new ArrayList<>(map.keySet())) : null;
+                // Process all business object data that are matching storage polices and collect the storage policies for business object data selected in
+                // this page. Please note that we use linked hash map here in order to preserve the order of selections.
+                Map<Long, StoragePolicyEntity> pageSelectedStoragePolicyEntities = new LinkedHashMap<>();
+                for (BusinessObjectDataStoragePolicyMatch businessObjectDataStoragePolicyMatch : businessObjectDataStoragePolicyMatches)
+                {
+                    Long businessObjectDataId = businessObjectDataStoragePolicyMatch.getBusinessObjectDataId();
 
-                    // Process all business object data entities that are matching storage polices.
-                    for (Map.Entry<BusinessObjectDataEntity, StoragePolicyEntity> entry : map.entrySet())
+                    // Since two sets of storage policies configured and not configured to ignore the latest valid business object data select data independent
+                    // from each other, we check against all already created storage policy selections. This is needed in order to avoid selecting the same
+                    // business object data for transition twice. Also, do not select this business object data if it was identified as a latest valid business
+                    // object data and the storage policy is configured to ignore latest valid versions.
+                    if (!selectedBusinessObjectDataIds.contains(businessObjectDataId) && !latestValidBusinessObjectDataIds.contains(businessObjectDataId))
                     {
-                        // Get business object data entity.
-                        BusinessObjectDataEntity businessObjectDataEntity = entry.getKey();
-
-                        // Process this storage policy selection, only if this business object data entity has not been selected for review earlier. This is
-                        // needed in order to avoid a lower priority selection policy to be executed ahead of a higher priority one. Please note that we clear
-                        // the set that tracks business object data entities selected for review between the scans. This is needed, so storage policies that
-                        // are not configured to ignore the latest valid business object data would still be able to select business object data entities that
-                        // got selected for rule checking by the policies configured to ignore latest valid versions.  The below check also implies that, for
-                        // each of the two scans that we perform, any business object data could be selected for checking applicable rules only by one storage
-                        // policy regardless of storage policy priority level. Since two sets of storage policies configured and not configured to ignore
-                        // the latest valid business object data select data independent from each other, we also check against all already created storage
-                        // policy selections. This is needed in order to avoid selecting the same business object data entity for transition twice.
-                        if (!businessObjectDataEntitiesSelectedForReview.contains(businessObjectDataEntity) &&
-                            !storagePolicySelectionMap.containsKey(businessObjectDataEntity))
+                        // Get the storage policy entity, so we can validate the storage policy rule against this business object data.
+                        StoragePolicyEntity storagePolicyEntity = storagePolicyEntities
+                            .computeIfAbsent(businessObjectDataStoragePolicyMatch.getStoragePolicyId(),
+                                storagePolicyId -> storagePolicyDao.findById(StoragePolicyEntity.class, storagePolicyId));
+
+                        // If this business object data got selected, remember it along with the storage policy.
+                        if (isStoragePolicyRuleSatisfied(businessObjectDataStoragePolicyMatch, storagePolicyEntity, currentTimestamp,
+                            updatedOnThresholdTimestamp))
                         {
-                            boolean createStoragePolicySelection = false;
+                            pageSelectedStoragePolicyEntities.put(businessObjectDataId, storagePolicyEntity);
+                            selectedBusinessObjectDataIds.add(businessObjectDataId);
 
-                            // Remember that we got this business object data entity as matching to a storage policy.
-                            // This is done so we would not try to select this business object data again later by a lower level storage policy.
-                            businessObjectDataEntitiesSelectedForReview.add(businessObjectDataEntity);
-
-                            // Get the storage policy entity, so we can validate the storage policy rule against this business object data.
-                            StoragePolicyEntity storagePolicyEntity = entry.getValue();
-
-                            // Do not select this business object data if it was identified as a latest valid business object data and the storage policy
-                            // is configured to ignore latest valid versions.
-                            if (!doNotTransitionLatestValid || !latestValidBusinessObjectDataEntities.contains(businessObjectDataEntity))
-                            {
-                                // Get a storage policy rule type and value.
-                                String storagePolicyRuleType = storagePolicyEntity.getStoragePolicyRuleType().getCode();
-                                Integer storagePolicyRuleValue = storagePolicyEntity.getStoragePolicyRuleValue();
-
-                                // For DAYS_SINCE_BDATA_REGISTERED storage policy rule type, select business object data based on it's "created on" timestamp.
-                                if (StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED.equals(storagePolicyRuleType))
-                                {
-                                    // Compute "created on" threshold timestamp based on the current timestamp and storage policy rule value.
-                                    Timestamp createdOnThresholdTimestamp = HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue);
-
-                                    // Select this business object data if it has "created on" timestamp before or equal to the threshold timestamp.
-                                    createStoragePolicySelection = (businessObjectDataEntity.getCreatedOn().compareTo(createdOnThresholdTimestamp) <= 0);
-                                }
-                                // For DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE storage policy rule type, select business object data based on both it's
-                                // primary partition value compared against storage policy rule value and "updated on" timestamp being below the threshold.
-                                else if (StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE.equals(storagePolicyRuleType))
-                                {
-                                    // For this storage policy rule, we ignore this business object data entity
-                                    // if it was updated earlier than the threshold value of days ago.
-                                    if (businessObjectDataEntity.getUpdatedOn().compareTo(updatedOnThresholdTimestamp) <= 0)
-                                    {
-                                        // Try to convert business object data primary partition value to a timestamp.
-                                        // If it is not a date, the storage policy rule is not matching this business object data.
-                                        Date primaryPartitionValue = businessObjectDataHelper.getDateFromString(businessObjectDataEntity.getPartitionValue());
-
-                                        // For this storage policy rule, we ignore this business data if primary partition value is not a date.
-                                        if (primaryPartitionValue != null)
-                                        {
-                                            // Compute the relative primary partition value threshold date based
-                                            // on the current timestamp and storage policy rule value.
-                                            Date primaryPartitionValueThreshold =
-                                                new Date(HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue).getTime());
-
-                                            // Select this business object data if it has it's primary partition value before or equal to the threshold date.
-                                            createStoragePolicySelection = (primaryPartitionValue.compareTo(primaryPartitionValueThreshold) <= 0);
-                                        }
-                                    }
-                                }
-                                // Fail on an un-supported storage policy rule type.
-                                else
-                                {
-                                    throw new IllegalStateException(String.format("Storage policy type \"%s\" is not supported.", storagePolicyRuleType));
-                                }
-                            }
-
-                            // If this business object data got selected, create a storage policy selection and add it to the result list.
-                            if (createStoragePolicySelection)
+                            // Stop selecting business object data if we reached the maximum results limit.
+                            if (storagePolicySelections.size() + pageSelectedStoragePolicyEntities.size() >= maxResult)
                             {
-                                // Create business object data key and storage policy key per selected entities.
-                                BusinessObjectDataKey businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity);
-                                StoragePolicyKey storagePolicyKey =
-                                    new StoragePolicyKey(storagePolicyEntity.getNamespace().getCode(), storagePolicyEntity.getName());
-
-                                // Create and add a storage policy selection to the result map.
-                                storagePolicySelectionMap.put(businessObjectDataEntity,
-                                    new StoragePolicySelection(businessObjectDataKey, storagePolicyKey, storagePolicyEntity.getVersion()));
-
-                                LOGGER.info("Selected business object data for storage policy processing: " +
-                                        "businessObjectDataKey={} storagePolicyKey={} storagePolicyVersion={}", jsonHelper.objectToJson(businessObjectDataKey),
-                                    jsonHelper.objectToJson(storagePolicyKey), storagePolicyEntity.getVersion());
-
-                                // Stop adding storage policy selections to the result map if we reached the maximum results limit.
-                                if (storagePolicySelectionMap.size() >= maxResult)
-                                {
-                                    break;
-                                }
+                                break;
                             }
                         }
                     }
-
-                    // Stop processing storage policies if we reached the max result limit or there are no more business object data to select.
-                    if (storagePolicySelectionMap.size() >= maxResult || map.isEmpty())
-                    {
-                        break;
-                    }
-
-                    // Increment start position for the next select.
-                    startPosition += maxResult;
                 }
 
-                // Stop processing storage policies if we reached the max result limit.
-                if (storagePolicySelectionMap.size() >= maxResult)
+                // Only now load the selected business object data entities that are not loaded yet, all with a single query.
+                Set<Long> businessObjectDataIdsToLoad = new HashSet<>(pageSelectedStoragePolicyEntities.keySet());
+                businessObjectDataIdsToLoad.removeAll(businessObjectDataEntities.keySet());
+                businessObjectDataEntities.putAll(getBusinessObjectDataEntities(businessObjectDataIdsToLoad));
+
+                // Create storage policy selections for the business object data selected in this page.
+                List<StoragePolicySelection> pageStoragePolicySelections = new ArrayList<>();
+                for (Map.Entry<Long, StoragePolicyEntity> entry : pageSelectedStoragePolicyEntities.entrySet())
                 {
-                    break;
+                    StoragePolicyEntity storagePolicyEntity = entry.getValue();
+
+                    // Create business object data key and storage policy key per selected entities.
+                    BusinessObjectDataKey businessObjectDataKey =
+                        businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntities.get(entry.getKey()));
+                    StoragePolicyKey storagePolicyKey = new StoragePolicyKey(storagePolicyEntity.getNamespace().getCode(), storagePolicyEntity.getName());
+
+                    // Create and add a storage policy selection to the result lists.
+                    StoragePolicySelection storagePolicySelection =
+                        new StoragePolicySelection(businessObjectDataKey, storagePolicyKey, storagePolicyEntity.getVersion());
+                    storagePolicySelections.add(storagePolicySelection);
+                    pageStoragePolicySelections.add(storagePolicySelection);
+
+                    LOGGER.info("Selected business object data for storage policy processing: " +
+                            "businessObjectDataKey={} storagePolicyKey={} storagePolicyVersion={}", jsonHelper.objectToJson(businessObjectDataKey),
+                        jsonHelper.objectToJson(storagePolicyKey), storagePolicyEntity.getVersion());
                 }
+
+                // Send the storage policy selections created for this page to the specified SQS queue, so they could get processed while we keep selecting.
+                sendStoragePolicySelectionToSqsQueue(sqsQueueName, pageStoragePolicySelections);
             }
         }
 
-        // Get the list of all storage policy selections.
-        List<StoragePolicySelection> storagePolicySelections = new ArrayList<>(storagePolicySelectionMap.values());
-
-        // Send all storage policy selections to the specified SQS queue.
-        sendStoragePolicySelectionToSqsQueue(sqsQueueName, storagePolicySelections);
-
         // Return the selections.
         return storagePolicySelections;
     }
 
     /**
-     * Sends storage policy selections to the specified AWS SQS queue.
+     * Loads business object data entities with a single query.
+     *
+     * @param businessObjectDataIds the ids of the business object data
+     *
+     * @return the map of business object data ids to their entities
+     */
+    private Map<Long, BusinessObjectDataEntity> getBusinessObjectDataEntities(Collection<Long> businessObjectDataIds)
+    {
+        Map<Long, BusinessObjectDataEntity> businessObjectDataEntities = new HashMap<>();
+        if (!businessObjectDataIds.isEmpty())
+        {
+            for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataDao.getBusinessObjectDataEntitiesByIds(businessObjectDataIds))
+            {
+                businessObjectDataEntities.put(businessObjectDataEntity.getId(), businessObjectDataEntity);
+            }
+        }
+
+        return businessObjectDataEntities;
+    }
+
+    /**
+     * Gets ids of the latest valid business object data present in the specified business object data.
+     *
+     * @param businessObjectDataEntities the business object data entities
+     *
+     * @return the set of ids of the latest valid business object data
+     */
+    private Set<Long> getLatestValidBusinessObjectDataIds(Collection<BusinessObjectDataEntity> businessObjectDataEntities)
+    {
+        Set<Long> latestValidBusinessObjectDataIds = new HashSet<>();
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataHelper
+            .getLatestValidBusinessObjectDataEntities(new ArrayList<>(businessObjectDataEntities)))
+        {
+            latestValidBusinessObjectDataIds.add(businessObjectDataEntity.getId());
+        }
+
+        return latestValidBusinessObjectDataIds;
+    }
+
+    /**
+     * Checks if a business object data satisfies the rule of the storage policy it is matching.
+     *
+     * @param businessObjectDataStoragePolicyMatch the business object data matching the storage policy
+     * @param storagePolicyEntity the storage policy entity
+     * @param currentTimestamp the current database timestamp
+     * @param updatedOnThresholdTimestamp the business object data "updated on" threshold timestamp for DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE storage policy
+     * rule type
+     *
+     * @return true if the storage policy rule is satisfied, false otherwise
+     */
+    private boolean isStoragePolicyRuleSatisfied(BusinessObjectDataStoragePolicyMatch businessObjectDataStoragePolicyMatch,
+        StoragePolicyEntity storagePolicyEntity, Timestamp currentTimestamp, Timestamp updatedOnThresholdTimestamp)
+    {
+        // Get a storage policy rule type and value.
+        String storagePolicyRuleType = storagePolicyEntity.getStoragePolicyRuleType().getCode();
+        Integer storagePolicyRuleValue = storagePolicyEntity.getStoragePolicyRuleValue();
+
+        // For DAYS_SINCE_BDATA_REGISTERED storage policy rule type, select business object data based on it's "created on" timestamp.
+        if (StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED.equals(storagePolicyRuleType))
+        {
+            // Compute "created on" threshold timestamp based on the current timestamp and storage policy rule value.
+            Timestamp createdOnThresholdTimestamp = HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue);
+
+            // Select this business object data if it has "created on" timestamp before or equal to the threshold timestamp.
+            return businessObjectDataStoragePolicyMatch.getBusinessObjectDataCreatedOn().compareTo(createdOnThresholdTimestamp) <= 0;
+        }
+        // For DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE storage policy rule type, select business object data based on both it's
+        // primary partition value compared against storage policy rule value and "updated on" timestamp being below the threshold.
+        else if (StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE.equals(storagePolicyRuleType))
+        {
+            // For this storage policy rule, we ignore this business object data if it was updated earlier than the threshold value of days ago.
+            if (businessObjectDataStoragePolicyMatch.getBusinessObjectDataUpdatedOn().compareTo(updatedOnThresholdTimestamp) <= 0)
+            {
+                // Try to convert business object data primary partition value to a timestamp.
+                // If it is not a date, the storage policy rule is not matching this business object data.
+                Date primaryPartitionValue =
+                    businessObjectDataHelper.getDateFromString(businessObjectDataStoragePolicyMatch.getBusinessObjectDataPartitionValue());
+
+                // For this storage policy rule, we ignore this business data if primary partition value is not a date.
+                if (primaryPartitionValue != null)
+                {
+                    // Compute the relative primary partition value threshold date based on the current timestamp and storage policy rule value.
+                    Date primaryPartitionValueThreshold = new Date(HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue).getTime());
+
+                    // Select this business object data if it has it's primary partition value before or equal to the threshold date.
+                    return primaryPartitionValue.compareTo(primaryPartitionValueThreshold) <= 0;
+                }
+            }
+
+            return false;
+        }
+        // Fail on an un-supported storage policy rule type.
+        else
+        {
+            throw new IllegalStateException(String.format("Storage policy type \"%s\" is not supported.", storagePolicyRuleType));
+        }
+    }
+
+    /**
+     * Sends storage policy selections to the specified AWS SQS queue. The messages are sent using as few batch requests as possible.
      *
      * @param sqsQueueName the SQS queue name to send storage policy selections to
      * @param storagePolicySelections the list of storage policy selections
@@ -294,21 +367,33 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
         {
             AwsParamsDto awsParamsDto = awsHelper.getAwsParamsDto();
 
+            List<String> messageTexts = new ArrayList<>();
             for (StoragePolicySelection storagePolicySelection : storagePolicySelections)
             {
-                String messageText = null;
+                messageTexts.add(jsonHelper.objectToJson(storagePolicySelection));
+            }
 
-                try
-                {
-                    messageText = jsonHelper.objectToJson(storagePolicySelection);
-                    sqsDao.sendMessage(awsParamsDto, sqsQueueName, messageText, null);
-                }
-                catch (Exception e)
-                {
-                    // Log the error and throw the exception up.
-                    LOGGER.error("Failed to publish message to the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={}", sqsQueueName, messageText);
-                    throw new IllegalStateException(e.getMessage(), e);
-                }
+            SendMessageBatchResult sendMessageBatchResult;
+            try
+            {
+                sendMessageBatchResult = sqsDao.sendMessageBatch(awsParamsDto, sqsQueueName, messageTexts);
+            }
+            catch (Exception e)
+            {
+                // Log the error and throw the exception up.
+                LOGGER.error("Failed to publish messages to the JMS queue. jmsQueueName=\"{}\" jmsMessagesCount={}", sqsQueueName, messageTexts.size());
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+
+            // Fail if any of the messages did not get sent. The batch result entry id is the index of the relative message.
+            if (CollectionUtils.isNotEmpty(sendMessageBatchResult.getFailed()))
+            {
+                BatchResultErrorEntry batchResultErrorEntry = sendMessageBatchResult.getFailed().get(0);
+                LOGGER.error("Failed to publish message to the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={} failedMessagesCount={}", sqsQueueName,
+                    messageTexts.get(Integer.parseInt(batchResultErrorEntry.getId())), sendMessageBatchResult.getFailed().size());
+                throw new IllegalStateException(
+                    String.format("Failed to publish %d message(s) to \"%s\" AWS SQS queue. Reason: %s", sendMessageBatchResult.getFailed().size(),
+                        sqsQueueName, batchResultErrorEntry.getMessage()));
             }
         }
     }
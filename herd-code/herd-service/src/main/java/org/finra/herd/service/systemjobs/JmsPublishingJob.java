@@ -71,13 +71,23 @@ public class JmsPublishingJob extends AbstractSystemJob
         // Log that the system job is started.
         LOGGER.info("Started system job. systemJobName=\"{}\"", JOB_NAME);
 
-        // Publish all notification messages stored in the database queue.
+        // Get the maximum number of notification messages to claim from the database queue at once.
+        int batchSize = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_BATCH_SIZE, Integer.class);
+
+        // Log the current depth of the database queue.
+        long queueSize = notificationMessagePublishingService.getNotificationMessageDatabaseQueueSize();
+        LOGGER.info("Notification message database queue size is {}. batchSize={} systemJobName=\"{}\"", queueSize, batchSize, JOB_NAME);
+
+        // Publish all notification messages stored in the database queue in batches. Each batch is published and removed from the queue in its own transaction.
+        // An empty batch means that either the queue is drained or the oldest message in the queue failed to publish.
         int count = 0;
+        long startTimeMillis = System.currentTimeMillis();
         try
         {
-            while (notificationMessagePublishingService.publishOldestNotificationMessageFromDatabaseQueue())
+            int batchCount;
+            while ((batchCount = notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(batchSize)) > 0)
             {
-                count++;
+                count += batchCount;
             }
         }
         catch (Exception e)
@@ -85,9 +95,13 @@ public class JmsPublishingJob extends AbstractSystemJob
             // Log the exception.
             LOGGER.error("Failed to publish a notification message. systemJobName=\"{}\"", JOB_NAME, e);
         }
+        long elapsedTimeMillis = System.currentTimeMillis() - startTimeMillis;
 
-        // Log the number of notification messages successfully published.
-        LOGGER.info("Published {} notification messages. systemJobName=\"{}\"", Integer.toString(count), JOB_NAME);
+        // Log the number of notification messages successfully published along with the drain rate and the average interval between the published messages.
+        // Messages get published in batches, so the interval is the inverse of the drain rate rather than the time it takes to publish a single message.
+        LOGGER.info("Published {} notification messages. elapsedTimeMillis={} messagesPerSecond={} averagePublishIntervalMillis={} systemJobName=\"{}\"",
+            Integer.toString(count), elapsedTimeMillis, elapsedTimeMillis > 0 ? count * 1000L / elapsedTimeMillis : count,
+            count > 0 ? elapsedTimeMillis / count : 0, JOB_NAME);
 
         // Log that the system job is ended.
         LOGGER.info("Completed system job. systemJobName=\"{}\"", JOB_NAME);
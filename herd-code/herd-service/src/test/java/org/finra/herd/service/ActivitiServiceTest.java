@@ -17,9 +17,11 @@ package org.finra.herd.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -29,7 +31,9 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -44,17 +48,21 @@ import org.activiti.engine.history.HistoricActivityInstance;
 import org.activiti.engine.history.HistoricActivityInstanceQuery;
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.history.HistoricProcessInstanceQuery;
+import org.activiti.engine.history.NativeHistoricProcessInstanceQuery;
+import org.activiti.engine.impl.persistence.entity.SuspensionState;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.engine.repository.ProcessDefinitionQuery;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ExecutionQuery;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.JobQuery;
+import org.activiti.engine.runtime.NativeJobQuery;
 import org.activiti.engine.runtime.ProcessInstance;
 import org.activiti.engine.runtime.ProcessInstanceQuery;
 import org.joda.time.DateTime;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -251,6 +259,141 @@ public class ActivitiServiceTest
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    public void testGetJobsWithExceptionCountsByProcessInstanceIds()
+    {
+        String processInstanceId = "processInstanceId";
+        when(activitiManagementService.getTableName(Job.class)).thenReturn("ACT_RU_JOB");
+        NativeJobQuery nativeJobQuery = mock(NativeJobQuery.class);
+        when(activitiManagementService.createNativeJobQuery()).thenReturn(nativeJobQuery);
+        String expectedSql = "SELECT RES.* FROM ACT_RU_JOB RES WHERE (RES.PROCESS_INSTANCE_ID_ IN (#{processInstanceId0})) " +
+            "AND (RES.EXCEPTION_MSG_ IS NOT NULL OR RES.EXCEPTION_STACK_ID_ IS NOT NULL)";
+        when(nativeJobQuery.sql(expectedSql)).thenReturn(nativeJobQuery);
+        Job job = mock(Job.class);
+        when(job.getProcessInstanceId()).thenReturn(processInstanceId);
+        when(nativeJobQuery.list()).thenReturn(Arrays.asList(job, job));
+        Map<String, Long> actualResult = activitiService.getJobsWithExceptionCountsByProcessInstanceIds(Collections.singleton(processInstanceId));
+        assertEquals(Collections.singletonMap(processInstanceId, 2L), actualResult);
+        InOrder inOrder = inOrder(nativeJobQuery);
+        inOrder.verify(nativeJobQuery).parameter("processInstanceId0", processInstanceId);
+        inOrder.verify(nativeJobQuery).sql(expectedSql);
+        inOrder.verify(nativeJobQuery).list();
+        inOrder.verifyNoMoreInteractions();
+        verify(activitiManagementService, never()).createJobQuery();
+    }
+
+    @Test
+    public void testGetJobsWithExceptionCountsByProcessInstanceIdsWhenNoProcessInstanceIds()
+    {
+        assertEquals(new HashMap<>(), activitiService.getJobsWithExceptionCountsByProcessInstanceIds(new HashSet<>()));
+        verifyNoMoreInteractions(activitiHistoryService, activitiManagementService);
+    }
+
+    @Test
+    public void testGetSuspendedProcessInstancesByProcessInstanceIds()
+    {
+        Set<String> processInstanceIds = Collections.singleton("processInstanceId");
+        ProcessInstanceQuery processInstanceQuery = mock(ProcessInstanceQuery.class);
+        when(activitiRuntimeService.createProcessInstanceQuery()).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.processInstanceIds(processInstanceIds)).thenReturn(processInstanceQuery);
+        when(processInstanceQuery.suspended()).thenReturn(processInstanceQuery);
+        List<ProcessInstance> expectedProcessInstances = Collections.singletonList(mock(ProcessInstance.class));
+        when(processInstanceQuery.list()).thenReturn(expectedProcessInstances);
+        List<ProcessInstance> actualProcessInstances = activitiService.getSuspendedProcessInstancesByProcessInstanceIds(processInstanceIds);
+        assertEquals(expectedProcessInstances, actualProcessInstances);
+        InOrder inOrder = inOrder(processInstanceQuery);
+        inOrder.verify(processInstanceQuery).processInstanceIds(processInstanceIds);
+        inOrder.verify(processInstanceQuery).suspended();
+        inOrder.verify(processInstanceQuery).list();
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testGetSuspendedProcessInstancesByProcessInstanceIdsWhenNoProcessInstanceIds()
+    {
+        assertEquals(new ArrayList<>(), activitiService.getSuspendedProcessInstancesByProcessInstanceIds(new HashSet<>()));
+        verifyNoMoreInteractions(activitiRuntimeService);
+    }
+
+    @Test
+    public void testGetHistoricProcessInstancesByStatusAndProcessDefinitionIds()
+    {
+        JobStatusEnum jobStatus = JobStatusEnum.RUNNING;
+        Collection<String> processDefinitionIds = Arrays.asList("processDefinitionId1", "processDefinitionId2");
+        DateTime startTime = new DateTime();
+        DateTime endTime = new DateTime();
+        when(activitiManagementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+        when(activitiManagementService.getTableName(ProcessInstance.class)).thenReturn("ACT_RU_EXECUTION");
+        NativeHistoricProcessInstanceQuery nativeHistoricProcessInstanceQuery = mock(NativeHistoricProcessInstanceQuery.class);
+        when(activitiHistoryService.createNativeHistoricProcessInstanceQuery()).thenReturn(nativeHistoricProcessInstanceQuery);
+        String expectedSql = "SELECT RES.* FROM ACT_HI_PROCINST RES WHERE (RES.PROC_DEF_ID_ IN (#{processDefinitionId0}, #{processDefinitionId1})) " +
+            "AND RES.END_TIME_ IS NULL AND NOT EXISTS (SELECT 1 FROM ACT_RU_EXECUTION E WHERE E.ID_ = RES.PROC_INST_ID_ " +
+            "AND E.SUSPENSION_STATE_ = #{suspensionState}) AND RES.START_TIME_ >= #{startTime} AND RES.END_TIME_ <= #{endTime} ORDER BY RES.ID_ ASC";
+        when(nativeHistoricProcessInstanceQuery.sql(expectedSql)).thenReturn(nativeHistoricProcessInstanceQuery);
+        List<HistoricProcessInstance> expectedHistoricProcessInstances = new ArrayList<>();
+        when(nativeHistoricProcessInstanceQuery.listPage(10, 5)).thenReturn(expectedHistoricProcessInstances);
+        List<HistoricProcessInstance> actualHistoricProcessInstances =
+            activitiService.getHistoricProcessInstancesByStatusAndProcessDefinitionIds(jobStatus, processDefinitionIds, startTime, endTime, 10, 5);
+        assertSame(expectedHistoricProcessInstances, actualHistoricProcessInstances);
+        InOrder inOrder = inOrder(nativeHistoricProcessInstanceQuery);
+        inOrder.verify(nativeHistoricProcessInstanceQuery).parameter("processDefinitionId0", "processDefinitionId1");
+        inOrder.verify(nativeHistoricProcessInstanceQuery).parameter("processDefinitionId1", "processDefinitionId2");
+        inOrder.verify(nativeHistoricProcessInstanceQuery).parameter("suspensionState", SuspensionState.SUSPENDED.getStateCode());
+        inOrder.verify(nativeHistoricProcessInstanceQuery).parameter("startTime", startTime.toDate());
+        inOrder.verify(nativeHistoricProcessInstanceQuery).parameter("endTime", endTime.toDate());
+        inOrder.verify(nativeHistoricProcessInstanceQuery).sql(expectedSql);
+        inOrder.verify(nativeHistoricProcessInstanceQuery).listPage(10, 5);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testGetHistoricProcessInstancesByStatusAndProcessDefinitionIdsWhenStatusIsCompleted()
+    {
+        when(activitiManagementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+        NativeHistoricProcessInstanceQuery nativeHistoricProcessInstanceQuery = mock(NativeHistoricProcessInstanceQuery.class);
+        when(activitiHistoryService.createNativeHistoricProcessInstanceQuery()).thenReturn(nativeHistoricProcessInstanceQuery);
+        String expectedSql = "SELECT RES.* FROM ACT_HI_PROCINST RES WHERE (RES.PROC_DEF_ID_ IN (#{processDefinitionId0})) AND RES.END_TIME_ IS NOT NULL " +
+            "ORDER BY RES.ID_ ASC";
+        when(nativeHistoricProcessInstanceQuery.sql(expectedSql)).thenReturn(nativeHistoricProcessInstanceQuery);
+        List<HistoricProcessInstance> expectedHistoricProcessInstances = new ArrayList<>();
+        when(nativeHistoricProcessInstanceQuery.listPage(0, 5)).thenReturn(expectedHistoricProcessInstances);
+        List<HistoricProcessInstance> actualHistoricProcessInstances = activitiService
+            .getHistoricProcessInstancesByStatusAndProcessDefinitionIds(JobStatusEnum.COMPLETED, Collections.singletonList("processDefinitionId"), null, null,
+                0, 5);
+        assertSame(expectedHistoricProcessInstances, actualHistoricProcessInstances);
+        InOrder inOrder = inOrder(nativeHistoricProcessInstanceQuery);
+        inOrder.verify(nativeHistoricProcessInstanceQuery).parameter("processDefinitionId0", "processDefinitionId");
+        inOrder.verify(nativeHistoricProcessInstanceQuery).sql(expectedSql);
+        inOrder.verify(nativeHistoricProcessInstanceQuery).listPage(0, 5);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testGetHistoricProcessInstancesByStatusAndProcessDefinitionIdsWhenMoreThanMaxInClauseSize()
+    {
+        List<String> processDefinitionIds = new ArrayList<>();
+        for (int i = 0; i < 1001; i++)
+        {
+            processDefinitionIds.add("processDefinitionId" + i);
+        }
+        when(activitiManagementService.getTableName(HistoricProcessInstance.class)).thenReturn("ACT_HI_PROCINST");
+        NativeHistoricProcessInstanceQuery nativeHistoricProcessInstanceQuery = mock(NativeHistoricProcessInstanceQuery.class);
+        when(activitiHistoryService.createNativeHistoricProcessInstanceQuery()).thenReturn(nativeHistoricProcessInstanceQuery);
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        when(nativeHistoricProcessInstanceQuery.sql(sqlCaptor.capture())).thenReturn(nativeHistoricProcessInstanceQuery);
+        List<HistoricProcessInstance> expectedHistoricProcessInstances = new ArrayList<>();
+        when(nativeHistoricProcessInstanceQuery.listPage(0, 5)).thenReturn(expectedHistoricProcessInstances);
+        List<HistoricProcessInstance> actualHistoricProcessInstances =
+            activitiService.getHistoricProcessInstancesByStatusAndProcessDefinitionIds(JobStatusEnum.COMPLETED, processDefinitionIds, null, null, 0, 5);
+        assertSame(expectedHistoricProcessInstances, actualHistoricProcessInstances);
+
+        // Validate that the process definition IDs are split into two "in" clauses joined by "or".
+        String sql = sqlCaptor.getValue();
+        assertTrue(sql.startsWith("SELECT RES.* FROM ACT_HI_PROCINST RES WHERE (RES.PROC_DEF_ID_ IN (#{processDefinitionId0}, "));
+        assertTrue(sql.contains(", #{processDefinitionId999}) OR RES.PROC_DEF_ID_ IN (#{processDefinitionId1000})) AND RES.END_TIME_ IS NOT NULL"));
+        verify(nativeHistoricProcessInstanceQuery).parameter("processDefinitionId1000", "processDefinitionId1000");
+    }
+
     @Test
     public void testGetHistoricProcessInstancesByStatusAndProcessDefinitionKeys()
     {
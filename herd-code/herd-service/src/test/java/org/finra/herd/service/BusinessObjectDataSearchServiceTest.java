@@ -2,6 +2,7 @@ package org.finra.herd.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -468,7 +469,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         BusinessObjectDataSearchResultPagingInfoDto result = businessObjectDataService.searchBusinessObjectData(DEFAULT_PAGE_NUMBER, PAGE_SIZE,
             new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS,
-                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -501,7 +503,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
             new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE.toLowerCase(), BDEF_NAME.toLowerCase(), FORMAT_USAGE_CODE.toLowerCase(),
                     FORMAT_FILE_TYPE_CODE.toLowerCase(), FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS, NO_REGISTRATION_DATE_RANGE_FILTER,
-                    NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -534,7 +537,7 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
             new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE, BDEF_NAME, NO_FORMAT_USAGE_CODE, NO_FORMAT_FILE_TYPE_CODE, NO_FORMAT_VERSION,
                     NO_PARTITION_VALUE_FILTERS, NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION,
-                    NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_FILTER_ON_RETENTION_EXPIRATION)))), NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(2, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -563,7 +566,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         BusinessObjectDataSearchResultPagingInfoDto result = businessObjectDataService.searchBusinessObjectData(DEFAULT_PAGE_NUMBER, PAGE_SIZE,
             new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE, BDEF_NAME, BLANK_TEXT, BLANK_TEXT, NO_FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS,
-                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(2, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -592,7 +596,7 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
                 new BusinessObjectDataSearchFilter(Collections.singletonList(
                     new BusinessObjectDataSearchKey(BLANK_TEXT, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS,
                         NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION,
-                        NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                        NO_FILTER_ON_RETENTION_EXPIRATION)))), NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -607,7 +611,7 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
                 new BusinessObjectDataSearchFilter(Collections.singletonList(
                     new BusinessObjectDataSearchKey(BDEF_NAMESPACE, BLANK_TEXT, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
                         NO_PARTITION_VALUE_FILTERS, NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION,
-                        NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                        NO_FILTER_ON_RETENTION_EXPIRATION)))), NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -646,7 +650,7 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
                 .singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                     new BusinessObjectDataSearchKey(NAMESPACE, BDEF_NAME, NO_FORMAT_USAGE_CODE, NO_FORMAT_FILE_TYPE_CODE, NO_FORMAT_VERSION,
                         NO_PARTITION_VALUE_FILTERS, NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION,
-                        NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                        NO_FILTER_ON_RETENTION_EXPIRATION)))), NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -756,6 +760,75 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         assertEquals(Long.valueOf(DEFAULT_PAGE_SIZE), result.getMaxResultsPerPage());
     }
 
+    @Test
+    public void testSearchBusinessObjectDataNoFiltersContinuationTokenTraverseAllPages()
+    {
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataSearchTesting();
+
+        // Create a simple search request that asks for the first page using continuation token paging along with the total record count.
+        BusinessObjectDataSearchRequest request = businessObjectDataServiceTestHelper.createSimpleBusinessObjectDataSearchRequest(NAMESPACE, BDEF_NAME);
+        request.setContinuationToken(EMPTY_STRING);
+        request.setIncludeTotalRecordCount(true);
+
+        // Test getting the first page.
+        BusinessObjectDataSearchResultPagingInfoDto result = businessObjectDataService.searchBusinessObjectData(NO_PAGE_NUMBER, 1, request);
+
+        assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
+        assertEquals(FORMAT_USAGE_CODE, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().get(0).getBusinessObjectFormatUsage());
+        assertNotNull(result.getBusinessObjectDataSearchResult().getNextContinuationToken());
+
+        // Validate the paging information.
+        assertNull(result.getPageNum());
+        assertEquals(Long.valueOf(1), result.getPageSize());
+        assertEquals(Long.valueOf(2), result.getPageCount());
+        assertEquals(Long.valueOf(1), result.getTotalRecordsOnPage());
+        assertEquals(Long.valueOf(2), result.getTotalRecordCount());
+        assertEquals(Long.valueOf(DEFAULT_PAGE_SIZE), result.getMaxResultsPerPage());
+
+        // Test getting the second page without the total record count.
+        request.setContinuationToken(result.getBusinessObjectDataSearchResult().getNextContinuationToken());
+        request.setIncludeTotalRecordCount(NO_INCLUDE_TOTAL_RECORD_COUNT);
+        result = businessObjectDataService.searchBusinessObjectData(NO_PAGE_NUMBER, 1, request);
+
+        assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
+        assertEquals(FORMAT_USAGE_CODE_2, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().get(0).getBusinessObjectFormatUsage());
+        assertNotNull(result.getBusinessObjectDataSearchResult().getNextContinuationToken());
+
+        // Validate the paging information.
+        assertNull(result.getPageNum());
+        assertEquals(Long.valueOf(1), result.getPageSize());
+        assertNull(result.getPageCount());
+        assertEquals(Long.valueOf(1), result.getTotalRecordsOnPage());
+        assertNull(result.getTotalRecordCount());
+
+        // Test getting the last page, which is empty and comes with no continuation token.
+        request.setContinuationToken(result.getBusinessObjectDataSearchResult().getNextContinuationToken());
+        result = businessObjectDataService.searchBusinessObjectData(NO_PAGE_NUMBER, 1, request);
+
+        assertEquals(0, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
+        assertNull(result.getBusinessObjectDataSearchResult().getNextContinuationToken());
+        assertEquals(Long.valueOf(0), result.getTotalRecordsOnPage());
+    }
+
+    @Test
+    public void testSearchBusinessObjectDataNoFiltersContinuationTokenInvalid()
+    {
+        // Create a simple search request with an invalid continuation token.
+        BusinessObjectDataSearchRequest request = businessObjectDataServiceTestHelper.createSimpleBusinessObjectDataSearchRequest(NAMESPACE, BDEF_NAME);
+        request.setContinuationToken(INVALID_VALUE);
+
+        // Try to search business object data.
+        try
+        {
+            businessObjectDataService.searchBusinessObjectData(NO_PAGE_NUMBER, 1, request);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Invalid continuation token \"%s\".", INVALID_VALUE), e.getMessage());
+        }
+    }
+
     @Test
     public void testSearchBusinessObjectDataNoFiltersRelativeEntitiesNoExist()
     {
@@ -766,7 +839,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         BusinessObjectDataSearchResultPagingInfoDto result = businessObjectDataService.searchBusinessObjectData(DEFAULT_PAGE_NUMBER, PAGE_SIZE,
             new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS,
-                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -775,7 +849,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         result = businessObjectDataService.searchBusinessObjectData(DEFAULT_PAGE_NUMBER, PAGE_SIZE, new BusinessObjectDataSearchRequest(Collections
             .singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(I_DO_NOT_EXIST, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS,
-                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+            NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(0, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -784,7 +859,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         result = businessObjectDataService.searchBusinessObjectData(DEFAULT_PAGE_NUMBER, PAGE_SIZE, new BusinessObjectDataSearchRequest(Collections
             .singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE, I_DO_NOT_EXIST, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS,
-                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+            NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(0, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -793,7 +869,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         result = businessObjectDataService.searchBusinessObjectData(DEFAULT_PAGE_NUMBER, PAGE_SIZE, new BusinessObjectDataSearchRequest(Collections
             .singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE, BDEF_NAME, I_DO_NOT_EXIST, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS,
-                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+            NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(0, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -802,7 +879,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         result = businessObjectDataService.searchBusinessObjectData(DEFAULT_PAGE_NUMBER, PAGE_SIZE, new BusinessObjectDataSearchRequest(Collections
             .singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, I_DO_NOT_EXIST, FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS,
-                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+            NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(0, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -811,7 +889,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
         result = businessObjectDataService.searchBusinessObjectData(DEFAULT_PAGE_NUMBER, PAGE_SIZE, new BusinessObjectDataSearchRequest(Collections
             .singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION_2, NO_PARTITION_VALUE_FILTERS,
-                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+            NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(0, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -828,7 +907,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
             new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(addWhitespace(NAMESPACE), addWhitespace(BDEF_NAME), addWhitespace(FORMAT_USAGE_CODE),
                     addWhitespace(FORMAT_FILE_TYPE_CODE), FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS, NO_REGISTRATION_DATE_RANGE_FILTER,
-                    NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -861,7 +941,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
             new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(Collections.singletonList(
                 new BusinessObjectDataSearchKey(NAMESPACE.toUpperCase(), BDEF_NAME.toUpperCase(), FORMAT_USAGE_CODE.toUpperCase(),
                     FORMAT_FILE_TYPE_CODE.toUpperCase(), FORMAT_VERSION, NO_PARTITION_VALUE_FILTERS, NO_REGISTRATION_DATE_RANGE_FILTER,
-                    NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                    NO_ATTRIBUTE_VALUE_FILTERS, NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
 
         // Validate the results.
         assertEquals(1, result.getBusinessObjectDataSearchResult().getBusinessObjectDataElements().size());
@@ -1052,7 +1133,8 @@ public class BusinessObjectDataSearchServiceTest extends AbstractServiceTest
                         .singletonList(
                             new PartitionValueFilter(NO_PARTITION_KEY, NO_PARTITION_VALUES, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
                                 NO_LATEST_AFTER_PARTITION_VALUE)), NO_REGISTRATION_DATE_RANGE_FILTER, NO_ATTRIBUTE_VALUE_FILTERS,
-                        NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION))))));
+                        NO_FILTER_ON_LATEST_VALID_VERSION, NO_FILTER_ON_RETENTION_EXPIRATION)))),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -16,6 +16,7 @@
 package org.finra.herd.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
@@ -27,6 +28,7 @@ import org.junit.Test;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.herd.model.api.xml.PartitionValueFilter;
 
 /**
  * This class tests checkBusinessObjectDataAvailabilityCollection functionality within the business object data service.
@@ -48,6 +50,44 @@ public class BusinessObjectDataServiceCheckBusinessObjectDataAvailabilityCollect
             resultBusinessObjectDataAvailabilityCollectionResponse);
     }
 
+    @Test
+    public void testCheckBusinessObjectDataAvailabilityCollectionMultipleRequestsSameBusinessObjectFormat()
+    {
+        // Prepare database entities required for testing.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataAvailabilityCollectionTesting();
+
+        // Create a collection request with several requests for the same business object format, where only some of the partition values are registered.
+        BusinessObjectDataAvailabilityCollectionRequest request = new BusinessObjectDataAvailabilityCollectionRequest();
+        List<BusinessObjectDataAvailabilityRequest> businessObjectDataAvailabilityRequests = new ArrayList<>();
+        request.setBusinessObjectDataAvailabilityRequests(businessObjectDataAvailabilityRequests);
+        for (List<String> partitionValues : Arrays.asList(Arrays.asList(PARTITION_VALUE), Arrays.asList(PARTITION_VALUE_2),
+            Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2)))
+        {
+            businessObjectDataAvailabilityRequests.add(
+                new BusinessObjectDataAvailabilityRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, Arrays.asList(
+                    new PartitionValueFilter(PARTITION_KEY, partitionValues, NO_PARTITION_VALUE_RANGE, NO_LATEST_BEFORE_PARTITION_VALUE,
+                        NO_LATEST_AFTER_PARTITION_VALUE)), NO_STANDALONE_PARTITION_VALUE_FILTER, DATA_VERSION, NO_BDATA_STATUS, NO_STORAGE_NAMES,
+                    STORAGE_NAME, NO_INCLUDE_ALL_REGISTERED_SUBPARTITIONS));
+        }
+
+        // Check an availability for a collection of business object data.
+        BusinessObjectDataAvailabilityCollectionResponse result = businessObjectDataService.checkBusinessObjectDataAvailabilityCollection(request);
+
+        // Validate that each response matches the response to the same individual availability request.
+        assertEquals(businessObjectDataAvailabilityRequests.size(), result.getBusinessObjectDataAvailabilityResponses().size());
+        for (int i = 0; i < businessObjectDataAvailabilityRequests.size(); i++)
+        {
+            assertEquals(businessObjectDataService.checkBusinessObjectDataAvailability(businessObjectDataAvailabilityRequests.get(i)),
+                result.getBusinessObjectDataAvailabilityResponses().get(i));
+        }
+        assertEquals(1, result.getBusinessObjectDataAvailabilityResponses().get(0).getAvailableStatuses().size());
+        assertEquals(0, result.getBusinessObjectDataAvailabilityResponses().get(1).getAvailableStatuses().size());
+        assertEquals(1, result.getBusinessObjectDataAvailabilityResponses().get(2).getAvailableStatuses().size());
+        assertEquals(1, result.getBusinessObjectDataAvailabilityResponses().get(2).getNotAvailableStatuses().size());
+        assertFalse(result.isIsAllDataAvailable());
+        assertFalse(result.isIsAllDataNotAvailable());
+    }
+
     @Test
     public void testCheckBusinessObjectDataAvailabilityCollectionMissingRequiredParameters()
     {
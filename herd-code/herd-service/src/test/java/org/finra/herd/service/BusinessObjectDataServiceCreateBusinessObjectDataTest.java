@@ -27,12 +27,16 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.PersistenceException;
 
 import com.google.common.collect.Lists;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.IterableUtils;
+import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.io.FileUtils;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.junit.After;
@@ -61,6 +65,7 @@ import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
 import org.finra.herd.model.jpa.StorageEntity;
 import org.finra.herd.model.jpa.StoragePlatformEntity;
+import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 
 /**
@@ -120,6 +125,43 @@ public class BusinessObjectDataServiceCreateBusinessObjectDataTest extends Abstr
         businessObjectDataServiceTestHelper.validateBusinessObjectData(businessObjectDataCreateRequest, INITIAL_DATA_VERSION, true, resultBusinessObjectData);
     }
 
+    @Test
+    public void testCreateBusinessObjectDataBulkStorageFileRegistration() throws Exception
+    {
+        // Create a business object data create request.
+        BusinessObjectDataCreateRequest businessObjectDataCreateRequest = businessObjectDataServiceTestHelper.getNewBusinessObjectDataCreateRequest();
+        List<StorageFile> storageFiles = businessObjectDataCreateRequest.getStorageUnits().get(0).getStorageFiles();
+
+        // Override configuration, so the storage files get registered using bulk inserts.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.STORAGE_FILE_BULK_REGISTRATION_THRESHOLD.getKey(), storageFiles.size());
+        overrideMap.put(ConfigurationValue.STORAGE_FILE_BULK_INSERT_ROWS_PER_STATEMENT.getKey(), storageFiles.size() - 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        BusinessObjectData resultBusinessObjectData;
+        try
+        {
+            // Create an initial version of the business object data.
+            resultBusinessObjectData = businessObjectDataService.createBusinessObjectData(businessObjectDataCreateRequest);
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+
+        // Verify the results.
+        businessObjectDataServiceTestHelper.validateBusinessObjectData(businessObjectDataCreateRequest, INITIAL_DATA_VERSION, true, resultBusinessObjectData);
+
+        // Validate that all storage files got registered in the database.
+        BusinessObjectDataEntity businessObjectDataEntity =
+            businessObjectDataDao.getBusinessObjectDataByAltKey(businessObjectDataHelper.getBusinessObjectDataKey(resultBusinessObjectData));
+        StorageUnitEntity storageUnitEntity = IterableUtils.get(businessObjectDataEntity.getStorageUnits(), 0);
+        MultiValuedMap<Integer, String> storageFilePaths =
+            storageFileDao.getStorageFilePathsByStorageUnitIds(Collections.singletonList(storageUnitEntity.getId()));
+        assertEquals(storageFiles.size(), storageFilePaths.get(storageUnitEntity.getId()).size());
+    }
+
     @Test
     public void testCreateBusinessObjectDataMissingRequiredParameters()
     {
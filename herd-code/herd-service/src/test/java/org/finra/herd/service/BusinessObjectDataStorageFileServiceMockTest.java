@@ -846,7 +846,7 @@ public class BusinessObjectDataStorageFileServiceMockTest extends AbstractServic
         verify(storageHelper).getS3BucketAccessParams(storageEntity);
         verify(s3Service).listDirectory(s3FileTransferRequestParamsDto, true);
         verify(storageFileHelper).getStorageFilesMapFromS3ObjectSummaries(s3ObjectSummaries);
-        verify(storageFileHelper).validateStorageFile(TEST_S3_STORAGE_FILES.get(0), S3_BUCKET_NAME, actualS3Keys, true);
+        verify(storageFileHelper).validateStorageFiles(TEST_S3_STORAGE_FILES, s3FileTransferRequestParamsDto, actualS3Keys, true);
         verify(storageFileDaoHelper).createStorageFileEntitiesFromStorageFiles(storageUnitEntity, TEST_S3_STORAGE_FILES, NO_DIRECTORY_PATH);
         verify(businessObjectDataHelper).getSubPartitionValues(businessObjectDataEntity);
         verifyNoMoreInteractionsHelper();
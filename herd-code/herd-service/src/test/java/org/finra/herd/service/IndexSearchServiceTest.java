@@ -17,11 +17,13 @@ package org.finra.herd.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -34,6 +36,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.IndexSearchDao;
 import org.finra.herd.dao.helper.ElasticsearchHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
@@ -46,6 +49,7 @@ import org.finra.herd.model.api.xml.IndexSearchResultKey;
 import org.finra.herd.model.api.xml.IndexSearchResultTypeKey;
 import org.finra.herd.model.api.xml.SearchIndexKey;
 import org.finra.herd.model.api.xml.TagKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.SearchIndexTypeEntity;
 import org.finra.herd.model.jpa.TagEntity;
 import org.finra.herd.model.jpa.TagTypeEntity;
@@ -61,9 +65,14 @@ import org.finra.herd.service.impl.IndexSearchServiceImpl;
  */
 public class IndexSearchServiceTest extends AbstractServiceTest
 {
+    private static final Integer MAX_PAGE_SIZE = 1_000;
+
     @Mock
     private AlternateKeyHelper alternateKeyHelper;
 
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private IndexSearchDao indexSearchDao;
 
@@ -99,7 +108,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
                 ImmutableList.of(new IndexSearchKey(tagKey, NO_INDEX_SEARCH_RESULT_TYPE_KEY, NO_INCLUDE_TAG_HIERARCHY))),
             new IndexSearchFilter(EXCLUSION_SEARCH_FILTER,
                 ImmutableList.of(new IndexSearchKey(NO_TAG_KEY, new IndexSearchResultTypeKey(INDEX_SEARCH_RESULT_TYPE), NO_INCLUDE_TAG_HIERARCHY)))),
-            Collections.singletonList(ElasticsearchHelper.TAG_FACET), ENABLE_HIT_HIGHLIGHTING);
+            Collections.singletonList(ElasticsearchHelper.TAG_FACET), ENABLE_HIT_HIGHLIGHTING, NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -125,7 +134,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
         indexSearchResults.add(indexSearchResultTag);
 
         // Construct an index search response
-        final IndexSearchResponse indexSearchResponse = new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, indexSearchResults, null);
+        final IndexSearchResponse indexSearchResponse = new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, indexSearchResults, null, NO_NEXT_SEARCH_AFTER);
 
         // Construct a search index entity
         SearchIndexTypeEntity searchIndexTypeEntity = new SearchIndexTypeEntity();
@@ -175,7 +184,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
                 ImmutableList.of(new IndexSearchKey(tagKey, NO_INDEX_SEARCH_RESULT_TYPE_KEY, NO_INCLUDE_TAG_HIERARCHY))),
             new IndexSearchFilter(EXCLUSION_SEARCH_FILTER,
                 ImmutableList.of(new IndexSearchKey(NO_TAG_KEY, new IndexSearchResultTypeKey(INDEX_SEARCH_RESULT_TYPE), NO_INCLUDE_TAG_HIERARCHY)))),
-            Collections.singletonList(ElasticsearchHelper.TAG_FACET), ENABLE_HIT_HIGHLIGHTING);
+            Collections.singletonList(ElasticsearchHelper.TAG_FACET), ENABLE_HIT_HIGHLIGHTING, NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -204,7 +213,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
         indexSearchResults.add(indexSearchResultTag);
 
         // Construct an index search response
-        final IndexSearchResponse indexSearchResponse = new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, indexSearchResults, null);
+        final IndexSearchResponse indexSearchResponse = new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, indexSearchResults, null, NO_NEXT_SEARCH_AFTER);
 
         // Construct a search index entity
         SearchIndexTypeEntity searchIndexTypeEntity = new SearchIndexTypeEntity();
@@ -248,7 +257,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
     {
         // Create index search request with an empty list of index search filters.
         final IndexSearchRequest indexSearchRequest =
-            new IndexSearchRequest(SEARCH_TERM, new ArrayList<>(), NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING);
+            new IndexSearchRequest(SEARCH_TERM, new ArrayList<>(), NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING, NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -270,7 +279,8 @@ public class IndexSearchServiceTest extends AbstractServiceTest
     {
         // Create an index search request with an invalid facet.
         final IndexSearchRequest indexSearchRequest =
-            new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, Collections.singletonList(INVALID_VALUE), NO_ENABLE_HIT_HIGHLIGHTING);
+            new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, Collections.singletonList(INVALID_VALUE), NO_ENABLE_HIT_HIGHLIGHTING,
+                NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -300,7 +310,8 @@ public class IndexSearchServiceTest extends AbstractServiceTest
 
         // Create an index search request.
         final IndexSearchRequest indexSearchRequest =
-            new IndexSearchRequest(SEARCH_TERM, Collections.singletonList(indexSearchFilter), NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING);
+            new IndexSearchRequest(SEARCH_TERM, Collections.singletonList(indexSearchFilter), NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING,
+                NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -346,7 +357,8 @@ public class IndexSearchServiceTest extends AbstractServiceTest
 
         // Create an index search request.
         final IndexSearchRequest indexSearchRequest =
-            new IndexSearchRequest(SEARCH_TERM, Collections.singletonList(indexSearchFilter), NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING);
+            new IndexSearchRequest(SEARCH_TERM, Collections.singletonList(indexSearchFilter), NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING,
+                NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -368,7 +380,8 @@ public class IndexSearchServiceTest extends AbstractServiceTest
     {
         // Create an index search request with an invalid search term.
         final IndexSearchRequest indexSearchRequest =
-            new IndexSearchRequest(EMPTY_STRING, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING);
+            new IndexSearchRequest(EMPTY_STRING, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING,
+                NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -391,7 +404,8 @@ public class IndexSearchServiceTest extends AbstractServiceTest
     {
         // Create an index search request.
         final IndexSearchRequest indexSearchRequest =
-            new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING);
+            new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING,
+                NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a new index search result key and populate it with a tag key
         final IndexSearchResultKey indexSearchResultKeyBusinessObjectDefinition =
@@ -414,7 +428,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
         indexSearchResults.add(indexSearchResultTag);
 
         // Construct an index search response
-        final IndexSearchResponse indexSearchResponse = new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, indexSearchResults, null);
+        final IndexSearchResponse indexSearchResponse = new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, indexSearchResults, null, NO_NEXT_SEARCH_AFTER);
 
         // Construct a search index entity
         SearchIndexTypeEntity searchIndexTypeEntity = new SearchIndexTypeEntity();
@@ -443,7 +457,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
     {
         // Create an index search request without a search term and without a search filter.
         final IndexSearchRequest indexSearchRequest =
-            new IndexSearchRequest(null, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING);
+            new IndexSearchRequest(null, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING, NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -479,7 +493,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
         List<IndexSearchFilter> indexSearchFilters = Collections.singletonList(indexSearchFilter);
 
         // Create index search request
-        final IndexSearchRequest indexSearchRequest = new IndexSearchRequest(SEARCH_TERM, indexSearchFilters, null, false);
+        final IndexSearchRequest indexSearchRequest = new IndexSearchRequest(SEARCH_TERM, indexSearchFilters, null, false, NO_PAGE_SIZE, NO_SEARCH_AFTER);
 
         // Create a set of fields.
         final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
@@ -505,7 +519,7 @@ public class IndexSearchServiceTest extends AbstractServiceTest
         indexSearchResults.add(indexSearchResultTag);
 
         // Construct an index search response
-        final IndexSearchResponse indexSearchResponse = new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, indexSearchResults, null);
+        final IndexSearchResponse indexSearchResponse = new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, indexSearchResults, null, NO_NEXT_SEARCH_AFTER);
 
         // Mock the call to the index search service
         when(alternateKeyHelper.validateStringParameter("An", "index search result type", SearchIndexTypeEntity.SearchIndexTypes.BUS_OBJCT_DFNTN.name()))
@@ -529,11 +543,102 @@ public class IndexSearchServiceTest extends AbstractServiceTest
         assertEquals(indexSearchResponse, result);
     }
 
+    @Test
+    public void testIndexSearchInvalidPageSize()
+    {
+        // Create a set of fields.
+        final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
+
+        // Mock the external calls.
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_INDEX_SEARCH_MAX_PAGE_SIZE, Integer.class)).thenReturn(MAX_PAGE_SIZE);
+
+        // Try to call the method under test with a page size that is less than 1.
+        try
+        {
+            indexSearchService.indexSearch(
+                new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING, 0, NO_SEARCH_AFTER),
+                fields, NO_MATCH);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A page size greater than 0 must be specified.", e.getMessage());
+        }
+
+        // Try to call the method under test with a page size that is greater than the maximum page size.
+        try
+        {
+            indexSearchService.indexSearch(
+                new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING, MAX_PAGE_SIZE + 1,
+                    NO_SEARCH_AFTER), fields, NO_MATCH);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("A page size less than or equal to %d must be specified.", MAX_PAGE_SIZE), e.getMessage());
+        }
+
+        // Verify the external calls.
+        verify(configurationHelper, times(2)).getProperty(ConfigurationValue.ELASTICSEARCH_INDEX_SEARCH_MAX_PAGE_SIZE, Integer.class);
+        verifyNoMoreInteractionsHelper();
+    }
+
+    @Test
+    public void testExportIndexSearchResults()
+    {
+        // Create an index search request without a page size.
+        final IndexSearchRequest indexSearchRequest =
+            new IndexSearchRequest(SEARCH_TERM, NO_INDEX_SEARCH_FILTERS, NO_INDEX_SEARCH_FACET_FIELDS, NO_ENABLE_HIT_HIGHLIGHTING, NO_PAGE_SIZE,
+                NO_SEARCH_AFTER);
+
+        // Create a set of fields.
+        final Set<String> fields = Sets.newHashSet(FIELD_DISPLAY_NAME, FIELD_SHORT_DESCRIPTION);
+
+        // Create index search results.
+        final IndexSearchResult indexSearchResultBusinessObjectDefinition = new IndexSearchResult(SearchIndexTypeEntity.SearchIndexTypes.BUS_OBJCT_DFNTN.name(),
+            new SearchIndexKey(BUSINESS_OBJECT_DEFINITION_SEARCH_INDEX_NAME),
+            new IndexSearchResultKey(null, new BusinessObjectDefinitionKey(NAMESPACE, BDEF_NAME)), BDEF_DISPLAY_NAME, BDEF_SHORT_DESCRIPTION, null);
+        final IndexSearchResult indexSearchResultTag =
+            new IndexSearchResult(SearchIndexTypeEntity.SearchIndexTypes.TAG.name(), new SearchIndexKey(TAG_SEARCH_INDEX_NAME),
+                new IndexSearchResultKey(new TagKey(TAG_TYPE, TAG_CODE), null), TAG_DISPLAY_NAME, TAG_DESCRIPTION, null);
+
+        // Create two pages of index search results, where the first page points to the second one.
+        final IndexSearchResponse firstIndexSearchResponse =
+            new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, Collections.singletonList(indexSearchResultBusinessObjectDefinition), null, STRING_VALUE);
+        final IndexSearchResponse secondIndexSearchResponse =
+            new IndexSearchResponse(TOTAL_INDEX_SEARCH_RESULTS, Collections.singletonList(indexSearchResultTag), null, NO_NEXT_SEARCH_AFTER);
+
+        // Mock the external calls.
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_INDEX_SEARCH_MAX_PAGE_SIZE, Integer.class)).thenReturn(MAX_PAGE_SIZE);
+        when(searchIndexDaoHelper.getActiveSearchIndex(SearchIndexTypeEntity.SearchIndexTypes.BUS_OBJCT_DFNTN.name())).thenReturn(SEARCH_INDEX_NAME);
+        when(searchIndexDaoHelper.getActiveSearchIndex(SearchIndexTypeEntity.SearchIndexTypes.TAG.name())).thenReturn(SEARCH_INDEX_NAME_2);
+        when(indexSearchDao.indexSearch(indexSearchRequest, fields, NO_MATCH, SEARCH_INDEX_NAME, SEARCH_INDEX_NAME_2))
+            .thenReturn(firstIndexSearchResponse, secondIndexSearchResponse);
+
+        // Call the method under test.
+        List<IndexSearchResult> exportedIndexSearchResults = new ArrayList<>();
+        long result = indexSearchService.exportIndexSearchResults(indexSearchRequest, fields, NO_MATCH, exportedIndexSearchResults::add);
+
+        // Verify the external calls.
+        verify(configurationHelper).getProperty(ConfigurationValue.ELASTICSEARCH_INDEX_SEARCH_MAX_PAGE_SIZE, Integer.class);
+        verify(searchIndexDaoHelper).getActiveSearchIndex(SearchIndexTypeEntity.SearchIndexTypes.BUS_OBJCT_DFNTN.name());
+        verify(searchIndexDaoHelper).getActiveSearchIndex(SearchIndexTypeEntity.SearchIndexTypes.TAG.name());
+        verify(indexSearchDao, times(2)).indexSearch(indexSearchRequest, fields, NO_MATCH, SEARCH_INDEX_NAME, SEARCH_INDEX_NAME_2);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(2L, result);
+        assertEquals(Arrays.asList(indexSearchResultBusinessObjectDefinition, indexSearchResultTag), exportedIndexSearchResults);
+        assertEquals(MAX_PAGE_SIZE, indexSearchRequest.getPageSize());
+        assertEquals(NO_SEARCH_AFTER, indexSearchRequest.getSearchAfter());
+    }
+
     /**
      * Checks if any of the mocks has any interaction.
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(alternateKeyHelper, indexSearchDao, searchIndexDaoHelper, searchIndexTypeDaoHelper, tagDaoHelper, tagHelper);
+        verifyNoMoreInteractions(alternateKeyHelper, configurationHelper, indexSearchDao, searchIndexDaoHelper, searchIndexTypeDaoHelper, tagDaoHelper,
+            tagHelper);
     }
 }
@@ -153,6 +153,33 @@ public class JdbcServiceTest extends AbstractServiceTest
         }
     }
 
+    /**
+     * Test case where statements are executed in parallel. All statements should be executed and their results reported in the order of the request.
+     */
+    @Test
+    public void testExecuteJdbcStatementsInParallel()
+    {
+        // Create test request
+        JdbcExecutionRequest jdbcExecutionRequest = jdbcServiceTestHelper.createDefaultUpdateJdbcExecutionRequest();
+        // First statement already included
+        // Second statement uses case 2 which throws an error
+        jdbcExecutionRequest.getStatements().add(new JdbcStatement(JdbcStatementType.UPDATE, MockJdbcOperations.CASE_2_SQL, true, null, null, null, null));
+        jdbcExecutionRequest.getStatements().add(new JdbcStatement(JdbcStatementType.UPDATE, MockJdbcOperations.CASE_1_SQL, false, null, null, null, null));
+        jdbcExecutionRequest.setExecuteStatementsInParallel(true);
+
+        // Execute
+        JdbcExecutionResponse jdbcExecutionResponse = jdbcService.executeJdbc(jdbcExecutionRequest);
+
+        // Assert results
+        Assert.assertEquals("JDBC statements size", jdbcExecutionRequest.getStatements().size(), jdbcExecutionResponse.getStatements().size());
+        Assert.assertEquals("JDBC statement [0] status", JdbcStatementStatus.SUCCESS, jdbcExecutionResponse.getStatements().get(0).getStatus());
+        Assert.assertEquals("JDBC statement [0] result", "1", jdbcExecutionResponse.getStatements().get(0).getResult());
+        Assert.assertEquals("JDBC statement [1] status", JdbcStatementStatus.ERROR, jdbcExecutionResponse.getStatements().get(1).getStatus());
+        Assert.assertEquals("JDBC statement [1] error message", "java.sql.SQLException: test DataIntegrityViolationException cause",
+            jdbcExecutionResponse.getStatements().get(1).getErrorMessage());
+        Assert.assertEquals("JDBC statement [2] status", JdbcStatementStatus.SUCCESS, jdbcExecutionResponse.getStatements().get(2).getStatus());
+    }
+
     /**
      * Test case where user specifies a QUERY statement type. A proper result set should be created.
      */
@@ -9,6 +9,7 @@ import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,6 +18,7 @@ import static org.mockito.MockitoAnnotations.initMocks;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -42,6 +44,7 @@ import org.finra.herd.model.api.xml.JobSummaries;
 import org.finra.herd.model.api.xml.JobSummary;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.JobDefinitionAlternateKeyDto;
+import org.finra.herd.model.dto.JobSummariesPagingInfoDto;
 import org.finra.herd.model.jpa.JobDefinitionEntity;
 import org.finra.herd.model.jpa.NamespaceEntity;
 import org.finra.herd.service.helper.JobDefinitionHelper;
@@ -279,7 +282,8 @@ public class JobServiceGetJobsTest extends AbstractServiceTest
         historicProcessInstances.add(historicProcessInstanceEntity1);
         when(activitiService.getHistoricProcessInstancesByStatusAndProcessDefinitionKeys(any(), any(), any(), any())).thenReturn(historicProcessInstances);
 
-        when(activitiService.getJobsWithExceptionCountByProcessInstanceId(any())).thenReturn(expectedNumberOfExceptions);
+        when(activitiService.getJobsWithExceptionCountsByProcessInstanceIds(any()))
+            .thenReturn(Collections.singletonMap(historicProcessInstanceEntity1.getId(), expectedNumberOfExceptions));
 
         JobSummaries getJobsResult = jobServiceImpl.getJobs(namespace, jobName, jobStatus, NO_START_TIME, NO_END_TIME);
 
@@ -294,11 +298,89 @@ public class JobServiceGetJobsTest extends AbstractServiceTest
         assertNull(jobSummary.getEndTime());
         assertEquals(expectedNumberOfExceptions, jobSummary.getTotalExceptions());
 
-        verify(activitiService).getJobsWithExceptionCountByProcessInstanceId(historicProcessInstanceEntity1.getId());
+        verify(activitiService).getSuspendedProcessInstancesByProcessInstanceIds(Collections.singleton(historicProcessInstanceEntity1.getId()));
+        verify(activitiService).getJobsWithExceptionCountsByProcessInstanceIds(Collections.singleton(historicProcessInstanceEntity1.getId()));
         verify(activitiService).getHistoricProcessInstancesCountByStatusAndProcessDefinitionKeys(eq(JobStatusEnum.RUNNING), any(), any(), any());
         verify(activitiService).getHistoricProcessInstancesByStatusAndProcessDefinitionKeys(eq(JobStatusEnum.RUNNING), any(), any(), any());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetJobsWithPaging() throws Exception
+    {
+        String namespace = "namespace";
+        String jobName = "jobName";
+        JobStatusEnum jobStatus = JobStatusEnum.RUNNING;
+
+        Set<String> authorizedNamespaces = new HashSet<>(Arrays.asList(namespace));
+        when(namespaceSecurityHelper.getAuthorizedNamespaces(any())).thenReturn(authorizedNamespaces);
+
+        NamespaceEntity namespaceEntity = new NamespaceEntity();
+        namespaceEntity.setCode(namespace);
+        when(namespaceDao.getNamespaceByCd(any())).thenReturn(namespaceEntity);
+
+        JobDefinitionEntity jobDefinitionEntity1 = new JobDefinitionEntity();
+        jobDefinitionEntity1.setActivitiId("a.b:1:1");
+        when(jobDefinitionDao.getJobDefinitionsByFilter(any(Collection.class), any())).thenReturn(asList(jobDefinitionEntity1));
+
+        ProcessDefinition processDefinition = mock(ProcessDefinition.class);
+        when(processDefinition.getId()).thenReturn("a.b:1:1");
+        when(processDefinition.getKey()).thenReturn("a.b");
+        when(activitiService.getProcessDefinitionsByIds(any())).thenReturn(asList(processDefinition));
+
+        // Return the second running process instance, since the page size defaults to the maximum number of results allowed.
+        HistoricProcessInstanceEntity historicProcessInstanceEntity = new HistoricProcessInstanceEntity();
+        historicProcessInstanceEntity.setId("historicProcessInstanceEntity.id");
+        historicProcessInstanceEntity.setProcessDefinitionId("a.b:1:1");
+        historicProcessInstanceEntity.setStartTime(new Date(1234));
+        when(activitiService.getHistoricProcessInstancesByStatusAndProcessDefinitionIds(eq(jobStatus), any(), any(), any(), eq(1), eq(1)))
+            .thenReturn(asList(historicProcessInstanceEntity));
+
+        JobSummariesPagingInfoDto result = jobServiceImpl.getJobs(namespace, jobName, jobStatus, NO_START_TIME, NO_END_TIME, 2, null);
+
+        List<JobSummary> jobSummaries = result.getJobSummaries().getJobSummaries();
+        assertEquals(1, jobSummaries.size());
+        assertEquals("historicProcessInstanceEntity.id", jobSummaries.get(0).getId());
+        assertEquals(JobStatusEnum.RUNNING, jobSummaries.get(0).getStatus());
+        assertEquals(0, jobSummaries.get(0).getTotalExceptions());
+        assertEquals(new JobSummariesPagingInfoDto(2L, 1L, null, 1L, null, 1L, result.getJobSummaries()), result);
+
+        // The page is read directly at its offset and the full result set is never queried or counted.
+        verify(activitiService)
+            .getHistoricProcessInstancesByStatusAndProcessDefinitionIds(eq(jobStatus), eq(Collections.singleton("a.b:1:1")), isNull(DateTime.class),
+                isNull(DateTime.class), eq(1), eq(1));
+        verify(activitiService).getSuspendedProcessInstancesByProcessInstanceIds(Collections.singleton("historicProcessInstanceEntity.id"));
+        verify(activitiService).getJobsWithExceptionCountsByProcessInstanceIds(Collections.singleton("historicProcessInstanceEntity.id"));
+        verify(activitiService, never()).getHistoricProcessInstancesCountByStatusAndProcessDefinitionKeys(any(), any(), any(), any());
+        verify(activitiService, never()).getHistoricProcessInstancesByStatusAndProcessDefinitionKeys(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testGetJobsWithPagingInvalidPageSize() throws Exception
+    {
+        // Try to get jobs when the page size is greater than the maximum number of results allowed.
+        try
+        {
+            jobServiceImpl.getJobs("namespace", "jobName", JobStatusEnum.RUNNING, NO_START_TIME, NO_END_TIME, 1, 2);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A pageSize less than 1 must be specified.", e.getMessage());
+        }
+
+        // Try to get jobs when the page number is less than 1.
+        try
+        {
+            jobServiceImpl.getJobs("namespace", "jobName", JobStatusEnum.RUNNING, NO_START_TIME, NO_END_TIME, 0, 1);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A pageNum greater than 0 must be specified.", e.getMessage());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testGetJobsWhenActivitiIdIsNotExpectedFormatAssertSuccess() throws Exception
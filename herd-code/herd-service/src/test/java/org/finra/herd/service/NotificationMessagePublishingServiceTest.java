@@ -22,6 +22,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -146,6 +147,38 @@ public class NotificationMessagePublishingServiceTest extends AbstractServiceTes
         }
     }
 
+    @Test
+    public void testPublishNotificationMessages()
+    {
+        // Create notification messages, where one message is sent to a non-existing SQS queue and one message has an invalid message type.
+        NotificationMessage sqsNotificationMessage = new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT,
+            Collections.singletonList(new MessageHeader(KEY, VALUE)));
+        NotificationMessage sqsNotificationMessage2 =
+            new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT_2, NO_MESSAGE_HEADERS);
+        NotificationMessage sqsQueueNotFoundNotificationMessage =
+            new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT,
+                NO_MESSAGE_HEADERS);
+        NotificationMessage snsNotificationMessage = new NotificationMessage(MessageTypeEntity.MessageEventTypes.SNS.name(), AWS_SNS_TOPIC_ARN, MESSAGE_TEXT,
+            Collections.singletonList(new MessageHeader(KEY, VALUE)));
+        NotificationMessage snsNotificationMessage2 =
+            new NotificationMessage(MessageTypeEntity.MessageEventTypes.SNS.name(), AWS_SNS_TOPIC_ARN, MESSAGE_TEXT_2, NO_MESSAGE_HEADERS);
+        NotificationMessage invalidNotificationMessage = new NotificationMessage(I_DO_NOT_EXIST, MESSAGE_DESTINATION, MESSAGE_TEXT, NO_MESSAGE_HEADERS);
+
+        // Publish the notification messages.
+        List<NotificationMessage> result = notificationMessagePublishingService.publishNotificationMessages(Arrays
+            .asList(sqsNotificationMessage, snsNotificationMessage, sqsQueueNotFoundNotificationMessage, invalidNotificationMessage, sqsNotificationMessage2,
+                snsNotificationMessage2));
+
+        // Validate that only the messages that failed to publish are returned.
+        assertEquals(Arrays.asList(invalidNotificationMessage, sqsQueueNotFoundNotificationMessage), result);
+    }
+
+    @Test
+    public void testPublishNotificationMessagesNoMessages()
+    {
+        assertEquals(0, notificationMessagePublishingService.publishNotificationMessages(Collections.emptyList()).size());
+    }
+
     @Test
     public void testPublishOldestNotificationMessageFromDatabaseQueue()
     {
@@ -206,4 +239,44 @@ public class NotificationMessagePublishingServiceTest extends AbstractServiceTes
         // Check that the test notification message is still the oldest message in the database queue.
         assertEquals(notificationMessageDao.getOldestNotificationMessage(), notificationMessageEntity);
     }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueue()
+    {
+        // Create notification messages and add them to the database queue.
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT);
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SNS.name(), MESSAGE_DESTINATION, MESSAGE_TEXT_2);
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT_2);
+
+        // Validate the database queue size.
+        assertEquals(3L, notificationMessagePublishingService.getNotificationMessageDatabaseQueueSize());
+
+        // Publish the notification messages from the database queue in batches of two messages.
+        assertEquals(2, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(2));
+        assertEquals(1, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(2));
+
+        // Confirm that the database queue is empty now.
+        assertEquals(0, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(2));
+        assertEquals(0L, notificationMessagePublishingService.getNotificationMessageDatabaseQueueSize());
+    }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueueAwsServiceException()
+    {
+        // Create notification messages and add them to the database queue. Please note that the second message is sent to a non-existing SQS queue.
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT);
+        NotificationMessageEntity notificationMessageEntity = notificationMessageDaoTestHelper
+            .createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT);
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT_2);
+
+        // Publish the notification messages. Only the first message gets published, since publishing stops at the first failure.
+        assertEquals(1, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(3));
+
+        // Check that the failed notification message is now the oldest message in the database queue and that the newer message is still in the queue.
+        assertEquals(notificationMessageEntity.getId(), notificationMessageDao.getOldestNotificationMessage().getId());
+        assertEquals(2L, notificationMessagePublishingService.getNotificationMessageDatabaseQueueSize());
+
+        // Confirm that the failed notification message blocks the queue.
+        assertEquals(0, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(3));
+    }
 }
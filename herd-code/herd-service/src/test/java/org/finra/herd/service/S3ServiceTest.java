@@ -23,9 +23,14 @@ import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.Tag;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
+import com.google.common.util.concurrent.RateLimiter;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
@@ -55,6 +60,20 @@ public class S3ServiceTest extends AbstractServiceTest
         MockitoAnnotations.initMocks(this);
     }
 
+    @Test
+    public void testAbortMultipartUpload()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Call the method under test.
+        s3Service.abortMultipartUpload(s3FileTransferRequestParamsDto, "uploadId");
+
+        // Verify the external calls.
+        verify(s3Dao).abortMultipartUpload(s3FileTransferRequestParamsDto, "uploadId");
+        verifyNoMoreInteractions(s3Dao);
+    }
+
     @Test
     public void testCopyFile() throws InterruptedException
     {
@@ -197,6 +216,55 @@ public class S3ServiceTest extends AbstractServiceTest
         assertEquals(s3FileTransferResultsDto, result);
     }
 
+    @Test
+    public void testDownloadFileRange()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a rate limiter.
+        RateLimiter rateLimiter = RateLimiter.create(1024);
+
+        // Create an S3 file transfer result DTO.
+        S3FileTransferResultsDto s3FileTransferResultsDto = new S3FileTransferResultsDto();
+
+        // Mock the external calls.
+        when(s3Dao.downloadFileRange(s3FileTransferRequestParamsDto, 0L, 9L, rateLimiter)).thenReturn(s3FileTransferResultsDto);
+
+        // Call the method under test.
+        S3FileTransferResultsDto result = s3Service.downloadFileRange(s3FileTransferRequestParamsDto, 0L, 9L, rateLimiter);
+
+        // Verify the external calls.
+        verify(s3Dao).downloadFileRange(s3FileTransferRequestParamsDto, 0L, 9L, rateLimiter);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(s3FileTransferResultsDto, result);
+    }
+
+    @Test
+    public void testGetObjectMetadata()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a map of S3 object metadata.
+        Map<String, ObjectMetadata> objectMetadataMap = Collections.singletonMap(S3_KEY, new ObjectMetadata());
+
+        // Mock the external calls.
+        when(s3Dao.getObjectMetadata(s3FileTransferRequestParamsDto, Collections.singletonList(S3_KEY))).thenReturn(objectMetadataMap);
+
+        // Call the method under test.
+        Map<String, ObjectMetadata> result = s3Service.getObjectMetadata(s3FileTransferRequestParamsDto, Collections.singletonList(S3_KEY));
+
+        // Verify the external calls.
+        verify(s3Dao).getObjectMetadata(s3FileTransferRequestParamsDto, Collections.singletonList(S3_KEY));
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(objectMetadataMap, result);
+    }
+
     @Test
     public void testListDirectory()
     {
@@ -330,6 +398,34 @@ public class S3ServiceTest extends AbstractServiceTest
         assertEquals(s3FileTransferResultsDto, result);
     }
 
+    @Test
+    public void testUploadFileResumable() throws InterruptedException
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a persistable upload and a listener.
+        PersistableUpload persistableUpload = new PersistableUpload();
+        Consumer<PersistableUpload> persistableUploadListener = upload -> {
+        };
+
+        // Create an S3 file transfer result DTO.
+        S3FileTransferResultsDto s3FileTransferResultsDto = new S3FileTransferResultsDto();
+
+        // Mock the external calls.
+        when(s3Dao.uploadFile(s3FileTransferRequestParamsDto, persistableUpload, persistableUploadListener)).thenReturn(s3FileTransferResultsDto);
+
+        // Call the method under test.
+        S3FileTransferResultsDto result = s3Service.uploadFile(s3FileTransferRequestParamsDto, persistableUpload, persistableUploadListener);
+
+        // Verify the external calls.
+        verify(s3Dao).uploadFile(s3FileTransferRequestParamsDto, persistableUpload, persistableUploadListener);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(s3FileTransferResultsDto, result);
+    }
+
     @Test
     public void testUploadFileList() throws InterruptedException
     {
@@ -20,7 +20,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -28,7 +28,9 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Future;
 
 import org.junit.Before;
@@ -37,13 +39,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.IndexFunctionsDao;
 import org.finra.herd.dao.TagDao;
 import org.finra.herd.model.api.xml.SearchIndexKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
 import org.finra.herd.model.jpa.SearchIndexStatusEntity;
 import org.finra.herd.model.jpa.TagEntity;
+import org.finra.herd.service.functional.TriConsumer;
 import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.SearchIndexDaoHelper;
 import org.finra.herd.service.helper.TagHelper;
@@ -60,6 +65,9 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
     @Mock
     private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
 
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private IndexFunctionsDao indexFunctionsDao;
 
@@ -79,6 +87,14 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
     public void before()
     {
         MockitoAnnotations.initMocks(this);
+
+        // Mock the bulk index configuration values.
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_DOCUMENTS, Integer.class))
+            .thenReturn((Integer) ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_DOCUMENTS.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_BYTES, Integer.class))
+            .thenReturn((Integer) ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_BYTES.getDefaultValue());
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_ATTEMPTS, Integer.class))
+            .thenReturn((Integer) ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_ATTEMPTS.getDefaultValue());
     }
 
     @Test
@@ -109,6 +125,8 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         // Verify the external calls.
         verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitions(0, chunkSize);
         verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitions(chunkSize, chunkSize);
+        verify(businessObjectDefinitionDao).detach(businessObjectDefinitionEntities.get(0));
+        verify(businessObjectDefinitionDao).detach(businessObjectDefinitionEntities.get(1));
         verify(businessObjectDefinitionHelper)
             .executeFunctionForBusinessObjectDefinitionEntities(eq(SEARCH_INDEX_NAME), eq(businessObjectDefinitionEntities),
                 any());
@@ -134,7 +152,6 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
 
         // Mock the external calls. Please note that we mock index size is set to be equal to the tag entity list size.
         when(tagDao.getTags()).thenReturn(tagEntities);
-        doNothing().when(indexFunctionsDao).createIndexDocument(any(), any(), any());
 
         when(indexFunctionsDao.getNumberOfTypesInIndex(SEARCH_INDEX_NAME)).thenReturn(2L);
 
@@ -143,7 +160,6 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
 
         // Verify the external calls.
         verify(tagDao).getTags();
-        //verify(indexFunctionsDao).createIndexDocument(any(), any(), any(), any());
         verify(tagHelper).executeFunctionForTagEntities(eq(SEARCH_INDEX_NAME), eq(tagEntities), any());
         verify(indexFunctionsDao).getNumberOfTypesInIndex(SEARCH_INDEX_NAME);
         verify(searchIndexDaoHelper).updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
@@ -153,4 +169,101 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         assertNotNull(response);
         assertThat(response, instanceOf(Future.class));
     }
+
+    @Test
+    public void testIndexAllTagsUsesSizeBoundedBulkRequests()
+    {
+        // Create a search index key.
+        SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
+
+        // Create a list of tag entities.
+        final List<TagEntity> tagEntities = Collections.unmodifiableList(Arrays
+            .asList(tagDaoTestHelper.createTagEntity(TAG_TYPE, TAG_CODE, TAG_DISPLAY_NAME, TAG_DESCRIPTION),
+                tagDaoTestHelper.createTagEntity(TAG_TYPE_2, TAG_CODE_2, TAG_DISPLAY_NAME_2, TAG_DESCRIPTION_2),
+                tagDaoTestHelper.createTagEntity(TAG_TYPE, TAG_CODE_3, TAG_DISPLAY_NAME_3, TAG_DESCRIPTION_3)));
+
+        // Create the expected bulk requests.
+        Map<String, String> expectedFirstBulkRequest = new LinkedHashMap<>();
+        expectedFirstBulkRequest.put("1", JSON_STRING);
+        expectedFirstBulkRequest.put("2", JSON_STRING);
+        Map<String, String> expectedSecondBulkRequest = new LinkedHashMap<>();
+        expectedSecondBulkRequest.put("3", JSON_STRING);
+
+        // Mock the external calls. Please note that we limit a bulk request to two documents.
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_BULK_INDEX_MAX_DOCUMENTS, Integer.class)).thenReturn(2);
+        when(tagDao.getTags()).thenReturn(tagEntities);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            TriConsumer<String, String, String> function = (TriConsumer<String, String, String>) invocation.getArguments()[2];
+            function.accept(SEARCH_INDEX_NAME, "1", JSON_STRING);
+            function.accept(SEARCH_INDEX_NAME, "2", JSON_STRING);
+            function.accept(SEARCH_INDEX_NAME, "3", JSON_STRING);
+            return null;
+        }).when(tagHelper).executeFunctionForTagEntities(eq(SEARCH_INDEX_NAME), eq(tagEntities), any());
+        when(indexFunctionsDao.getNumberOfTypesInIndex(SEARCH_INDEX_NAME)).thenReturn(3L);
+
+        // Index all tags defined in the system.
+        Future<Void> response = searchIndexHelperService.indexAllTags(searchIndexKey);
+
+        // Verify the external calls.
+        verify(tagDao).getTags();
+        verify(tagHelper).executeFunctionForTagEntities(eq(SEARCH_INDEX_NAME), eq(tagEntities), any());
+        verify(indexFunctionsDao).bulkIndexDocuments(SEARCH_INDEX_NAME, expectedFirstBulkRequest);
+        verify(indexFunctionsDao).bulkIndexDocuments(SEARCH_INDEX_NAME, expectedSecondBulkRequest);
+        verify(indexFunctionsDao).getNumberOfTypesInIndex(SEARCH_INDEX_NAME);
+        verify(searchIndexDaoHelper).updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, indexFunctionsDao, searchIndexDaoHelper, tagDao, tagHelper);
+
+        // Validate the results.
+        assertNotNull(response);
+        assertThat(response, instanceOf(Future.class));
+    }
+
+    @Test
+    public void testIndexAllTagsRetriesFailedDocuments()
+    {
+        // Create a search index key.
+        SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
+
+        // Create a list of tag entities.
+        final List<TagEntity> tagEntities = Collections.unmodifiableList(Arrays
+            .asList(tagDaoTestHelper.createTagEntity(TAG_TYPE, TAG_CODE, TAG_DISPLAY_NAME, TAG_DESCRIPTION),
+                tagDaoTestHelper.createTagEntity(TAG_TYPE_2, TAG_CODE_2, TAG_DISPLAY_NAME_2, TAG_DESCRIPTION_2)));
+
+        // Create the expected bulk requests.
+        Map<String, String> expectedFirstBulkRequest = new LinkedHashMap<>();
+        expectedFirstBulkRequest.put("1", JSON_STRING);
+        expectedFirstBulkRequest.put("2", JSON_STRING);
+        Map<String, String> expectedRetryBulkRequest = new LinkedHashMap<>();
+        expectedRetryBulkRequest.put("2", JSON_STRING);
+
+        // Mock the external calls. Please note that the second document fails to be indexed by the first bulk request.
+        when(tagDao.getTags()).thenReturn(tagEntities);
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            TriConsumer<String, String, String> function = (TriConsumer<String, String, String>) invocation.getArguments()[2];
+            function.accept(SEARCH_INDEX_NAME, "1", JSON_STRING);
+            function.accept(SEARCH_INDEX_NAME, "2", JSON_STRING);
+            return null;
+        }).when(tagHelper).executeFunctionForTagEntities(eq(SEARCH_INDEX_NAME), eq(tagEntities), any());
+        when(indexFunctionsDao.bulkIndexDocuments(SEARCH_INDEX_NAME, expectedFirstBulkRequest)).thenReturn(Collections.singleton("2"));
+        when(indexFunctionsDao.bulkIndexDocuments(SEARCH_INDEX_NAME, expectedRetryBulkRequest)).thenReturn(Collections.emptySet());
+        when(indexFunctionsDao.getNumberOfTypesInIndex(SEARCH_INDEX_NAME)).thenReturn(2L);
+
+        // Index all tags defined in the system.
+        Future<Void> response = searchIndexHelperService.indexAllTags(searchIndexKey);
+
+        // Verify the external calls.
+        verify(tagDao).getTags();
+        verify(tagHelper).executeFunctionForTagEntities(eq(SEARCH_INDEX_NAME), eq(tagEntities), any());
+        verify(indexFunctionsDao).bulkIndexDocuments(SEARCH_INDEX_NAME, expectedFirstBulkRequest);
+        verify(indexFunctionsDao).bulkIndexDocuments(SEARCH_INDEX_NAME, expectedRetryBulkRequest);
+        verify(indexFunctionsDao).getNumberOfTypesInIndex(SEARCH_INDEX_NAME);
+        verify(searchIndexDaoHelper).updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, indexFunctionsDao, searchIndexDaoHelper, tagDao, tagHelper);
+
+        // Validate the results.
+        assertNotNull(response);
+        assertThat(response, instanceOf(Future.class));
+    }
 }
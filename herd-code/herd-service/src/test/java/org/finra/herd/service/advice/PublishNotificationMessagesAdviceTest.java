@@ -26,6 +26,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 
 import com.amazonaws.AmazonServiceException;
@@ -96,7 +97,7 @@ public class PublishNotificationMessagesAdviceTest extends AbstractServiceTest
         verify(notificationMessageInMemoryQueue).add(notificationMessage);
         verify(notificationMessageInMemoryQueue, times(3)).isEmpty();
         verify(notificationMessageInMemoryQueue).remove();
-        verify(notificationMessagePublishingService).publishNotificationMessage(notificationMessage);
+        verify(notificationMessagePublishingService).publishNotificationMessages(Collections.singletonList(notificationMessage));
         verifyNoMoreInteractionsHelper();
 
         // Validate the results.
@@ -118,7 +119,8 @@ public class PublishNotificationMessagesAdviceTest extends AbstractServiceTest
         doCallRealMethod().when(notificationMessageInMemoryQueue).add(notificationMessage);
         when(notificationMessageInMemoryQueue.isEmpty()).thenCallRealMethod();
         doCallRealMethod().when(notificationMessageInMemoryQueue).remove();
-        doThrow(new AmazonServiceException(ERROR_MESSAGE)).when(notificationMessagePublishingService).publishNotificationMessage(notificationMessage);
+        doThrow(new AmazonServiceException(ERROR_MESSAGE)).when(notificationMessagePublishingService)
+            .publishNotificationMessages(Collections.singletonList(notificationMessage));
 
         // Clear the queue.
         notificationMessageInMemoryQueue.clear();
@@ -137,7 +139,7 @@ public class PublishNotificationMessagesAdviceTest extends AbstractServiceTest
         verify(notificationMessageInMemoryQueue).add(notificationMessage);
         verify(notificationMessageInMemoryQueue, times(3)).isEmpty();
         verify(notificationMessageInMemoryQueue).remove();
-        verify(notificationMessagePublishingService).publishNotificationMessage(notificationMessage);
+        verify(notificationMessagePublishingService).publishNotificationMessages(Collections.singletonList(notificationMessage));
         verify(notificationMessagePublishingService).addNotificationMessageToDatabaseQueue(notificationMessage);
         verifyNoMoreInteractionsHelper();
 
@@ -145,6 +147,51 @@ public class PublishNotificationMessagesAdviceTest extends AbstractServiceTest
         assertTrue(notificationMessageInMemoryQueue.isEmpty());
     }
 
+    @Test
+    public void testPublishNotificationMessagesPartialFailure() throws Throwable
+    {
+        // Create two notification messages.
+        NotificationMessage notificationMessage = new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT,
+            Collections.singletonList(new MessageHeader(KEY, VALUE)));
+        NotificationMessage notificationMessage2 = new NotificationMessage(MessageTypeEntity.MessageEventTypes.SNS.name(), AWS_SNS_TOPIC_ARN, MESSAGE_TEXT_2,
+            Collections.singletonList(new MessageHeader(KEY, VALUE)));
+
+        // Mock a join point of the method call.
+        ProceedingJoinPoint joinPoint = getMockedProceedingJoinPoint("testPublishNotificationMessages");
+
+        // Mock the external calls. Only the second notification message fails to publish.
+        doCallRealMethod().when(notificationMessageInMemoryQueue).clear();
+        doCallRealMethod().when(notificationMessageInMemoryQueue).add(notificationMessage);
+        doCallRealMethod().when(notificationMessageInMemoryQueue).add(notificationMessage2);
+        when(notificationMessageInMemoryQueue.isEmpty()).thenCallRealMethod();
+        doCallRealMethod().when(notificationMessageInMemoryQueue).remove();
+        when(notificationMessagePublishingService.publishNotificationMessages(Arrays.asList(notificationMessage, notificationMessage2)))
+            .thenReturn(Collections.singletonList(notificationMessage2));
+
+        // Clear the queue.
+        notificationMessageInMemoryQueue.clear();
+
+        // Add the notification messages to the queue.
+        notificationMessageInMemoryQueue.add(notificationMessage);
+        notificationMessageInMemoryQueue.add(notificationMessage2);
+
+        // Call the method under test.
+        publishNotificationMessagesAdvice.publishNotificationMessages(joinPoint);
+
+        // Verify the external calls.
+        verify(notificationMessageInMemoryQueue, times(2)).clear();
+        verify(notificationMessageInMemoryQueue).add(notificationMessage);
+        verify(notificationMessageInMemoryQueue).add(notificationMessage2);
+        verify(notificationMessageInMemoryQueue, times(3)).isEmpty();
+        verify(notificationMessageInMemoryQueue, times(2)).remove();
+        verify(notificationMessagePublishingService).publishNotificationMessages(Arrays.asList(notificationMessage, notificationMessage2));
+        verify(notificationMessagePublishingService).addNotificationMessageToDatabaseQueue(notificationMessage2);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertTrue(notificationMessageInMemoryQueue.isEmpty());
+    }
+
     @Test
     public void testPublishNotificationMessagesDatabaseException() throws Throwable
     {
@@ -160,7 +207,8 @@ public class PublishNotificationMessagesAdviceTest extends AbstractServiceTest
         doCallRealMethod().when(notificationMessageInMemoryQueue).add(notificationMessage);
         when(notificationMessageInMemoryQueue.isEmpty()).thenCallRealMethod();
         doCallRealMethod().when(notificationMessageInMemoryQueue).remove();
-        doThrow(new AmazonServiceException(ERROR_MESSAGE)).when(notificationMessagePublishingService).publishNotificationMessage(notificationMessage);
+        doThrow(new AmazonServiceException(ERROR_MESSAGE)).when(notificationMessagePublishingService)
+            .publishNotificationMessages(Collections.singletonList(notificationMessage));
         doThrow(new RuntimeException(ERROR_MESSAGE)).when(notificationMessagePublishingService).addNotificationMessageToDatabaseQueue(notificationMessage);
 
         // Clear the queue.
@@ -180,7 +228,7 @@ public class PublishNotificationMessagesAdviceTest extends AbstractServiceTest
         verify(notificationMessageInMemoryQueue).add(notificationMessage);
         verify(notificationMessageInMemoryQueue, times(3)).isEmpty();
         verify(notificationMessageInMemoryQueue).remove();
-        verify(notificationMessagePublishingService).publishNotificationMessage(notificationMessage);
+        verify(notificationMessagePublishingService).publishNotificationMessages(Collections.singletonList(notificationMessage));
         verify(notificationMessagePublishingService).addNotificationMessageToDatabaseQueue(notificationMessage);
         verifyNoMoreInteractionsHelper();
 
@@ -231,7 +279,7 @@ public class PublishNotificationMessagesAdviceTest extends AbstractServiceTest
             verify(notificationMessageInMemoryQueue).size();
             verify(notificationMessageInMemoryQueue, times(3)).isEmpty();
             verify(notificationMessageInMemoryQueue).remove();
-            verify(notificationMessagePublishingService).publishNotificationMessage(notificationMessage);
+            verify(notificationMessagePublishingService).publishNotificationMessages(Collections.singletonList(notificationMessage));
             verifyNoMoreInteractionsHelper();
 
             // Validate the results.
@@ -61,6 +61,9 @@ public class BusinessObjectDataDaoHelperMockTest
     @Mock
     private ExpectedPartitionValueDao expectedPartitionValueDao;
 
+    @Mock
+    private HivePartitionsCacheHelper hivePartitionsCacheHelper;
+
     @Mock
     private JsonHelper jsonHelper;
 
@@ -178,7 +178,8 @@ public class BusinessObjectDataSearchHelperTest extends AbstractServiceTest
         try
         {
             businessObjectDataSearchHelper.validateBusinessObjectDataSearchRequest(
-                new BusinessObjectDataSearchRequest(Arrays.asList(new BusinessObjectDataSearchFilter(), new BusinessObjectDataSearchFilter())));
+                new BusinessObjectDataSearchRequest(Arrays.asList(new BusinessObjectDataSearchFilter(), new BusinessObjectDataSearchFilter()),
+                    NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -189,7 +190,8 @@ public class BusinessObjectDataSearchHelperTest extends AbstractServiceTest
         try
         {
             businessObjectDataSearchHelper.validateBusinessObjectDataSearchRequest(new BusinessObjectDataSearchRequest(Collections
-                .singletonList(new BusinessObjectDataSearchFilter(Arrays.asList(new BusinessObjectDataSearchKey(), new BusinessObjectDataSearchKey())))));
+                .singletonList(new BusinessObjectDataSearchFilter(Arrays.asList(new BusinessObjectDataSearchKey(), new BusinessObjectDataSearchKey()))),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -223,7 +225,8 @@ public class BusinessObjectDataSearchHelperTest extends AbstractServiceTest
 
         try
         {
-            businessObjectDataSearchHelper.validateBusinessObjectDataSearchRequest(new BusinessObjectDataSearchRequest(new ArrayList<>()));
+            businessObjectDataSearchHelper.validateBusinessObjectDataSearchRequest(new BusinessObjectDataSearchRequest(new ArrayList<>(),
+                NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -234,7 +237,8 @@ public class BusinessObjectDataSearchHelperTest extends AbstractServiceTest
         try
         {
             businessObjectDataSearchHelper
-                .validateBusinessObjectDataSearchRequest(new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter())));
+                .validateBusinessObjectDataSearchRequest(new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter()),
+                    NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
@@ -245,7 +249,8 @@ public class BusinessObjectDataSearchHelperTest extends AbstractServiceTest
         try
         {
             businessObjectDataSearchHelper.validateBusinessObjectDataSearchRequest(
-                new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(new ArrayList<>()))));
+                new BusinessObjectDataSearchRequest(Collections.singletonList(new BusinessObjectDataSearchFilter(new ArrayList<>())),
+                    NO_CONTINUATION_TOKEN, NO_INCLUDE_TOTAL_RECORD_COUNT, NO_INCLUDE_ATTRIBUTES));
             fail();
         }
         catch (IllegalArgumentException e)
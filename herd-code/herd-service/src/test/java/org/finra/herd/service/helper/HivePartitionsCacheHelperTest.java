@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015 herd contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.finra.herd.service.helper;
+
+import static org.finra.herd.core.AbstractCoreTest.INTEGER_VALUE;
+import static org.finra.herd.core.AbstractCoreTest.INTEGER_VALUE_2;
+import static org.finra.herd.dao.AbstractDaoTest.COLUMN_NAME;
+import static org.finra.herd.dao.AbstractDaoTest.COLUMN_NAME_2;
+import static org.finra.herd.dao.AbstractDaoTest.PARTITION_VALUE;
+import static org.finra.herd.dao.AbstractDaoTest.PARTITION_VALUE_2;
+import static org.finra.herd.dao.AbstractDaoTest.S3_KEY_PREFIX;
+import static org.finra.herd.dao.AbstractDaoTest.STORAGE_DIRECTORY_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.HivePartitionDto;
+import org.finra.herd.model.dto.StorageUnitHivePartitionsDto;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.StorageUnitEntity;
+
+public class HivePartitionsCacheHelperTest
+{
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @InjectMocks
+    private HivePartitionsCacheHelper hivePartitionsCacheHelper;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        when(cacheManager.getCache(DaoSpringModuleConfig.HIVE_PARTITIONS_CACHE_NAME))
+            .thenReturn(new ConcurrentMapCache(DaoSpringModuleConfig.HIVE_PARTITIONS_CACHE_NAME));
+    }
+
+    @Test
+    public void testGetStorageUnitHivePartitions()
+    {
+        // Create and cache Hive partitions for a storage unit.
+        List<String> autoDiscoverableSubPartitionColumnNames = Arrays.asList(COLUMN_NAME, COLUMN_NAME_2);
+        StorageUnitHivePartitionsDto storageUnitHivePartitionsDto =
+            new StorageUnitHivePartitionsDto(INTEGER_VALUE, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, autoDiscoverableSubPartitionColumnNames,
+                Collections.singletonList(new HivePartitionDto(PARTITION_VALUE_2, Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2))));
+        hivePartitionsCacheHelper.putStorageUnitHivePartitions(storageUnitHivePartitionsDto, hivePartitionsCacheHelper.getStorageUnitVersion(INTEGER_VALUE));
+
+        // The cached entry is returned only when all discovery inputs match.
+        assertTrue(hivePartitionsCacheHelper.containsStorageUnit(INTEGER_VALUE));
+        assertFalse(hivePartitionsCacheHelper.containsStorageUnit(INTEGER_VALUE_2));
+        assertEquals(storageUnitHivePartitionsDto, hivePartitionsCacheHelper
+            .getStorageUnitHivePartitions(INTEGER_VALUE, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, autoDiscoverableSubPartitionColumnNames));
+        assertNull(hivePartitionsCacheHelper
+            .getStorageUnitHivePartitions(INTEGER_VALUE, S3_KEY_PREFIX + "/", STORAGE_DIRECTORY_PATH, autoDiscoverableSubPartitionColumnNames));
+        assertNull(hivePartitionsCacheHelper.getStorageUnitHivePartitions(INTEGER_VALUE, S3_KEY_PREFIX, null, autoDiscoverableSubPartitionColumnNames));
+        assertNull(hivePartitionsCacheHelper
+            .getStorageUnitHivePartitions(INTEGER_VALUE, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, Collections.singletonList(COLUMN_NAME)));
+        assertNull(hivePartitionsCacheHelper
+            .getStorageUnitHivePartitions(INTEGER_VALUE_2, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, autoDiscoverableSubPartitionColumnNames));
+    }
+
+    @Test
+    public void testEvictBusinessObjectData()
+    {
+        // Cache Hive partitions for two storage units.
+        hivePartitionsCacheHelper.putStorageUnitHivePartitions(
+            new StorageUnitHivePartitionsDto(INTEGER_VALUE, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, Collections.singletonList(COLUMN_NAME),
+                Collections.emptyList()), hivePartitionsCacheHelper.getStorageUnitVersion(INTEGER_VALUE));
+        hivePartitionsCacheHelper.putStorageUnitHivePartitions(
+            new StorageUnitHivePartitionsDto(INTEGER_VALUE_2, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, Collections.singletonList(COLUMN_NAME),
+                Collections.emptyList()), hivePartitionsCacheHelper.getStorageUnitVersion(INTEGER_VALUE_2));
+
+        // Create a business object data entity that has only the first storage unit.
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+        storageUnitEntity.setId(INTEGER_VALUE);
+        BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
+        businessObjectDataEntity.setStorageUnits(Collections.singletonList(storageUnitEntity));
+
+        // Evict the cached Hive partitions for the business object data.
+        hivePartitionsCacheHelper.evictBusinessObjectData(businessObjectDataEntity);
+
+        // Validate that only the storage unit of this business object data got evicted.
+        assertFalse(hivePartitionsCacheHelper.containsStorageUnit(INTEGER_VALUE));
+        assertTrue(hivePartitionsCacheHelper.containsStorageUnit(INTEGER_VALUE_2));
+    }
+
+    @Test
+    public void testEvictStorageUnitAfterCommit()
+    {
+        // Create a storage unit entity.
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+        storageUnitEntity.setId(INTEGER_VALUE);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try
+        {
+            // Evict the storage unit within a transaction.
+            hivePartitionsCacheHelper.evictStorageUnit(storageUnitEntity);
+
+            // Cache Hive partitions for the storage unit as a concurrent request would do before the transaction commits.
+            hivePartitionsCacheHelper.putStorageUnitHivePartitions(
+                new StorageUnitHivePartitionsDto(INTEGER_VALUE, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, Collections.singletonList(COLUMN_NAME),
+                    Collections.emptyList()), hivePartitionsCacheHelper.getStorageUnitVersion(INTEGER_VALUE));
+            assertTrue(hivePartitionsCacheHelper.containsStorageUnit(INTEGER_VALUE));
+
+            // Commit the transaction.
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        }
+        finally
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Validate that the storage unit got evicted again after the commit.
+        assertFalse(hivePartitionsCacheHelper.containsStorageUnit(INTEGER_VALUE));
+    }
+
+    @Test
+    public void testPutStorageUnitHivePartitionsEvictedMeanwhile()
+    {
+        // Get the version stamp of the storage unit before discovering Hive partitions.
+        long storageUnitVersion = hivePartitionsCacheHelper.getStorageUnitVersion(INTEGER_VALUE);
+
+        // Evict the storage unit while Hive partitions are being discovered.
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+        storageUnitEntity.setId(INTEGER_VALUE);
+        hivePartitionsCacheHelper.evictStorageUnit(storageUnitEntity);
+
+        // Try to cache the discovered Hive partitions.
+        hivePartitionsCacheHelper.putStorageUnitHivePartitions(
+            new StorageUnitHivePartitionsDto(INTEGER_VALUE, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, Collections.singletonList(COLUMN_NAME),
+                Collections.emptyList()), storageUnitVersion);
+
+        // Validate that the Hive partitions did not get cached.
+        assertFalse(hivePartitionsCacheHelper.containsStorageUnit(INTEGER_VALUE));
+    }
+
+    @Test
+    public void testPutStorageUnitHivePartitionsOtherStorageUnitEvictedMeanwhile()
+    {
+        // Get the version stamp of the storage unit before discovering Hive partitions.
+        long storageUnitVersion = hivePartitionsCacheHelper.getStorageUnitVersion(INTEGER_VALUE);
+
+        // Evict another storage unit while Hive partitions are being discovered. Please note that adjacent storage unit ids never share a version stamp.
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+        storageUnitEntity.setId(INTEGER_VALUE + 1);
+        hivePartitionsCacheHelper.evictStorageUnit(storageUnitEntity);
+
+        // Cache the discovered Hive partitions.
+        hivePartitionsCacheHelper.putStorageUnitHivePartitions(
+            new StorageUnitHivePartitionsDto(INTEGER_VALUE, S3_KEY_PREFIX, STORAGE_DIRECTORY_PATH, Collections.singletonList(COLUMN_NAME),
+                Collections.emptyList()), storageUnitVersion);
+
+        // Validate that the Hive partitions got cached.
+        assertTrue(hivePartitionsCacheHelper.containsStorageUnit(INTEGER_VALUE));
+    }
+
+    @Test
+    public void testIsHivePartitionsCacheEnabled()
+    {
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.HIVE_PARTITIONS_CACHE_ENABLED)).thenReturn(true);
+        assertTrue(hivePartitionsCacheHelper.isHivePartitionsCacheEnabled());
+
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.HIVE_PARTITIONS_CACHE_ENABLED)).thenReturn(false);
+        assertFalse(hivePartitionsCacheHelper.isHivePartitionsCacheEnabled());
+    }
+}
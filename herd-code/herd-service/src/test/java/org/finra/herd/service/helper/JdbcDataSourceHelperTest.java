@@ -0,0 +1,175 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.service.AbstractServiceTest;
+import org.finra.herd.service.impl.JdbcServiceImpl;
+
+/**
+ * This class tests functionality within the JDBC data source helper.
+ */
+public class JdbcDataSourceHelperTest extends AbstractServiceTest
+{
+    private static final String DRIVER_CLASS_NAME = JdbcServiceImpl.DRIVER_POSTGRES;
+
+    private static final String JDBC_URL = "jdbc:postgresql://localhost/test";
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @InjectMocks
+    private JdbcDataSourceHelper jdbcDataSourceHelper;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        when(configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_POOLS, Integer.class)).thenReturn(1);
+        when(configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_CONNECTIONS, Integer.class)).thenReturn(2);
+        when(configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_IDLE_TIMEOUT_MILLIS, Long.class)).thenReturn(60_000L);
+        when(configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_WAIT_MILLIS, Long.class)).thenReturn(10_000L);
+    }
+
+    @After
+    public void after()
+    {
+        jdbcDataSourceHelper.shutdown();
+    }
+
+    @Test
+    public void testAcquireDataSource()
+    {
+        // Acquire and release a data source.
+        DataSource dataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID, PASSWORD);
+        jdbcDataSourceHelper.releaseDataSource(dataSource);
+
+        // Validate that the data source is a connection pool configured per configuration values.
+        assertTrue(dataSource instanceof BasicDataSource);
+        BasicDataSource basicDataSource = (BasicDataSource) dataSource;
+        assertEquals(2, basicDataSource.getMaxTotal());
+        assertEquals(10_000L, basicDataSource.getMaxWaitMillis());
+
+        // Validate that the session state gets reset when a connection is returned to the pool.
+        assertTrue(basicDataSource.getDefaultAutoCommit());
+        assertTrue(basicDataSource.getRollbackOnReturn());
+        assertTrue(basicDataSource.getEnableAutoCommitOnReturn());
+
+        // Validate that the same connection pool is reused for the same target database and credentials.
+        DataSource sameDataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID, PASSWORD);
+        jdbcDataSourceHelper.releaseDataSource(sameDataSource);
+        assertSame(dataSource, sameDataSource);
+        assertEquals(1, jdbcDataSourceHelper.getPoolsCount());
+    }
+
+    @Test
+    public void testAcquireDataSourceMaxPoolsExceeded()
+    {
+        // Acquire a data source and keep it in use.
+        DataSource dataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID, PASSWORD);
+
+        // Acquire a data source with different credentials. The pool in use is kept even though the maximum number of pools is exceeded.
+        DataSource otherDataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID_2, PASSWORD);
+        assertNotSame(dataSource, otherDataSource);
+        assertEquals(2, jdbcDataSourceHelper.getPoolsCount());
+
+        // Release both data sources and acquire the last one again. The least recently used pool gets closed.
+        jdbcDataSourceHelper.releaseDataSource(dataSource);
+        jdbcDataSourceHelper.releaseDataSource(otherDataSource);
+        assertSame(otherDataSource, jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID_2, PASSWORD));
+        assertEquals(1, jdbcDataSourceHelper.getPoolsCount());
+        assertTrue(((BasicDataSource) dataSource).isClosed());
+    }
+
+    @Test
+    public void testAcquireDataSourcePasswordNotKeptInPoolKey()
+    {
+        // Acquire data sources for the same user with different passwords and validate that each password gets its own connection pool.
+        String otherPassword = PASSWORD + "_2";
+        DataSource dataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID, PASSWORD);
+        DataSource otherDataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID, otherPassword);
+        jdbcDataSourceHelper.releaseDataSource(dataSource);
+        jdbcDataSourceHelper.releaseDataSource(otherDataSource);
+        assertNotSame(dataSource, otherDataSource);
+        assertEquals(otherPassword, ((BasicDataSource) otherDataSource).getPassword());
+
+        // Validate that the pool keys do not hold the passwords.
+        Map<?, ?> pooledDataSources = (Map<?, ?>) ReflectionTestUtils.getField(jdbcDataSourceHelper, "pooledDataSources");
+        for (Object key : pooledDataSources.keySet())
+        {
+            assertFalse(((List<?>) key).contains(PASSWORD));
+            assertFalse(((List<?>) key).contains(otherPassword));
+        }
+    }
+
+    @Test
+    public void testCloseIdleDataSources()
+    {
+        // Acquire and release a data source and keep another data source in use.
+        DataSource dataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID, PASSWORD);
+        jdbcDataSourceHelper.releaseDataSource(dataSource);
+        when(configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_POOLS, Integer.class)).thenReturn(2);
+        DataSource otherDataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID_2, PASSWORD);
+
+        // Validate that the check keeps the pools that did not exceed the idle timeout.
+        jdbcDataSourceHelper.closeIdleDataSources();
+        assertEquals(2, jdbcDataSourceHelper.getPoolsCount());
+
+        // Validate that the check closes the idle pool once the idle timeout is exceeded, while the pool in use is kept.
+        when(configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_IDLE_TIMEOUT_MILLIS, Long.class)).thenReturn(-1L);
+        jdbcDataSourceHelper.closeIdleDataSources();
+        assertEquals(1, jdbcDataSourceHelper.getPoolsCount());
+        assertTrue(((BasicDataSource) dataSource).isClosed());
+        assertFalse(((BasicDataSource) otherDataSource).isClosed());
+        jdbcDataSourceHelper.releaseDataSource(otherDataSource);
+    }
+
+    @Test
+    public void testAcquireDataSourcePoolingDisabled()
+    {
+        when(configurationHelper.getProperty(ConfigurationValue.JDBC_CONNECTION_POOL_MAX_POOLS, Integer.class)).thenReturn(0);
+
+        // Validate that a new non-pooled data source is created for each call.
+        DataSource dataSource = jdbcDataSourceHelper.acquireDataSource(DRIVER_CLASS_NAME, JDBC_URL, USER_ID, PASSWORD);
+        jdbcDataSourceHelper.releaseDataSource(dataSource);
+        assertTrue(dataSource instanceof DriverManagerDataSource);
+        assertEquals(0, jdbcDataSourceHelper.getPoolsCount());
+    }
+}
@@ -17,6 +17,7 @@ package org.finra.herd.service.helper;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,6 +27,7 @@ import java.util.Set;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -95,4 +97,44 @@ public class NamespaceSecurityHelperTest
         Set<String> authorizedNamespaces = namespaceSecurityHelper.getAuthorizedNamespaces(NamespacePermissionEnum.READ);
         assertEquals(0, authorizedNamespaces.size());
     }
+
+    @Test
+    public void checkPermissionWhenNamespaceDiffersInCaseAssertNoException()
+    {
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setNamespaceAuthorizations(new HashSet<>(Arrays
+            .asList(new NamespaceAuthorization("namespace", Arrays.asList(NamespacePermissionEnum.READ)),
+                new NamespaceAuthorization("namespace_2", Arrays.asList(NamespacePermissionEnum.WRITE)))));
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken(new SecurityUserWrapper("username", "", true, true, true, true, Collections.emptyList(), applicationUser), null));
+
+        namespaceSecurityHelper.checkPermission(" NAMESPACE ", new NamespacePermissionEnum[] {NamespacePermissionEnum.WRITE, NamespacePermissionEnum.READ});
+        namespaceSecurityHelper.checkPermission(Arrays.asList("Namespace", "NAMESPACE_2"),
+            new NamespacePermissionEnum[] {NamespacePermissionEnum.READ, NamespacePermissionEnum.WRITE});
+    }
+
+    @Test
+    public void checkPermissionWhenNamespaceAuthorizationsReplacedAfterFirstCheckAssertNoException()
+    {
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId("username");
+        applicationUser.setNamespaceAuthorizations(new HashSet<>());
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken(new SecurityUserWrapper("username", "", true, true, true, true, Collections.emptyList(), applicationUser), null));
+
+        try
+        {
+            namespaceSecurityHelper.checkPermission("namespace", new NamespacePermissionEnum[] {NamespacePermissionEnum.READ});
+            fail();
+        }
+        catch (AccessDeniedException e)
+        {
+            assertEquals("User \"username\" does not have \"[READ]\" permission(s) to the namespace \"namespace\"", e.getMessage());
+        }
+
+        // The namespace authorization index gets rebuilt once the namespace authorizations are replaced.
+        applicationUser.setNamespaceAuthorizations(
+            new HashSet<>(Arrays.asList(new NamespaceAuthorization("namespace", Arrays.asList(NamespacePermissionEnum.READ)))));
+        namespaceSecurityHelper.checkPermission("namespace", new NamespacePermissionEnum[] {NamespacePermissionEnum.READ});
+    }
 }
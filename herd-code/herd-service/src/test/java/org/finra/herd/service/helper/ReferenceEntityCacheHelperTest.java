@@ -0,0 +1,80 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.model.ObjectNotFoundException;
+import org.finra.herd.model.jpa.MessageTypeEntity;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the reference entity cache helper.
+ */
+public class ReferenceEntityCacheHelperTest extends AbstractServiceTest
+{
+    @Autowired
+    private ReferenceEntityCacheHelper referenceEntityCacheHelper;
+
+    @Test
+    public void testGetEntity()
+    {
+        // Create and persist a message type entity.
+        MessageTypeEntity messageTypeEntity = messageTypeDaoTestHelper.createMessageTypeEntity(MESSAGE_TYPE);
+
+        // Get the current lookup counts.
+        long hitCount = referenceEntityCacheHelper.getHitCount();
+        long missCount = referenceEntityCacheHelper.getMissCount();
+
+        // Retrieve the message type entity several times using different cases of the code.
+        assertSame(messageTypeEntity, messageTypeDaoHelper.getMessageTypeEntity(MESSAGE_TYPE));
+        assertSame(messageTypeEntity, messageTypeDaoHelper.getMessageTypeEntity(MESSAGE_TYPE.toUpperCase()));
+        assertSame(messageTypeEntity, messageTypeDaoHelper.getMessageTypeEntity(MESSAGE_TYPE.toLowerCase()));
+
+        // Validate that only the first lookup within the transaction required a query.
+        assertEquals(missCount + 1, referenceEntityCacheHelper.getMissCount());
+        assertEquals(hitCount + 2, referenceEntityCacheHelper.getHitCount());
+    }
+
+    @Test
+    public void testGetEntityRemovedEntity()
+    {
+        // Create and persist a message type entity.
+        MessageTypeEntity messageTypeEntity = messageTypeDaoTestHelper.createMessageTypeEntity(MESSAGE_TYPE);
+
+        // Retrieve the message type entity, so it gets memoized within the current transaction.
+        assertSame(messageTypeEntity, messageTypeDaoHelper.getMessageTypeEntity(MESSAGE_TYPE));
+
+        // Remove the message type entity.
+        messageTypeDao.delete(messageTypeEntity);
+
+        // Validate that the removed entity is not returned.
+        try
+        {
+            messageTypeDaoHelper.getMessageTypeEntity(MESSAGE_TYPE);
+            fail();
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals(String.format("Message type with code \"%s\" doesn't exist.", MESSAGE_TYPE), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_TAG_UPDATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_CREATE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_DELETE;
+import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_UPDATE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.SearchIndexUpdateDto;
+import org.finra.herd.service.AbstractServiceTest;
+import org.finra.herd.service.BusinessObjectDefinitionService;
+import org.finra.herd.service.TagService;
+
+public class SearchIndexUpdateCoalescingHelperTest extends AbstractServiceTest
+{
+    private static final int BATCH_SIZE = 2;
+
+    private static final int MAX_PENDING_DOCUMENTS = 10;
+
+    @Mock
+    private BusinessObjectDefinitionService businessObjectDefinitionService;
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @Mock
+    private TagService tagService;
+
+    @InjectMocks
+    private SearchIndexUpdateCoalescingHelper searchIndexUpdateCoalescingHelper;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_BATCH_SIZE, Integer.class)).thenReturn(BATCH_SIZE);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class))
+            .thenReturn(MAX_PENDING_DOCUMENTS);
+    }
+
+    @Test
+    public void testApplyPendingSearchIndexUpdates()
+    {
+        // Add business object definition updates with duplicate ids and a delete that supersedes an earlier update.
+        searchIndexUpdateCoalescingHelper.addSearchIndexUpdate(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1L, 2L), SEARCH_INDEX_UPDATE_TYPE_UPDATE), LONG_VALUE);
+        searchIndexUpdateCoalescingHelper.addSearchIndexUpdate(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(2L, 3L), SEARCH_INDEX_UPDATE_TYPE_CREATE), LONG_VALUE);
+        searchIndexUpdateCoalescingHelper.addSearchIndexUpdate(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(3L), SEARCH_INDEX_UPDATE_TYPE_DELETE), LONG_VALUE);
+
+        // Add a tag update.
+        searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(4L), SEARCH_INDEX_UPDATE_TYPE_CREATE), LONG_VALUE);
+
+        // Validate the number of distinct pending documents.
+        assertThat("Pending document count is not correct.", searchIndexUpdateCoalescingHelper.getPendingSearchIndexUpdateCount(), is(4));
+
+        // Apply the pending updates.
+        searchIndexUpdateCoalescingHelper.applyPendingSearchIndexUpdates();
+
+        // Verify the external calls.
+        verify(configurationHelper, times(4)).getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_BATCH_SIZE, Integer.class);
+        verify(businessObjectDefinitionService).updateSearchIndexDocumentBusinessObjectDefinition(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1L, 2L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        verify(businessObjectDefinitionService).updateSearchIndexDocumentBusinessObjectDefinition(
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(3L), SEARCH_INDEX_UPDATE_TYPE_DELETE));
+        verify(tagService).updateSearchIndexDocumentTag(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(4L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that no updates are pending.
+        assertThat("Pending document count is not correct.", searchIndexUpdateCoalescingHelper.getPendingSearchIndexUpdateCount(), is(0));
+    }
+
+    @Test
+    public void testApplyPendingSearchIndexUpdatesMaxPendingDocumentsReached()
+    {
+        // Lower the maximum number of pending documents, so the updates are applied as they are added.
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class)).thenReturn(2);
+
+        // Add tag updates.
+        searchIndexUpdateCoalescingHelper
+            .addSearchIndexUpdate(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(1L, 2L), SEARCH_INDEX_UPDATE_TYPE_UPDATE), LONG_VALUE);
+
+        // Verify the external calls.
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_BATCH_SIZE, Integer.class);
+        verify(tagService)
+            .updateSearchIndexDocumentTag(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(1L, 2L), SEARCH_INDEX_UPDATE_TYPE_UPDATE));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that no updates are pending.
+        assertThat("Pending document count is not correct.", searchIndexUpdateCoalescingHelper.getPendingSearchIndexUpdateCount(), is(0));
+    }
+
+    @Test
+    public void testApplyPendingSearchIndexUpdatesFailedBatch()
+    {
+        // Create a search index update.
+        SearchIndexUpdateDto searchIndexUpdateDto =
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1L), SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+
+        // Mock the external calls.
+        doThrow(new RuntimeException(ERROR_MESSAGE)).when(businessObjectDefinitionService)
+            .updateSearchIndexDocumentBusinessObjectDefinition(searchIndexUpdateDto);
+
+        // Add the update.
+        searchIndexUpdateCoalescingHelper.addSearchIndexUpdate(searchIndexUpdateDto, LONG_VALUE);
+
+        // Apply the pending updates and validate that the failed update is returned to the pending updates until the maximum number of attempts is reached.
+        for (int attempt = 1; attempt <= SearchIndexUpdateCoalescingHelper.MAX_APPLY_ATTEMPTS; attempt++)
+        {
+            searchIndexUpdateCoalescingHelper.applyPendingSearchIndexUpdates();
+            assertThat("Pending document count is not correct.", searchIndexUpdateCoalescingHelper.getPendingSearchIndexUpdateCount(),
+                is(attempt < SearchIndexUpdateCoalescingHelper.MAX_APPLY_ATTEMPTS ? 1 : 0));
+        }
+
+        // Verify the external calls.
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_MAX_PENDING_DOCUMENTS, Integer.class);
+        verify(configurationHelper, times(SearchIndexUpdateCoalescingHelper.MAX_APPLY_ATTEMPTS))
+            .getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_COALESCING_BATCH_SIZE, Integer.class);
+        verify(businessObjectDefinitionService, times(SearchIndexUpdateCoalescingHelper.MAX_APPLY_ATTEMPTS))
+            .updateSearchIndexDocumentBusinessObjectDefinition(searchIndexUpdateDto);
+        verifyNoMoreInteractionsHelper();
+    }
+
+    /**
+     * Checks if any of the mocks has any interaction.
+     */
+    private void verifyNoMoreInteractionsHelper()
+    {
+        verifyNoMoreInteractions(businessObjectDefinitionService, configurationHelper, tagService);
+    }
+}
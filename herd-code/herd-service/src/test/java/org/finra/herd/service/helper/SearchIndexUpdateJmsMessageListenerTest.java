@@ -4,6 +4,7 @@ import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_BUSINES
 import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_TAG_UPDATE;
 import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_TYPE_UPDATE;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +24,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jms.config.JmsListenerEndpointRegistry;
 import org.springframework.jms.listener.MessageListenerContainer;
+import org.springframework.jms.support.JmsHeaders;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.ApplicationContextHolder;
@@ -49,6 +51,9 @@ public class SearchIndexUpdateJmsMessageListenerTest extends AbstractServiceTest
     @Mock
     private JsonHelper jsonHelper;
 
+    @Mock
+    private SearchIndexUpdateCoalescingHelper searchIndexUpdateCoalescingHelper;
+
     @Mock
     private TagService tagService;
 
@@ -117,6 +122,27 @@ public class SearchIndexUpdateJmsMessageListenerTest extends AbstractServiceTest
             .updateSearchIndexDocumentTag(any(SearchIndexUpdateDto.class));
     }
 
+    @Test
+    public void testProcessMessageCoalescingEnabled() throws Exception
+    {
+        List<Long> ids = new ArrayList<>();
+        SearchIndexUpdateDto searchIndexUpdateDto = new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, ids, SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+
+        when(jsonHelper.unmarshallJsonToObject(SearchIndexUpdateDto.class, "PAYLOAD")).thenReturn(searchIndexUpdateDto);
+        when(searchIndexUpdateCoalescingHelper.isCoalescingEnabled()).thenReturn(true);
+
+        Map<Object, Object> allHeaders = new HashMap<>();
+        allHeaders.put("jms_messageId", MESSAGE_ID);
+        allHeaders.put(JmsHeaders.TIMESTAMP, LONG_VALUE);
+
+        // Call the method under test
+        searchIndexUpdateJmsMessageListener.processMessage("PAYLOAD", allHeaders);
+
+        // Verify that the update is collected to be applied later instead of being applied right away
+        verify(searchIndexUpdateCoalescingHelper).addSearchIndexUpdate(searchIndexUpdateDto, LONG_VALUE);
+        verify(tagService, never()).updateSearchIndexDocumentTag(any(SearchIndexUpdateDto.class));
+    }
+
     @Test
     public void testProcessMessageOriginalMessageFormat() throws Exception
     {
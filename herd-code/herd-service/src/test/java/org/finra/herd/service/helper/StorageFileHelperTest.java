@@ -19,6 +19,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -26,8 +27,11 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
@@ -336,6 +340,31 @@ public class StorageFileHelperTest extends AbstractServiceTest
         storageFileHelper.validateDownloadedS3Files(LOCAL_TEMP_PATH.toString(), TEST_S3_KEY_PREFIX, storageUnit);
     }
 
+    @Test
+    public void testValidateDownloadedS3File() throws IOException
+    {
+        File targetLocalDirectory = Paths.get(LOCAL_TEMP_PATH.toString(), TEST_S3_KEY_PREFIX).toFile();
+        createLocalFiles(targetLocalDirectory.getPath(), FILE_SIZE_1_KB);
+        StorageUnit storageUnit = createStorageUnit(TEST_S3_KEY_PREFIX, LOCAL_FILES, FILE_SIZE_1_KB);
+
+        // Validate a single downloaded file while other files are present in the target local directory.
+        storageFileHelper.validateDownloadedS3File(LOCAL_TEMP_PATH.toString(), storageUnit.getStorageFiles().get(0));
+
+        // Try to validate a single downloaded file when its size does not match to the storage file information.
+        StorageFile storageFile = storageUnit.getStorageFiles().get(1);
+        storageFile.setFileSizeBytes(FILE_SIZE_1_KB * 2);
+        try
+        {
+            storageFileHelper.validateDownloadedS3File(LOCAL_TEMP_PATH.toString(), storageFile);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(String.format("Size of the downloaded \"%s\" S3 file does not match the expected value (expected %d bytes, actual %d bytes).",
+                Paths.get(LOCAL_TEMP_PATH.toString(), storageFile.getFilePath()).toFile().getPath(), FILE_SIZE_1_KB * 2, FILE_SIZE_1_KB), e.getMessage());
+        }
+    }
+
     @Test
     public void testValidateDownloadedS3FilesZeroFiles() throws IOException
     {
@@ -421,6 +450,58 @@ public class StorageFileHelperTest extends AbstractServiceTest
      * @param baseDirectory the local parent directory path, relative to which we want our file to be created
      * @param size the file size in bytes
      */
+    @Test
+    public void testValidateStorageFiles()
+    {
+        // Create a list of storage files and a map of S3 keys reported by S3 listing, with the last storage file not being listed.
+        List<StorageFile> storageFiles = new ArrayList<>();
+        Map<String, StorageFile> actualS3Keys = new HashMap<>();
+        for (String file : LOCAL_FILES)
+        {
+            String filePath = String.format("%s/%s", TEST_S3_KEY_PREFIX, file);
+            storageFiles.add(new StorageFile(filePath, FILE_SIZE_1_KB, ROW_COUNT));
+            if (storageFiles.size() < LOCAL_FILES.size())
+            {
+                actualS3Keys.put(filePath, new StorageFile(filePath, FILE_SIZE_1_KB, NO_ROW_COUNT));
+            }
+        }
+
+        // Put the storage file that is not listed in S3, so it gets found by the S3 object metadata lookup.
+        s3Operations.putObject(new PutObjectRequest(storageDaoTestHelper.getS3ManagedBucketName(), storageFiles.get(LOCAL_FILES.size() - 1).getFilePath(),
+            new ByteArrayInputStream(new byte[(int) FILE_SIZE_1_KB]), null), null);
+
+        // Validate the storage files.
+        storageFileHelper.validateStorageFiles(storageFiles, s3DaoTestHelper.getTestS3FileTransferRequestParamsDto(), actualS3Keys, true);
+    }
+
+    @Test
+    public void testValidateStorageFilesMultipleErrors()
+    {
+        // Create a list of storage files, where the first one is valid, the second one has a file size mismatch and the third one does not exist in S3.
+        List<StorageFile> storageFiles = new ArrayList<>();
+        Map<String, StorageFile> actualS3Keys = new HashMap<>();
+        for (String file : LOCAL_FILES.subList(0, 3))
+        {
+            String filePath = String.format("%s/%s", TEST_S3_KEY_PREFIX, file);
+            storageFiles.add(new StorageFile(filePath, FILE_SIZE_1_KB, ROW_COUNT));
+        }
+        actualS3Keys.put(storageFiles.get(0).getFilePath(), new StorageFile(storageFiles.get(0).getFilePath(), FILE_SIZE_1_KB, NO_ROW_COUNT));
+        actualS3Keys.put(storageFiles.get(1).getFilePath(), new StorageFile(storageFiles.get(1).getFilePath(), FILE_SIZE_2_KB, NO_ROW_COUNT));
+
+        // Try to validate the storage files.
+        try
+        {
+            storageFileHelper.validateStorageFiles(storageFiles, s3DaoTestHelper.getTestS3FileTransferRequestParamsDto(), actualS3Keys, true);
+            fail();
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals(String.format("Specified file size of %d bytes for \"%s\" storage file does not match file size of %d bytes reported by S3. " +
+                    "File not found at s3://%s/%s location.", FILE_SIZE_1_KB, storageFiles.get(1).getFilePath(), FILE_SIZE_2_KB,
+                storageDaoTestHelper.getS3ManagedBucketName(), storageFiles.get(2).getFilePath()), e.getMessage());
+        }
+    }
+
     private void createLocalFiles(String baseDirectory, long size) throws IOException
     {
         // Create local test files.
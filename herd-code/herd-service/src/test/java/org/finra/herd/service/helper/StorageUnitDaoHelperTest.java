@@ -58,6 +58,9 @@ public class StorageUnitDaoHelperTest
     @Mock
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Mock
+    private HivePartitionsCacheHelper hivePartitionsCacheHelper;
+
     @Mock
     private MessageNotificationEventService messageNotificationEventService;
 
@@ -291,6 +294,7 @@ public class StorageUnitDaoHelperTest
         assertEquals(STORAGE_UNIT_STATUS, storageUnitEntity.getStatus().getCode());
 
         // Verify the external calls.
+        verify(hivePartitionsCacheHelper).evictStorageUnit(storageUnitEntity);
         verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
         verify(messageNotificationEventService)
             .processStorageUnitStatusChangeNotificationEvent(businessObjectDataKey, STORAGE_NAME, STORAGE_UNIT_STATUS, NO_STORAGE_UNIT_STATUS);
@@ -338,6 +342,7 @@ public class StorageUnitDaoHelperTest
 
         // Verify the external calls.
         verify(storageUnitDao).saveAndRefresh(storageUnitEntity);
+        verify(hivePartitionsCacheHelper).evictStorageUnit(storageUnitEntity);
         verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
         verify(messageNotificationEventService)
             .processStorageUnitStatusChangeNotificationEvent(businessObjectDataKey, STORAGE_NAME, STORAGE_UNIT_STATUS_2, STORAGE_UNIT_STATUS);
@@ -387,6 +392,7 @@ public class StorageUnitDaoHelperTest
         // Verify the external calls.
         verify(storageUnitStatusDaoHelper).getStorageUnitStatusEntity(STORAGE_UNIT_STATUS_2);
         verify(storageUnitDao).saveAndRefresh(storageUnitEntity);
+        verify(hivePartitionsCacheHelper).evictStorageUnit(storageUnitEntity);
         verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
         verify(messageNotificationEventService)
             .processStorageUnitStatusChangeNotificationEvent(businessObjectDataKey, STORAGE_NAME, STORAGE_UNIT_STATUS_2, STORAGE_UNIT_STATUS);
@@ -398,6 +404,7 @@ public class StorageUnitDaoHelperTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(businessObjectDataHelper, messageNotificationEventService, storageUnitDao, storageUnitStatusDaoHelper);
+        verifyNoMoreInteractions(businessObjectDataHelper, hivePartitionsCacheHelper, messageNotificationEventService, storageUnitDao,
+            storageUnitStatusDaoHelper);
     }
 }
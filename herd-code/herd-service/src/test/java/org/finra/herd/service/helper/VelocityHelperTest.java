@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.velocity.exception.MethodInvocationException;
+import org.apache.velocity.exception.ParseErrorException;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -39,6 +40,59 @@ public class VelocityHelperTest extends AbstractServiceTest
         Assert.assertEquals("result", "bar", result);
     }
 
+    @Test
+    public void testEvaluateCachedTemplate()
+    {
+        String template = "${foo}/${bar}";
+        String logTag = "test";
+
+        // Evaluate the same template with different variables, so the second evaluation uses the cached parsed template.
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("foo", "foo1");
+        variables.put("bar", "bar1");
+        Assert.assertEquals("result", "foo1/bar1", velocityHelper.evaluate(template, variables, logTag));
+
+        variables.put("foo", "foo2");
+        variables.put("bar", "bar2");
+        Assert.assertEquals("result", "foo2/bar2", velocityHelper.evaluate(template, variables, logTag));
+    }
+
+    @Test
+    public void testEvaluateSharedVariables()
+    {
+        String template = "${foo}/${bar}";
+        Map<String, Object> sharedVariables = new HashMap<>();
+        sharedVariables.put("foo", "sharedFoo");
+        sharedVariables.put("bar", "sharedBar");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("bar", "bar");
+        String logTag = "test";
+
+        // The variables take precedence over the shared variables.
+        Assert.assertEquals("result", "sharedFoo/bar", velocityHelper.evaluate(template, variables, sharedVariables, logTag));
+    }
+
+    @Test
+    public void testEvaluateParseError()
+    {
+        String template = "#if(";
+        String logTag = "test";
+
+        // Confirm that a parse error is reported every time, since templates that fail to parse are not cached.
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                velocityHelper.evaluate(template, new HashMap<>(), logTag);
+                fail();
+            }
+            catch (ParseErrorException parseErrorException)
+            {
+                Assert.assertNotNull(parseErrorException.getMessage());
+            }
+        }
+    }
+
     @Test
     public void testEvaluateReflection()
     {
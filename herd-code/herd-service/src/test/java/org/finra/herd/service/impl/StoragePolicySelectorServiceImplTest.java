@@ -16,30 +16,40 @@
 package org.finra.herd.service.impl;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.BusinessObjectDataDao;
 import org.finra.herd.dao.SqsDao;
+import org.finra.herd.dao.StoragePolicyDao;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.impl.HerdDaoImpl;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.StoragePolicyKey;
+import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.BusinessObjectDataStoragePolicyMatch;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.StoragePolicySelection;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.NamespaceEntity;
+import org.finra.herd.model.jpa.StoragePolicyEntity;
+import org.finra.herd.model.jpa.StoragePolicyRuleTypeEntity;
 import org.finra.herd.service.AbstractServiceTest;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 
@@ -66,6 +76,9 @@ public class StoragePolicySelectorServiceImplTest extends AbstractServiceTest
     @Mock
     private SqsDao sqsDao;
 
+    @Mock
+    private StoragePolicyDao storagePolicyDao;
+
     @InjectMocks
     private StoragePolicySelectorServiceImpl storagePolicySelectorServiceImpl;
 
@@ -101,42 +114,102 @@ public class StoragePolicySelectorServiceImplTest extends AbstractServiceTest
         verify(herdStringHelper).getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_PROCESSOR_BDATA_UPDATED_ON_THRESHOLD_DAYS);
         verify(herdStringHelper).getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_TRANSITION_MAX_ALLOWED_ATTEMPTS);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
-                DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
-        verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(1),
-                DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
-        verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(2),
-                DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+            .getBusinessObjectDataStoragePolicyMatches(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS, DO_NOT_TRANSITION_LATEST_VALID,
+                StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts, null, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(3),
-                DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
-        verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(0),
-                NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+            .getBusinessObjectDataStoragePolicyMatches(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS, NO_DO_NOT_TRANSITION_LATEST_VALID,
+                StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts, null, null, maxResults);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(storagePolicySelections, result);
+    }
+
+    @Test
+    public void testExecuteSelectsBusinessObjectDataMatchingStoragePolicy()
+    {
+        // Create a current timestamp and a business object data "created on" timestamp that is older than the storage policy rule value.
+        Timestamp currentTimestamp = new Timestamp(LONG_VALUE);
+        Timestamp createdOn = HerdDateUtils.addDays(currentTimestamp, -(BDATA_AGE_IN_DAYS + 1));
+
+        // Set some parameters required for testing.
+        final int maxResults = 10;
+        final int storagePolicyTransitionMaxAllowedAttempts = 3;
+
+        // Create a storage policy entity.
+        StoragePolicyRuleTypeEntity storagePolicyRuleTypeEntity = new StoragePolicyRuleTypeEntity();
+        storagePolicyRuleTypeEntity.setCode(StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED);
+        NamespaceEntity namespaceEntity = new NamespaceEntity();
+        namespaceEntity.setCode(STORAGE_POLICY_NAMESPACE_CD);
+        StoragePolicyEntity storagePolicyEntity = new StoragePolicyEntity();
+        storagePolicyEntity.setId(ID);
+        storagePolicyEntity.setNamespace(namespaceEntity);
+        storagePolicyEntity.setName(STORAGE_POLICY_NAME);
+        storagePolicyEntity.setStoragePolicyRuleType(storagePolicyRuleTypeEntity);
+        storagePolicyEntity.setStoragePolicyRuleValue(BDATA_AGE_IN_DAYS);
+        storagePolicyEntity.setVersion(INITIAL_VERSION);
+
+        // Create a business object data entity along with its match to the storage policy.
+        BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
+        businessObjectDataEntity.setId(ID_2);
+        BusinessObjectDataStoragePolicyMatch businessObjectDataStoragePolicyMatch =
+            new BusinessObjectDataStoragePolicyMatch(ID_2, createdOn, createdOn, PARTITION_VALUE, ID, 0);
+
+        // Create the expected storage policy selection.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+        StoragePolicyKey storagePolicyKey = new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME);
+        StoragePolicySelection storagePolicySelection = new StoragePolicySelection(businessObjectDataKey, storagePolicyKey, INITIAL_VERSION);
+
+        // Create AWS parameters DTO.
+        AwsParamsDto awsParamsDto = new AwsParamsDto();
+
+        // Mock the external calls.
+        when(herdDao.getCurrentTimestamp()).thenReturn(currentTimestamp);
+        when(herdStringHelper.getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_TRANSITION_MAX_ALLOWED_ATTEMPTS))
+            .thenReturn(storagePolicyTransitionMaxAllowedAttempts);
+        when(businessObjectDataDao
+            .getBusinessObjectDataStoragePolicyMatches(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS, NO_DO_NOT_TRANSITION_LATEST_VALID,
+                StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts, null, null, maxResults))
+            .thenReturn(Collections.singletonList(businessObjectDataStoragePolicyMatch));
+        when(storagePolicyDao.findById(StoragePolicyEntity.class, ID)).thenReturn(storagePolicyEntity);
+        when(businessObjectDataDao.getBusinessObjectDataEntitiesByIds(Collections.singleton(ID_2)))
+            .thenReturn(Collections.singletonList(businessObjectDataEntity));
+        when(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity)).thenReturn(businessObjectDataKey);
+        when(jsonHelper.objectToJson(storagePolicySelection)).thenReturn(MESSAGE_TEXT);
+        when(awsHelper.getAwsParamsDto()).thenReturn(awsParamsDto);
+        when(sqsDao.sendMessageBatch(awsParamsDto, AWS_SQS_QUEUE_NAME, Collections.singletonList(MESSAGE_TEXT))).thenReturn(new SendMessageBatchResult());
+
+        // Call the method under test.
+        List<StoragePolicySelection> result = storagePolicySelectorServiceImpl.execute(AWS_SQS_QUEUE_NAME, maxResults);
+
+        // Verify the external calls.
+        verify(herdDao).getCurrentTimestamp();
+        verify(herdStringHelper).getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_PROCESSOR_BDATA_UPDATED_ON_THRESHOLD_DAYS);
+        verify(herdStringHelper).getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_TRANSITION_MAX_ALLOWED_ATTEMPTS);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(1),
-                NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+            .getBusinessObjectDataStoragePolicyMatches(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS, DO_NOT_TRANSITION_LATEST_VALID,
+                StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts, null, null, maxResults);
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(2),
-                NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
+            .getBusinessObjectDataStoragePolicyMatches(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS, NO_DO_NOT_TRANSITION_LATEST_VALID,
+                StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts, null, null, maxResults);
+        verify(storagePolicyDao).findById(StoragePolicyEntity.class, ID);
+        verify(businessObjectDataDao).getBusinessObjectDataEntitiesByIds(Collections.singleton(ID_2));
+        verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
+        verify(jsonHelper).objectToJson(businessObjectDataKey);
+        verify(jsonHelper).objectToJson(storagePolicyKey);
+        verify(jsonHelper).objectToJson(storagePolicySelection);
+        verify(awsHelper).getAwsParamsDto();
+        verify(sqsDao).sendMessageBatch(awsParamsDto, AWS_SQS_QUEUE_NAME, Collections.singletonList(MESSAGE_TEXT));
         verify(businessObjectDataDao)
-            .getBusinessObjectDataEntitiesMatchingStoragePolicies(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS.get(3),
-                NO_DO_NOT_TRANSITION_LATEST_VALID, StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                storagePolicyTransitionMaxAllowedAttempts, 0, maxResults);
-        verify(businessObjectDataHelper, times(4)).getLatestValidBusinessObjectDataEntities(any());
+            .getBusinessObjectDataStoragePolicyMatches(StoragePolicySelectorServiceImpl.STORAGE_POLICY_PRIORITY_LEVELS, NO_DO_NOT_TRANSITION_LATEST_VALID,
+                StoragePolicySelectorServiceImpl.SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES, storagePolicyTransitionMaxAllowedAttempts, createdOn, ID_2,
+                maxResults);
         verifyNoMoreInteractionsHelper();
 
         // Validate the results.
-        assertEquals(storagePolicySelections, result);
+        assertEquals(Collections.singletonList(storagePolicySelection), result);
     }
 
     /**
@@ -144,6 +217,6 @@ public class StoragePolicySelectorServiceImplTest extends AbstractServiceTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(awsHelper, businessObjectDataDao, businessObjectDataHelper, herdDao, herdStringHelper, jsonHelper, sqsDao);
+        verifyNoMoreInteractions(awsHelper, businessObjectDataDao, businessObjectDataHelper, herdDao, herdStringHelper, jsonHelper, sqsDao, storagePolicyDao);
     }
 }
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.service.impl;
 
+import java.util.List;
+
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -49,6 +51,17 @@ public class TestNotificationMessagePublishingServiceImpl extends NotificationMe
         publishNotificationMessageImpl(notificationMessage);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @Override
+    public List<NotificationMessage> publishNotificationMessages(List<NotificationMessage> notificationMessages)
+    {
+        return publishNotificationMessagesImpl(notificationMessages);
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -59,4 +72,15 @@ public class TestNotificationMessagePublishingServiceImpl extends NotificationMe
     {
         return publishOldestNotificationMessageFromDatabaseQueueImpl();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @Override
+    public int publishOldestNotificationMessagesFromDatabaseQueue(int maxMessages)
+    {
+        return publishOldestNotificationMessagesFromDatabaseQueueImpl(maxMessages);
+    }
 }
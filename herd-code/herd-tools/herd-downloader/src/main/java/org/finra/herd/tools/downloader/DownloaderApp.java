@@ -15,6 +15,7 @@
 */
 package org.finra.herd.tools.downloader;
 
+import org.apache.commons.cli.Option;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.slf4j.Logger;
@@ -35,15 +36,66 @@ public class DownloaderApp extends DataBridgeApp
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(DownloaderApp.class);
 
+    // The downloader specific command line options.
+    private Option resumeOpt;
+
+    private Option maxBandwidthOpt;
+
+    // Integer values for command line options that are of type "Integer".
+    private Integer maxBandwidth;
+
     // An argument parser for the application.
     private ArgumentParser argParser;
 
+    private static final Integer MAX_BANDWIDTH_MIN = 1;     // Minimum download bandwidth in kilobytes per second.
+
     /**
      * Constructs a new UploaderApp instance.
      */
     public DownloaderApp()
     {
         argParser = new ArgumentParser("herd-downloader-app");
+
+        // Create command line options specific to the downloader. Other common options will be handled by the base class.
+        resumeOpt = argParser.addArgument("r", "resume", false,
+            "If set, allows download into a non-empty target local directory and skips the files that are already downloaded with the expected size.", false);
+        maxBandwidthOpt = argParser.addArgument("b", "maxBandwidth", true,
+            "The maximum download bandwidth in kilobytes per second shared by all the download threads. If not set, the bandwidth is not limited.", false);
+    }
+
+    /**
+     * Parses the command line arguments using the specified argument parser.
+     *
+     * @param args the command line arguments.
+     * @param applicationContext the Spring application context.
+     *
+     * @return the return value if the application should exit or null if the application can continue.
+     */
+    @Override
+    protected ReturnValue parseCommandLineArguments(String[] args, ApplicationContext applicationContext)
+    {
+        ReturnValue returnValue = super.parseCommandLineArguments(args, applicationContext);
+
+        // Stop the processing if return value is not null.
+        if (returnValue != null)
+        {
+            return returnValue;
+        }
+
+        try
+        {
+            // Extract downloader specific Integer option values here to catch any NumberFormatException exceptions.
+            maxBandwidth = argParser.getIntegerValue(maxBandwidthOpt, null, MAX_BANDWIDTH_MIN, Integer.MAX_VALUE);
+        }
+        catch (Exception ex)
+        {
+            // Log a friendly error and return a failure which will cause the application to exit.
+            LOGGER.error("Error parsing command line arguments: " + ex.getMessage() + "\n" + argParser.getUsageInformation());
+            return ReturnValue.FAILURE;
+        }
+
+        // The command line arguments were all parsed successfully so return null to continue processing.
+        return null;
     }
 
     /**
@@ -80,7 +132,8 @@ public class DownloaderApp extends DataBridgeApp
             RegServerAccessParamsDto.builder().withRegServerHost(regServerHost).withRegServerPort(regServerPort).withUseSsl(useSsl)
                 .withUsername(argParser.getStringValue(usernameOpt)).withPassword(password)
                 .withTrustSelfSignedCertificate(trustSelfSignedCertificate).withDisableHostnameVerification(disableHostnameVerification).build();
-        controller.performDownload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params);
+        controller
+            .performDownload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params, argParser.getBooleanValue(resumeOpt), maxBandwidth);
 
         // No exceptions were returned so return success.
         return ReturnValue.SUCCESS;
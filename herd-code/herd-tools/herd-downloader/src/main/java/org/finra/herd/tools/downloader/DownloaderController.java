@@ -17,8 +17,11 @@ package org.finra.herd.tools.downloader;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -26,11 +29,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.bind.JAXBException;
 
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.google.common.util.concurrent.RateLimiter;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -92,6 +105,16 @@ public class DownloaderController extends DataBridgeController
      */
     private static final String OUTPUT_MANIFEST_FILE_NAME = "manifest.json";
 
+    /**
+     * The size of a byte range downloaded by a single ranged GET request.
+     */
+    static final long DOWNLOAD_RANGE_SIZE_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * The suffix of a local file that is being downloaded.
+     */
+    static final String PARTIAL_FILE_SUFFIX = ".part";
+
     /**
      * Executes the downloader workflow.
      *
@@ -107,11 +130,35 @@ public class DownloaderController extends DataBridgeController
      * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
      * @throws KeyManagementException if key management exception
      */
+    public void performDownload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath,
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
+        throws InterruptedException, JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        performDownload(regServerAccessParamsDto, manifestPath, s3FileTransferRequestParamsDto, false, null);
+    }
+
+    /**
+     * Executes the downloader workflow. Each file is downloaded with parallel ranged GET requests and validated as soon as its download completes.
+     *
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the herd registration server
+     * @param manifestPath the local path to the manifest file
+     * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters
+     * @param resume if true, allows download into a non-empty target local directory and skips the files that are already downloaded with the expected size
+     * @param maxBandwidth the maximum download bandwidth in kilobytes per second shared by all the download threads, may be null to not limit the bandwidth
+     *
+     * @throws InterruptedException if the upload thread was interrupted
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
     @SuppressFBWarnings(value = {"BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", "NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE"}, justification =
         "manifestReader.readJsonManifest will always return an DownloaderInputManifestDto object. targetLocalDirectory.list().length will not" +
             " return a NullPointerException.")
     public void performDownload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath,
-        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean resume, Integer maxBandwidth)
         throws InterruptedException, JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
     {
         boolean cleanUpTargetLocalDirectoryOnFailure = false;
@@ -158,7 +205,7 @@ public class DownloaderController extends DataBridgeController
                     throw new IllegalArgumentException(String.format("Failed to create target local directory \"%s\".", targetLocalDirectory.getPath()));
                 }
             }
-            else
+            else if (!resume)
             {
                 // Check if the target local directory is empty.
                 if (targetLocalDirectory.list().length > 0)
@@ -179,7 +226,8 @@ public class DownloaderController extends DataBridgeController
             // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
             s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefixInformation.getS3KeyPrefix() + "/");
             // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            List<String> actualS3Files = storageFileHelper.getFilePathsFromS3ObjectSummaries(s3Service.listDirectory(s3FileTransferRequestParamsDto, true));
+            List<S3ObjectSummary> s3ObjectSummaries = s3Service.listDirectory(s3FileTransferRequestParamsDto, true);
+            List<String> actualS3Files = storageFileHelper.getFilePathsFromS3ObjectSummaries(s3ObjectSummaries);
 
             // Validate S3 files before we start the download.
             storageFileHelper.validateStorageUnitS3Files(storageUnit, actualS3Files, s3KeyPrefixInformation.getS3KeyPrefix());
@@ -187,13 +235,17 @@ public class DownloaderController extends DataBridgeController
             // Special handling for the maxThreads command line option.
             s3FileTransferRequestParamsDto.setMaxThreads(adjustIntegerValue(s3FileTransferRequestParamsDto.getMaxThreads(), MIN_THREADS, MAX_THREADS));
 
-            // Download S3 files to the target local directory.
-            s3FileTransferRequestParamsDto.setRecursive(true);
-            cleanUpTargetLocalDirectoryOnFailure = true;
-            s3Service.downloadDirectory(s3FileTransferRequestParamsDto);
+            // Download S3 files to the target local directory. A resumed download keeps the files downloaded so far on failure.
+            cleanUpTargetLocalDirectoryOnFailure = !resume;
+            downloadFiles(s3FileTransferRequestParamsDto, storageUnit, s3ObjectSummaries, resume, maxBandwidth);
 
-            // Validate the downloaded files.
-            storageFileHelper.validateDownloadedS3Files(s3FileTransferRequestParamsDto.getLocalPath(), s3KeyPrefixInformation.getS3KeyPrefix(), storageUnit);
+            // Validate the number of downloaded files. The target local directory of a resumed download may also contain an output manifest file written by
+            // an earlier download, so the downloaded files are only validated one by one in that case.
+            if (!resume)
+            {
+                storageFileHelper
+                    .validateDownloadedS3Files(s3FileTransferRequestParamsDto.getLocalPath(), s3KeyPrefixInformation.getS3KeyPrefix(), storageUnit);
+            }
 
             // Log a list of files downloaded to the target local directory.
             if (LOGGER.isInfoEnabled())
@@ -220,6 +272,178 @@ public class DownloaderController extends DataBridgeController
         }
     }
 
+    /**
+     * Downloads the storage files of the storage unit into the local directory. Each file is downloaded into a preallocated partial file by parallel ranged
+     * GET requests, so large files are downloaded by several threads at once while small files are downloaded in parallel with each other. A file is moved
+     * into its place and validated as soon as its last range is downloaded.
+     *
+     * @param params the S3 file transfer request parameters, with the S3 bucket name, the local path and the maximum number of threads
+     * @param storageUnit the storage unit
+     * @param s3ObjectSummaries the S3 objects that are present in the S3 key prefix of the storage unit
+     * @param resume if true, skips the files that are already present locally with the expected size
+     * @param maxBandwidth the maximum download bandwidth in kilobytes per second, may be null to not limit the bandwidth
+     *
+     * @throws InterruptedException if the download thread was interrupted
+     * @throws IOException if an I/O error was encountered
+     */
+    private void downloadFiles(S3FileTransferRequestParamsDto params, StorageUnit storageUnit, List<S3ObjectSummary> s3ObjectSummaries, boolean resume,
+        Integer maxBandwidth) throws InterruptedException, IOException
+    {
+        // Get the actual sizes of the S3 objects.
+        Map<String, Long> s3ObjectSizes = new HashMap<>();
+        for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
+        {
+            s3ObjectSizes.put(s3ObjectSummary.getKey(), s3ObjectSummary.getSize());
+        }
+
+        // A single rate limiter is shared by all the download threads, so the limit applies to the download as a whole.
+        RateLimiter rateLimiter = maxBandwidth != null ? RateLimiter.create(maxBandwidth * 1024.0) : null;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(params.getMaxThreads(),
+            new BasicThreadFactory.Builder().namingPattern("herd-downloader-range-download-%d").daemon(true).build());
+
+        try
+        {
+            List<Future<Void>> futures = new ArrayList<>();
+            int skippedFilesCount = 0;
+
+            for (StorageFile storageFile : CollectionUtils.isEmpty(storageUnit.getStorageFiles()) ? new ArrayList<StorageFile>() :
+                storageUnit.getStorageFiles())
+            {
+                File localFile = Paths.get(params.getLocalPath(), storageFile.getFilePath()).toFile();
+
+                // Skip the file if it is already downloaded.
+                if (resume && localFile.isFile() && localFile.length() == storageFile.getFileSizeBytes())
+                {
+                    LOGGER.info("Skipping the file that is already downloaded. localPath=\"{}\"", localFile.getPath());
+                    skippedFilesCount++;
+                    continue;
+                }
+
+                long fileSize = s3ObjectSizes.getOrDefault(storageFile.getFilePath(), storageFile.getFileSizeBytes());
+                futures.addAll(submitFileDownload(executorService, params, storageFile, localFile, fileSize, rateLimiter));
+            }
+
+            LOGGER.info("Downloading files... rangeRequestsCount={} skippedFilesCount={}", futures.size(), skippedFilesCount);
+
+            for (Future<Void> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    if (e.getCause() instanceof IOException)
+                    {
+                        throw (IOException) e.getCause();
+                    }
+                    if (e.getCause() instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Preallocates the partial file of a storage file and submits the ranged GET requests that download it. The task that downloads the last outstanding range
+     * moves the partial file into its place and validates it.
+     *
+     * @param executorService the executor service
+     * @param params the S3 file transfer request parameters
+     * @param storageFile the storage file
+     * @param localFile the local file
+     * @param fileSize the size of the S3 object
+     * @param rateLimiter the rate limiter, may be null
+     *
+     * @return the futures of the submitted tasks
+     * @throws IOException if an I/O error was encountered
+     */
+    private List<Future<Void>> submitFileDownload(ExecutorService executorService, S3FileTransferRequestParamsDto params, StorageFile storageFile,
+        File localFile, long fileSize, RateLimiter rateLimiter) throws IOException
+    {
+        File partialFile = new File(localFile.getPath() + PARTIAL_FILE_SUFFIX);
+        Files.createDirectories(partialFile.getAbsoluteFile().getParentFile().toPath());
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(partialFile, "rw"))
+        {
+            randomAccessFile.setLength(fileSize);
+        }
+
+        List<Future<Void>> futures = new ArrayList<>();
+
+        // A zero byte file needs no range requests.
+        if (fileSize == 0)
+        {
+            futures.add(executorService.submit(() -> {
+                completeFileDownload(params, storageFile, partialFile, localFile, 0, fileSize);
+                return null;
+            }));
+            return futures;
+        }
+
+        int rangesCount = (int) ((fileSize + DOWNLOAD_RANGE_SIZE_BYTES - 1) / DOWNLOAD_RANGE_SIZE_BYTES);
+        AtomicInteger outstandingRangesCount = new AtomicInteger(rangesCount);
+        AtomicLong bytesDownloaded = new AtomicLong();
+
+        for (int rangeIndex = 0; rangeIndex < rangesCount; rangeIndex++)
+        {
+            long firstByte = rangeIndex * DOWNLOAD_RANGE_SIZE_BYTES;
+            long lastByte = Math.min(firstByte + DOWNLOAD_RANGE_SIZE_BYTES, fileSize) - 1;
+
+            futures.add(executorService.submit(() -> {
+                // Create a copy of the parameters for the range, since the parameters are shared by all the download threads.
+                S3FileTransferRequestParamsDto rangeParams = (S3FileTransferRequestParamsDto) params.clone();
+                rangeParams.setS3KeyPrefix(storageFile.getFilePath());
+                rangeParams.setLocalPath(partialFile.getPath());
+
+                bytesDownloaded.addAndGet(s3Service.downloadFileRange(rangeParams, firstByte, lastByte, rateLimiter).getTotalBytesTransferred());
+
+                if (outstandingRangesCount.decrementAndGet() == 0)
+                {
+                    completeFileDownload(params, storageFile, partialFile, localFile, bytesDownloaded.get(), fileSize);
+                }
+                return null;
+            }));
+        }
+
+        return futures;
+    }
+
+    /**
+     * Moves a completely downloaded partial file into its place and validates the downloaded file.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param storageFile the storage file
+     * @param partialFile the partial file
+     * @param localFile the local file
+     * @param bytesDownloaded the number of bytes downloaded into the partial file
+     * @param fileSize the size of the S3 object
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    private void completeFileDownload(S3FileTransferRequestParamsDto params, StorageFile storageFile, File partialFile, File localFile, long bytesDownloaded,
+        long fileSize) throws IOException
+    {
+        if (bytesDownloaded != fileSize)
+        {
+            throw new IllegalStateException(String
+                .format("Number of downloaded bytes of \"%s\" S3 file does not match the S3 object size (expected %d bytes, actual %d bytes).",
+                    storageFile.getFilePath(), fileSize, bytesDownloaded));
+        }
+
+        Files.move(partialFile.toPath(), localFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        storageFileHelper.validateDownloadedS3File(params.getLocalPath(), storageFile);
+
+        LOGGER.info("Downloaded S3 file. s3Key=\"{}\" localPath=\"{}\" fileSizeBytes={}", storageFile.getFilePath(), localFile.getPath(), fileSize);
+    }
+
     /**
      * Logs all files found in the specified local directory.
      *
@@ -16,9 +16,15 @@
 package org.finra.herd.tools.downloader;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -37,9 +43,12 @@ import java.util.List;
 
 import javax.xml.datatype.DatatypeFactory;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -51,6 +60,7 @@ import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.S3KeyPrefixInformation;
 import org.finra.herd.model.api.xml.Storage;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.api.xml.StorageUnit;
 import org.finra.herd.model.api.xml.StorageUnitDownloadCredential;
 import org.finra.herd.model.dto.DownloaderInputManifestDto;
@@ -215,6 +225,22 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
      * @param hostname optional override of the default web service hostname.
      */
     protected void runDownload(DownloaderInputManifestDto downloaderInputManifestDto, String localPath, Integer numOfThreads, String hostname) throws Exception
+    {
+        runDownload(downloaderInputManifestDto, localPath, numOfThreads, hostname, false, null);
+    }
+
+    /**
+     * Prepares test data and runs a normal download scenario.
+     *
+     * @param downloaderInputManifestDto the downloader input manifest object instance
+     * @param localPath the local target directory
+     * @param numOfThreads the maximum number of threads to use for file transfer to S3
+     * @param hostname optional override of the default web service hostname.
+     * @param resume specifies whether to resume the download into a non-empty target local directory
+     * @param maxBandwidth the maximum download bandwidth in kilobytes per second, may be null
+     */
+    protected void runDownload(DownloaderInputManifestDto downloaderInputManifestDto, String localPath, Integer numOfThreads, String hostname, boolean resume,
+        Integer maxBandwidth) throws Exception
     {
         String hostnameToUse = hostname == null ? WEB_SERVICE_HOSTNAME : hostname;
 
@@ -236,7 +262,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             RegServerAccessParamsDto.builder().withRegServerHost(hostnameToUse).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
                 .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
                 .withDisableHostnameVerification(true).build();
-        downloaderController.performDownload(regServerAccessParamsDto, downloaderInputManifestFile, s3FileTransferRequestParamsDto);
+        downloaderController.performDownload(regServerAccessParamsDto, downloaderInputManifestFile, s3FileTransferRequestParamsDto, resume, maxBandwidth);
     }
 
     @Test
@@ -247,6 +273,65 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
         runDownload(testDownloaderInputManifestDto, LOCAL_TEMP_PATH_OUTPUT.toString(), DownloaderController.MIN_THREADS, null);
     }
 
+    @Test
+    public void testPerformDownloadResume() throws Exception
+    {
+        // Create a target local directory with one file that is already downloaded and one file that is only partially downloaded.
+        File targetLocalDirectory = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), S3_TEST_PATH_V0).toFile();
+        File downloadedFile = createLocalFile(targetLocalDirectory.getPath(), LOCAL_FILES.get(0), FILE_SIZE_1_KB);
+        File partiallyDownloadedFile = createLocalFile(targetLocalDirectory.getPath(), LOCAL_FILES.get(1), FILE_SIZE_1_KB / 2);
+        long downloadedFileLastModified = downloadedFile.lastModified() - 60_000L;
+        assertTrue(downloadedFile.setLastModified(downloadedFileLastModified));
+
+        // Resume the download into the non-empty target local directory.
+        runDownload(getTestDownloaderInputManifestDto(), LOCAL_TEMP_PATH_OUTPUT.toString(), DownloaderController.MIN_THREADS, null, true, null);
+
+        // Validate that the downloaded file was skipped and the rest of the files were downloaded.
+        assertEquals(downloadedFileLastModified, downloadedFile.lastModified());
+        assertEquals(FILE_SIZE_1_KB, partiallyDownloadedFile.length());
+        for (String localFile : LOCAL_FILES)
+        {
+            assertEquals(FILE_SIZE_1_KB, Paths.get(targetLocalDirectory.getPath(), localFile).toFile().length());
+        }
+    }
+
+    @Test
+    public void testPerformDownloadMaxBandwidth() throws Exception
+    {
+        // Wrap the S3 service, so the rate limiter passed to the ranged downloads can be captured.
+        S3Service originalS3Service = (S3Service) ReflectionTestUtils.getField(downloaderController, "s3Service");
+        S3Service delegatingS3Service = mock(S3Service.class, AdditionalAnswers.delegatesTo(originalS3Service));
+        ReflectionTestUtils.setField(downloaderController, "s3Service", delegatingS3Service);
+
+        try
+        {
+            runDownload(getTestDownloaderInputManifestDto(), LOCAL_TEMP_PATH_OUTPUT.toString(), DownloaderController.MAX_THREADS, null, false, 1024);
+
+            // Validate that all the files were downloaded and no partially downloaded files were left in the target local directory.
+            File targetLocalDirectory = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), S3_TEST_PATH_V0).toFile();
+            for (String localFile : LOCAL_FILES)
+            {
+                assertEquals(FILE_SIZE_1_KB, Paths.get(targetLocalDirectory.getPath(), localFile).toFile().length());
+            }
+            assertTrue(FileUtils.listFiles(targetLocalDirectory, new String[] {"part"}, true).isEmpty());
+
+            // Validate that all ranges were downloaded with the same rate limiter set to the maximum bandwidth.
+            ArgumentCaptor<RateLimiter> rateLimiterCaptor = ArgumentCaptor.forClass(RateLimiter.class);
+            verify(delegatingS3Service, atLeast(LOCAL_FILES.size())).downloadFileRange(any(), anyLong(), anyLong(), rateLimiterCaptor.capture());
+            RateLimiter rateLimiter = rateLimiterCaptor.getValue();
+            assertNotNull(rateLimiter);
+            assertEquals(1024 * 1024.0, rateLimiter.getRate(), 0);
+            for (RateLimiter capturedRateLimiter : rateLimiterCaptor.getAllValues())
+            {
+                assertSame(rateLimiter, capturedRateLimiter);
+            }
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(downloaderController, "s3Service", originalS3Service);
+        }
+    }
+
     /**
      * Asserts that the target directory is cleared (ie. all files under the directory is removed recursively) when there is an error during download.
      */
@@ -295,7 +380,8 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
 
             DownloaderInputManifestDto downloaderInputManifestDto = new DownloaderInputManifestDto();
             BusinessObjectData businessObjectData = new BusinessObjectData();
-            StorageUnit storageUnit = new StorageUnit(new Storage(storageName, null, null), null, null, StorageUnitStatusEntity.ENABLED, null, null, null);
+            StorageUnit storageUnit = new StorageUnit(new Storage(storageName, null, null), null, null, StorageUnitStatusEntity.ENABLED, null,
+                Arrays.asList(new StorageFile(s3KeyPrefix + "/file", 1L, null)), null);
             S3KeyPrefixInformation s3KeyPrefixInformation = new S3KeyPrefixInformation();
             s3KeyPrefixInformation.setS3KeyPrefix(s3KeyPrefix);
 
@@ -306,12 +392,11 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             when(mockDownloaderWebClient.getBusinessObjectData(any())).thenReturn(businessObjectData);
             when(mockBusinessObjectDataHelper.getStorageUnitByStorageName(any(), any())).thenReturn(storageUnit);
             when(mockDownloaderWebClient.getS3KeyPrefix(any())).thenReturn(s3KeyPrefixInformation);
-            when(mockS3Service.downloadDirectory(any())).then(new Answer<S3FileTransferResultsDto>()
+            when(mockS3Service.downloadFileRange(any(), eq(0L), eq(0L), isNull())).then(new Answer<S3FileTransferResultsDto>()
             {
                 @Override
                 public S3FileTransferResultsDto answer(InvocationOnMock invocation) throws Throwable
                 {
-                    Files.createFile(targetDirectoryPath.resolve("file"));
                     throw expectedException;
                 }
             });
@@ -458,12 +543,12 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
         {
             String s3KeyPrefix = "s3KeyPrefix";
             String storageName = "S3_MANAGED";
-            Path targetDirectoryPath = localPath.resolve(s3KeyPrefix);
-            Path targetFilePath = targetDirectoryPath.resolve("file");
+            Path targetFilePath = localPath.resolve(s3KeyPrefix).resolve("file");
 
             DownloaderInputManifestDto downloaderInputManifestDto = new DownloaderInputManifestDto();
             BusinessObjectData businessObjectData = new BusinessObjectData();
-            StorageUnit storageUnit = new StorageUnit(new Storage(storageName, null, null), null, null, StorageUnitStatusEntity.ENABLED, null, null, null);
+            StorageUnit storageUnit = new StorageUnit(new Storage(storageName, null, null), null, null, StorageUnitStatusEntity.ENABLED, null,
+                Arrays.asList(new StorageFile(s3KeyPrefix + "/file", 1L, null)), null);
             S3KeyPrefixInformation s3KeyPrefixInformation = new S3KeyPrefixInformation();
             s3KeyPrefixInformation.setS3KeyPrefix(s3KeyPrefix);
 
@@ -474,15 +559,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             when(mockDownloaderWebClient.getBusinessObjectData(any())).thenReturn(businessObjectData);
             when(mockBusinessObjectDataHelper.getStorageUnitByStorageName(any(), any())).thenReturn(storageUnit);
             when(mockDownloaderWebClient.getS3KeyPrefix(any())).thenReturn(s3KeyPrefixInformation);
-            when(mockS3Service.downloadDirectory(any())).then(new Answer<S3FileTransferResultsDto>()
-            {
-                @Override
-                public S3FileTransferResultsDto answer(InvocationOnMock invocation) throws Throwable
-                {
-                    Files.createFile(targetFilePath);
-                    return null;
-                }
-            });
+            when(mockS3Service.downloadFileRange(any(), eq(0L), eq(0L), isNull())).thenReturn(getS3FileTransferResultsDto(1L));
 
             /*
              * Make the call to the method under test
@@ -500,7 +577,11 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             verify(mockDownloaderWebClient).getBusinessObjectData(downloaderInputManifestDto);
             verify(mockBusinessObjectDataHelper).getStorageUnitByStorageName(businessObjectData, storageName);
             verify(mockDownloaderWebClient).getS3KeyPrefix(businessObjectData);
-            verify(mockS3Service).downloadDirectory(s3FileTransferRequestParamsDto);
+            verify(mockS3Service).downloadFileRange(any(), eq(0L), eq(0L), isNull());
+
+            // Assert that the downloaded file is moved into its place.
+            assertTrue(targetFilePath.toFile().isFile());
+            assertTrue(stringWriter.toString().contains(targetFilePath.toString()));
         }
         finally
         {
@@ -569,7 +650,8 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             DownloaderInputManifestDto downloaderInputManifestDto = new DownloaderInputManifestDto();
             downloaderInputManifestDto.setStorageName(storageName);
             BusinessObjectData businessObjectData = new BusinessObjectData();
-            StorageUnit storageUnit = new StorageUnit(new Storage(storageName, null, null), null, null, StorageUnitStatusEntity.ENABLED, null, null, null);
+            StorageUnit storageUnit = new StorageUnit(new Storage(storageName, null, null), null, null, StorageUnitStatusEntity.ENABLED, null,
+                Arrays.asList(new StorageFile(s3KeyPrefix + "/file", 1L, null)), null);
             S3KeyPrefixInformation s3KeyPrefixInformation = new S3KeyPrefixInformation();
             s3KeyPrefixInformation.setS3KeyPrefix(s3KeyPrefix);
 
@@ -582,7 +664,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             when(mockDownloaderWebClient.getS3KeyPrefix(any())).thenReturn(s3KeyPrefixInformation);
             when(mockDownloaderWebClient.getStorageUnitDownloadCredential(any(), any())).thenReturn(new StorageUnitDownloadCredential(
                 new AwsCredential("awsAccessKey", "awsSecretKey", "awsSessionToken", DatatypeFactory.newInstance().newXMLGregorianCalendar())));
-            when(mockS3Service.downloadDirectory(any())).then(new Answer<S3FileTransferResultsDto>()
+            when(mockS3Service.downloadFileRange(any(), eq(0L), eq(0L), isNull())).then(new Answer<S3FileTransferResultsDto>()
             {
                 @Override
                 public S3FileTransferResultsDto answer(InvocationOnMock invocation) throws Throwable
@@ -596,7 +678,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
                     {
                         herdAWSCredentialsProvider.getAwsCredential();
                     }
-                    return null;
+                    return getS3FileTransferResultsDto(1L);
                 }
             });
 
@@ -631,6 +713,20 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
         }
     }
 
+    /**
+     * Creates S3 file transfer results with the specified number of bytes transferred.
+     *
+     * @param totalBytesTransferred the number of bytes transferred
+     *
+     * @return the S3 file transfer results
+     */
+    private S3FileTransferResultsDto getS3FileTransferResultsDto(long totalBytesTransferred)
+    {
+        S3FileTransferResultsDto s3FileTransferResultsDto = new S3FileTransferResultsDto();
+        s3FileTransferResultsDto.setTotalBytesTransferred(totalBytesTransferred);
+        return s3FileTransferResultsDto;
+    }
+
     /**
      * Prepares test data and runs a normal download scenario using test output directory and minimum allowed number of threads.
      */
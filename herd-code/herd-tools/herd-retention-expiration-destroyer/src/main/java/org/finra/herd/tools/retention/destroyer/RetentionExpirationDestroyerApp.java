@@ -43,14 +43,34 @@ public class RetentionExpirationDestroyerApp
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationDestroyerApp.class);
 
+    private static final Integer MAX_THREADS_DEFAULT = 1;           // Default number of concurrent destroy calls.
+
+    private static final Integer MAX_THREADS_MAX = 100;             // Maximum number of concurrent destroy calls.
+
+    private static final Integer MAX_RETRY_ATTEMPTS_DEFAULT = 3;    // Default number of destroy call retry attempts.
+
+    private static final Integer MAX_RETRY_ATTEMPTS_MAX = 10;       // Maximum number of destroy call retry attempts.
+
+    private static final Integer RETRY_DELAY_SECS_DEFAULT = 10;     // Default delay in seconds between the destroy call retry attempts.
+
+    private static final Integer RETRY_DELAY_SECS_MAX = 900;        // Maximum delay in seconds between the destroy call retry attempts.
+
     private ArgumentParser argParser;
 
+    private Option checkpointFileOpt;
+
     private Boolean disableHostnameVerification;
 
     private Option disableHostnameVerificationOpt;
 
     private Option localInputFileOpt;
 
+    private Integer maxRequestsPerSecond;
+
+    private Integer maxRetryAttempts;
+
+    private Integer maxThreads;
+
     private Option passwordOpt;
 
     private Option enableEnvVariablesOpt;
@@ -59,6 +79,8 @@ public class RetentionExpirationDestroyerApp
 
     private Integer regServerPort;
 
+    private Integer retryDelaySecs;
+
     private Boolean trustSelfSignedCertificate;
 
     private Option trustSelfSignedCertificateOpt;
@@ -136,7 +158,8 @@ public class RetentionExpirationDestroyerApp
 
         // Call the controller with the user specified parameters to perform the upload.
         RetentionExpirationDestroyerController controller = applicationContext.getBean(RetentionExpirationDestroyerController.class);
-        controller.performRetentionExpirationDestruction(argParser.getFileValue(localInputFileOpt), regServerAccessParamsDto);
+        controller.performRetentionExpirationDestruction(argParser.getFileValue(localInputFileOpt), regServerAccessParamsDto,
+            argParser.getFileValue(checkpointFileOpt), maxThreads, maxRequestsPerSecond, maxRetryAttempts, retryDelaySecs);
 
         // No exceptions were returned so return success.
         return ToolsCommonConstants.ReturnValue.SUCCESS;
@@ -171,6 +194,17 @@ public class RetentionExpirationDestroyerApp
                 argParser.addArgument("C", "trustSelfSignedCertificate", true, "If set to true, makes HTTPS client trust self-signed certificate.", false);
             disableHostnameVerificationOpt =
                 argParser.addArgument("d", "disableHostnameVerification", true, "If set to true, turns off hostname verification.", false);
+            checkpointFileOpt = argParser.addArgument("f", "checkpointFile", true,
+                "The local checkpoint file. If set, every destroyed business object data is recorded in this file and skipped when the destroyer runs again.",
+                false);
+            Option maxThreadsOpt = argParser.addArgument("t", "maxThreads", true, "The maximum number of concurrent destroy calls.", false);
+            Option maxRequestsPerSecondOpt = argParser
+                .addArgument("r", "maxRequestsPerSecond", true, "The maximum number of destroy calls per second. If not set, the rate is not limited.",
+                    false);
+            Option maxRetryAttemptsOpt = argParser.addArgument("R", "maxRetryAttempts", true,
+                "The maximum number of retry attempts of a destroy call that failed with an I/O error or a server error.", false);
+            Option retryDelaySecsOpt =
+                argParser.addArgument("D", "retryDelaySecs", true, "The delay in seconds between the destroy call retry attempts.", false);
             Option helpOpt = argParser.addArgument("h", "help", false, "Display usage information and exit.", false);
             Option versionOpt = argParser.addArgument("v", "version", false, "Display version information and exit.", false);
 
@@ -215,6 +249,10 @@ public class RetentionExpirationDestroyerApp
 
             // Extract all Integer option values here to catch any NumberFormatException exceptions.
             regServerPort = argParser.getIntegerValue(regServerPortOpt);
+            maxThreads = argParser.getIntegerValue(maxThreadsOpt, MAX_THREADS_DEFAULT, 1, MAX_THREADS_MAX);
+            maxRequestsPerSecond = argParser.getIntegerValue(maxRequestsPerSecondOpt, null, 1, Integer.MAX_VALUE);
+            maxRetryAttempts = argParser.getIntegerValue(maxRetryAttemptsOpt, MAX_RETRY_ATTEMPTS_DEFAULT, 0, MAX_RETRY_ATTEMPTS_MAX);
+            retryDelaySecs = argParser.getIntegerValue(retryDelaySecsOpt, RETRY_DELAY_SECS_DEFAULT, 0, RETRY_DELAY_SECS_MAX);
         }
         catch (ParseException ex)
         {
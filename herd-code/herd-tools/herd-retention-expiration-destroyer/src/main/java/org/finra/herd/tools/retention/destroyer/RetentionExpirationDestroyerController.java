@@ -15,26 +15,44 @@
  */
 package org.finra.herd.tools.retention.destroyer;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.util.concurrent.RateLimiter;
 import com.opencsv.CSVReader;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.http.HttpStatus;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import org.finra.herd.dao.helper.JsonHelper;
+import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.StorageUnit;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
+import org.finra.herd.tools.common.databridge.HttpErrorResponseException;
 
 @Component
 public class RetentionExpirationDestroyerController
@@ -44,6 +62,11 @@ public class RetentionExpirationDestroyerController
             "Primary Partition Value", "Sub-Partition Value 1", "Sub-Partition Value 2", "Sub-Partition Value 3", "Sub-Partition Value 4",
             "Business Object Data Version", "Business Object Definition Display Name", "Business Object Definition URI"};
 
+    /**
+     * The HTTP status code returned by the registration server when the client is throttled.
+     */
+    private static final int HTTP_STATUS_TOO_MANY_REQUESTS = 429;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationDestroyerController.class);
 
     @Autowired
@@ -62,21 +85,281 @@ public class RetentionExpirationDestroyerController
      */
     public void performRetentionExpirationDestruction(File localInputFile, RegServerAccessParamsDto regServerAccessParamsDto) throws Exception
     {
-        // Read business object data keys from the input CSV file.
-        List<BusinessObjectDataKey> businessObjectDataKeys = getBusinessObjectDataKeys(localInputFile);
+        performRetentionExpirationDestruction(localInputFile, regServerAccessParamsDto, null, 1, null, 0, 0);
+    }
 
+    /**
+     * Executes the retention expiration destroyer workflow. The whole input CSV file is validated first, so a malformed line fails the run before any business
+     * object data gets destroyed. The input CSV file is then streamed and the business object data instances are destroyed by a bounded number of concurrent
+     * calls sharing one HTTP client. Each destroyed business object data key is appended to the checkpoint file, if one is specified, so a
+     * rerun with the same checkpoint file skips the business object data instances that are already destroyed.
+     *
+     * @param localInputFile the local input file
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the registration server
+     * @param checkpointFile the local checkpoint file, may be null
+     * @param maxThreads the maximum number of concurrent destroy calls
+     * @param maxRequestsPerSecond the maximum number of destroy calls per second, may be null to not limit the call rate
+     * @param maxRetryAttempts the maximum number of retry attempts of a destroy call that failed with an I/O error or a server error
+     * @param retryDelaySecs the delay in seconds between the retry attempts
+     *
+     * @throws Exception if any problems were encountered
+     */
+    public void performRetentionExpirationDestruction(File localInputFile, RegServerAccessParamsDto regServerAccessParamsDto, File checkpointFile,
+        int maxThreads, Integer maxRequestsPerSecond, int maxRetryAttempts, int retryDelaySecs) throws Exception
+    {
         // Initialize the web client.
         retentionExpirationDestroyerWebClient.setRegServerAccessParamsDto(regServerAccessParamsDto);
 
-        // Process business object data keys one by one.
-        LOGGER.info("Processing {} business object data instances for destruction.", CollectionUtils.size(businessObjectDataKeys));
-        for (BusinessObjectDataKey businessObjectDataKey : businessObjectDataKeys)
+        // Validate all lines of the input CSV file before destroying anything.
+        long businessObjectDataCount = validateInputFile(localInputFile);
+
+        // Read the business object data keys already destroyed by an earlier run.
+        Set<String> checkpointedBusinessObjectDataKeys = readCheckpointFile(checkpointFile);
+
+        // Limit the number of dispatched calls that wait for a thread, so the input file is not read far ahead of the destruction.
+        int maxDispatchedCalls = maxThreads * 2;
+        Semaphore dispatchedCalls = new Semaphore(maxDispatchedCalls);
+        RateLimiter rateLimiter = maxRequestsPerSecond != null ? RateLimiter.create(maxRequestsPerSecond) : null;
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicLong destroyedCount = new AtomicLong();
+        long skippedCount = 0;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(maxThreads,
+            new BasicThreadFactory.Builder().namingPattern("herd-retention-expiration-destroyer-%d").daemon(true).build());
+
+        LOGGER.info("Processing business object data instances for destruction. businessObjectDataCount={} maxThreads={} maxRequestsPerSecond={} " +
+            "checkpointedCount={}", businessObjectDataCount, maxThreads, maxRequestsPerSecond, checkpointedBusinessObjectDataKeys.size());
+
+        try (CSVReader csvReader = createCsvReader(localInputFile);
+            CloseableHttpClient client = retentionExpirationDestroyerWebClient.createHttpClient(maxThreads);
+            BufferedWriter checkpointWriter = checkpointFile != null ? Files
+                .newBufferedWriter(checkpointFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND) : null)
+        {
+            try
+            {
+                // Process the input CSV file line by line until all lines are processed or a destroy call fails.
+                String[] line;
+                int lineCount = 2;
+                while (failure.get() == null && (line = csvReader.readNext()) != null)
+                {
+                    BusinessObjectDataKey businessObjectDataKey = getBusinessObjectDataKey(line, lineCount++, localInputFile);
+                    String businessObjectDataKeyJson = jsonHelper.objectToJson(businessObjectDataKey);
+
+                    if (checkpointedBusinessObjectDataKeys.contains(businessObjectDataKeyJson))
+                    {
+                        skippedCount++;
+                        continue;
+                    }
+
+                    dispatchedCalls.acquire();
+                    executorService.execute(() -> {
+                        try
+                        {
+                            destroyBusinessObjectData(businessObjectDataKey, client, rateLimiter, maxRetryAttempts, retryDelaySecs);
+                            writeCheckpoint(checkpointWriter, businessObjectDataKeyJson);
+                            destroyedCount.incrementAndGet();
+                            LOGGER.info("Successfully marked for destruction. Business object data {}", businessObjectDataKeyJson);
+                        }
+                        catch (Exception e)
+                        {
+                            failure.compareAndSet(null, e);
+                        }
+                        finally
+                        {
+                            dispatchedCalls.release();
+                        }
+                    });
+                }
+            }
+            finally
+            {
+                // Wait for the dispatched calls to complete before the HTTP client and the checkpoint file get closed.
+                dispatchedCalls.acquireUninterruptibly(maxDispatchedCalls);
+            }
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+
+        if (failure.get() != null)
         {
-            retentionExpirationDestroyerWebClient.destroyBusinessObjectData(businessObjectDataKey);
-            LOGGER.info("Successfully marked for destruction. Business object data {}", jsonHelper.objectToJson(businessObjectDataKey));
+            LOGGER.error("Failed to process business object data instances for destruction. destroyedCount={} skippedCount={}", destroyedCount.get(),
+                skippedCount);
+            throw failure.get();
         }
 
-        LOGGER.info("Successfully processed {} business object data instances for destruction.", CollectionUtils.size(businessObjectDataKeys));
+        LOGGER.info("Successfully processed {} business object data instances for destruction. skippedCount={}", destroyedCount.get() + skippedCount,
+            skippedCount);
+    }
+
+    /**
+     * Destroys business object data, retrying the call when it fails with an I/O error or a server error. A call that failed this way might still have been
+     * processed by the registration server, so a retried call that finds the business object data already being destroyed or no longer existing counts as a
+     * successful destroy.
+     *
+     * @param businessObjectDataKey the business object data key
+     * @param client the HTTP client
+     * @param rateLimiter the rate limiter to acquire a permit per call from, may be null
+     * @param maxRetryAttempts the maximum number of retry attempts
+     * @param retryDelaySecs the delay in seconds between the retry attempts
+     *
+     * @throws Exception if any problems were encountered
+     */
+    private void destroyBusinessObjectData(BusinessObjectDataKey businessObjectDataKey, CloseableHttpClient client, RateLimiter rateLimiter,
+        int maxRetryAttempts, int retryDelaySecs) throws Exception
+    {
+        for (int attempt = 0; ; attempt++)
+        {
+            if (rateLimiter != null)
+            {
+                rateLimiter.acquire();
+            }
+
+            try
+            {
+                retentionExpirationDestroyerWebClient.destroyBusinessObjectData(businessObjectDataKey, client);
+                return;
+            }
+            catch (IOException | HttpErrorResponseException e)
+            {
+                boolean retryable = e instanceof IOException || ((HttpErrorResponseException) e).getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR ||
+                    ((HttpErrorResponseException) e).getStatusCode() == HTTP_STATUS_TOO_MANY_REQUESTS;
+
+                if (!retryable && attempt > 0 && isAlreadyDestroyed(businessObjectDataKey, client))
+                {
+                    LOGGER.info("Business object data is already being destroyed by an earlier attempt. attempt={} businessObjectDataKey={} reason=\"{}\"",
+                        attempt + 1, jsonHelper.objectToJson(businessObjectDataKey), ((HttpErrorResponseException) e).getResponseMessage());
+                    return;
+                }
+
+                if (!retryable || attempt >= maxRetryAttempts)
+                {
+                    throw e;
+                }
+
+                LOGGER.warn("Failed to destroy business object data, retrying. attempt={} maxRetryAttempts={} businessObjectDataKey={} reason=\"{}\"",
+                    attempt + 1, maxRetryAttempts, jsonHelper.objectToJson(businessObjectDataKey), e.getMessage());
+
+                Thread.sleep(retryDelaySecs * 1000L);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the business object data is already being destroyed or no longer exists, by retrieving it from the registration server. A business
+     * object data is being destroyed once its status is DELETED or any of its storage units is DISABLING or DISABLED.
+     *
+     * @param businessObjectDataKey the business object data key
+     * @param client the HTTP client
+     *
+     * @return true if the business object data is already being destroyed or no longer exists, false otherwise
+     * @throws Exception if any problems were encountered
+     */
+    private boolean isAlreadyDestroyed(BusinessObjectDataKey businessObjectDataKey, CloseableHttpClient client) throws Exception
+    {
+        BusinessObjectData businessObjectData;
+
+        try
+        {
+            businessObjectData = retentionExpirationDestroyerWebClient.getBusinessObjectData(businessObjectDataKey, client);
+        }
+        catch (HttpErrorResponseException e)
+        {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND)
+            {
+                return true;
+            }
+
+            throw e;
+        }
+
+        if (BusinessObjectDataStatusEntity.DELETED.equals(businessObjectData.getStatus()))
+        {
+            return true;
+        }
+
+        if (businessObjectData.getStorageUnits() != null)
+        {
+            for (StorageUnit storageUnit : businessObjectData.getStorageUnits())
+            {
+                if (StorageUnitStatusEntity.DISABLING.equals(storageUnit.getStorageUnitStatus()) ||
+                    StorageUnitStatusEntity.DISABLED.equals(storageUnit.getStorageUnitStatus()))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Validates all lines of the input CSV file without destroying anything.
+     *
+     * @param inputCsvFile the input CSV file
+     *
+     * @return the number of business object data instances listed in the input CSV file
+     * @throws IOException if any problems were encountered
+     */
+    private long validateInputFile(File inputCsvFile) throws IOException
+    {
+        long businessObjectDataCount = 0;
+
+        try (CSVReader csvReader = createCsvReader(inputCsvFile))
+        {
+            String[] line;
+            int lineCount = 2;
+            while ((line = csvReader.readNext()) != null)
+            {
+                getBusinessObjectDataKey(line, lineCount++, inputCsvFile);
+                businessObjectDataCount++;
+            }
+        }
+
+        return businessObjectDataCount;
+    }
+
+    /**
+     * Reads the business object data keys from the checkpoint file.
+     *
+     * @param checkpointFile the checkpoint file, may be null
+     *
+     * @return the JSON representations of the business object data keys, or an empty set if the checkpoint file is not specified or does not exist
+     * @throws IOException if any problems were encountered
+     */
+    private Set<String> readCheckpointFile(File checkpointFile) throws IOException
+    {
+        Set<String> businessObjectDataKeys = new HashSet<>();
+
+        if (checkpointFile != null && checkpointFile.isFile())
+        {
+            businessObjectDataKeys.addAll(Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8));
+        }
+
+        return businessObjectDataKeys;
+    }
+
+    /**
+     * Appends a destroyed business object data key to the checkpoint file. The checkpoint file is flushed right away, so an interrupted run loses none of the
+     * completed destroy calls.
+     *
+     * @param checkpointWriter the checkpoint file writer, may be null
+     * @param businessObjectDataKeyJson the JSON representation of the business object data key
+     *
+     * @throws IOException if any problems were encountered
+     */
+    private void writeCheckpoint(BufferedWriter checkpointWriter, String businessObjectDataKeyJson) throws IOException
+    {
+        if (checkpointWriter != null)
+        {
+            synchronized (checkpointWriter)
+            {
+                checkpointWriter.write(businessObjectDataKeyJson);
+                checkpointWriter.newLine();
+                checkpointWriter.flush();
+            }
+        }
     }
 
     /**
@@ -140,36 +423,32 @@ public class RetentionExpirationDestroyerController
     }
 
     /**
-     * Get business object data keys from the input CSV tile. This method also validates the input file format.
+     * Opens the input CSV file and reads its header. This method also validates the header of the input file.
      *
      * @param inputCsvFile the input CSV file
      *
-     * @return the list of business object data keys
+     * @return the CSV reader positioned at the first line after the header
      * @throws IOException if any problems were encountered
      */
-    protected List<BusinessObjectDataKey> getBusinessObjectDataKeys(File inputCsvFile) throws IOException
+    private CSVReader createCsvReader(File inputCsvFile) throws IOException
     {
-        List<BusinessObjectDataKey> businessObjectDataKeyList = new ArrayList<>();
+        CSVReader csvReader = new CSVReader(new InputStreamReader(new FileInputStream(inputCsvFile), StandardCharsets.UTF_8));
 
-        // Read the input CSV file and populate business object data key list.
-        try (CSVReader csvReader = new CSVReader(new InputStreamReader(new FileInputStream(inputCsvFile), StandardCharsets.UTF_8)))
+        try
         {
-            String[] line;
-
             // Validate required header of the CSV input file.
-            if ((line = csvReader.readNext()) == null || !Arrays.equals(line, CSV_FILE_HEADER_COLUMNS))
+            String[] line = csvReader.readNext();
+            if (line == null || !Arrays.equals(line, CSV_FILE_HEADER_COLUMNS))
             {
                 throw new IllegalArgumentException(String.format("Input file \"%s\" does not contain the expected CSV file header.", inputCsvFile.toString()));
             }
-
-            // Process the input CSV file line by line.
-            int lineCount = 2;
-            while ((line = csvReader.readNext()) != null)
-            {
-                businessObjectDataKeyList.add(getBusinessObjectDataKey(line, lineCount++, inputCsvFile));
-            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            csvReader.close();
+            throw e;
         }
 
-        return businessObjectDataKeyList;
+        return csvReader;
     }
 }
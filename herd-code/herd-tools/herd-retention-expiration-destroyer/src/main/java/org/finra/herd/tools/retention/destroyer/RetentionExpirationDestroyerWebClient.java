@@ -26,6 +26,7 @@ import javax.xml.bind.JAXBException;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -57,6 +58,27 @@ public class RetentionExpirationDestroyerWebClient extends DataBridgeWebClient
      */
     public BusinessObjectData destroyBusinessObjectData(BusinessObjectDataKey businessObjectDataKey)
         throws IOException, JAXBException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        try (CloseableHttpClient client = httpClientHelper
+            .createHttpClient(regServerAccessParamsDto.isTrustSelfSignedCertificate(), regServerAccessParamsDto.isDisableHostnameVerification()))
+        {
+            return destroyBusinessObjectData(businessObjectDataKey, client);
+        }
+    }
+
+    /**
+     * Destroys business object data using the specified HTTP client. The HTTP client is not closed, so it can be shared by several calls.
+     *
+     * @param businessObjectDataKey the business object data key
+     * @param client the HTTP client
+     *
+     * @return the business object data
+     * @throws IOException if an I/O error was encountered
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws URISyntaxException if an URI syntax error was encountered
+     */
+    public BusinessObjectData destroyBusinessObjectData(BusinessObjectDataKey businessObjectDataKey, CloseableHttpClient client)
+        throws IOException, JAXBException, URISyntaxException
     {
         String uriPath = HERD_APP_REST_URI_PREFIX + "/businessObjectData/destroy" + "/namespaces/" + businessObjectDataKey.getNamespace() +
             "/businessObjectDefinitionNames/" + businessObjectDataKey.getBusinessObjectDefinitionName() + "/businessObjectFormatUsages/" +
@@ -75,27 +97,86 @@ public class RetentionExpirationDestroyerWebClient extends DataBridgeWebClient
 
         URI uri = uriBuilder.build();
 
-        try (CloseableHttpClient client = httpClientHelper
-            .createHttpClient(regServerAccessParamsDto.isTrustSelfSignedCertificate(), regServerAccessParamsDto.isDisableHostnameVerification()))
+        HttpPost request = new HttpPost(uri);
+        request.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
+        request.addHeader("Accepts", DEFAULT_ACCEPT);
+
+        // If SSL is enabled, set the client authentication header.
+        if (regServerAccessParamsDto.isUseSsl())
         {
-            HttpPost request = new HttpPost(uri);
-            request.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
-            request.addHeader("Accepts", DEFAULT_ACCEPT);
+            request.addHeader(getAuthorizationHeader());
+        }
 
-            // If SSL is enabled, set the client authentication header.
-            if (regServerAccessParamsDto.isUseSsl())
-            {
-                request.addHeader(getAuthorizationHeader());
-            }
+        LOGGER.info(String.format("    HTTP POST URI: %s", request.getURI().toString()));
 
-            LOGGER.info(String.format("    HTTP POST URI: %s", request.getURI().toString()));
+        BusinessObjectData businessObjectData = destroyBusinessObjectData(httpClientOperations.execute(client, request));
 
-            BusinessObjectData businessObjectData = destroyBusinessObjectData(httpClientOperations.execute(client, request));
+        LOGGER.info("Successfully destroyed business object data from the registration server.");
 
-            LOGGER.info("Successfully destroyed business object data from the registration server.");
+        return businessObjectData;
+    }
 
-            return businessObjectData;
+    /**
+     * Retrieves business object data from the registration server using the specified HTTP client. The HTTP client is not closed, so it can be shared by
+     * several calls.
+     *
+     * @param businessObjectDataKey the business object data key
+     * @param client the HTTP client
+     *
+     * @return the business object data
+     * @throws IOException if an I/O error was encountered
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws URISyntaxException if an URI syntax error was encountered
+     */
+    public BusinessObjectData getBusinessObjectData(BusinessObjectDataKey businessObjectDataKey, CloseableHttpClient client)
+        throws IOException, JAXBException, URISyntaxException
+    {
+        String uriPath = HERD_APP_REST_URI_PREFIX + "/businessObjectData" + "/namespaces/" + businessObjectDataKey.getNamespace() +
+            "/businessObjectDefinitionNames/" + businessObjectDataKey.getBusinessObjectDefinitionName() + "/businessObjectFormatUsages/" +
+            businessObjectDataKey.getBusinessObjectFormatUsage() + "/businessObjectFormatFileTypes/" + businessObjectDataKey.getBusinessObjectFormatFileType();
+
+        URIBuilder uriBuilder =
+            new URIBuilder().setScheme(getUriScheme()).setHost(regServerAccessParamsDto.getRegServerHost()).setPort(regServerAccessParamsDto.getRegServerPort())
+                .setPath(uriPath).setParameter("partitionValue", businessObjectDataKey.getPartitionValue())
+                .setParameter("businessObjectFormatVersion", String.valueOf(businessObjectDataKey.getBusinessObjectFormatVersion()))
+                .setParameter("businessObjectDataVersion", String.valueOf(businessObjectDataKey.getBusinessObjectDataVersion()));
+
+        if (CollectionUtils.isNotEmpty(businessObjectDataKey.getSubPartitionValues()))
+        {
+            uriBuilder.setParameter("subPartitionValues", herdStringHelper.join(businessObjectDataKey.getSubPartitionValues(), "|", "\\"));
+        }
+
+        URI uri = uriBuilder.build();
+
+        HttpGet request = new HttpGet(uri);
+        request.addHeader("Accepts", DEFAULT_ACCEPT);
+
+        // If SSL is enabled, set the client authentication header.
+        if (regServerAccessParamsDto.isUseSsl())
+        {
+            request.addHeader(getAuthorizationHeader());
         }
+
+        LOGGER.info(String.format("    HTTP GET URI: %s", request.getURI().toString()));
+
+        return getBusinessObjectData(httpClientOperations.execute(client, request), "retrieve business object data from the registration server");
+    }
+
+    /**
+     * Creates a new HTTP client that can be shared by the specified number of threads calling the registration server at once.
+     *
+     * @param maxConnections the maximum number of connections kept by the HTTP client
+     *
+     * @return the HTTP client
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    public CloseableHttpClient createHttpClient(int maxConnections) throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException
+    {
+        return httpClientHelper
+            .createHttpClient(regServerAccessParamsDto.isTrustSelfSignedCertificate(), regServerAccessParamsDto.isDisableHostnameVerification(),
+                maxConnections);
     }
 
     /**
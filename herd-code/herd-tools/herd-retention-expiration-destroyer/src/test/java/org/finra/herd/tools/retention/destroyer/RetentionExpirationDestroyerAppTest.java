@@ -225,6 +225,15 @@ public class RetentionExpirationDestroyerAppTest extends AbstractRetentionExpira
                 buildInformation.getBuildUser()), output);
     }
 
+    @Test
+    public void testParseCommandLineArgumentsPipelineOptions()
+    {
+        String[] arguments =
+            {"-i", LOCAL_INPUT_FILE, "-H", WEB_SERVICE_HOSTNAME, "-P", WEB_SERVICE_HTTPS_PORT.toString(), "-s", "false", "-f", LOCAL_FILE, "-t", "10", "-r",
+                "50", "-R", "5", "-D", "30"};
+        assertNull(exporterApp.parseCommandLineArguments(arguments, applicationContext));
+    }
+
     @Test
     public void testParseShortCommandLineArgumentsSuccess()
     {
@@ -17,24 +17,46 @@ package org.finra.herd.tools.retention.destroyer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.http.HttpStatus;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.helper.LogLevel;
+import org.finra.herd.dao.helper.JsonHelper;
+import org.finra.herd.dao.impl.MockHttpClientOperationsImpl;
+import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.StorageUnit;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.tools.common.databridge.DataBridgeWebClient;
+import org.finra.herd.tools.common.databridge.HttpErrorResponseException;
 
 public class RetentionExpirationDestroyerControllerTest extends AbstractRetentionExpirationDestroyerTest
 {
+    @Autowired
+    private JsonHelper jsonHelper;
+
     @Before
     @Override
     public void setup() throws Exception
@@ -104,16 +126,85 @@ public class RetentionExpirationDestroyerControllerTest extends AbstractRetentio
     }
 
     @Test
-    public void testGetBusinessObjectDataKeys() throws Exception
+    public void testPerformRetentionExpirationDestruction() throws Exception
     {
         // Create a local input CSV file.
         File inputCsvFile = createLocalInputCsvFile();
 
-        // Get and validate a list of business object data keys.
-        List<BusinessObjectDataKey> result = retentionExpirationDestroyerController.getBusinessObjectDataKeys(inputCsvFile);
+        // Create and initialize the registration server DTO.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+
+        // Perform the retention expiration destruction.
+        retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto);
+    }
+
+    @Test
+    public void testPerformRetentionExpirationDestructionAlreadyDestroyedAfterRetry() throws Exception
+    {
+        // Create a local input CSV file.
+        File inputCsvFile = createLocalInputCsvFile();
+        File checkpointFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), "checkpoint.txt").toFile();
+
+        // Mock the web client, so the first destroy call of each business object data fails with an I/O error although the registration server processed it,
+        // and the retried call is rejected since the storage unit is already being disabled.
+        RetentionExpirationDestroyerWebClient originalRetentionExpirationDestroyerWebClient = (RetentionExpirationDestroyerWebClient) ReflectionTestUtils
+            .getField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient");
+        RetentionExpirationDestroyerWebClient mockRetentionExpirationDestroyerWebClient = mock(RetentionExpirationDestroyerWebClient.class);
+        ReflectionTestUtils
+            .setField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient", mockRetentionExpirationDestroyerWebClient);
+
+        try
+        {
+            HttpErrorResponseException alreadyDestroyedException = new HttpErrorResponseException(HttpStatus.SC_BAD_REQUEST, "Bad Request",
+                String.format("Storage unit status \"%s\" is not supported by the business object data destroy feature.", StorageUnitStatusEntity.DISABLING));
+            when(mockRetentionExpirationDestroyerWebClient.destroyBusinessObjectData(any(BusinessObjectDataKey.class), any()))
+                .thenThrow(new IOException("Connection reset")).thenThrow(alreadyDestroyedException).thenThrow(new IOException("Connection reset"))
+                .thenThrow(alreadyDestroyedException).thenThrow(new IOException("Connection reset")).thenThrow(alreadyDestroyedException);
+            StorageUnit storageUnit = new StorageUnit();
+            storageUnit.setStorageUnitStatus(StorageUnitStatusEntity.DISABLING);
+            BusinessObjectData businessObjectData = new BusinessObjectData();
+            businessObjectData.setStorageUnits(Collections.singletonList(storageUnit));
+            when(mockRetentionExpirationDestroyerWebClient.getBusinessObjectData(any(BusinessObjectDataKey.class), any())).thenReturn(businessObjectData);
+
+            // Perform the retention expiration destruction.
+            retentionExpirationDestroyerController
+                .performRetentionExpirationDestruction(inputCsvFile, new RegServerAccessParamsDto(), checkpointFile, 1, null, 1, 0);
+
+            // Validate that all business object data instances were counted as destroyed and recorded in the checkpoint file.
+            verify(mockRetentionExpirationDestroyerWebClient, times(6)).destroyBusinessObjectData(any(BusinessObjectDataKey.class), any());
+            verify(mockRetentionExpirationDestroyerWebClient, times(3)).getBusinessObjectData(any(BusinessObjectDataKey.class), any());
+            assertEquals(3, Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8).size());
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient",
+                originalRetentionExpirationDestroyerWebClient);
+        }
+    }
+
+    @Test
+    public void testPerformRetentionExpirationDestructionBusinessObjectDataKeys() throws Exception
+    {
+        // Create a local input CSV file.
+        File inputCsvFile = createLocalInputCsvFile();
+        File checkpointFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), "checkpoint.txt").toFile();
+
+        // Create and initialize the registration server DTO.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+
+        // Perform the retention expiration destruction with a single thread, so the business object data instances are destroyed in the input file order.
+        retentionExpirationDestroyerController
+            .performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto, checkpointFile, 1, null, 0, 0);
 
-        // Validate the results.
-        assertEquals(Arrays.asList(
+        // Validate the business object data keys streamed from the input CSV file and recorded in the checkpoint file.
+        List<String> expectedBusinessObjectDataKeys = new ArrayList<>();
+        for (BusinessObjectDataKey businessObjectDataKey : Arrays.asList(
             new BusinessObjectDataKey(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, BUSINESS_OBJECT_FORMAT_USAGE, BUSINESS_OBJECT_FORMAT_FILE_TYPE,
                 BUSINESS_OBJECT_FORMAT_VERSION, PRIMARY_PARTITION_VALUE, SUB_PARTITION_VALUES, BUSINESS_OBJECT_DATA_VERSION),
             new BusinessObjectDataKey(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, BUSINESS_OBJECT_FORMAT_USAGE, BUSINESS_OBJECT_FORMAT_FILE_TYPE,
@@ -121,20 +212,62 @@ public class RetentionExpirationDestroyerControllerTest extends AbstractRetentio
             new BusinessObjectDataKey(NAMESPACE + ",\"", BUSINESS_OBJECT_DEFINITION_NAME + ",\"", BUSINESS_OBJECT_FORMAT_USAGE + ",\"",
                 BUSINESS_OBJECT_FORMAT_FILE_TYPE + ",\"", BUSINESS_OBJECT_FORMAT_VERSION, PRIMARY_PARTITION_VALUE + ",\"", Arrays
                 .asList(SUB_PARTITION_VALUES.get(0) + ",\"", SUB_PARTITION_VALUES.get(1) + ",\"", SUB_PARTITION_VALUES.get(2) + ",\"",
-                    SUB_PARTITION_VALUES.get(3) + ",\""), BUSINESS_OBJECT_DATA_VERSION)), result);
+                    SUB_PARTITION_VALUES.get(3) + ",\""), BUSINESS_OBJECT_DATA_VERSION)))
+        {
+            expectedBusinessObjectDataKeys.add(jsonHelper.objectToJson(businessObjectDataKey));
+        }
+        assertEquals(expectedBusinessObjectDataKeys, Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8));
     }
 
     @Test
-    public void testGetBusinessObjectDataKeysMissingCsvHeader() throws IOException
+    public void testPerformRetentionExpirationDestructionInvalidLineDestroysNothing() throws Exception
+    {
+        // Create a local input CSV file and append a malformed line after the valid ones.
+        File inputCsvFile = createLocalInputCsvFile();
+        FileUtils.writeStringToFile(inputCsvFile, STRING_VALUE + System.lineSeparator(), StandardCharsets.UTF_8, true);
+
+        // Mock the web client.
+        RetentionExpirationDestroyerWebClient originalRetentionExpirationDestroyerWebClient = (RetentionExpirationDestroyerWebClient) ReflectionTestUtils
+            .getField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient");
+        RetentionExpirationDestroyerWebClient mockRetentionExpirationDestroyerWebClient = mock(RetentionExpirationDestroyerWebClient.class);
+        ReflectionTestUtils
+            .setField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient", mockRetentionExpirationDestroyerWebClient);
+
+        try
+        {
+            // Try to perform the retention expiration destruction.
+            try
+            {
+                retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, new RegServerAccessParamsDto());
+                fail();
+            }
+            catch (IllegalArgumentException e)
+            {
+                assertEquals(String.format("Line number %d of input file \"%s\" does not match the expected format.", 5, inputCsvFile.toString()),
+                    e.getMessage());
+            }
+
+            // Validate that no business object data got destroyed, although the malformed line comes after the valid ones.
+            verify(mockRetentionExpirationDestroyerWebClient, never()).destroyBusinessObjectData(any(BusinessObjectDataKey.class), any());
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient",
+                originalRetentionExpirationDestroyerWebClient);
+        }
+    }
+
+    @Test
+    public void testPerformRetentionExpirationDestructionMissingCsvHeader() throws Exception
     {
         // Create an input CSV file without a header.
         File inputCsvFile = new File(LOCAL_INPUT_FILE);
         FileUtils.writeStringToFile(inputCsvFile, STRING_VALUE, StandardCharsets.UTF_8);
 
-        // Try to get business object data keys when CSV file does not have an expected header.
+        // Try to perform the retention expiration destruction when CSV file does not have an expected header.
         try
         {
-            retentionExpirationDestroyerController.getBusinessObjectDataKeys(inputCsvFile);
+            retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, new RegServerAccessParamsDto());
             fail();
         }
         catch (IllegalArgumentException e)
@@ -144,10 +277,11 @@ public class RetentionExpirationDestroyerControllerTest extends AbstractRetentio
     }
 
     @Test
-    public void testPerformRetentionExpirationDestruction() throws Exception
+    public void testPerformRetentionExpirationDestructionWithCheckpoint() throws Exception
     {
         // Create a local input CSV file.
         File inputCsvFile = createLocalInputCsvFile();
+        File checkpointFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), "checkpoint.txt").toFile();
 
         // Create and initialize the registration server DTO.
         RegServerAccessParamsDto regServerAccessParamsDto =
@@ -155,8 +289,48 @@ public class RetentionExpirationDestroyerControllerTest extends AbstractRetentio
                 .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
                 .withDisableHostnameVerification(true).build();
 
-        // Perform the retention expiration destruction.
-        retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto);
+        // Perform the retention expiration destruction with concurrent calls.
+        retentionExpirationDestroyerController
+            .performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto, checkpointFile, 4, 100, 0, 0);
+
+        // Validate that all business object data keys are recorded in the checkpoint file.
+        assertEquals(3, Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8).size());
+
+        // Perform the retention expiration destruction again against a registration server that fails every call. All business object data instances are
+        // skipped, since they are already recorded in the checkpoint file.
+        regServerAccessParamsDto.setRegServerHost(MockHttpClientOperationsImpl.HOSTNAME_THROW_IO_EXCEPTION);
+        retentionExpirationDestroyerController
+            .performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto, checkpointFile, 4, null, 0, 0);
+        assertEquals(3, Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void testPerformRetentionExpirationDestructionRetriesExhausted() throws Exception
+    {
+        // Create a local input CSV file.
+        File inputCsvFile = createLocalInputCsvFile();
+        File checkpointFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), "checkpoint.txt").toFile();
+
+        // Create and initialize the registration server DTO for a registration server that fails every call.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(MockHttpClientOperationsImpl.HOSTNAME_THROW_IO_EXCEPTION)
+                .withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true).withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD)
+                .withTrustSelfSignedCertificate(true).withDisableHostnameVerification(true).build();
+
+        // Try to perform the retention expiration destruction.
+        try
+        {
+            retentionExpirationDestroyerController
+                .performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto, checkpointFile, 2, null, 1, 0);
+            fail();
+        }
+        catch (IOException e)
+        {
+            assertEquals("testThrowIoException", e.getMessage());
+        }
+
+        // Validate that nothing is recorded in the checkpoint file.
+        assertEquals(0, Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8).size());
     }
 
     /**
@@ -22,6 +22,7 @@ import static org.junit.Assert.fail;
 import java.io.IOException;
 import java.util.Collections;
 
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.junit.Test;
 
 import org.finra.herd.dao.impl.MockHttpClientOperationsImpl;
@@ -67,4 +68,17 @@ public class RetentionExpirationDestroyerWebClientTest extends AbstractRetention
         BusinessObjectData result = retentionExpirationDestroyerWebClient.destroyBusinessObjectData(businessObjectDataKey);
         assertNotNull(result);
     }
+
+    @Test
+    public void testGetBusinessObjectData() throws Exception
+    {
+        retentionExpirationDestroyerWebClient.getRegServerAccessParamsDto().setUseSsl(false);
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey("test", "test", "test", "test", 0, "test", Collections.singletonList("test"), 0);
+        try (CloseableHttpClient client = retentionExpirationDestroyerWebClient.createHttpClient(1))
+        {
+            BusinessObjectData result = retentionExpirationDestroyerWebClient.getBusinessObjectData(businessObjectDataKey, client);
+            assertNotNull(result);
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.finra.herd.tools.retention.exporter;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -27,9 +28,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.http.client.utils.URIBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -82,7 +88,7 @@ class RetentionExpirationExporterController
         // Get business object display name.
         String businessObjectDefinitionDisplayName = getBusinessObjectDefinitionDisplayName(businessObjectDefinition);
 
-        // Create a search request for business object data with the filter on retention expiration option.
+        // Create a search filter for business object data with the filter on retention expiration option.
         BusinessObjectDataSearchKey businessObjectDataSearchKey = new BusinessObjectDataSearchKey();
         businessObjectDataSearchKey.setNamespace(namespace);
         businessObjectDataSearchKey.setBusinessObjectDefinitionName(businessObjectDefinitionName);
@@ -90,26 +96,22 @@ class RetentionExpirationExporterController
         List<BusinessObjectDataSearchKey> businessObjectDataSearchKeys = new ArrayList<>();
         businessObjectDataSearchKeys.add(businessObjectDataSearchKey);
         BusinessObjectDataSearchFilter businessObjectDataSearchFilter = new BusinessObjectDataSearchFilter(businessObjectDataSearchKeys);
-        BusinessObjectDataSearchRequest request = new BusinessObjectDataSearchRequest(Collections.singletonList(businessObjectDataSearchFilter));
 
-        // Create a result list for business object data.
-        List<BusinessObjectData> businessObjectDataList = new ArrayList<>();
-
-        // Fetch business object data from server until no records found.
-        int pageNumber = 1;
-        BusinessObjectDataSearchResult businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber);
-        while (CollectionUtils.isNotEmpty(businessObjectDataSearchResult.getBusinessObjectDataElements()))
+        // Stream business object data to the output CSV file page by page.
+        try
         {
-            LOGGER.info("Fetched {} business object data records from the registration server.",
-                CollectionUtils.size(businessObjectDataSearchResult.getBusinessObjectDataElements()));
-            businessObjectDataList.addAll(businessObjectDataSearchResult.getBusinessObjectDataElements());
-            pageNumber++;
-            businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber);
+            writeToCsvFile(localOutputFile, businessObjectDefinition.getNamespace(), businessObjectDefinition.getBusinessObjectDefinitionName(),
+                businessObjectDefinitionDisplayName, udcServerHost, businessObjectDataSearchFilter);
+        }
+        catch (Exception e)
+        {
+            // Delete the incomplete output file, so the export can be run again.
+            if (localOutputFile.exists() && !localOutputFile.delete())
+            {
+                LOGGER.warn("Failed to delete the incomplete local output file. localOutputFile=\"{}\"", localOutputFile);
+            }
+            throw e;
         }
-
-        // Write business object data to the output CSV file.
-        writeToCsvFile(localOutputFile, businessObjectDefinition.getNamespace(), businessObjectDefinition.getBusinessObjectDefinitionName(),
-            businessObjectDefinitionDisplayName, udcServerHost, businessObjectDataList);
     }
 
     /**
@@ -184,44 +186,116 @@ class RetentionExpirationExporterController
     }
 
     /**
-     * Writes business object data to the CSV file.
+     * Submits a search for a page of business object data. Business object data is searched using continuation token paging without attributes, so the cost
+     * of a page and the size of the response do not depend on how many pages were already fetched.
+     *
+     * @param executorService the executor service to run the search
+     * @param businessObjectDataSearchFilter the business object data search filter
+     * @param continuationToken the continuation token of the page, an empty token for the first page
+     *
+     * @return the future of the search result
+     */
+    private Future<BusinessObjectDataSearchResult> submitSearch(ExecutorService executorService, BusinessObjectDataSearchFilter businessObjectDataSearchFilter,
+        String continuationToken)
+    {
+        BusinessObjectDataSearchRequest request =
+            new BusinessObjectDataSearchRequest(Collections.singletonList(businessObjectDataSearchFilter), continuationToken, false, false);
+
+        return executorService.submit(() -> retentionExpirationExporterWebClient.searchBusinessObjectData(request));
+    }
+
+    /**
+     * Waits for a page of business object data search results.
+     *
+     * @param future the future of the search result
+     *
+     * @return the search result
+     * @throws Exception if the search failed
+     */
+    private BusinessObjectDataSearchResult getSearchResult(Future<BusinessObjectDataSearchResult> future) throws Exception
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (ExecutionException e)
+        {
+            if (e.getCause() instanceof Exception)
+            {
+                throw (Exception) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Writes business object data to the CSV file. The business object data is fetched from the registration server one page at a time and each page is
+     * written out as soon as it arrives, while the next page is fetched in the background. Only the page being written and the page being fetched are held in
+     * memory.
      *
      * @param localOutputFile the file to write
      * @param namespace the namespace of business object definition
      * @param businessObjectDefinitionName the name of the business object definition
      * @param businessObjectDefinitionDisplayName the display name of the business object definition
      * @param udcServerHost the hostname of the UDC application server
-     * @param businessObjectDataList the list of business object data
+     * @param businessObjectDataSearchFilter the business object data search filter
      *
-     * @throws IOException if any problems were encountered
+     * @throws Exception if any problems were encountered
      */
     private void writeToCsvFile(File localOutputFile, String namespace, String businessObjectDefinitionName, String businessObjectDefinitionDisplayName,
-        String udcServerHost, List<BusinessObjectData> businessObjectDataList) throws IOException, URISyntaxException
+        String udcServerHost, BusinessObjectDataSearchFilter businessObjectDataSearchFilter) throws Exception
     {
         // Create business object definition URI.
         String businessObjectDefinitionUdcUri = getBusinessObjectDefinitionUdcUri(udcServerHost, namespace, businessObjectDefinitionName);
 
+        // Create a single thread executor to prefetch the next page of search results.
+        ExecutorService executorService = Executors.newSingleThreadExecutor(
+            new BasicThreadFactory.Builder().namingPattern("herd-retention-expiration-exporter-%d").daemon(true).build());
+
         // Create the local output file.
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(localOutputFile), StandardCharsets.UTF_8))
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(localOutputFile), StandardCharsets.UTF_8)))
         {
             // Write csv file header.
             writeLine(writer, Arrays.asList("Namespace", "Business Object Definition Name", "Business Object Format Usage", "Business Object Format File Type",
                 "Business Object Format Version", "Primary Partition Value", "Sub-Partition Value 1", "Sub-Partition Value 2", "Sub-Partition Value 3",
                 "Sub-Partition Value 4", "Business Object Data Version", "Business Object Definition Display Name", "Business Object Definition URI"));
 
-            for (BusinessObjectData businessObjectData : businessObjectDataList)
+            // Fetch business object data from server until there are no more pages.
+            long businessObjectDataCount = 0;
+            Future<BusinessObjectDataSearchResult> nextPage = submitSearch(executorService, businessObjectDataSearchFilter, "");
+            while (nextPage != null)
             {
-                int subPartitionsCount = CollectionUtils.size(businessObjectData.getSubPartitionValues());
-                List<String> businessObjectDataRecords = Arrays.asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
-                    businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
-                    Integer.toString(businessObjectData.getBusinessObjectFormatVersion()), businessObjectData.getPartitionValue(),
-                    subPartitionsCount > 0 ? businessObjectData.getSubPartitionValues().get(0) : "",
-                    subPartitionsCount > 1 ? businessObjectData.getSubPartitionValues().get(1) : "",
-                    subPartitionsCount > 2 ? businessObjectData.getSubPartitionValues().get(2) : "",
-                    subPartitionsCount > 3 ? businessObjectData.getSubPartitionValues().get(3) : "", Integer.toString(businessObjectData.getVersion()),
-                    businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
-                writeLine(writer, businessObjectDataRecords);
+                BusinessObjectDataSearchResult businessObjectDataSearchResult = getSearchResult(nextPage);
+                List<BusinessObjectData> businessObjectDataElements = businessObjectDataSearchResult.getBusinessObjectDataElements();
+
+                // Prefetch the next page while writing the current one.
+                String nextContinuationToken = businessObjectDataSearchResult.getNextContinuationToken();
+                nextPage = CollectionUtils.isNotEmpty(businessObjectDataElements) && StringUtils.isNotEmpty(nextContinuationToken) ?
+                    submitSearch(executorService, businessObjectDataSearchFilter, nextContinuationToken) : null;
+
+                for (BusinessObjectData businessObjectData : CollectionUtils.emptyIfNull(businessObjectDataElements))
+                {
+                    int subPartitionsCount = CollectionUtils.size(businessObjectData.getSubPartitionValues());
+                    List<String> businessObjectDataRecords = Arrays
+                        .asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
+                            businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
+                            Integer.toString(businessObjectData.getBusinessObjectFormatVersion()), businessObjectData.getPartitionValue(),
+                            subPartitionsCount > 0 ? businessObjectData.getSubPartitionValues().get(0) : "",
+                            subPartitionsCount > 1 ? businessObjectData.getSubPartitionValues().get(1) : "",
+                            subPartitionsCount > 2 ? businessObjectData.getSubPartitionValues().get(2) : "",
+                            subPartitionsCount > 3 ? businessObjectData.getSubPartitionValues().get(3) : "",
+                            Integer.toString(businessObjectData.getVersion()), businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
+                    writeLine(writer, businessObjectDataRecords);
+                }
+
+                businessObjectDataCount += CollectionUtils.size(businessObjectDataElements);
+                LOGGER.info("Exported {} business object data records fetched from the registration server. totalBusinessObjectDataCount={}",
+                    CollectionUtils.size(businessObjectDataElements), businessObjectDataCount);
             }
         }
+        finally
+        {
+            executorService.shutdownNow();
+        }
     }
 }
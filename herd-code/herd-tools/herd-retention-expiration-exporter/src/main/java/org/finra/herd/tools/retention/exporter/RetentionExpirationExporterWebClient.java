@@ -101,11 +101,31 @@ class RetentionExpirationExporterWebClient extends DataBridgeWebClient
         }
     }
 
+    /**
+     * Searches business object data on the herd registration server without specifying a page number. This is used with continuation token paging, where the
+     * page is selected by the continuation token of the search request.
+     *
+     * @param businessObjectDataSearchRequest the business object data search request
+     *
+     * @return the business object data search result
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    BusinessObjectDataSearchResult searchBusinessObjectData(BusinessObjectDataSearchRequest businessObjectDataSearchRequest)
+        throws IOException, JAXBException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        return searchBusinessObjectData(businessObjectDataSearchRequest, null);
+    }
+
     /**
      * Retrieves business object definition from the herd registration server.
      *
      * @param businessObjectDataSearchRequest the business object definition search request
-     * @param pageNum the page number for the result to contain
+     * @param pageNum the page number for the result to contain, maybe null
      *
      * @return the business object definition
      * @throws JAXBException if a JAXB error was encountered
@@ -122,7 +142,11 @@ class RetentionExpirationExporterWebClient extends DataBridgeWebClient
 
         URIBuilder uriBuilder =
             new URIBuilder().setScheme(getUriScheme()).setHost(regServerAccessParamsDto.getRegServerHost()).setPort(regServerAccessParamsDto.getRegServerPort())
-                .setPath(HERD_APP_REST_URI_PREFIX + "/businessObjectData/search").setParameter("pageNum", pageNum.toString());
+                .setPath(HERD_APP_REST_URI_PREFIX + "/businessObjectData/search");
+        if (pageNum != null)
+        {
+            uriBuilder.setParameter("pageNum", pageNum.toString());
+        }
 
         URI uri = uriBuilder.build();
 
@@ -17,6 +17,7 @@ package org.finra.herd.tools.retention.exporter;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.io.IOException;
 
@@ -61,6 +62,27 @@ public class RetentionExpirationExporterWebClientTest extends AbstractExporterTe
         assertNotNull(result);
     }
 
+    @Test
+    public void testSearchBusinessObjectDataContinuationToken() throws Exception
+    {
+        retentionExpirationExporterWebClient.getRegServerAccessParamsDto().setUseSsl(false);
+
+        // Search for the first page.
+        BusinessObjectDataSearchRequest request = new BusinessObjectDataSearchRequest();
+        request.setContinuationToken("");
+        BusinessObjectDataSearchResult result = retentionExpirationExporterWebClient.searchBusinessObjectData(request);
+        assertNotNull(result);
+        assertEquals(1, CollectionUtils.size(result.getBusinessObjectDataElements()));
+        assertEquals(MockHttpClientOperationsImpl.SEARCH_CONTINUATION_TOKEN, result.getNextContinuationToken());
+
+        // Search for the next page.
+        request.setContinuationToken(result.getNextContinuationToken());
+        result = retentionExpirationExporterWebClient.searchBusinessObjectData(request);
+        assertNotNull(result);
+        assertEquals(1, CollectionUtils.size(result.getBusinessObjectDataElements()));
+        assertNull(result.getNextContinuationToken());
+    }
+
     @Test
     public void testSearchBusinessObjectDataException() throws Exception
     {
@@ -25,6 +25,7 @@ import org.springframework.context.annotation.Import;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.RetryPolicyFactory;
 import org.finra.herd.dao.S3Dao;
+import org.finra.herd.dao.S3TransferManagerFactory;
 import org.finra.herd.dao.SimpleExponentialBackoffStrategy;
 import org.finra.herd.dao.StsDao;
 import org.finra.herd.dao.helper.AwsHelper;
@@ -124,6 +125,13 @@ public class DataBridgeSpringModuleConfig
         return new S3DaoImpl();
     }
 
+    // This dependency is required when S3Dao is used.
+    @Bean
+    public S3TransferManagerFactory s3TransferManagerFactory()
+    {
+        return new S3TransferManagerFactory();
+    }
+
     @Bean
     public S3Service s3Service()
     {
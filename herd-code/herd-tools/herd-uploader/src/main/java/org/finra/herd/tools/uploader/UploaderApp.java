@@ -49,6 +49,8 @@ public class UploaderApp extends DataBridgeApp
 
     private Option forceOpt;
 
+    private Option journalPathOpt;
+
     // Integer values for command line options that are of type "Integer".
     private Integer maxRetryAttempts;
 
@@ -86,6 +88,10 @@ public class UploaderApp extends DataBridgeApp
             argParser.addArgument("D", "retryDelaySecs", true, "The delay in seconds between the business object data registration retry attempts.", false);
         forceOpt = argParser.addArgument("f", "force", false,
             "If set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version.", false);
+        journalPathOpt = argParser.addArgument("j", "journalPath", true,
+            "The local path to the upload journal file. If set, the upload is resumable: a failed upload can be resumed by running the uploader again with " +
+                "the same journal. Already uploaded files are skipped when their contents still match the MD5 digest recorded in the journal. The ETags " +
+                "of S3 objects uploaded in multiple parts or with KMS encryption are not verified against the local files.", false);
     }
 
     /**
@@ -161,7 +167,7 @@ public class UploaderApp extends DataBridgeApp
                 .withUsername(argParser.getStringValue(usernameOpt)).withPassword(password)
                 .withTrustSelfSignedCertificate(trustSelfSignedCertificate).withDisableHostnameVerification(disableHostnameVerification).build();
         controller.performUpload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params, argParser.getBooleanValue(createNewVersionOpt),
-            argParser.getBooleanValue(forceOpt), maxRetryAttempts, retryDelaySecs);
+            argParser.getBooleanValue(forceOpt), maxRetryAttempts, retryDelaySecs, argParser.getFileValue(journalPathOpt));
 
         // No exceptions were returned so return success.
         return ReturnValue.SUCCESS;
@@ -17,22 +17,44 @@ package org.finra.herd.tools.uploader;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import javax.xml.bind.JAXBException;
 
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.services.s3.transfer.PersistableTransfer;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,6 +63,7 @@ import org.springframework.stereotype.Component;
 import org.finra.herd.core.HerdFileUtils;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.HerdThreadHelper;
+import org.finra.herd.dao.S3Operations;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.BusinessObjectData;
@@ -111,10 +134,43 @@ public class UploaderController extends DataBridgeController
      * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
      * @throws KeyManagementException if key management exception
      */
+    public void performUpload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath, S3FileTransferRequestParamsDto params,
+        Boolean createNewVersion, Boolean force, Integer maxRetryAttempts, Integer retryDelaySecs)
+        throws InterruptedException, JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        performUpload(regServerAccessParamsDto, manifestPath, params, createNewVersion, force, maxRetryAttempts, retryDelaySecs, null);
+    }
+
+    /**
+     * Executes the uploader workflow. When the journal path is specified, the upload is resumable. The progress of the upload is recorded in the journal file
+     * and a failed upload keeps the pre-registered business object data version in UPLOADING state along with the already uploaded S3 objects. Running the
+     * uploader again with the same journal resumes the upload, skipping the files that are already uploaded and resuming the multipart uploads in progress.
+     *
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the registration server
+     * @param manifestPath the local path to the manifest file
+     * @param params the S3 file transfer request parameters being used to pass the following arguments: <ul> <li><code>s3AccessKey</code> the S3 access key
+     * <li><code>s3SecretKey</code> the S3 secret key <li><code>localPath</code> the local path to directory containing data files
+     * <li><code>httpProxyHost</code> the HTTP proxy host <li><code>httpProxyPort</code> the HTTP proxy port <li><code>maxThreads</code> the maximum number of
+     * threads to use for file transfer to S3< <li><code>useRrs</code> specifies whether S3 reduced redundancy storage option will be used when copying to S3
+     * </ul>
+     * @param createNewVersion if not set, only initial version of the business object data is allowed to be created
+     * @param force if set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version
+     * @param maxRetryAttempts the maximum number of the business object data registration retry attempts
+     * @param retryDelaySecs the delay in seconds between the business object data registration retry attempts
+     * @param journalPath the local path to the upload journal file, may be null to perform a non-resumable upload
+     *
+     * @throws InterruptedException if the upload thread was interrupted
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE",
         justification = "manifestReader.readJsonManifest will always return an UploaderInputManifestDto object.")
     public void performUpload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath, S3FileTransferRequestParamsDto params,
-        Boolean createNewVersion, Boolean force, Integer maxRetryAttempts, Integer retryDelaySecs)
+        Boolean createNewVersion, Boolean force, Integer maxRetryAttempts, Integer retryDelaySecs, File journalPath)
         throws InterruptedException, JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
     {
         boolean cleanUpS3KeyPrefixOnFailure = false;
@@ -143,14 +199,44 @@ public class UploaderController extends DataBridgeController
             // Initialize uploader web client.
             uploaderWebClient.setRegServerAccessParamsDto(regServerAccessParamsDto);
 
-            // Handle the latest business object data version if one exists.
-            checkLatestBusinessObjectDataVersion(manifest, force);
+            // Read the journal of an earlier upload to resume, if one exists.
+            UploaderJournal journal = journalPath != null ? readJournal(journalPath, manifest) : null;
+            boolean resumeUpload = journal != null;
 
-            // Pre-register a new version of business object data in UPLOADING state with the registration server.
-            BusinessObjectData businessObjectData = uploaderWebClient.preRegisterBusinessObjectData(manifest, storageName, createNewVersion);
+            String s3KeyPrefix;
+            if (resumeUpload)
+            {
+                // Resume the upload of the business object data version pre-registered by the earlier upload.
+                businessObjectDataKey = getBusinessObjectDataKey(manifest, journal.getBusinessObjectDataVersion());
+                s3KeyPrefix = journal.getS3KeyPrefix();
 
-            // Get business object data key.
-            businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(businessObjectData);
+                LOGGER.info("Resuming the upload of the business object data. businessObjectDataKey={} journalPath=\"{}\"",
+                    jsonHelper.objectToJson(businessObjectDataKey), journalPath.getPath());
+            }
+            else
+            {
+                // Handle the latest business object data version if one exists.
+                checkLatestBusinessObjectDataVersion(manifest, force);
+
+                // Pre-register a new version of business object data in UPLOADING state with the registration server.
+                BusinessObjectData businessObjectData = uploaderWebClient.preRegisterBusinessObjectData(manifest, storageName, createNewVersion);
+
+                // Get business object data key.
+                businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(businessObjectData);
+
+                // Get S3 key prefix from the business object data pre-registration response.
+                s3KeyPrefix = IterableUtils.get(businessObjectData.getStorageUnits(), 0).getStorageDirectory().getDirectoryPath();
+
+                // Start a new journal for a resumable upload.
+                if (journalPath != null)
+                {
+                    journal = new UploaderJournal();
+                    journal.setBusinessObjectDataKey(businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey));
+                    journal.setBusinessObjectDataVersion(businessObjectDataKey.getBusinessObjectDataVersion());
+                    journal.setS3KeyPrefix(s3KeyPrefix);
+                    writeJournal(journalPath, journal);
+                }
+            }
 
             // Get the business object data version.
             Integer businessObjectDataVersion = businessObjectDataKey.getBusinessObjectDataVersion();
@@ -165,9 +251,6 @@ public class UploaderController extends DataBridgeController
                 }
             });
 
-            // Get S3 key prefix from the business object data pre-registration response.
-            String s3KeyPrefix = IterableUtils.get(businessObjectData.getStorageUnits(), 0).getStorageDirectory().getDirectoryPath();
-
             // Get S3 bucket information.
             Storage storage = uploaderWebClient.getStorage(storageName);
 
@@ -189,22 +272,33 @@ public class UploaderController extends DataBridgeController
             params.setS3KeyPrefix(s3KeyPrefix + "/");
             params.setFiles(sourceFiles);
 
-            // Check if the destination S3 key prefix is empty.
+            // Check if the destination S3 key prefix is empty, unless we are resuming an upload into it.
             // When listing S3 files, by default, we do not ignore 0 byte objects that represent S3 directories.
-            if (s3Service.listDirectory(params).isEmpty())
+            if (!resumeUpload)
             {
-                cleanUpS3KeyPrefixOnFailure = true;
+                if (s3Service.listDirectory(params).isEmpty())
+                {
+                    // A resumable upload keeps the uploaded S3 objects on failure.
+                    cleanUpS3KeyPrefixOnFailure = journal == null;
+                }
+                else
+                {
+                    throw new IllegalStateException(String
+                        .format("The destination S3 folder is not empty. S3 Bucket Name: \"%s\". S3 key prefix: \"%s\".", params.getS3BucketName(),
+                            params.getS3KeyPrefix()));
+                }
+            }
+
+            // Upload files.
+            if (journal != null)
+            {
+                uploadFilesResumable(params, journal, journalPath);
             }
             else
             {
-                throw new IllegalStateException(String
-                    .format("The destination S3 folder is not empty. S3 Bucket Name: \"%s\". S3 key prefix: \"%s\".", params.getS3BucketName(),
-                        params.getS3KeyPrefix()));
+                s3Service.uploadFileList(params);
             }
 
-            // Upload files.
-            s3Service.uploadFileList(params);
-
             // Get the list of files uploaded to S3 key prefix.
             if (LOGGER.isInfoEnabled())
             {
@@ -216,6 +310,12 @@ public class UploaderController extends DataBridgeController
 
             // Change status of the business object data to VALID.
             uploaderWebClient.updateBusinessObjectDataStatus(businessObjectDataKey, BusinessObjectDataStatusEntity.VALID);
+
+            // The upload is complete, so the journal is no longer needed.
+            if (journalPath != null)
+            {
+                Files.deleteIfExists(journalPath.toPath());
+            }
         }
         catch (InterruptedException | JAXBException | IOException | URISyntaxException e)
         {
@@ -229,8 +329,9 @@ public class UploaderController extends DataBridgeController
                 s3Service.deleteDirectoryIgnoreException(params);
             }
 
-            // If a new business object data version got pre-registered, update it's status to INVALID.
-            if (businessObjectDataKey != null)
+            // If a new business object data version got pre-registered, update it's status to INVALID. A resumable upload keeps the business object data
+            // version in UPLOADING state, so the upload can be resumed.
+            if (businessObjectDataKey != null && journalPath == null)
             {
                 uploaderWebClient.updateBusinessObjectDataStatusIgnoreException(businessObjectDataKey, BusinessObjectDataStatusEntity.INVALID);
             }
@@ -315,18 +416,12 @@ public class UploaderController extends DataBridgeController
     private void checkLatestBusinessObjectDataVersion(UploaderInputManifestDto manifest, Boolean force)
         throws JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
     {
-        // Retrieve all already registered versions for this business object data.
-        BusinessObjectDataVersions businessObjectDataVersions = uploaderWebClient.getBusinessObjectDataVersions(
-            new BusinessObjectDataKey(manifest.getNamespace(), manifest.getBusinessObjectDefinitionName(), manifest.getBusinessObjectFormatUsage(),
-                manifest.getBusinessObjectFormatFileType(), Integer.valueOf(manifest.getBusinessObjectFormatVersion()), manifest.getPartitionValue(),
-                manifest.getSubPartitionValues(), null));
+        // Get the latest version of the business object data.
+        BusinessObjectDataVersion latestBusinessObjectDataVersion = getLatestBusinessObjectDataVersion(manifest);
 
-        // Check if the latest version of the business object data.
-        if (CollectionUtils.isNotEmpty(businessObjectDataVersions.getBusinessObjectDataVersions()))
+        // Check if the latest version of the business object data exists.
+        if (latestBusinessObjectDataVersion != null)
         {
-            BusinessObjectDataVersion latestBusinessObjectDataVersion =
-                businessObjectDataVersions.getBusinessObjectDataVersions().get(businessObjectDataVersions.getBusinessObjectDataVersions().size() - 1);
-
             // Check if the latest version of the business object data is in UPLOADING state.
             if (BusinessObjectDataStatusEntity.UPLOADING.equals(latestBusinessObjectDataVersion.getStatus()))
             {
@@ -352,6 +447,383 @@ public class UploaderController extends DataBridgeController
         }
     }
 
+    /**
+     * Gets the business object data key for the business object data specified in the manifest.
+     *
+     * @param manifest the uploader input manifest
+     * @param businessObjectDataVersion the business object data version, may be null
+     *
+     * @return the business object data key
+     */
+    private BusinessObjectDataKey getBusinessObjectDataKey(UploaderInputManifestDto manifest, Integer businessObjectDataVersion)
+    {
+        return new BusinessObjectDataKey(manifest.getNamespace(), manifest.getBusinessObjectDefinitionName(), manifest.getBusinessObjectFormatUsage(),
+            manifest.getBusinessObjectFormatFileType(), Integer.valueOf(manifest.getBusinessObjectFormatVersion()), manifest.getPartitionValue(),
+            manifest.getSubPartitionValues(), businessObjectDataVersion);
+    }
+
+    /**
+     * Gets the latest registered version of the business object data specified in the manifest.
+     *
+     * @param manifest the uploader input manifest
+     *
+     * @return the latest business object data version or null if no versions are registered
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    private BusinessObjectDataVersion getLatestBusinessObjectDataVersion(UploaderInputManifestDto manifest)
+        throws JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        // Retrieve all already registered versions for this business object data.
+        BusinessObjectDataVersions businessObjectDataVersions = uploaderWebClient.getBusinessObjectDataVersions(getBusinessObjectDataKey(manifest, null));
+
+        return CollectionUtils.isNotEmpty(businessObjectDataVersions.getBusinessObjectDataVersions()) ?
+            businessObjectDataVersions.getBusinessObjectDataVersions().get(businessObjectDataVersions.getBusinessObjectDataVersions().size() - 1) : null;
+    }
+
+    /**
+     * Reads the journal of an earlier upload. The journal is only used when the business object data version it was recorded for is still the latest version
+     * of the business object data and is still in UPLOADING state.
+     *
+     * @param journalPath the local path to the journal file
+     * @param manifest the uploader input manifest
+     *
+     * @return the journal or null if the journal file does not exist or the earlier upload can not be resumed
+     * @throws IllegalArgumentException if the journal was recorded for a different business object data
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    private UploaderJournal readJournal(File journalPath, UploaderInputManifestDto manifest)
+        throws JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        if (!journalPath.isFile())
+        {
+            return null;
+        }
+
+        UploaderJournal journal =
+            jsonHelper.unmarshallJsonToObject(UploaderJournal.class, new String(Files.readAllBytes(journalPath.toPath()), StandardCharsets.UTF_8));
+
+        // Validate that the journal was recorded for the business object data specified in the manifest.
+        String businessObjectDataKey =
+            businessObjectDataHelper.businessObjectDataKeyToString(getBusinessObjectDataKey(manifest, journal.getBusinessObjectDataVersion()));
+        if (!businessObjectDataKey.equals(journal.getBusinessObjectDataKey()))
+        {
+            throw new IllegalArgumentException(String
+                .format("The upload journal \"%s\" was recorded for a different business object data {%s}.", journalPath.getPath(),
+                    journal.getBusinessObjectDataKey()));
+        }
+
+        // Only resume the upload when the journaled version is still the latest business object data version and it is still being uploaded.
+        BusinessObjectDataVersion latestBusinessObjectDataVersion = getLatestBusinessObjectDataVersion(manifest);
+        if (latestBusinessObjectDataVersion == null ||
+            !journal.getBusinessObjectDataVersion().equals(latestBusinessObjectDataVersion.getBusinessObjectDataKey().getBusinessObjectDataVersion()) ||
+            !BusinessObjectDataStatusEntity.UPLOADING.equals(latestBusinessObjectDataVersion.getStatus()))
+        {
+            LOGGER.info("Ignoring the upload journal, since the journaled business object data version is no longer being uploaded. " +
+                "businessObjectDataKey={{}} journalPath=\"{}\"", journal.getBusinessObjectDataKey(), journalPath.getPath());
+            return null;
+        }
+
+        return journal;
+    }
+
+    /**
+     * Writes the journal to the journal file. The journal is written into a temporary file first, which then replaces the journal file, so an interrupted
+     * write never leaves a partially written journal behind.
+     *
+     * @param journalPath the local path to the journal file
+     * @param journal the journal
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    private void writeJournal(File journalPath, UploaderJournal journal) throws IOException
+    {
+        synchronized (journal)
+        {
+            Path journalFilePath = journalPath.toPath().toAbsolutePath();
+            Path tempFilePath = journalFilePath.resolveSibling(journalFilePath.getFileName() + ".tmp");
+            Files.write(tempFilePath, jsonHelper.objectToJson(journal).getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFilePath, journalFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Records the journal entry for a file and writes the journal to the journal file.
+     *
+     * @param journalPath the local path to the journal file
+     * @param journal the journal
+     * @param s3Key the S3 key of the file
+     * @param file the local file
+     * @param eTag the ETag of the uploaded S3 object, may be null when the file is not uploaded yet
+     * @param contentMd5 the MD5 digest of the uploaded local file contents, may be null when the file is not uploaded yet
+     * @param persistableUpload the serialized state of the multipart upload of the file, may be null
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    private void updateJournal(File journalPath, UploaderJournal journal, String s3Key, File file, String eTag, String contentMd5, String persistableUpload)
+        throws IOException
+    {
+        UploaderJournal.JournalFile journalFile = new UploaderJournal.JournalFile();
+        journalFile.setFileSize(file.length());
+        journalFile.setLastModified(file.lastModified());
+        journalFile.setETag(eTag);
+        journalFile.setContentMd5(contentMd5);
+        journalFile.setPersistableUpload(persistableUpload);
+
+        synchronized (journal)
+        {
+            journal.getFiles().put(s3Key, journalFile);
+            writeJournal(journalPath, journal);
+        }
+    }
+
+    /**
+     * Gets the journal entry for a file when it was recorded for the current contents of the local file.
+     *
+     * @param journal the journal
+     * @param s3Key the S3 key of the file
+     * @param file the local file
+     *
+     * @return the journal entry or null if no entry was recorded for the current contents of the local file
+     */
+    private UploaderJournal.JournalFile getJournalFile(UploaderJournal journal, String s3Key, File file)
+    {
+        UploaderJournal.JournalFile journalFile;
+        synchronized (journal)
+        {
+            journalFile = journal.getFiles().get(s3Key);
+        }
+
+        return journalFile != null && journalFile.getFileSize() == file.length() && journalFile.getLastModified() == file.lastModified() ? journalFile : null;
+    }
+
+    /**
+     * Uploads the files recording the progress in the journal. The files that are already uploaded are skipped when their S3 objects are still present with
+     * the same size and ETag and the MD5 digest of the local file contents still matches the one recorded when the upload of the file completed, so a local
+     * file that changed without changing its size or last modified time gets uploaded again. The remaining files are uploaded in parallel
+     * by the maximum number of threads, starting with the largest files, so the largest files do not end up being uploaded alone at the end of the upload. The
+     * multipart uploads recorded in the journal are resumed.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param journal the journal
+     * @param journalPath the local path to the journal file
+     *
+     * @throws InterruptedException if the upload thread was interrupted
+     * @throws IOException if an I/O error was encountered
+     */
+    private void uploadFilesResumable(S3FileTransferRequestParamsDto params, UploaderJournal journal, File journalPath)
+        throws InterruptedException, IOException
+    {
+        // Get the S3 objects that are already present in the destination S3 key prefix.
+        Map<String, S3ObjectSummary> s3ObjectSummaries = new HashMap<>();
+        for (S3ObjectSummary s3ObjectSummary : s3Service.listDirectory(params, true))
+        {
+            s3ObjectSummaries.put(s3ObjectSummary.getKey(), s3ObjectSummary);
+        }
+
+        // Select the files that still need to be uploaded.
+        Path localPath = Paths.get(params.getLocalPath()).toAbsolutePath();
+        Map<File, String> filesToUpload = new HashMap<>();
+        for (File file : params.getFiles())
+        {
+            String s3Key = params.getS3KeyPrefix() + localPath.relativize(file.toPath().toAbsolutePath()).toString().replace('\\', '/');
+            UploaderJournal.JournalFile journalFile = getJournalFile(journal, s3Key, file);
+            S3ObjectSummary s3ObjectSummary = s3ObjectSummaries.get(s3Key);
+
+            if (journalFile != null && journalFile.getPersistableUpload() == null && s3ObjectSummary != null && s3ObjectSummary.getSize() == file.length() &&
+                Objects.equals(s3ObjectSummary.getETag(), journalFile.getETag()) && journalFile.getContentMd5() != null &&
+                journalFile.getContentMd5().equals(getContentMd5(file)))
+            {
+                LOGGER.info("Skipping the file that is already uploaded. localPath=\"{}\" s3Key=\"{}\"", file.getPath(), s3Key);
+            }
+            else
+            {
+                filesToUpload.put(file, s3Key);
+            }
+        }
+
+        // Schedule the largest files first.
+        List<File> files = new ArrayList<>(filesToUpload.keySet());
+        files.sort(Comparator.comparingLong(File::length).reversed());
+
+        LOGGER.info("Uploading files... filesToUploadCount={} skippedFilesCount={}", files.size(), params.getFiles().size() - files.size());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(params.getMaxThreads(),
+            new BasicThreadFactory.Builder().namingPattern("herd-uploader-file-upload-%d").daemon(true).build());
+
+        try
+        {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (File file : files)
+            {
+                futures.add(executorService.submit(() -> {
+                    uploadFileResumable(params, journal, journalPath, file, filesToUpload.get(file));
+                    return null;
+                }));
+            }
+
+            for (Future<Void> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    if (e.getCause() instanceof InterruptedException)
+                    {
+                        throw (InterruptedException) e.getCause();
+                    }
+                    if (e.getCause() instanceof IOException)
+                    {
+                        throw (IOException) e.getCause();
+                    }
+                    if (e.getCause() instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Uploads a single file recording the progress in the journal. The multipart upload recorded in the journal for the file is resumed. Only when the
+     * multipart upload no longer exists, for example when it got aborted in the meantime, the file is uploaded from the start. Any other failure fails the
+     * upload and keeps the journal entry, so the multipart upload can be resumed by the next run.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param journal the journal
+     * @param journalPath the local path to the journal file
+     * @param file the local file
+     * @param s3Key the S3 key of the file
+     *
+     * @throws InterruptedException if the upload thread was interrupted
+     * @throws IOException if an I/O error was encountered
+     */
+    private void uploadFileResumable(S3FileTransferRequestParamsDto params, UploaderJournal journal, File journalPath, File file, String s3Key)
+        throws InterruptedException, IOException
+    {
+        // Create the S3 file transfer request parameters for the file.
+        S3FileTransferRequestParamsDto fileParams = (S3FileTransferRequestParamsDto) params.clone();
+        fileParams.setLocalPath(file.getPath());
+        fileParams.setS3KeyPrefix(s3Key);
+
+        // Record the multipart upload state as soon as it is available, so the upload can be resumed.
+        Consumer<PersistableUpload> persistableUploadListener = persistableUpload -> {
+            try
+            {
+                updateJournal(journalPath, journal, s3Key, file, null, null, persistableUpload.serialize());
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("Failed to record the multipart upload in the upload journal. s3Key=\"{}\" journalPath=\"{}\"", s3Key, journalPath.getPath(), e);
+            }
+        };
+
+        UploaderJournal.JournalFile journalFile = getJournalFile(journal, s3Key, file);
+        if (journalFile != null && journalFile.getPersistableUpload() != null)
+        {
+            PersistableUpload persistableUpload = PersistableTransfer.deserializeFrom(journalFile.getPersistableUpload());
+            try
+            {
+                s3Service.uploadFile(fileParams, persistableUpload, null);
+            }
+            catch (AmazonS3Exception e)
+            {
+                if (!S3Operations.ERROR_CODE_NO_SUCH_UPLOAD.equals(e.getErrorCode()))
+                {
+                    throw e;
+                }
+
+                LOGGER.warn("The multipart upload no longer exists, uploading the file from the start. localPath=\"{}\" s3Key=\"{}\" uploadId=\"{}\"",
+                    file.getPath(), s3Key, persistableUpload.getMultipartUploadId(), e);
+
+                // Abort the old multipart upload, so none of its parts are left behind should it still exist.
+                try
+                {
+                    s3Service.abortMultipartUpload(fileParams, persistableUpload.getMultipartUploadId());
+                }
+                catch (AmazonClientException abortException)
+                {
+                    LOGGER.warn("Failed to abort the multipart upload. s3Key=\"{}\" uploadId=\"{}\"", s3Key, persistableUpload.getMultipartUploadId(),
+                        abortException);
+                }
+
+                s3Service.uploadFile(fileParams, null, persistableUploadListener);
+            }
+        }
+        else
+        {
+            s3Service.uploadFile(fileParams, null, persistableUploadListener);
+        }
+
+        // Record the uploaded file along with the ETag of its S3 object and the MD5 digest of the local file contents, once the ETag is verified against the
+        // local file.
+        ObjectMetadata objectMetadata = s3Service.getObjectMetadata(fileParams, Collections.singletonList(s3Key)).get(s3Key);
+        String eTag = objectMetadata != null ? objectMetadata.getETag() : null;
+        String contentMd5 = getContentMd5(file);
+        verifyETag(fileParams, file, s3Key, eTag, contentMd5);
+        updateJournal(journalPath, journal, s3Key, file, eTag, contentMd5, null);
+    }
+
+    /**
+     * Gets the MD5 digest of the local file contents.
+     *
+     * @param file the local file
+     *
+     * @return the hex encoded MD5 digest
+     * @throws IOException if an I/O error was encountered
+     */
+    private String getContentMd5(File file) throws IOException
+    {
+        try (InputStream inputStream = Files.newInputStream(file.toPath()))
+        {
+            return DigestUtils.md5Hex(inputStream);
+        }
+    }
+
+    /**
+     * Verifies the ETag of an uploaded S3 object against the MD5 digest of the local file. S3 only uses the MD5 digest of the object data as the ETag of the
+     * objects uploaded in a single part without KMS encryption, so the ETags of the other objects are not verified.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param file the local file
+     * @param s3Key the S3 key of the file
+     * @param eTag the ETag of the uploaded S3 object, may be null
+     * @param md5Hex the hex encoded MD5 digest of the local file contents
+     *
+     * @throws IllegalStateException if the ETag does not match the MD5 digest of the local file
+     */
+    private void verifyETag(S3FileTransferRequestParamsDto params, File file, String s3Key, String eTag, String md5Hex)
+    {
+        if (eTag == null || eTag.contains("-") || StringUtils.isNotBlank(params.getKmsKeyId()))
+        {
+            return;
+        }
+
+        if (!md5Hex.equalsIgnoreCase(eTag))
+        {
+            throw new IllegalStateException(String
+                .format("The ETag \"%s\" of the uploaded S3 object \"%s\" does not match the MD5 digest \"%s\" of the local file \"%s\".", eTag, s3Key,
+                    md5Hex, file.getPath()));
+        }
+    }
+
     /**
      * Returns a list of all duplicate files found in the specified list of files.
      *
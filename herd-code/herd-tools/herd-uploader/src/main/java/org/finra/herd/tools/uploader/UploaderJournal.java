@@ -0,0 +1,148 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.tools.uploader;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The local journal of a resumable upload. The journal identifies the pre-registered business object data version along with its S3 key prefix and keeps track
+ * of the files that are already uploaded and of the multipart uploads that are in progress, so an interrupted upload can be resumed by running the uploader
+ * again.
+ */
+public class UploaderJournal
+{
+    private String businessObjectDataKey;
+
+    private Integer businessObjectDataVersion;
+
+    private String s3KeyPrefix;
+
+    private Map<String, JournalFile> files = new HashMap<>();
+
+    public String getBusinessObjectDataKey()
+    {
+        return businessObjectDataKey;
+    }
+
+    public void setBusinessObjectDataKey(String businessObjectDataKey)
+    {
+        this.businessObjectDataKey = businessObjectDataKey;
+    }
+
+    public Integer getBusinessObjectDataVersion()
+    {
+        return businessObjectDataVersion;
+    }
+
+    public void setBusinessObjectDataVersion(Integer businessObjectDataVersion)
+    {
+        this.businessObjectDataVersion = businessObjectDataVersion;
+    }
+
+    public String getS3KeyPrefix()
+    {
+        return s3KeyPrefix;
+    }
+
+    public void setS3KeyPrefix(String s3KeyPrefix)
+    {
+        this.s3KeyPrefix = s3KeyPrefix;
+    }
+
+    /**
+     * Gets the journal entries keyed by the S3 key of the file.
+     *
+     * @return the journal entries
+     */
+    public Map<String, JournalFile> getFiles()
+    {
+        return files;
+    }
+
+    public void setFiles(Map<String, JournalFile> files)
+    {
+        this.files = files;
+    }
+
+    /**
+     * The journal entry for a single file. The file size and the last modified time identify the local file the entry was recorded for. An entry of an
+     * uploaded file has the ETag of the uploaded S3 object and the MD5 digest of the uploaded local file contents. An entry of a file being uploaded has the
+     * serialized state of its multipart upload instead.
+     */
+    public static class JournalFile
+    {
+        private long fileSize;
+
+        private long lastModified;
+
+        private String eTag;
+
+        private String contentMd5;
+
+        private String persistableUpload;
+
+        public long getFileSize()
+        {
+            return fileSize;
+        }
+
+        public void setFileSize(long fileSize)
+        {
+            this.fileSize = fileSize;
+        }
+
+        public long getLastModified()
+        {
+            return lastModified;
+        }
+
+        public void setLastModified(long lastModified)
+        {
+            this.lastModified = lastModified;
+        }
+
+        public String getETag()
+        {
+            return eTag;
+        }
+
+        public void setETag(String eTag)
+        {
+            this.eTag = eTag;
+        }
+
+        public String getContentMd5()
+        {
+            return contentMd5;
+        }
+
+        public void setContentMd5(String contentMd5)
+        {
+            this.contentMd5 = contentMd5;
+        }
+
+        public String getPersistableUpload()
+        {
+            return persistableUpload;
+        }
+
+        public void setPersistableUpload(String persistableUpload)
+        {
+            this.persistableUpload = persistableUpload;
+        }
+    }
+}
@@ -16,27 +16,37 @@
 package org.finra.herd.tools.uploader;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 
+import com.amazonaws.services.s3.transfer.PersistableUpload;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import org.finra.herd.core.helper.LogLevel;
+import org.finra.herd.dao.S3Operations;
+import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.impl.MockHttpClientOperationsImpl;
+import org.finra.herd.dao.impl.MockS3OperationsImpl;
 import org.finra.herd.dao.impl.S3DaoImpl;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.dto.ManifestFile;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -50,6 +60,14 @@ public class UploaderControllerTest extends AbstractUploaderTest
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(UploaderControllerTest.class);
 
+    private static final String UPLOAD_JOURNAL_FILE_NAME = "upload-journal.json";
+
+    @Autowired
+    private JsonHelper jsonHelper;
+
+    @Autowired
+    private S3Operations s3Operations;
+
     @Before
     @Override
     public void setup() throws Exception
@@ -232,6 +250,170 @@ public class UploaderControllerTest extends AbstractUploaderTest
         runUpload(UploaderController.MIN_THREADS);
     }
 
+    @Test
+    public void testPerformUploadResumable() throws Exception
+    {
+        // Upload and register business object data parents.
+        uploadAndRegisterTestDataParents(uploaderWebClient);
+
+        // Perform a resumable upload.
+        File journalPath = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), UPLOAD_JOURNAL_FILE_NAME).toFile();
+        runUpload(UploaderController.MIN_THREADS, null, false, false, null, null, journalPath);
+
+        // Validate that all files got uploaded and the journal got deleted once the upload completed.
+        assertEquals(testManifestFiles.size(), s3Service.listDirectory(getTestS3FileTransferRequestParamsDto(S3_TEST_PATH_V0 + "/"), true).size());
+        assertFalse(journalPath.exists());
+    }
+
+    @Test
+    public void testPerformUploadResumeUpload() throws Exception
+    {
+        // Create local data files in LOCAL_TEMP_PATH_INPUT directory.
+        for (ManifestFile manifestFile : testManifestFiles)
+        {
+            createLocalFile(LOCAL_TEMP_PATH_INPUT.toString(), manifestFile.getFileName(), FILE_SIZE_1_KB);
+        }
+
+        // Create uploader input manifest file in LOCAL_TEMP_PATH_INPUT directory.
+        UploaderInputManifestDto uploaderInputManifestDto = getTestUploaderInputManifestDto();
+        File manifestFile = createManifestFile(LOCAL_TEMP_PATH_INPUT.toString(), uploaderInputManifestDto);
+
+        // Upload the first data file to S3, as if it was uploaded by an earlier upload that got interrupted.
+        File uploadedFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), testManifestFiles.get(0).getFileName()).toFile();
+        String uploadedFileS3Key = S3_TEST_PATH_V0 + "/" + testManifestFiles.get(0).getFileName();
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto(uploadedFileS3Key);
+        s3FileTransferRequestParamsDto.setLocalPath(uploadedFile.getPath());
+        s3Service.uploadFile(s3FileTransferRequestParamsDto);
+        String uploadedFileETag =
+            s3Service.getObjectMetadata(s3FileTransferRequestParamsDto, Collections.singletonList(uploadedFileS3Key)).get(uploadedFileS3Key).getETag();
+
+        // Overwrite the local file with other data of the same size, so uploading the file again would change the ETag of its S3 object.
+        byte[] otherData = new byte[(int) FILE_SIZE_1_KB];
+        Arrays.fill(otherData, (byte) 1);
+        FileUtils.writeByteArrayToFile(uploadedFile, otherData);
+
+        // Create the journal of the earlier upload with the MD5 digest of the current local file contents. The latest business object data version in the
+        // mocked web service is version 0 in UPLOADING state.
+        UploaderJournal.JournalFile journalFile = new UploaderJournal.JournalFile();
+        journalFile.setFileSize(uploadedFile.length());
+        journalFile.setLastModified(uploadedFile.lastModified());
+        journalFile.setETag(uploadedFileETag);
+        journalFile.setContentMd5(DigestUtils.md5Hex(otherData));
+        UploaderJournal journal = new UploaderJournal();
+        journal.setBusinessObjectDataKey(businessObjectDataHelper.businessObjectDataKeyToString(
+            new BusinessObjectDataKey(uploaderInputManifestDto.getNamespace(), uploaderInputManifestDto.getBusinessObjectDefinitionName(),
+                uploaderInputManifestDto.getBusinessObjectFormatUsage(), uploaderInputManifestDto.getBusinessObjectFormatFileType(),
+                Integer.valueOf(uploaderInputManifestDto.getBusinessObjectFormatVersion()), uploaderInputManifestDto.getPartitionValue(),
+                uploaderInputManifestDto.getSubPartitionValues(), 0)));
+        journal.setBusinessObjectDataVersion(0);
+        journal.setS3KeyPrefix(S3_TEST_PATH_V0);
+        journal.getFiles().put(uploadedFileS3Key, journalFile);
+
+        // Record a multipart upload of the second data file that no longer exists in S3.
+        File abortedFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), testManifestFiles.get(1).getFileName()).toFile();
+        String abortedFileS3Key = S3_TEST_PATH_V0 + "/" + testManifestFiles.get(1).getFileName();
+        UploaderJournal.JournalFile abortedJournalFile = new UploaderJournal.JournalFile();
+        abortedJournalFile.setFileSize(abortedFile.length());
+        abortedJournalFile.setLastModified(abortedFile.lastModified());
+        abortedJournalFile.setPersistableUpload(
+            new PersistableUpload(s3FileTransferRequestParamsDto.getS3BucketName(), abortedFileS3Key, abortedFile.getPath(),
+                MockS3OperationsImpl.MOCK_S3_UPLOAD_ID_NO_SUCH_UPLOAD, FILE_SIZE_1_KB, FILE_SIZE_1_KB).serialize());
+        journal.getFiles().put(abortedFileS3Key, abortedJournalFile);
+
+        File journalPath = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), UPLOAD_JOURNAL_FILE_NAME).toFile();
+        FileUtils.writeStringToFile(journalPath, jsonHelper.objectToJson(journal), StandardCharsets.UTF_8);
+
+        // Resume the upload. Without the journal, the upload would fail since the latest business object data version is in UPLOADING state.
+        S3FileTransferRequestParamsDto uploadParams = getTestS3FileTransferRequestParamsDto();
+        uploadParams.setLocalPath(LOCAL_TEMP_PATH_INPUT.toString());
+        uploadParams.setMaxThreads(UploaderController.MIN_THREADS);
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(MockHttpClientOperationsImpl.HOSTNAME_LATEST_BDATA_VERSION_EXISTS_IN_UPLOADING_STATE)
+                .withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true).withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD)
+                .withTrustSelfSignedCertificate(true).withDisableHostnameVerification(true).build();
+        uploaderController.performUpload(regServerAccessParamsDto, manifestFile, uploadParams, false, false, TEST_RETRY_ATTEMPTS, TEST_RETRY_DELAY_SECS,
+            journalPath);
+
+        // Validate that all files are uploaded and the journal got deleted once the upload completed.
+        assertEquals(testManifestFiles.size(), s3Service.listDirectory(getTestS3FileTransferRequestParamsDto(S3_TEST_PATH_V0 + "/"), true).size());
+        assertFalse(journalPath.exists());
+
+        // Validate that the journaled file was skipped, so its S3 object still has the data of the earlier upload.
+        assertEquals(uploadedFileETag,
+            s3Service.getObjectMetadata(s3FileTransferRequestParamsDto, Collections.singletonList(uploadedFileS3Key)).get(uploadedFileS3Key).getETag());
+
+        // Validate that the multipart upload that no longer exists got aborted before the file was uploaded from the start.
+        assertTrue(((MockS3OperationsImpl) s3Operations).getAbortedMultipartUploadIds().contains(MockS3OperationsImpl.MOCK_S3_UPLOAD_ID_NO_SUCH_UPLOAD));
+    }
+
+    @Test
+    public void testPerformUploadResumeUploadLocalFileContentsChanged() throws Exception
+    {
+        // Create local data files in LOCAL_TEMP_PATH_INPUT directory.
+        for (ManifestFile manifestFile : testManifestFiles)
+        {
+            createLocalFile(LOCAL_TEMP_PATH_INPUT.toString(), manifestFile.getFileName(), FILE_SIZE_1_KB);
+        }
+
+        // Create uploader input manifest file in LOCAL_TEMP_PATH_INPUT directory.
+        UploaderInputManifestDto uploaderInputManifestDto = getTestUploaderInputManifestDto();
+        File manifestFile = createManifestFile(LOCAL_TEMP_PATH_INPUT.toString(), uploaderInputManifestDto);
+
+        // Upload the first data file to S3, as if it was uploaded by an earlier upload that got interrupted.
+        File uploadedFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), testManifestFiles.get(0).getFileName()).toFile();
+        String uploadedFileS3Key = S3_TEST_PATH_V0 + "/" + testManifestFiles.get(0).getFileName();
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = getTestS3FileTransferRequestParamsDto(uploadedFileS3Key);
+        s3FileTransferRequestParamsDto.setLocalPath(uploadedFile.getPath());
+        s3Service.uploadFile(s3FileTransferRequestParamsDto);
+        String uploadedFileETag =
+            s3Service.getObjectMetadata(s3FileTransferRequestParamsDto, Collections.singletonList(uploadedFileS3Key)).get(uploadedFileS3Key).getETag();
+        String uploadedFileContentMd5 = DigestUtils.md5Hex(FileUtils.readFileToByteArray(uploadedFile));
+
+        // Overwrite the local file with other data of the same size.
+        byte[] otherData = new byte[(int) FILE_SIZE_1_KB];
+        Arrays.fill(otherData, (byte) 1);
+        FileUtils.writeByteArrayToFile(uploadedFile, otherData);
+
+        // Create the journal of the earlier upload with the current size and last modified time of the local file, but with the MD5 digest of the uploaded
+        // local file contents.
+        UploaderJournal.JournalFile journalFile = new UploaderJournal.JournalFile();
+        journalFile.setFileSize(uploadedFile.length());
+        journalFile.setLastModified(uploadedFile.lastModified());
+        journalFile.setETag(uploadedFileETag);
+        journalFile.setContentMd5(uploadedFileContentMd5);
+        UploaderJournal journal = new UploaderJournal();
+        journal.setBusinessObjectDataKey(businessObjectDataHelper.businessObjectDataKeyToString(
+            new BusinessObjectDataKey(uploaderInputManifestDto.getNamespace(), uploaderInputManifestDto.getBusinessObjectDefinitionName(),
+                uploaderInputManifestDto.getBusinessObjectFormatUsage(), uploaderInputManifestDto.getBusinessObjectFormatFileType(),
+                Integer.valueOf(uploaderInputManifestDto.getBusinessObjectFormatVersion()), uploaderInputManifestDto.getPartitionValue(),
+                uploaderInputManifestDto.getSubPartitionValues(), 0)));
+        journal.setBusinessObjectDataVersion(0);
+        journal.setS3KeyPrefix(S3_TEST_PATH_V0);
+        journal.getFiles().put(uploadedFileS3Key, journalFile);
+
+        File journalPath = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), UPLOAD_JOURNAL_FILE_NAME).toFile();
+        FileUtils.writeStringToFile(journalPath, jsonHelper.objectToJson(journal), StandardCharsets.UTF_8);
+
+        // Resume the upload.
+        S3FileTransferRequestParamsDto uploadParams = getTestS3FileTransferRequestParamsDto();
+        uploadParams.setLocalPath(LOCAL_TEMP_PATH_INPUT.toString());
+        uploadParams.setMaxThreads(UploaderController.MIN_THREADS);
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(MockHttpClientOperationsImpl.HOSTNAME_LATEST_BDATA_VERSION_EXISTS_IN_UPLOADING_STATE)
+                .withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true).withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD)
+                .withTrustSelfSignedCertificate(true).withDisableHostnameVerification(true).build();
+        uploaderController.performUpload(regServerAccessParamsDto, manifestFile, uploadParams, false, false, TEST_RETRY_ATTEMPTS, TEST_RETRY_DELAY_SECS,
+            journalPath);
+
+        // Validate that all files are uploaded and the journal got deleted once the upload completed.
+        assertEquals(testManifestFiles.size(), s3Service.listDirectory(getTestS3FileTransferRequestParamsDto(S3_TEST_PATH_V0 + "/"), true).size());
+        assertFalse(journalPath.exists());
+
+        // Validate that the changed local file got uploaded again, so its S3 object has the current data of the local file.
+        assertEquals(DigestUtils.md5Hex(otherData),
+            s3Service.getObjectMetadata(s3FileTransferRequestParamsDto, Collections.singletonList(uploadedFileS3Key)).get(uploadedFileS3Key).getETag());
+    }
+
     @Test
     public void testPerformUploadTargetS3FolderIsNotEmpty() throws Exception
     {
@@ -376,6 +558,23 @@ public class UploaderControllerTest extends AbstractUploaderTest
      */
     protected void runUpload(Integer numOfThreads, HashMap<String, String> attributes, Boolean createNewVersion, Boolean force, String hostname,
         String storageName) throws Exception
+    {
+        runUpload(numOfThreads, attributes, createNewVersion, force, hostname, storageName, null);
+    }
+
+    /**
+     * Runs a normal upload scenario.
+     *
+     * @param numOfThreads the maximum number of threads to use for file transfer to S3
+     * @param attributes the attributes to be associated with the test data being uploaded
+     * @param createNewVersion if not set, only initial version of the business object data is allowed to be created
+     * @param force if set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version
+     * @param hostname optional override of the default web service hostname.
+     * @param storageName optional storage name
+     * @param journalPath optional local path to the upload journal file
+     */
+    protected void runUpload(Integer numOfThreads, HashMap<String, String> attributes, Boolean createNewVersion, Boolean force, String hostname,
+        String storageName, File journalPath) throws Exception
     {
         String hostnameToUse = hostname == null ? WEB_SERVICE_HOSTNAME : hostname;
 
@@ -401,7 +600,7 @@ public class UploaderControllerTest extends AbstractUploaderTest
                 .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
                 .withDisableHostnameVerification(true).build();
         uploaderController.performUpload(regServerAccessParamsDto, manifestFile, s3FileTransferRequestParamsDto, createNewVersion, force, TEST_RETRY_ATTEMPTS,
-            TEST_RETRY_DELAY_SECS);
+            TEST_RETRY_DELAY_SECS, journalPath);
     }
 
     /**